@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.jmh;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import io.github.spannm.jackcess.util.MemFileChannel;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the databases the benchmarks run against. All data is derived from a fixed seed, so every run (and every
+ * library version) measures the same rows in the same file layout.
+ * <p>
+ * The {@value #ORDERS} table has an autonumber primary key, a non-unique text index and a date index. The
+ * {@value #DOCUMENTS} table holds memo and OLE values large enough to be stored on separate long value pages.
+ */
+final class BenchmarkFixtures {
+
+    static final String        ORDERS           = "orders";
+    static final String        DOCUMENTS        = "documents";
+    static final String        CUSTOMER_IDX     = "customer_idx";
+    static final String        CREATED_IDX      = "created_idx";
+
+    static final int           NUM_CUSTOMERS    = 500;
+    static final LocalDateTime FIRST_CREATED    = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final long  SEED             = 0x6A61636B63657373L;
+    private static final int   BATCH_SIZE       = 1000;
+    private static final int   DOCUMENT_DIVISOR = 10;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates a new empty in-memory database in the given format.
+     */
+    static Database createMemDb(FileFormat fileFormat) throws IOException {
+        Database db = new DatabaseBuilder()
+            .withFileFormat(fileFormat)
+            .withChannel(MemFileChannel.newChannel())
+            .withAutoSync(false)
+            .create();
+        db.setDateTimeType(DateTimeType.LOCAL_DATE_TIME);
+        return db;
+    }
+
+    /**
+     * Creates a temporary database file in the given format holding {@code numOrders} rows in {@value #ORDERS} and a
+     * tenth of that in {@value #DOCUMENTS}. The file is deleted on exit.
+     */
+    static File createDbFile(FileFormat fileFormat, int numOrders) throws IOException {
+        File file = File.createTempFile("jackcess-jmh-" + fileFormat.name() + "-", fileFormat.getFileExtension());
+        file.deleteOnExit();
+        try (Database db = new DatabaseBuilder()
+            .withFile(file)
+            .withFileFormat(fileFormat)
+            .withAutoSync(false)
+            .create()) {
+            db.setDateTimeType(DateTimeType.LOCAL_DATE_TIME);
+            Random random = new Random(SEED);
+            addRows(createOrdersTable(db, ORDERS, true), createOrders(random, numOrders));
+            addRows(createDocumentsTable(db), createDocuments(random, Math.max(1, numOrders / DOCUMENT_DIVISOR)));
+        }
+        return file;
+    }
+
+    static Table createOrdersTable(Database db, String name, boolean indexed) throws IOException {
+        TableBuilder tb = new TableBuilder(name)
+            .addColumn(new ColumnBuilder("id", DataType.LONG).withAutoNumber(true))
+            .addColumn(new ColumnBuilder("customer", DataType.TEXT).withLengthInUnits(50))
+            .addColumn(new ColumnBuilder("amount", DataType.MONEY))
+            .addColumn(new ColumnBuilder("quantity", DataType.INT))
+            .addColumn(new ColumnBuilder("created", DataType.SHORT_DATE_TIME))
+            .addColumn(new ColumnBuilder("note", DataType.TEXT));
+        if (indexed) {
+            tb.withPrimaryKey("id")
+                .addIndex(new IndexBuilder(CUSTOMER_IDX).withColumns("customer"))
+                .addIndex(new IndexBuilder(CREATED_IDX).withColumns("created"));
+        }
+        return tb.toTable(db);
+    }
+
+    private static Table createDocumentsTable(Database db) throws IOException {
+        return new TableBuilder(DOCUMENTS)
+            .addColumn(new ColumnBuilder("id", DataType.LONG).withAutoNumber(true))
+            .addColumn(new ColumnBuilder("title", DataType.TEXT))
+            .addColumn(new ColumnBuilder("body", DataType.MEMO))
+            .addColumn(new ColumnBuilder("data", DataType.OLE))
+            .withPrimaryKey("id")
+            .toTable(db);
+    }
+
+    /**
+     * Returns {@code numRows} rows for a table created by {@link #createOrdersTable}, in column order.
+     */
+    static List<Object[]> createOrders(Random random, int numRows) {
+        List<Object[]> rows = new ArrayList<>(numRows);
+        for (int i = 0; i < numRows; i++) {
+            rows.add(new Object[] {
+                Column.AUTO_NUMBER,
+                customerName(random.nextInt(NUM_CUSTOMERS)),
+                BigDecimal.valueOf(random.nextInt(10_000_000), 2),
+                random.nextInt(100),
+                FIRST_CREATED.plusMinutes(i * 17L),
+                random.nextInt(4) == 0 ? null : "note " + Long.toString(random.nextLong(), 36)});
+        }
+        return rows;
+    }
+
+    static List<Object[]> createOrders(int numRows) {
+        return createOrders(new Random(SEED), numRows);
+    }
+
+    private static List<Object[]> createDocuments(Random random, int numRows) {
+        List<Object[]> rows = new ArrayList<>(numRows);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < numRows; i++) {
+            sb.setLength(0);
+            int len = 2000 + random.nextInt(8000);
+            while (sb.length() < len) {
+                sb.append("Lorem ipsum ").append(random.nextInt()).append(' ');
+            }
+            byte[] data = new byte[1000 + random.nextInt(10_000)];
+            random.nextBytes(data);
+            rows.add(new Object[] {Column.AUTO_NUMBER, "document " + i, sb.toString(), data});
+        }
+        return rows;
+    }
+
+    static String customerName(int customer) {
+        return String.format("customer %04d", customer);
+    }
+
+    static void addRows(Table table, List<Object[]> rows) throws IOException {
+        for (int i = 0; i < rows.size(); i += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>();
+            for (Object[] row : rows.subList(i, Math.min(i + BATCH_SIZE, rows.size()))) {
+                // addRows may replace the autonumber placeholder
+                batch.add(row.clone());
+            }
+            table.addRows(batch);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.jmh;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expression evaluation benchmarks: inserts into a table whose columns have default value expressions and validation
+ * rules, with expression evaluation enabled and disabled. The difference between both is the cost of parsing and
+ * evaluating the expressions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpressionBenchmark {
+
+    @Param({"V2000", "V2003", "V2007", "V2010", "V2016", "V2019"})
+    private FileFormat     fileFormat;
+
+    @Param("10000")
+    private int            numRows;
+
+    @Param({"true", "false"})
+    private boolean        evaluateExpressions;
+
+    private List<Object[]> rows;
+    private Database       db;
+    private Table          table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rows = new ArrayList<>(numRows);
+        for (int i = 0; i < numRows; i++) {
+            rows.add(new Object[] {Column.AUTO_NUMBER, null, i % 1000, "item " + i, null});
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpTable() throws IOException {
+        db = BenchmarkFixtures.createMemDb(fileFormat);
+        db.setEvaluateExpressions(evaluateExpressions);
+        table = new TableBuilder("items")
+            .addColumn(new ColumnBuilder("id", DataType.LONG).withAutoNumber(true))
+            .addColumn(new ColumnBuilder("created", DataType.SHORT_DATE_TIME)
+                .withProperty(PropertyMap.DEFAULT_VALUE_PROP, "=DateSerial(2024, 1, 1) + TimeSerial(12, 0, 0)"))
+            .addColumn(new ColumnBuilder("quantity", DataType.LONG)
+                .withProperty(PropertyMap.VALIDATION_RULE_PROP, "Between 0 And 1000"))
+            .addColumn(new ColumnBuilder("name", DataType.TEXT)
+                .withProperty(PropertyMap.VALIDATION_RULE_PROP, "Is Not Null And Len([name]) < 50"))
+            .addColumn(new ColumnBuilder("label", DataType.TEXT)
+                .withProperty(PropertyMap.DEFAULT_VALUE_PROP, "=UCase(\"item\") & \"-\" & Format(42, \"000\")"))
+            .toTable(db);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownTable() throws IOException {
+        db.close();
+    }
+
+    @Benchmark
+    public Table addRows() throws IOException {
+        BenchmarkFixtures.addRows(table, rows);
+        return table;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.jmh;
+
+import io.github.spannm.jackcess.Database;
+import io.github.spannm.jackcess.Database.FileFormat;
+import io.github.spannm.jackcess.DatabaseBuilder;
+import io.github.spannm.jackcess.util.ExportUtil;
+import io.github.spannm.jackcess.util.ImportUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delimited text import and export benchmarks using {@link ImportUtil} and {@link ExportUtil}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportExportBenchmark {
+
+    @Param({"V2000", "V2003", "V2007", "V2010", "V2016", "V2019"})
+    private FileFormat fileFormat;
+
+    @Param("20000")
+    private int        numRows;
+
+    private File       dbFile;
+    private Database   db;
+    private String     csv;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dbFile = BenchmarkFixtures.createDbFile(fileFormat, numRows);
+        db = new DatabaseBuilder().withFile(dbFile).withReadOnly(true).open();
+        csv = exportCsv();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        dbFile.delete();
+    }
+
+    @Benchmark
+    public String exportCsv() throws IOException {
+        StringWriter out = new StringWriter(numRows * 100);
+        try (BufferedWriter writer = new BufferedWriter(out)) {
+            new ExportUtil.Builder(db, BenchmarkFixtures.ORDERS).withHeader(true).exportWriter(writer);
+        }
+        return out.toString();
+    }
+
+    @Benchmark
+    public String importCsv(ImportState state) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(csv))) {
+            return new ImportUtil.Builder(state.db, "imported").withHeader(true).importReader(reader);
+        }
+    }
+
+    /**
+     * Fresh target database for each import, so that only {@link #importCsv} pays for its per-invocation setup.
+     */
+    @State(Scope.Benchmark)
+    public static class ImportState {
+        @Param({"V2000", "V2003", "V2007", "V2010", "V2016", "V2019"})
+        private FileFormat fileFormat;
+
+        private Database   db;
+
+        @Setup(Level.Invocation)
+        public void setUpInvocation() throws IOException {
+            db = BenchmarkFixtures.createMemDb(fileFormat);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDownInvocation() throws IOException {
+            db.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.jmh;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read path benchmarks: full and projected table scans, primary key lookups, index range scans and long value reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadBenchmark {
+
+    private static final int LOOKUPS   = 1000;
+    private static final int RANGE_LEN = 500;
+
+    @Param({"V2000", "V2003", "V2007", "V2010", "V2016", "V2019"})
+    private FileFormat       fileFormat;
+
+    @Param("20000")
+    private int              numRows;
+
+    private File             dbFile;
+    private Database         db;
+    private Table            orders;
+    private Table            documents;
+    private int[]            lookupIds;
+    private LocalDateTime    rangeStart;
+    private LocalDateTime    rangeEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dbFile = BenchmarkFixtures.createDbFile(fileFormat, numRows);
+        db = new DatabaseBuilder().withFile(dbFile).withReadOnly(true).open();
+        db.setDateTimeType(DateTimeType.LOCAL_DATE_TIME);
+        orders = db.getTable(BenchmarkFixtures.ORDERS);
+        documents = db.getTable(BenchmarkFixtures.DOCUMENTS);
+
+        Random random = new Random(numRows);
+        lookupIds = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookupIds[i] = 1 + random.nextInt(numRows);
+        }
+        // rows are created 17 minutes apart
+        rangeStart = BenchmarkFixtures.FIRST_CREATED.plusMinutes(17L * (numRows / 2));
+        rangeEnd = rangeStart.plusMinutes(17L * (RANGE_LEN - 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        dbFile.delete();
+    }
+
+    @Benchmark
+    public void fullScan(Blackhole bh) {
+        for (Row row : orders) {
+            bh.consume(row);
+        }
+    }
+
+    @Benchmark
+    public void projectedScan(Blackhole bh) throws IOException {
+        for (Row row : CursorBuilder.createCursor(orders).newIterable().addColumnNames("id", "amount")) {
+            bh.consume(row.get("amount"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void primaryKeyLookup(Blackhole bh) throws IOException {
+        IndexCursor cursor = CursorBuilder.createPrimaryKeyCursor(orders);
+        for (int id : lookupIds) {
+            if (!cursor.findFirstRowByEntry(id)) {
+                throw new IllegalStateException("Missing row " + id);
+            }
+            bh.consume(cursor.getCurrentRow());
+        }
+    }
+
+    @Benchmark
+    public void indexRangeScan(Blackhole bh) throws IOException {
+        IndexCursor cursor = orders.newCursor()
+            .withIndexByName(BenchmarkFixtures.CREATED_IDX)
+            .withStartEntry(rangeStart)
+            .withEndEntry(rangeEnd)
+            .toIndexCursor();
+        for (Row row : cursor) {
+            bh.consume(row);
+        }
+    }
+
+    @Benchmark
+    public void longValueRead(Blackhole bh) throws IOException {
+        for (Row row : CursorBuilder.createCursor(documents).newIterable().addColumnNames("body", "data")) {
+            bh.consume(row.getString("body"));
+            bh.consume(row.getBytes("data"));
+        }
+    }
+}
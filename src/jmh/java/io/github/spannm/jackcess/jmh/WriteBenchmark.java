@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.jmh;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write path benchmarks: bulk inserts into tables with and without indexes and in-place row updates. Each benchmark
+ * has its own state, so that only the insert benchmark pays for a fresh database per invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriteBenchmark {
+
+    private static final int UPDATES = 1000;
+
+    @State(Scope.Benchmark)
+    public static class InsertState {
+        @Param({"V2000", "V2003", "V2007", "V2010", "V2016", "V2019"})
+        private FileFormat     fileFormat;
+
+        @Param("20000")
+        private int            numRows;
+
+        @Param({"true", "false"})
+        private boolean        indexed;
+
+        private List<Object[]> rows;
+        private Database       db;
+        private Table          table;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            rows = BenchmarkFixtures.createOrders(numRows);
+        }
+
+        @Setup(Level.Invocation)
+        public void setUpInvocation() throws IOException {
+            db = BenchmarkFixtures.createMemDb(fileFormat);
+            table = BenchmarkFixtures.createOrdersTable(db, BenchmarkFixtures.ORDERS, indexed);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDownInvocation() throws IOException {
+            db.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class UpdateState {
+        @Param({"V2000", "V2003", "V2007", "V2010", "V2016", "V2019"})
+        private FileFormat fileFormat;
+
+        @Param("20000")
+        private int        numRows;
+
+        private File       dbFile;
+        private Database   db;
+        private Table      table;
+        private int[]      ids;
+        private int        count;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            dbFile = BenchmarkFixtures.createDbFile(fileFormat, numRows);
+            db = new DatabaseBuilder().withFile(dbFile).withAutoSync(false).open();
+            db.setDateTimeType(DateTimeType.LOCAL_DATE_TIME);
+            table = db.getTable(BenchmarkFixtures.ORDERS);
+            Random random = new Random(numRows);
+            ids = new int[UPDATES];
+            for (int i = 0; i < UPDATES; i++) {
+                ids[i] = 1 + random.nextInt(numRows);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            db.close();
+            dbFile.delete();
+        }
+    }
+
+    @Benchmark
+    public Table addRows(InsertState state) throws IOException {
+        BenchmarkFixtures.addRows(state.table, state.rows);
+        return state.table;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(UPDATES)
+    public void updateRow(UpdateState state) throws IOException {
+        IndexCursor cursor = CursorBuilder.createPrimaryKeyCursor(state.table);
+        // alternate between two row sizes, so the table does not grow across iterations
+        String noteValue = (state.count++ & 1) == 0 ? "updated" : "updated note";
+        for (int id : state.ids) {
+            if (!cursor.findFirstRowByEntry(id)) {
+                throw new IllegalStateException("Missing row " + id);
+            }
+            Row row = cursor.getCurrentRow();
+            row.put("amount", BigDecimal.valueOf(id, 2));
+            row.put("note", noteValue);
+            cursor.updateCurrentRowFromMap(row);
+        }
+    }
+}
@@ -354,6 +354,9 @@ public class CursorBuilder {
      * <p>
      * Warning, this method <i>always</i> starts searching from the beginning of the Table (you cannot use it to find
      * successive matches).
+     * <p>
+     * If an index of the table covers leading columns of the pattern and is selective enough, it is used to locate
+     * the candidate rows automatically, see {@link #explainFindRow(Table, Map)}.
      *
      * @param table the table to search
      * @param rowPattern pattern to be used to find the row
@@ -367,6 +370,19 @@ public class CursorBuilder {
         return null;
     }
 
+    /**
+     * Describes how {@link #findRow(Table, Map)} (or {@link Cursor#findFirstRow(Map)} on a table cursor) would locate
+     * rows matching the given pattern: either a table scan or a range scan of an index on leading pattern columns,
+     * with the remaining pattern columns applied as a filter.
+     *
+     * @param table the table to search
+     * @param rowPattern pattern to be used to find the row
+     * @return a human readable description of the chosen plan
+     */
+    public static String explainFindRow(Table table, Map<String, ?> rowPattern) {
+        return IndexLookupPlanner.plan((TableImpl) table, rowPattern).toString();
+    }
+
     /**
      * Convenience method for finding a specific row (as defined by the cursor) where the index entries match the given
      * values. See {@link IndexCursor#findRowByEntry(Object...)} for details on the entryValues.
@@ -216,6 +216,22 @@ public interface Database extends Iterable<Table>, Closeable, Flushable {
      */
     List<Query> getQueries() throws IOException;
 
+    /**
+     * Finds the query with the given name, reading only the definition of that query.
+     *
+     * @param name Query name (case-insensitive)
+     * @return The query, or {@code null} if it doesn't exist
+     */
+    Query getQuery(String name) throws IOException;
+
+    /**
+     * @return an Iterable which returns an unmodifiable Iterator of all the queries in this Database. Each query is
+     *         read when it is reached by the Iterator.
+     * @throws UncheckedIOException if an IOException is thrown by one of the operations, the actual exception will be
+     *             contained within
+     */
+    Iterable<Query> newQueryIterable();
+
     /**
      * Returns a reference to <i>any</i> available table in this access database, including system tables.
      * <p>
@@ -20,7 +20,10 @@ import io.github.spannm.jackcess.Database.FileFormat;
 import io.github.spannm.jackcess.impl.CodecProvider;
 import io.github.spannm.jackcess.impl.DatabaseImpl;
 import io.github.spannm.jackcess.impl.PropertyMapImpl;
+import io.github.spannm.jackcess.util.LinkResolver;
+import io.github.spannm.jackcess.util.LinkedDatabasePool;
 import io.github.spannm.jackcess.util.MemFileChannel;
+import io.github.spannm.jackcess.util.MetricsCollector;
 
 import java.io.File;
 import java.io.IOException;
@@ -74,6 +77,16 @@ public class DatabaseBuilder {
     private Map<String, PropertyMap.Property> _userProps;
     /** flag indicating that the system catalog index is borked */
     private boolean                           _ignoreBrokenSystemCatalogIndex;
+    /** optional collector for I/O and engine events */
+    private MetricsCollector                  _metricsCollector;
+    /** directory for the schema snapshots of read-only databases */
+    private Path                              _schemaCacheDir;
+    /** max number of most recently used tables held strongly by the table cache */
+    private int                               _tableCacheSize   = DatabaseImpl.DEFAULT_TABLE_CACHE_SIZE;
+    /** max estimated memory size of the tables held strongly by the table cache */
+    private long                              _tableCacheMemory = DatabaseImpl.DEFAULT_TABLE_CACHE_MEMORY;
+    /** resolver for the linked databases, e.g. a shared {@link LinkedDatabasePool} */
+    private LinkResolver                      _linkResolver;
 
     public DatabaseBuilder() {
         this((Path) null);
@@ -240,13 +253,74 @@ public class DatabaseBuilder {
         return this;
     }
 
+    /**
+     * Sets the collector which receives the I/O and engine events of the database (page reads and writes, codec and
+     * flush times, index page cache hits and misses, decoded rows etc.), may be {@code null} if no metrics should be
+     * collected.
+     *
+     * @see io.github.spannm.jackcess.util.SimpleMetricsCollector
+     */
+    public DatabaseBuilder withMetricsCollector(MetricsCollector metricsCollector) {
+        _metricsCollector = metricsCollector;
+        return this;
+    }
+
+    /**
+     * Sets the directory in which snapshots of the system catalog rows of read-only databases are kept, may be
+     * {@code null} (the default) to always read the system catalog. When a database is opened read-only, a snapshot
+     * matching the file (same path, size, last modified time, charset and system catalog pages) serves the
+     * table lookups instead of the system catalog, otherwise a new snapshot is written to this directory.
+     * <p>
+     * This only saves looking up and decoding the catalog rows. Table definitions are not cached: each table is still
+     * read and parsed from the database file when first accessed.
+     */
+    public DatabaseBuilder withSchemaCache(Path schemaCacheDir) {
+        _schemaCacheDir = schemaCacheDir;
+        return this;
+    }
+
+    /**
+     * Sets the limits of the table cache of the database. Tables returned by {@link Database#getTable} are cached, so
+     * that repeated lookups of the same table do not re-read its definition. Up to {@code maxTables} most recently used
+     * tables are held strongly (as long as their estimated memory size does not exceed {@code maxMemory} bytes), all
+     * other tables are held softly and are only re-read once the jvm runs low on memory. Defaults to
+     * {@value DatabaseImpl#DEFAULT_TABLE_CACHE_SIZE} tables and {@value DatabaseImpl#DEFAULT_TABLE_CACHE_MEMORY} bytes.
+     *
+     * @param maxTables max number of most recently used tables to hold strongly, {@code 0} to hold all tables softly
+     * @param maxMemory max estimated memory size in bytes of the strongly held tables
+     */
+    public DatabaseBuilder withTableCache(int maxTables, long maxMemory) {
+        if (maxTables < 0 || maxMemory < 0L) {
+            throw new IllegalArgumentException("Invalid table cache limits " + maxTables + ", " + maxMemory);
+        }
+        _tableCacheSize = maxTables;
+        _tableCacheMemory = maxMemory;
+        return this;
+    }
+
+    /**
+     * Sets the {@link LinkResolver} used to resolve the linked databases of the database, may be {@code null} (the
+     * default) to use {@link LinkResolver#DEFAULT}. Use a shared {@link LinkedDatabasePool} to share linked databases
+     * between several read-only databases.
+     *
+     * @see Database#setLinkResolver
+     */
+    public DatabaseBuilder withLinkResolver(LinkResolver linkResolver) {
+        _linkResolver = linkResolver;
+        return this;
+    }
+
     /**
      * Opens an existing new Database using the configured information.
      */
+    @SuppressWarnings("java:S2095") // suppress sonarcloud warning regarding try-with-resources
     public Database open() throws IOException {
-        return DatabaseImpl.open(_mdbFile, _readOnly, _channel, _autoSync, _charset,
+        DatabaseImpl db = DatabaseImpl.open(_mdbFile, _readOnly, _channel, _autoSync, _charset,
             _timeZone, _codecProvider,
-            _ignoreBrokenSystemCatalogIndex);
+            _ignoreBrokenSystemCatalogIndex, _metricsCollector, _schemaCacheDir);
+        db.setTableCacheLimits(_tableCacheSize, _tableCacheMemory);
+        db.setLinkResolver(_linkResolver);
+        return db;
     }
 
     /**
@@ -254,7 +328,9 @@ public class DatabaseBuilder {
      */
     @SuppressWarnings("java:S2095") // suppress sonarcloud warning regarding try-with-resources
     public Database create() throws IOException {
-        Database db = DatabaseImpl.create(_fileFormat, _mdbFile, _channel, _autoSync, _charset, _timeZone);
+        DatabaseImpl db = DatabaseImpl.create(_fileFormat, _mdbFile, _channel, _autoSync, _charset, _timeZone, _metricsCollector);
+        db.setTableCacheLimits(_tableCacheSize, _tableCacheMemory);
+        db.setLinkResolver(_linkResolver);
         if (_dbProps != null) {
             PropertyMap props = db.getDatabaseProperties();
             props.putAll(_dbProps.values());
@@ -19,6 +19,8 @@ package io.github.spannm.jackcess;
 import io.github.spannm.jackcess.util.EntryIterableBuilder;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Cursor backed by an {@link Index} with extended traversal options. Table traversal will be in the order defined by
@@ -49,6 +51,41 @@ public interface IndexCursor extends Cursor {
      */
     boolean findFirstRowByEntry(Object... entryValues) throws IOException;
 
+    /**
+     * Finds all rows (within the range of this cursor) where the index entries match each of the given lookup values.
+     * This is much faster than calling {@link #findRowByEntry(Object...)} repeatedly for many lookups, as the index
+     * pages are read in a single forward pass and the rows in page order. The position of the cursor is not changed.
+     *
+     * @param entryValuesList the column values for the index's columns (or a prefix of them) for each lookup
+     * @return the matching rows (in index order) for each lookup, in the order of the given lookups (empty if there is
+     *         no match)
+     */
+    List<List<Row>> findRowsByEntries(Collection<Object[]> entryValuesList) throws IOException;
+
+    /**
+     * Counts the rows (within the range of this cursor) whose index entries lie between the given values. Only the
+     * index is read, no rows are loaded. The position of the cursor is not changed.
+     * <p>
+     * Note, certain types of indexes do not include all rows (see {@link Index#shouldIgnoreNulls}).
+     *
+     * @param startEntryValues the column values for the index's columns (or a prefix of them) at the start of the
+     *        range, or {@code null} for the start of this cursor
+     * @param startInclusive whether or not entries matching the start values are included
+     * @param endEntryValues the column values for the index's columns (or a prefix of them) at the end of the range,
+     *        or {@code null} for the end of this cursor
+     * @param endInclusive whether or not entries matching the end values are included
+     * @return the number of matching rows
+     */
+    long countRange(Object[] startEntryValues, boolean startInclusive, Object[] endEntryValues, boolean endInclusive) throws IOException;
+
+    /**
+     * Returns {@code true} if there is a row (within the range of this cursor) matching the given index entries. Only
+     * the index is read, no rows are loaded. The position of the cursor is not changed.
+     *
+     * @param entryValues the column values for the index's columns (or a prefix of them).
+     */
+    boolean exists(Object... entryValues) throws IOException;
+
     /**
      * Moves to the first row (as defined by the cursor) where the index entries are &gt;= the given values. If a an
      * exception is thrown, the cursor is restored to its previous state.
@@ -71,4 +108,26 @@ public interface IndexCursor extends Cursor {
      * @param entryValues the column values for the index's columns.
      */
     EntryIterableBuilder newEntryIterable(Object... entryValues);
+
+    /**
+     * Returns {@code true} if all of the given columns can be read directly from the entries of the index of this
+     * cursor (see {@link #newIndexOnlyIterable}).
+     * <p>
+     * This is the case for index columns of type integer, long, byte, float, double, date/time, currency, GUID,
+     * binary and boolean, provided that all preceding index columns are of such a type as well.
+     *
+     * @param columnNames the names of the desired columns
+     */
+    boolean isIndexOnlyCapable(Collection<String> columnNames);
+
+    /**
+     * Returns an Iterable whose iterator returns the given columns of all rows within the range of this cursor (in
+     * index order), decoded from the index entries alone. The rows of the table are never read, so this is much faster
+     * than regular iteration for key listings and counts. The iteration is independent of the position of this
+     * cursor.
+     *
+     * @param columnNames the names of the desired columns
+     * @throws IllegalArgumentException if the columns cannot be read from the index, see {@link #isIndexOnlyCapable}
+     */
+    Iterable<Row> newIndexOnlyIterable(Collection<String> columnNames);
 }
@@ -521,11 +521,9 @@ public class ColumnImpl implements Column, Comparable<ColumnImpl>, DateTimeConte
             return;
         }
 
-        // first initialize any "external" (user-defined) validator
+        // initialize any "external" (user-defined) validator, the "internal"
+        // (property defined) validators are loaded by the table on first write
         setColumnValidator(null);
-
-        // next, initialize any "internal" (property defined) validators
-        reloadPropertiesValidators();
     }
 
     void reloadPropertiesValidators() throws IOException {
@@ -1266,6 +1264,7 @@ public class ColumnImpl implements Column, Comparable<ColumnImpl>, DateTimeConte
      * Returns a default value for this column
      */
     public Object generateDefaultValue() throws IOException {
+        getTable().initPropertiesValidators();
         return _defValue != null ? _defValue.eval() : null;
     }
 
@@ -1273,6 +1272,7 @@ public class ColumnImpl implements Column, Comparable<ColumnImpl>, DateTimeConte
      * Passes the given obj through the currently configured validator for this column and returns the result.
      */
     public Object validate(Object obj) throws IOException {
+        getTable().initPropertiesValidators();
         return _validator.validate(this, obj);
     }
 
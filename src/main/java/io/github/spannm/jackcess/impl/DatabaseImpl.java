@@ -19,6 +19,7 @@ package io.github.spannm.jackcess.impl;
 import io.github.spannm.jackcess.*;
 import io.github.spannm.jackcess.expr.EvalConfig;
 import io.github.spannm.jackcess.impl.IndexData.ColumnDescriptor;
+import io.github.spannm.jackcess.impl.query.QueryFormat;
 import io.github.spannm.jackcess.impl.query.QueryImpl;
 import io.github.spannm.jackcess.query.Query;
 import io.github.spannm.jackcess.util.*;
@@ -27,7 +28,7 @@ import java.io.*;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.lang.ref.ReferenceQueue;
-import java.lang.ref.WeakReference;
+import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
@@ -78,6 +79,15 @@ public class DatabaseImpl implements Database, DateTimeContext {
         addFileFormatDetails(FileFormat.MSISAM, null, JetFormat.VERSION_MSISAM);
     }
 
+    /**
+     * default max number of most recently used tables held strongly by the table cache
+     */
+    public static final int                 DEFAULT_TABLE_CACHE_SIZE            = 16;
+    /**
+     * default max estimated memory size (in bytes) of the tables held strongly by the table cache
+     */
+    public static final long                DEFAULT_TABLE_CACHE_MEMORY          = 8L * 1024L * 1024L;
+
     /**
      * System catalog always lives on page 2
      */
@@ -308,9 +318,15 @@ public class DatabaseImpl implements Database, DateTimeContext {
      */
     private static final Collection<String> SYSTEM_CATALOG_PROPS_COLUMNS        = Set.of(CAT_COL_ID, CAT_COL_PROPS);
     /**
-     * the columns to read when grabbing dates
+     * the columns to read when building the in-memory catalog index
      */
-    private static final Collection<String> SYSTEM_CATALOG_DATE_COLUMNS         = Set.of(CAT_COL_ID, CAT_COL_DATE_CREATE, CAT_COL_DATE_UPDATE);
+    private static final Collection<String> SYSTEM_CATALOG_INDEX_COLUMNS        = Set.of(CAT_COL_NAME, CAT_COL_TYPE, CAT_COL_ID, CAT_COL_FLAGS, CAT_COL_PROPS,
+        CAT_COL_DATE_CREATE, CAT_COL_DATE_UPDATE);
+    /**
+     * the columns to store in a schema snapshot
+     */
+    private static final Collection<String> SYSTEM_CATALOG_SNAPSHOT_COLUMNS     = Set.of(CAT_COL_NAME, CAT_COL_TYPE, CAT_COL_ID, CAT_COL_FLAGS, CAT_COL_PARENT_ID, CAT_COL_DATABASE,
+        CAT_COL_FOREIGN_NAME, CAT_COL_CONNECT_NAME, CAT_COL_PROPS, CAT_COL_DATE_CREATE, CAT_COL_DATE_UPDATE);
 
     /**
      * regex matching characters which are invalid in identifier names
@@ -366,6 +382,14 @@ public class DatabaseImpl implements Database, DateTimeContext {
      * utility table finder
      */
     private TableFinder                     mtableFinder;
+    /**
+     * in-memory index of the system catalog by object id (built on first use)
+     */
+    private CatalogIndex                    mcatalogIndex;
+    /**
+     * tables by lookup name from the schema snapshot, if the database was opened with a schema cache
+     */
+    private Map<String, TableInfo>          msnapshotTables;
     /**
      * System access control entries table (initialized on first use)
      */
@@ -382,6 +406,10 @@ public class DatabaseImpl implements Database, DateTimeContext {
      * System relationships table (initialized on first use)
      */
     private TableImpl                       mrelationships;
+    /**
+     * in-memory graph of the system relationships (built on first use)
+     */
+    private RelationshipGraph               mrelationshipGraph;
     /**
      * System queries table (initialized on first use)
      */
@@ -478,6 +506,10 @@ public class DatabaseImpl implements Database, DateTimeContext {
      * any linked databases which have been opened
      */
     private Map<String, Database>           mlinkedDbs;
+    /**
+     * the resolver which opened each linked database, it also has to release it
+     */
+    private Map<String, LinkResolver>       mlinkedDbResolvers;
     /**
      * shared state used when enforcing foreign keys
      */
@@ -522,9 +554,36 @@ public class DatabaseImpl implements Database, DateTimeContext {
      * @param timeZone TimeZone to use, if {@code null}, uses default
      * @param provider CodecProvider for handling page encoding/decoding, may be {@code null} if no special encoding is necessary
      */
-    @SuppressWarnings("PMD.UseTryWithResources")
     public static DatabaseImpl open(Path mdbFile, boolean readOnly, FileChannel channel, boolean autoSync, Charset charset, TimeZone timeZone, CodecProvider provider, boolean ignoreSystemCatalogIndex)
         throws IOException {
+        return open(mdbFile, readOnly, channel, autoSync, charset, timeZone, provider, ignoreSystemCatalogIndex, null);
+    }
+
+    /**
+     * Open an existing Database, reporting its I/O and engine events to the given collector.
+     *
+     * @param metrics receives the I/O and engine events of the database, may be {@code null}
+     *
+     * @see #open(Path, boolean, FileChannel, boolean, Charset, TimeZone, CodecProvider, boolean)
+     */
+    @SuppressWarnings("PMD.UseTryWithResources")
+    public static DatabaseImpl open(Path mdbFile, boolean readOnly, FileChannel channel, boolean autoSync, Charset charset, TimeZone timeZone, CodecProvider provider, boolean ignoreSystemCatalogIndex,
+        MetricsCollector metrics) throws IOException {
+        return open(mdbFile, readOnly, channel, autoSync, charset, timeZone, provider, ignoreSystemCatalogIndex, metrics, null);
+    }
+
+    /**
+     * Open an existing Database, reporting its I/O and engine events to the given collector and using a schema
+     * snapshot from the given cache directory.
+     *
+     * @param metrics receives the I/O and engine events of the database, may be {@code null}
+     * @param schemaCacheDir directory holding the schema snapshots of read-only databases, may be {@code null}
+     *
+     * @see #open(Path, boolean, FileChannel, boolean, Charset, TimeZone, CodecProvider, boolean)
+     */
+    @SuppressWarnings("PMD.UseTryWithResources")
+    public static DatabaseImpl open(Path mdbFile, boolean readOnly, FileChannel channel, boolean autoSync, Charset charset, TimeZone timeZone, CodecProvider provider, boolean ignoreSystemCatalogIndex,
+        MetricsCollector metrics, Path schemaCacheDir) throws IOException {
 
         boolean closeChannel = false;
         if (channel == null) {
@@ -565,7 +624,10 @@ public class DatabaseImpl implements Database, DateTimeContext {
                 channel = new ReadOnlyFileChannel(channel);
             }
 
-            DatabaseImpl db = new DatabaseImpl(mdbFile, channel, closeChannel, autoSync, null, charset, timeZone, provider, readOnly, ignoreSystemCatalogIndex);
+            JfrEvents.DatabaseOpen event = new JfrEvents.DatabaseOpen();
+            event.begin();
+            DatabaseImpl db = new DatabaseImpl(mdbFile, channel, closeChannel, autoSync, null, charset, timeZone, provider, readOnly, ignoreSystemCatalogIndex, metrics, schemaCacheDir);
+            db.commitOpenEvent(event, false);
             success = true;
             return db;
 
@@ -589,8 +651,20 @@ public class DatabaseImpl implements Database, DateTimeContext {
      * @param charset Charset to use, if {@code null}, uses default
      * @param timeZone TimeZone to use, if {@code null}, uses default
      */
-    @SuppressWarnings("PMD.UseTryWithResources")
     public static DatabaseImpl create(FileFormat fileFormat, Path mdbFile, FileChannel channel, boolean autoSync, Charset charset, TimeZone timeZone) throws IOException {
+        return create(fileFormat, mdbFile, channel, autoSync, charset, timeZone, null);
+    }
+
+    /**
+     * Create a new Database for the given fileFormat, reporting its I/O and engine events to the given collector.
+     *
+     * @param metrics receives the I/O and engine events of the database, may be {@code null}
+     *
+     * @see #create(FileFormat, Path, FileChannel, boolean, Charset, TimeZone)
+     */
+    @SuppressWarnings("PMD.UseTryWithResources")
+    public static DatabaseImpl create(FileFormat fileFormat, Path mdbFile, FileChannel channel, boolean autoSync, Charset charset, TimeZone timeZone, MetricsCollector metrics)
+        throws IOException {
         FileFormatDetails details = getFileFormatDetails(fileFormat);
         if (details.getFormat().READ_ONLY) {
             throw new IOException("File format " + fileFormat + " does not support writing for " + mdbFile);
@@ -608,9 +682,15 @@ public class DatabaseImpl implements Database, DateTimeContext {
         boolean success = false;
         try {
             channel.truncate(0);
-            transferDatabase(getResourceAsStream(details.getEmptyFilePath()), channel);
-            channel.force(true);
-            DatabaseImpl db = new DatabaseImpl(mdbFile, channel, closeChannel, autoSync, fileFormat, charset, timeZone, null, false, false);
+            details.writeEmptyFile(channel);
+            if (autoSync) {
+                channel.force(true);
+            }
+            JfrEvents.DatabaseOpen event = new JfrEvents.DatabaseOpen();
+            event.begin();
+            DatabaseImpl db = new DatabaseImpl(mdbFile, channel, closeChannel, autoSync, fileFormat, charset, timeZone, null, false, false, metrics, null);
+            db.initEmptyCatalogIndex(details);
+            db.commitOpenEvent(event, true);
             success = true;
             return db;
         } finally {
@@ -621,6 +701,16 @@ public class DatabaseImpl implements Database, DateTimeContext {
         }
     }
 
+    private void commitOpenEvent(JfrEvents.DatabaseOpen event, boolean created) throws IOException {
+        if (event.shouldCommit()) {
+            event.databasePath = mfile != null ? mfile.toString() : null;
+            event.fileFormat = getFileFormat().name();
+            event.created = created;
+            event.readOnly = mreadOnly;
+            event.commit();
+        }
+    }
+
     /**
      * Package visible only to support unit tests via DatabaseTest.openChannel().
      *
@@ -649,6 +739,20 @@ public class DatabaseImpl implements Database, DateTimeContext {
      */
     protected DatabaseImpl(Path file, FileChannel channel, boolean closeChannel, boolean autoSync, FileFormat fileFormat, Charset charset, TimeZone timeZone, CodecProvider provider, boolean readOnly,
         boolean ignoreSystemCatalogIndex) throws IOException {
+        this(file, channel, closeChannel, autoSync, fileFormat, charset, timeZone, provider, readOnly, ignoreSystemCatalogIndex, null, null);
+    }
+
+    /**
+     * Create a new database by reading it in from a FileChannel, reporting its I/O and engine events to the given
+     * collector.
+     *
+     * @param metrics receives the I/O and engine events of the database, may be {@code null}
+     * @param schemaCacheDir directory holding the schema snapshots of read-only databases, may be {@code null}
+     *
+     * @see #DatabaseImpl(Path, FileChannel, boolean, boolean, FileFormat, Charset, TimeZone, CodecProvider, boolean, boolean)
+     */
+    protected DatabaseImpl(Path file, FileChannel channel, boolean closeChannel, boolean autoSync, FileFormat fileFormat, Charset charset, TimeZone timeZone, CodecProvider provider, boolean readOnly,
+        boolean ignoreSystemCatalogIndex, MetricsCollector metrics, Path schemaCacheDir) throws IOException {
         mfile = file;
         mname = getName(file);
         mreadOnly = readOnly;
@@ -661,7 +765,7 @@ public class DatabaseImpl implements Database, DateTimeContext {
         mfileFormat = fileFormat;
         setZoneInfo(timeZone, null);
         _dtf = ColumnImpl.getDateTimeFactory(getDefaultDateTimeType());
-        mpageChannel = new PageChannel(channel, closeChannel, mformat, autoSync);
+        mpageChannel = new PageChannel(channel, closeChannel, mformat, autoSync, metrics);
         if (provider == null) {
             provider = DefaultCodecProvider.INSTANCE;
         }
@@ -670,7 +774,7 @@ public class DatabaseImpl implements Database, DateTimeContext {
         // needed
         mpageChannel.initialize(this, provider);
         mbuffer = mpageChannel.createPageBuffer();
-        readSystemCatalog(ignoreSystemCatalogIndex);
+        readSystemCatalog(ignoreSystemCatalogIndex, schemaCacheDir);
     }
 
     @Override
@@ -1055,15 +1159,22 @@ public class DatabaseImpl implements Database, DateTimeContext {
      *       This ID is used by all subsequent table lookups and must not be {@code null}.</li>
      * </ol>
      * <p>
+     * If a valid schema snapshot exists in {@code schemaCacheDir}, the ID is taken from the snapshot and the table
+     * lookups are served from the snapshot rows, so that the catalog rows are neither looked up nor scanned.
+     * <p>
      * The {@code ignoreSystemCatalogIndex} flag can force the fallback path unconditionally (e.g. for
      * repair/recovery scenarios or when the database is opened with relaxed read options).
      *
      * @param ignoreSystemCatalogIndex if {@code true}, skip the index cursor attempt and use a table scan
+     * @param schemaCacheDir if not {@code null}, the directory to read the schema snapshot of a read-only database from
+     *            (or to write it to)
      * @throws IOException if the system catalog cannot be read or if {@link #mtableParentId} cannot be resolved
      */
-    private void readSystemCatalog(boolean ignoreSystemCatalogIndex) throws IOException {
+    private void readSystemCatalog(boolean ignoreSystemCatalogIndex, Path schemaCacheDir) throws IOException {
         msystemCatalog = loadTable(TABLE_SYSTEM_CATALOG, PAGE_SYSTEM_CATALOG, SYSTEM_OBJECT_FLAGS, TYPE_TABLE);
 
+        SchemaSnapshot snapshot = schemaCacheDir != null ? readSchemaSnapshot(schemaCacheDir) : null;
+
         boolean forceScan = ignoreSystemCatalogIndex;
         if (!forceScan) {
             // Proactively check whether the (ParentId, Name) compound index on MSysObjects is
@@ -1109,7 +1220,9 @@ public class DatabaseImpl implements Database, DateTimeContext {
         // In that case we resolve mtableParentId, dynamicDbParentId, and msysParentId by scanning
         // MSysObjects once. For normal databases the index cursor is used and no scan is needed.
         if (forceScan) {
-            for (Row row : CursorImpl.createCursor(msystemCatalog).newIterable().withColumnNames(SYSTEM_CATALOG_COLUMNS)) {
+            Iterable<Row> catalogRows = snapshot != null ? snapshot.getRows()
+                : CursorImpl.createCursor(msystemCatalog).newIterable().withColumnNames(SYSTEM_CATALOG_COLUMNS);
+            for (Row row : catalogRows) {
                 String name = row.getString(CAT_COL_NAME);
                 if (SYSTEM_OBJECT_NAME_TABLES.equalsIgnoreCase(name) && mtableParentId == null) {
                     mtableParentId = row.getInt(CAT_COL_ID);
@@ -1130,10 +1243,19 @@ public class DatabaseImpl implements Database, DateTimeContext {
             }
         }
 
-        if (mtableParentId == null) {
+        if (snapshot != null) {
+            mtableParentId = snapshot.getTableParentId();
+        } else if (mtableParentId == null) {
             mtableParentId = mtableFinder.findObjectId(DB_PARENT_ID, SYSTEM_OBJECT_NAME_TABLES);
         }
 
+        if (snapshot == null && schemaCacheDir != null && mtableParentId != null && mreadOnly && mfile != null) {
+            snapshot = writeSchemaSnapshot(schemaCacheDir);
+        }
+        if (snapshot != null) {
+            useSchemaSnapshot(snapshot);
+        }
+
         if (mtableParentId == null) {
             if (LOGGER.isLoggable(Level.WARNING)) {
                 for (Row row : CursorImpl.createCursor(msystemCatalog).newIterable().withColumnNames(SYSTEM_CATALOG_COLUMNS)) {
@@ -1148,6 +1270,49 @@ public class DatabaseImpl implements Database, DateTimeContext {
         LOGGER.log(Level.DEBUG, withErrorContext("Finished reading system catalog. Tables: " + getTableNames()));
     }
 
+    /**
+     * Reads the schema snapshot of this database from the given directory. Only used for read-only databases, as the
+     * snapshot is not updated on writes.
+     *
+     * @return the snapshot, or {@code null} if this database is not read-only or there is no valid snapshot
+     */
+    private SchemaSnapshot readSchemaSnapshot(Path schemaCacheDir) throws IOException {
+        if (!mreadOnly || mfile == null) {
+            LOGGER.log(Level.DEBUG, () -> withErrorContext("Ignoring schema cache for database which is not read-only"));
+            return null;
+        }
+        return SchemaSnapshot.read(SchemaSnapshot.getSnapshotFile(schemaCacheDir, mfile), SchemaSnapshot.getFileKey(this));
+    }
+
+    /**
+     * Takes a snapshot of the system catalog rows and writes it to the given directory.
+     */
+    private SchemaSnapshot writeSchemaSnapshot(Path schemaCacheDir) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        for (Row row : CursorImpl.createCursor(msystemCatalog).newIterable().withColumnNames(SYSTEM_CATALOG_SNAPSHOT_COLUMNS)) {
+            rows.add(row);
+        }
+        SchemaSnapshot snapshot = new SchemaSnapshot(SchemaSnapshot.getFileKey(this), mtableParentId, rows);
+        snapshot.write(SchemaSnapshot.getSnapshotFile(schemaCacheDir, mfile));
+        return snapshot;
+    }
+
+    /**
+     * Serves the table lookups and the catalog index from the given snapshot instead of the system catalog.
+     */
+    private void useSchemaSnapshot(SchemaSnapshot snapshot) {
+        Map<String, TableInfo> tables = new HashMap<>();
+        for (Row row : snapshot.getRows()) {
+            Short type = row.getShort(CAT_COL_TYPE);
+            if (isTableType(type) && mtableParentId.equals(row.getInt(CAT_COL_PARENT_ID))) {
+                String name = row.getString(CAT_COL_NAME);
+                tables.put(toLookupName(name), createTableInfo(name, type, row));
+            }
+        }
+        msnapshotTables = tables;
+        mcatalogIndex = new CatalogIndex(snapshot.getRows());
+    }
+
     @Override
     public Set<String> getTableNames() throws IOException {
         if (mtableNames == null) {
@@ -1163,6 +1328,18 @@ public class DatabaseImpl implements Database, DateTimeContext {
 
     private Set<String> getTableNames(boolean normalTables, boolean systemTables, boolean linkedTables) throws IOException {
         Set<String> tableNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (msnapshotTables != null) {
+            for (TableInfo tableInfo : msnapshotTables.values()) {
+                if (TYPE_TABLE.equals(tableInfo.tableType)) {
+                    if (tableInfo.isSystem() ? systemTables : normalTables) {
+                        tableNames.add(tableInfo.tableName);
+                    }
+                } else if (linkedTables && isAnyLinkedTableType(tableInfo.tableType)) {
+                    tableNames.add(tableInfo.tableName);
+                }
+            }
+            return tableNames;
+        }
         mtableFinder.fillTableNames(tableNames, normalTables, systemTables, linkedTables);
         return tableNames;
     }
@@ -1201,7 +1378,7 @@ public class DatabaseImpl implements Database, DateTimeContext {
     }
 
     @Override
-    public TableImpl getTable(String name) throws IOException {
+    public Table getTable(String name) throws IOException {
         return getTable(name, false);
     }
 
@@ -1223,7 +1400,7 @@ public class DatabaseImpl implements Database, DateTimeContext {
      * @param includeSystemTables whether to consider returning a system table
      * @return The table, or null if it doesn't exist
      */
-    protected TableImpl getTable(String name, boolean includeSystemTables) throws IOException {
+    protected Table getTable(String name, boolean includeSystemTables) throws IOException {
         TableInfo tableInfo = getTableInfo(name, includeSystemTables);
         return tableInfo != null ? getTable(tableInfo, includeSystemTables) : null;
     }
@@ -1238,22 +1415,27 @@ public class DatabaseImpl implements Database, DateTimeContext {
         return tableInfo;
     }
 
-    private TableImpl getTable(TableInfo tableInfo, boolean includeSystemTables) throws IOException {
+    private Table getTable(TableInfo tableInfo, boolean includeSystemTables) throws IOException {
         if (tableInfo.getType() == TableMetaData.Type.LINKED) {
 
             if (mlinkedDbs == null) {
                 mlinkedDbs = new HashMap<>();
+                mlinkedDbResolvers = new HashMap<>();
             }
 
             String linkedDbName = tableInfo.getLinkedDbName();
             String linkedTableName = tableInfo.getLinkedTableName();
             Database linkedDb = mlinkedDbs.get(linkedDbName);
             if (linkedDb == null) {
-                linkedDb = getLinkResolver().resolveLinkedDatabase(this, linkedDbName);
+                LinkResolver linkResolver = getLinkResolver();
+                linkedDb = linkResolver.resolveLinkedDatabase(this, linkedDbName);
                 mlinkedDbs.put(linkedDbName, linkedDb);
+                mlinkedDbResolvers.put(linkedDbName, linkResolver);
             }
 
-            return ((DatabaseImpl) linkedDb).getTable(linkedTableName, includeSystemTables);
+            // the linked database may be a thread-safe view of a shared database
+            // (see LinkedDatabasePool), so only use the public api here
+            return includeSystemTables ? linkedDb.getSystemTable(linkedTableName) : linkedDb.getTable(linkedTableName);
         }
 
         return loadTable(tableInfo.tableName, tableInfo.pageNumber, tableInfo.flags, tableInfo.tableType);
@@ -1361,22 +1543,36 @@ public class DatabaseImpl implements Database, DateTimeContext {
     }
 
     private List<Relationship> getRelationshipsImpl(TableImpl table1, TableImpl table2, boolean includeSystemTables) throws IOException {
-        initRelationships();
+        RelationshipGraph graph = getRelationshipGraph();
 
         List<Relationship> relationships = new ArrayList<>();
 
         if (table1 != null) {
-            Cursor cursor = createCursorWithOptionalIndex(mrelationships, REL_COL_FROM_TABLE, table1.getName());
-            collectRelationships(cursor, table1, table2, relationships, includeSystemTables);
-            cursor = createCursorWithOptionalIndex(mrelationships, REL_COL_TO_TABLE, table1.getName());
-            collectRelationships(cursor, table2, table1, relationships, includeSystemTables);
+            String tableName = toLookupName(table1.getName());
+            collectRelationships(graph._fromTableRels.getOrDefault(tableName, List.of()), table1, table2, relationships, includeSystemTables);
+            collectRelationships(graph._toTableRels.getOrDefault(tableName, List.of()), table2, table1, relationships, includeSystemTables);
         } else {
-            collectRelationships(new CursorBuilder(mrelationships).toCursor(), null, null, relationships, includeSystemTables);
+            collectRelationships(graph._rels.values(), null, null, relationships, includeSystemTables);
         }
 
         return relationships;
     }
 
+    /**
+     * @return the in-memory graph of the system relationships, (re)built if missing or stale
+     */
+    private RelationshipGraph getRelationshipGraph() throws IOException {
+        initRelationships();
+        if (!isRelationshipGraphCurrent()) {
+            mrelationshipGraph = new RelationshipGraph();
+        }
+        return mrelationshipGraph;
+    }
+
+    private boolean isRelationshipGraphCurrent() {
+        return mrelationshipGraph != null && mrelationshipGraph.isCurrent();
+    }
+
     RelationshipImpl writeRelationship(RelationshipCreator creator) throws IOException {
         initRelationships();
 
@@ -1407,11 +1603,15 @@ public class DatabaseImpl implements Database, DateTimeContext {
             rows.add(row);
         }
 
+        boolean graphCurrent = isRelationshipGraphCurrent();
         getPageChannel().startWrite();
         try {
 
             int relObjId = mtableFinder.getNextFreeSyntheticId();
             mrelationships.addRows(rows);
+            if (graphCurrent) {
+                mrelationshipGraph.add(newRel);
+            }
             addToSystemCatalog(name, relObjId, TYPE_RELATIONSHIP, null, null, mrelParentId);
             addToAccessControlEntries(relObjId, mrelParentId, mnewRelSIDs);
 
@@ -1481,49 +1681,149 @@ public class DatabaseImpl implements Database, DateTimeContext {
 
     @Override
     public List<Query> getQueries() throws IOException {
-        // the queries table does not get loaded until first accessed
-        if (mqueries == null) {
-            mqueries = getRequiredSystemTable(TABLE_SYSTEM_QUERIES);
-        }
+        CatalogIndex catalog = getCatalogIndex();
+        Map<Integer, Query> parsedQueries = getParsedQueries(catalog);
 
-        // find all the queries from the system catalog
-        List<Row> queryInfo = new ArrayList<>();
+        // find the queries from the system catalog which have not been parsed yet
         Map<Integer, List<QueryImpl.Row>> queryRowMap = new HashMap<>();
-        for (Row row : CursorImpl.createCursor(msystemCatalog).newIterable().withColumnNames(SYSTEM_CATALOG_COLUMNS)) {
-            String name = row.getString(CAT_COL_NAME);
-            if (name != null && TYPE_QUERY.equals(row.get(CAT_COL_TYPE))) {
-                queryInfo.add(row);
-                Integer id = row.getInt(CAT_COL_ID);
-                queryRowMap.put(id, new ArrayList<>());
+        for (CatalogEntry entry : catalog._queries.values()) {
+            if (!parsedQueries.containsKey(entry._objectId)) {
+                queryRowMap.put(entry._objectId, new ArrayList<>());
             }
         }
 
-        // find all the query rows
-        for (Row row : CursorImpl.createCursor(mqueries)) {
-            QueryImpl.Row queryRow = new QueryImpl.Row(row);
-            List<QueryImpl.Row> queryRows = queryRowMap.get(queryRow._objectId);
-            if (queryRows == null) {
-                LOGGER.log(Level.WARNING, withErrorContext("Found rows for query with id " + queryRow._objectId + " missing from system catalog"));
-                continue;
+        if (!queryRowMap.isEmpty()) {
+            // find all the query rows
+            for (Row row : CursorImpl.createCursor(mqueries)) {
+                QueryImpl.Row queryRow = new QueryImpl.Row(row);
+                List<QueryImpl.Row> queryRows = queryRowMap.get(queryRow._objectId);
+                if (queryRows == null) {
+                    if (!parsedQueries.containsKey(queryRow._objectId)) {
+                        LOGGER.log(Level.WARNING, withErrorContext("Found rows for query with id " + queryRow._objectId + " missing from system catalog"));
+                    }
+                    continue;
+                }
+                queryRows.add(queryRow);
             }
-            queryRows.add(queryRow);
         }
 
-        // lastly, generate all the queries
-        List<Query> queries = new ArrayList<>();
-        for (Row row : queryInfo) {
-            String name = row.getString(CAT_COL_NAME);
-            Integer id = row.getInt(CAT_COL_ID);
-            int flags = row.getInt(CAT_COL_FLAGS);
-            List<QueryImpl.Row> queryRows = queryRowMap.get(id);
-            queries.add(QueryImpl.create(flags, name, queryRows, id));
+        // lastly, generate the missing queries
+        List<Query> queries = new ArrayList<>(catalog._queries.size());
+        for (CatalogEntry entry : catalog._queries.values()) {
+            Query query = parsedQueries.get(entry._objectId);
+            if (query == null) {
+                query = QueryImpl.create(entry._flags, entry._name, queryRowMap.get(entry._objectId), entry._objectId);
+                parsedQueries.put(entry._objectId, query);
+            }
+            queries.add(query);
         }
 
         return queries;
     }
 
     @Override
-    public TableImpl getSystemTable(String tableName) throws IOException {
+    public Query getQuery(String name) throws IOException {
+        CatalogIndex catalog = getCatalogIndex();
+        CatalogEntry entry = catalog._queries.get(toLookupName(name));
+        return entry != null ? getQuery(catalog, entry) : null;
+    }
+
+    @Override
+    public Iterable<Query> newQueryIterable() {
+        return () -> {
+            try {
+                CatalogIndex catalog = getCatalogIndex();
+                Iterator<CatalogEntry> iter = new ArrayList<>(catalog._queries.values()).iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iter.hasNext();
+                    }
+
+                    @Override
+                    public Query next() {
+                        try {
+                            return getQuery(catalog, iter.next());
+                        } catch (IOException _ex) {
+                            throw new UncheckedIOException(_ex);
+                        }
+                    }
+                };
+            } catch (IOException _ex) {
+                throw new UncheckedIOException(_ex);
+            }
+        };
+    }
+
+    /**
+     * @return the parsed query for the given catalog entry, reading only the rows of this query from the system queries
+     *         table if it has not been parsed yet
+     */
+    private Query getQuery(CatalogIndex catalog, CatalogEntry entry) throws IOException {
+        Map<Integer, Query> parsedQueries = getParsedQueries(catalog);
+        Query query = parsedQueries.get(entry._objectId);
+        if (query != null) {
+            return query;
+        }
+
+        List<Row> rows = new ArrayList<>();
+        for (Row row : createQueryRowsCursor(entry._objectId)) {
+            if (entry._objectId.equals(row.getInt(QueryFormat.COL_OBJECTID))) {
+                rows.add(row);
+            }
+        }
+        // the index returns the rows grouped by attribute, restore the table order
+        rows.sort(Comparator.comparing(row -> (RowIdImpl) row.getId()));
+
+        List<QueryImpl.Row> queryRows = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            queryRows.add(new QueryImpl.Row(row));
+        }
+
+        query = QueryImpl.create(entry._flags, entry._name, queryRows, entry._objectId);
+        parsedQueries.put(entry._objectId, query);
+        return query;
+    }
+
+    /**
+     * @return the cache of parsed queries by object id, which is discarded whenever the system catalog or the system
+     *         queries table is modified
+     */
+    private Map<Integer, Query> getParsedQueries(CatalogIndex catalog) throws IOException {
+        // the queries table does not get loaded until first accessed
+        if (mqueries == null) {
+            mqueries = getRequiredSystemTable(TABLE_SYSTEM_QUERIES);
+        }
+        if (catalog._parsedQueries == null || catalog._queriesModCount != mqueries.getModCount()) {
+            catalog._parsedQueries = new HashMap<>();
+            catalog._queriesModCount = mqueries.getModCount();
+        }
+        return catalog._parsedQueries;
+    }
+
+    /**
+     * @return a cursor over the rows of the system queries table for the given query, using the index on the object id
+     *         if available (otherwise a table scan which must be filtered by the caller)
+     */
+    private Cursor createQueryRowsCursor(Integer objectId) throws IOException {
+        for (IndexImpl idx : mqueries.getIndexes()) {
+            List<ColumnDescriptor> cols = idx.getColumns();
+            if (QueryFormat.COL_OBJECTID.equalsIgnoreCase(cols.get(0).getName()) && idx.getIndexData().getUnsupportedReason() == null) {
+                Object[] startEntry = new Object[cols.size()];
+                Object[] endEntry = new Object[cols.size()];
+                Arrays.fill(startEntry, IndexData.MIN_VALUE);
+                Arrays.fill(endEntry, IndexData.MAX_VALUE);
+                startEntry[0] = objectId;
+                endEntry[0] = objectId;
+                return idx.newCursor().withStartEntry(startEntry).withEndEntry(endEntry).toCursor();
+            }
+        }
+        LOGGER.log(Level.DEBUG, () -> withErrorContext("Could not find expected index on table " + mqueries.getName()));
+        return CursorImpl.createCursor(mqueries);
+    }
+
+    @Override
+    public Table getSystemTable(String tableName) throws IOException {
         // For databases with an unsupported system catalog index (e.g. Turkish / LCID 1055)
         // msysParentId was resolved dynamically during readSystemCatalog(). Use it directly
         // so that the lookup targets the correct parent scope instead of mtableParentId.
@@ -1537,7 +1837,7 @@ public class DatabaseImpl implements Database, DateTimeContext {
     }
 
     private TableImpl getRequiredSystemTable(String tableName) throws IOException {
-        TableImpl table = getSystemTable(tableName);
+        TableImpl table = (TableImpl) getSystemTable(tableName);
         if (table == null) {
             throw new IOException(withErrorContext("Could not find system table " + tableName));
         }
@@ -1572,7 +1872,22 @@ public class DatabaseImpl implements Database, DateTimeContext {
      * @return the PropertyMaps for the object with the given id
      */
     public PropertyMaps getPropertiesForObject(int objectId, PropertyMaps.Owner owner) throws IOException {
-        return readProperties(objectId, mtableFinder.getObjectRow(objectId, SYSTEM_CATALOG_PROPS_COLUMNS), owner);
+        CatalogEntry entry = getCatalogIndex().get(objectId);
+        if (entry == null) {
+            return getPropsHandler().read(null, objectId, null, owner);
+        }
+        return getPropsHandler().read(entry._props, objectId, entry._rowId, owner);
+    }
+
+    /**
+     * Saves the given encoded properties to the system catalog row with the given id.
+     */
+    void updatePropertiesForObject(RowIdImpl rowId, byte[] propsBytes) throws IOException {
+        boolean catalogCurrent = isCatalogIndexCurrent();
+        msystemCatalog.updateValue(msystemCatalog.getColumn(CAT_COL_PROPS), rowId, propsBytes);
+        if (catalogCurrent) {
+            mcatalogIndex.refresh(rowId);
+        }
     }
 
     LocalDateTime getCreateDateForObject(int objectId) throws IOException {
@@ -1584,12 +1899,38 @@ public class DatabaseImpl implements Database, DateTimeContext {
     }
 
     private LocalDateTime getDateForObject(int objectId, String dateCol) throws IOException {
-        Row row = mtableFinder.getObjectRow(objectId, SYSTEM_CATALOG_DATE_COLUMNS);
-        if (row == null) {
+        CatalogEntry entry = getCatalogIndex().get(objectId);
+        if (entry == null) {
             return null;
         }
-        Object date = row.get(dateCol);
-        return date != null ? ColumnImpl.toLocalDateTime(date, this) : null;
+        return CAT_COL_DATE_CREATE.equals(dateCol) ? entry._createDate : entry._updateDate;
+    }
+
+    /**
+     * @return the in-memory index of the system catalog, (re)built if missing or stale
+     */
+    private CatalogIndex getCatalogIndex() throws IOException {
+        if (!isCatalogIndexCurrent()) {
+            mcatalogIndex = new CatalogIndex(CursorImpl.createCursor(msystemCatalog).newIterable().withColumnNames(SYSTEM_CATALOG_INDEX_COLUMNS));
+        }
+        return mcatalogIndex;
+    }
+
+    /**
+     * Initializes the catalog index of a newly created database. The system catalog of every new database of a given
+     * format is identical, so it is only scanned for the first database and shared with all later ones.
+     */
+    private void initEmptyCatalogIndex(FileFormatDetails details) throws IOException {
+        List<CatalogEntry> entries = details._emptyCatalog;
+        if (entries != null) {
+            mcatalogIndex = new CatalogIndex(entries);
+        } else {
+            details._emptyCatalog = List.copyOf(getCatalogIndex()._entries.values());
+        }
+    }
+
+    private boolean isCatalogIndexCurrent() {
+        return mcatalogIndex != null && mcatalogIndex.isCurrent();
     }
 
     private Integer getDbParentId() throws IOException {
@@ -1689,62 +2030,56 @@ public class DatabaseImpl implements Database, DateTimeContext {
     }
 
     /**
-     * Finds the relationships matching the given from and to tables from the given cursor and adds them to the given list.
+     * Finds the relationships matching the given from and to tables from the given relationship infos and adds them to
+     * the given list.
      */
-    private void collectRelationships(Cursor cursor, TableImpl fromTable, TableImpl toTable, List<Relationship> relationships, boolean includeSystemTables) throws IOException {
+    private void collectRelationships(Collection<RelationshipInfo> relInfos, TableImpl fromTable, TableImpl toTable, List<Relationship> relationships, boolean includeSystemTables) throws IOException {
         String fromTableName = fromTable != null ? fromTable.getName() : null;
         String toTableName = toTable != null ? toTable.getName() : null;
 
-        for (Row row : cursor) {
-            String fromName = row.getString(REL_COL_FROM_TABLE);
-            String toName = row.getString(REL_COL_TO_TABLE);
-
-            if ((fromTableName == null || fromTableName.equalsIgnoreCase(fromName)) && (toTableName == null || toTableName.equalsIgnoreCase(toName))) {
+        for (RelationshipInfo relInfo : relInfos) {
+            if ((fromTableName == null || fromTableName.equalsIgnoreCase(relInfo._fromTableName)) && (toTableName == null || toTableName.equalsIgnoreCase(relInfo._toTableName))) {
 
-                String relName = row.getString(REL_COL_NAME);
-
-                // found more info for a relationship. see if we already have some
-                // info for this relationship
-                Relationship rel = null;
+                // a relationship to the table itself is found on both sides
+                boolean found = false;
                 for (Relationship tmp : relationships) {
-                    if (tmp.getName().equalsIgnoreCase(relName)) {
-                        rel = tmp;
+                    if (tmp.getName().equalsIgnoreCase(relInfo._name)) {
+                        found = true;
                         break;
                     }
                 }
+                if (found) {
+                    continue;
+                }
 
-                TableImpl relFromTable = fromTable;
+                Table relFromTable = fromTable;
                 if (relFromTable == null) {
-                    relFromTable = getTable(fromName, includeSystemTables);
+                    relFromTable = getTable(relInfo._fromTableName, includeSystemTables);
                     if (relFromTable == null) {
                         // invalid table or ignoring system tables, just ignore
                         continue;
                     }
                 }
-                TableImpl relToTable = toTable;
+                Table relToTable = toTable;
                 if (relToTable == null) {
-                    relToTable = getTable(toName, includeSystemTables);
+                    relToTable = getTable(relInfo._toTableName, includeSystemTables);
                     if (relToTable == null) {
                         // invalid table or ignoring system tables, just ignore
                         continue;
                     }
                 }
 
-                if (rel == null) {
-                    // new relationship
-                    int numCols = row.getInt(REL_COL_COLUMN_COUNT);
-                    int flags = row.getInt(REL_COL_FLAGS);
-                    rel = new RelationshipImpl(relName, relFromTable, relToTable, flags, numCols);
-                    relationships.add(rel);
+                int numCols = relInfo._fromColumnNames.length;
+                RelationshipImpl rel = new RelationshipImpl(relInfo._name, relFromTable, relToTable, relInfo._flags, numCols);
+                for (int i = 0; i < numCols; i++) {
+                    if (relInfo._fromColumnNames[i] != null) {
+                        rel.getFromColumns().set(i, relFromTable.getColumn(relInfo._fromColumnNames[i]));
+                    }
+                    if (relInfo._toColumnNames[i] != null) {
+                        rel.getToColumns().set(i, relToTable.getColumn(relInfo._toColumnNames[i]));
+                    }
                 }
-
-                // add column info
-                int colIdx = row.getInt(REL_COL_COLUMN_INDEX);
-                ColumnImpl fromCol = relFromTable.getColumn(row.getString(REL_COL_FROM_COLUMN));
-                ColumnImpl toCol = relToTable.getColumn(row.getString(REL_COL_TO_COLUMN));
-
-                rel.getFromColumns().set(colIdx, fromCol);
-                rel.getToColumns().set(colIdx, toCol);
+                relationships.add(rel);
             }
         }
     }
@@ -1757,7 +2092,8 @@ public class DatabaseImpl implements Database, DateTimeContext {
      */
     private void addToSystemCatalog(String name, int objectId, Short type, String linkedDbName, String linkedTableName, Integer parentId) throws IOException {
         byte[] owner = getNewObjectOwner();
-        Object[] catalogRow = new Object[msystemCatalog.getColumnCount()];
+        boolean catalogCurrent = isCatalogIndexCurrent();
+        Object[] catalogRow = new Object[msystemCatalog.getColumnCount() + 1];
         int idx = 0;
         Date creationTime = new Date();
         for (Iterator<ColumnImpl> iter = msystemCatalog.getColumns().iterator(); iter.hasNext(); idx++) {
@@ -1782,7 +2118,11 @@ public class DatabaseImpl implements Database, DateTimeContext {
                 catalogRow[idx] = linkedTableName;
             }
         }
+        catalogRow[catalogRow.length - 1] = ColumnImpl.RETURN_ROW_ID;
         msystemCatalog.addRow(catalogRow);
+        if (catalogCurrent) {
+            mcatalogIndex.refresh((RowIdImpl) msystemCatalog.getRowId(catalogRow));
+        }
     }
 
     /**
@@ -1840,22 +2180,24 @@ public class DatabaseImpl implements Database, DateTimeContext {
         // first, check for existing table
         TableImpl table = mtableCache.get(pageNumber);
         if (table != null) {
+            mpageChannel.getMetricsCollector().tableCacheHit();
             return table;
         }
 
         if (name == null) {
             // lookup table info from system catalog
-            Row objectRow = mtableFinder.getObjectRow(pageNumber, SYSTEM_CATALOG_COLUMNS);
-            if (objectRow == null) {
+            CatalogEntry entry = getCatalogIndex().get(pageNumber);
+            if (entry == null) {
                 return null;
             }
 
-            name = objectRow.getString(CAT_COL_NAME);
-            flags = objectRow.getInt(CAT_COL_FLAGS);
-            type = objectRow.getShort(CAT_COL_TYPE);
+            name = entry._name;
+            flags = entry._flags;
+            type = entry._type;
         }
 
         // need to load table from db
+        mpageChannel.getMetricsCollector().tableCacheMiss();
         return mtableCache.put(readTable(name, pageNumber, flags, type));
     }
 
@@ -1890,9 +2232,24 @@ public class DatabaseImpl implements Database, DateTimeContext {
         return CursorImpl.createCursor(table);
     }
 
+    /**
+     * Sets the limits of the tables which are held strongly by the table cache of this database. Up to the given
+     * number of most recently used tables are kept (as long as their estimated memory size does not exceed the given
+     * number of bytes), all other tables are held softly and are re-read once the jvm runs low on memory.
+     *
+     * @param maxTables max number of most recently used tables to hold strongly, {@code 0} to hold all tables softly
+     * @param maxMemory max estimated memory size in bytes of the strongly held tables
+     */
+    public void setTableCacheLimits(int maxTables, long maxMemory) {
+        if (maxTables < 0 || maxMemory < 0L) {
+            throw new IllegalArgumentException(withErrorContext("Invalid table cache limits " + maxTables + ", " + maxMemory));
+        }
+        mtableCache.setLimits(maxTables, maxMemory);
+    }
+
     // intended for test use only
     public void clearTableCache() {
-        mtableCache._tables.clear();
+        mtableCache.clear();
     }
 
     @Override
@@ -1907,12 +2264,34 @@ public class DatabaseImpl implements Database, DateTimeContext {
 
     @Override
     public void close() throws IOException {
-        if (mlinkedDbs != null) {
-            for (Database linkedDb : mlinkedDbs.values()) {
-                linkedDb.close();
+        try {
+            if (mlinkedDbs != null) {
+                Map<String, Database> linkedDbs = mlinkedDbs;
+                Map<String, LinkResolver> linkResolvers = mlinkedDbResolvers;
+                // release each linked db only once, even if this db is closed again
+                mlinkedDbs = null;
+                mlinkedDbResolvers = null;
+                IOException error = null;
+                for (Map.Entry<String, Database> linkedDb : linkedDbs.entrySet()) {
+                    try {
+                        // release through the resolver which opened it, the current
+                        // one may have been replaced in the meantime
+                        linkResolvers.get(linkedDb.getKey()).releaseLinkedDatabase(this, linkedDb.getValue());
+                    } catch (IOException _ex) {
+                        if (error == null) {
+                            error = _ex;
+                        } else {
+                            error.addSuppressed(_ex);
+                        }
+                    }
+                }
+                if (error != null) {
+                    throw error;
+                }
             }
+        } finally {
+            mpageChannel.close();
         }
-        mpageChannel.close();
     }
 
     public void validateNewTableName(String name) throws IOException {
@@ -2013,6 +2392,10 @@ public class DatabaseImpl implements Database, DateTimeContext {
             return tableInfo;
         }
 
+        if (msnapshotTables != null) {
+            return msnapshotTables.get(lookupTableName);
+        }
+
         tableInfo = mtableFinder.lookupTable(tableName);
 
         if (tableInfo != null) {
@@ -2392,6 +2775,177 @@ public class DatabaseImpl implements Database, DateTimeContext {
         }
     }
 
+    /**
+     * In-memory graph of the system relationships table, with the relationships indexed by the tables on either side.
+     * It is built with a single scan of the relationships table and kept up-to-date when this database writes new
+     * relationships. Any other modification of the relationships table makes it stale, in which case it is rebuilt on
+     * next use.
+     */
+    private final class RelationshipGraph {
+        /** all relationships by lookup name, in table order */
+        private final Map<String, RelationshipInfo>       _rels          = new LinkedHashMap<>();
+        /** relationships by lookup name of their "from" table */
+        private final Map<String, List<RelationshipInfo>> _fromTableRels = new HashMap<>();
+        /** relationships by lookup name of their "to" table */
+        private final Map<String, List<RelationshipInfo>> _toTableRels   = new HashMap<>();
+        private int                                       _modCount;
+
+        private RelationshipGraph() throws IOException {
+            for (Row row : CursorImpl.createCursor(mrelationships)) {
+                addRow(row.getString(REL_COL_NAME), row.getString(REL_COL_FROM_TABLE), row.getString(REL_COL_TO_TABLE), row.getInt(REL_COL_FLAGS),
+                    row.getInt(REL_COL_COLUMN_COUNT), row.getInt(REL_COL_COLUMN_INDEX), row.getString(REL_COL_FROM_COLUMN), row.getString(REL_COL_TO_COLUMN));
+            }
+            _modCount = mrelationships.getModCount();
+        }
+
+        private boolean isCurrent() {
+            return _modCount == mrelationships.getModCount();
+        }
+
+        /**
+         * Adds the given relationship after it was written by this database.
+         */
+        private void add(RelationshipImpl rel) {
+            int numCols = rel.getFromColumns().size();
+            for (int i = 0; i < numCols; i++) {
+                addRow(rel.getName(), rel.getFromTable().getName(), rel.getToTable().getName(), rel.getFlags(), numCols, i,
+                    rel.getFromColumns().get(i).getName(), rel.getToColumns().get(i).getName());
+            }
+            _modCount = mrelationships.getModCount();
+        }
+
+        private void addRow(String relName, String fromTableName, String toTableName, Integer flags, Integer numCols, Integer colIdx, String fromColName, String toColName) {
+            if (relName == null || fromTableName == null || toTableName == null) {
+                return;
+            }
+
+            RelationshipInfo relInfo = _rels.get(toLookupName(relName));
+            if (relInfo == null) {
+                relInfo = new RelationshipInfo(relName, fromTableName, toTableName, flags, numCols);
+                _rels.put(toLookupName(relName), relInfo);
+                _fromTableRels.computeIfAbsent(toLookupName(fromTableName), k -> new ArrayList<>()).add(relInfo);
+                _toTableRels.computeIfAbsent(toLookupName(toTableName), k -> new ArrayList<>()).add(relInfo);
+            }
+
+            relInfo._fromColumnNames[colIdx] = fromColName;
+            relInfo._toColumnNames[colIdx] = toColName;
+        }
+    }
+
+    /**
+     * The details of a relationship held by the {@link RelationshipGraph}, referring to tables and columns by name.
+     */
+    private static final class RelationshipInfo {
+        private final String   _name;
+        private final String   _fromTableName;
+        private final String   _toTableName;
+        private final int      _flags;
+        private final String[] _fromColumnNames;
+        private final String[] _toColumnNames;
+
+        private RelationshipInfo(String name, String fromTableName, String toTableName, int flags, int numCols) {
+            _name = name;
+            _fromTableName = fromTableName;
+            _toTableName = toTableName;
+            _flags = flags;
+            _fromColumnNames = new String[numCols];
+            _toColumnNames = new String[numCols];
+        }
+    }
+
+    /**
+     * In-memory index of the system catalog, mapping object ids to the details needed by object lookups (name, type,
+     * flags, properties and dates). It is built with a single scan of the system catalog (or from a schema snapshot)
+     * and kept up-to-date when this database adds objects or saves object properties. Any other modification of the system
+     * catalog table makes it stale, in which case it is rebuilt on next use.
+     */
+    private final class CatalogIndex {
+        private final Map<Integer, CatalogEntry> _entries = new HashMap<>();
+        /** query objects by lookup name, in table order */
+        private final Map<String, CatalogEntry>  _queries = new LinkedHashMap<>();
+        private int                              _modCount;
+        /** parsed queries by object id, valid as long as the system queries table is unchanged */
+        private Map<Integer, Query>              _parsedQueries;
+        private int                              _queriesModCount;
+
+        private CatalogIndex(Iterable<Row> rows) {
+            for (Row row : rows) {
+                put(row);
+            }
+            _modCount = msystemCatalog.getModCount();
+            LOGGER.log(Level.DEBUG, () -> withErrorContext("Indexed " + _entries.size() + " system catalog objects"));
+        }
+
+        private CatalogIndex(Collection<CatalogEntry> entries) {
+            for (CatalogEntry entry : entries) {
+                add(entry);
+            }
+            _modCount = msystemCatalog.getModCount();
+        }
+
+        private boolean isCurrent() {
+            return _modCount == msystemCatalog.getModCount();
+        }
+
+        private CatalogEntry get(int objectId) {
+            return _entries.get(objectId);
+        }
+
+        /**
+         * Re-reads the given row after it was written by this database.
+         */
+        private void refresh(RowIdImpl rowId) throws IOException {
+            put(msystemCatalog.getRow(msystemCatalog.getDefaultCursor().getRowState(), rowId, SYSTEM_CATALOG_INDEX_COLUMNS));
+            _modCount = msystemCatalog.getModCount();
+        }
+
+        private void put(Row row) {
+            Integer objectId = row.getInt(CAT_COL_ID);
+            if (objectId != null) {
+                add(new CatalogEntry(objectId, row, DatabaseImpl.this));
+            }
+        }
+
+        private void add(CatalogEntry entry) {
+            _entries.put(entry._objectId, entry);
+            if (entry._name != null && TYPE_QUERY.equals(entry._type)) {
+                _queries.put(toLookupName(entry._name), entry);
+            }
+        }
+    }
+
+    /**
+     * The details of a system catalog row held by the {@link CatalogIndex}. Entries do not depend on the database
+     * they were read from (dates are held as {@link LocalDateTime}), so they may be shared between databases with
+     * identical system catalogs.
+     */
+    private static final class CatalogEntry {
+        private final Integer       _objectId;
+        private final String        _name;
+        private final Short         _type;
+        private final int           _flags;
+        private final byte[]        _props;
+        private final LocalDateTime _createDate;
+        private final LocalDateTime _updateDate;
+        private final RowIdImpl     _rowId;
+
+        private CatalogEntry(Integer objectId, Row row, DatabaseImpl db) {
+            _objectId = objectId;
+            _name = row.getString(CAT_COL_NAME);
+            _type = row.getShort(CAT_COL_TYPE);
+            Integer flags = row.getInt(CAT_COL_FLAGS);
+            _flags = flags != null ? flags : 0;
+            _props = row.getBytes(CAT_COL_PROPS);
+            _createDate = toLocalDateTime(row.get(CAT_COL_DATE_CREATE), db);
+            _updateDate = toLocalDateTime(row.get(CAT_COL_DATE_UPDATE), db);
+            _rowId = (RowIdImpl) row.getId();
+        }
+
+        private static LocalDateTime toLocalDateTime(Object date, DatabaseImpl db) {
+            return date != null ? ColumnImpl.toLocalDateTime(date, db) : null;
+        }
+    }
+
     /**
      * Utility class for handling table lookups.
      */
@@ -2410,11 +2964,6 @@ public class DatabaseImpl implements Database, DateTimeContext {
             return cur != null ? cur.getCurrentRow(columns) : null;
         }
 
-        public Row getObjectRow(Integer objectId, Collection<String> columns) throws IOException {
-            Cursor cur = findRow(objectId);
-            return cur != null ? cur.getCurrentRow(columns) : null;
-        }
-
         public void fillTableNames(Set<String> tableNames, boolean normalTables, boolean systemTables, boolean linkedTables) throws IOException {
             for (Row row : getTableNamesCursor().newIterable().withColumnNames(SYSTEM_CATALOG_COLUMNS)) {
 
@@ -2514,8 +3063,6 @@ public class DatabaseImpl implements Database, DateTimeContext {
 
         protected abstract Cursor findRow(Integer parentId, String name) throws IOException;
 
-        protected abstract Cursor findRow(Integer objectId) throws IOException;
-
         protected abstract Cursor getTableNamesCursor() throws IOException;
 
         public abstract TableInfo lookupTable(String tableName) throws IOException;
@@ -2547,12 +3094,6 @@ public class DatabaseImpl implements Database, DateTimeContext {
             return _systemCatalogCursor.findFirstRowByEntry(parentId, name) ? _systemCatalogCursor : null;
         }
 
-        @Override
-        protected Cursor findRow(Integer objectId) throws IOException {
-            initIdCursor();
-            return _systemCatalogIdCursor.findFirstRowByEntry(objectId) ? _systemCatalogIdCursor : null;
-        }
-
         @Override
         public TableInfo lookupTable(String tableName) throws IOException {
             return lookupTable(tableName, mtableParentId);
@@ -2615,12 +3156,6 @@ public class DatabaseImpl implements Database, DateTimeContext {
             return _systemCatalogCursor.findFirstRow(rowPat) ? _systemCatalogCursor : null;
         }
 
-        @Override
-        protected Cursor findRow(Integer objectId) throws IOException {
-            ColumnImpl idCol = msystemCatalog.getColumn(CAT_COL_ID);
-            return _systemCatalogCursor.findFirstRow(idCol, objectId) ? _systemCatalogCursor : null;
-        }
-
         @Override
         public TableInfo lookupTable(String tableName) throws IOException {
             return lookupTable(tableName, mtableParentId);
@@ -2679,14 +3214,18 @@ public class DatabaseImpl implements Database, DateTimeContext {
     }
 
     /**
-     * WeakReference for a Table which holds the table pageNumber (for later cache purging).
+     * SoftReference for a Table which holds the table pageNumber (for later cache purging) and, while the table is one
+     * of the most recently used tables, a strong reference to the table.
      */
-    private static final class WeakTableReference extends WeakReference<TableImpl> {
+    private static final class TableReference extends SoftReference<TableImpl> {
         private final Integer _pageNumber;
+        private final long    _size;
+        private TableImpl     _pinnedTable;
 
-        private WeakTableReference(Integer pageNumber, TableImpl table, ReferenceQueue<TableImpl> queue) {
+        private TableReference(Integer pageNumber, TableImpl table, ReferenceQueue<TableImpl> queue) {
             super(table, queue);
             _pageNumber = pageNumber;
+            _size = table.getEstimatedSize();
         }
 
         public Integer getPageNumber() {
@@ -2695,31 +3234,80 @@ public class DatabaseImpl implements Database, DateTimeContext {
     }
 
     /**
-     * Cache of currently in-use tables, allows re-use of existing tables.
+     * Cache of tables, allows re-use of existing tables. The most recently used tables (up to a maximum number and
+     * estimated memory size) are held strongly, all other tables are held softly, so they are only re-read once the
+     * jvm runs low on memory.
      */
     private static final class TableCache {
-        private final Map<Integer, WeakTableReference> _tables = new HashMap<>();
-        private final ReferenceQueue<TableImpl>        _queue  = new ReferenceQueue<>();
+        private final Map<Integer, TableReference>           _tables       = new HashMap<>();
+        private final ReferenceQueue<TableImpl>              _queue        = new ReferenceQueue<>();
+        private final LinkedHashMap<Integer, TableReference> _recentTables = new LinkedHashMap<>(16, 0.75f, true);
+        private int                                          _maxRecentTables = DEFAULT_TABLE_CACHE_SIZE;
+        private long                                         _maxRecentSize   = DEFAULT_TABLE_CACHE_MEMORY;
+        private long                                         _recentSize;
 
         public TableImpl get(Integer pageNumber) {
-            WeakTableReference ref = _tables.get(pageNumber);
-            return ref != null ? ref.get() : null;
+            TableReference ref = _tables.get(pageNumber);
+            TableImpl table = ref != null ? ref.get() : null;
+            if (table != null) {
+                pin(ref, table);
+            }
+            return table;
         }
 
         public TableImpl put(TableImpl table) {
             purgeOldRefs();
 
             Integer pageNumber = table.getTableDefPageNumber();
-            WeakTableReference ref = new WeakTableReference(pageNumber, table, _queue);
-            _tables.put(pageNumber, ref);
+            TableReference ref = new TableReference(pageNumber, table, _queue);
+            unpin(_tables.put(pageNumber, ref));
+            pin(ref, table);
 
             return table;
         }
 
+        public void setLimits(int maxTables, long maxSize) {
+            _maxRecentTables = maxTables;
+            _maxRecentSize = maxSize;
+            trimRecentTables();
+        }
+
+        public void clear() {
+            _tables.clear();
+            _recentTables.clear();
+            _recentSize = 0L;
+        }
+
+        private void pin(TableReference ref, TableImpl table) {
+            if (_recentTables.put(ref.getPageNumber(), ref) == null) {
+                ref._pinnedTable = table;
+                _recentSize += ref._size;
+            }
+            trimRecentTables();
+        }
+
+        private void unpin(TableReference ref) {
+            if (ref != null && _recentTables.remove(ref.getPageNumber(), ref)) {
+                ref._pinnedTable = null;
+                _recentSize -= ref._size;
+            }
+        }
+
+        private void trimRecentTables() {
+            // evict the least recently used tables, which are then only held softly
+            Iterator<TableReference> iter = _recentTables.values().iterator();
+            while (iter.hasNext() && (_recentTables.size() > _maxRecentTables || _recentSize > _maxRecentSize)) {
+                TableReference ref = iter.next();
+                iter.remove();
+                ref._pinnedTable = null;
+                _recentSize -= ref._size;
+            }
+        }
+
         private void purgeOldRefs() {
-            WeakTableReference oldRef = null;
-            while ((oldRef = (WeakTableReference) _queue.poll()) != null) {
-                _tables.remove(oldRef.getPageNumber());
+            TableReference oldRef = null;
+            while ((oldRef = (TableReference) _queue.poll()) != null) {
+                _tables.remove(oldRef.getPageNumber(), oldRef);
             }
         }
     }
@@ -2728,8 +3316,12 @@ public class DatabaseImpl implements Database, DateTimeContext {
      * Internal details for each FileFormat
      */
     public static final class FileFormatDetails {
-        private final String    _emptyFile;
-        private final JetFormat _format;
+        private final String               _emptyFile;
+        private final JetFormat            _format;
+        /** contents of the empty database file, loaded on first use */
+        private volatile byte[]            _emptyFileBytes;
+        /** system catalog of a newly created database, captured on first create */
+        private volatile List<CatalogEntry> _emptyCatalog;
 
         private FileFormatDetails(String emptyFile, JetFormat format) {
             _emptyFile = emptyFile;
@@ -2743,5 +3335,30 @@ public class DatabaseImpl implements Database, DateTimeContext {
         public JetFormat getFormat() {
             return _format;
         }
+
+        /**
+         * Writes the empty database file of this format to the start of the given channel.
+         */
+        public void writeEmptyFile(FileChannel channel) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(getEmptyFileBytes());
+            long pos = 0L;
+            while (buffer.hasRemaining()) {
+                pos += channel.write(buffer, pos);
+            }
+        }
+
+        private byte[] getEmptyFileBytes() throws IOException {
+            byte[] bytes = _emptyFileBytes;
+            if (bytes == null) {
+                if (_emptyFile == null) {
+                    throw new IOException("File format " + _format + " does not support file creation");
+                }
+                try (InputStream in = getResourceAsStream(_emptyFile)) {
+                    bytes = in.readAllBytes();
+                }
+                _emptyFileBytes = bytes;
+            }
+            return bytes;
+        }
     }
 }
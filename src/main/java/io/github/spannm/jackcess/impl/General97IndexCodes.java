@@ -32,7 +32,7 @@ import java.nio.charset.StandardCharsets;
  * variant, but Access 97 uses a narrower set of extended character mappings rather than per-character
  * extra-byte tables.
  * <p>
- * Character handlers are loaded lazily from:
+ * Character codes are loaded lazily from:
  * <ul>
  *   <li>{@code index_codes_gen_97.txt} – U+0000 to U+00FF</li>
  *   <li>{@code index_mappings_ext_gen_97.txt} – mapping table for U+0152 to U+2122</li>
@@ -56,9 +56,9 @@ public class General97IndexCodes extends GeneralLegacyIndexCodes {
 
     private static final class Codes {
         /**
-         * handlers for the first 256 chars. use nested class to lazy load the handlers
+         * codes for the first 256 chars. use nested class to lazy load the codes
          */
-        private static final CharHandler[] VALUES = loadCodes(CODES_FILE, FIRST_CHAR, LAST_CHAR);
+        private static final CodeTable VALUES = loadCodes(CODES_FILE, FIRST_CHAR, LAST_CHAR);
     }
 
     private static final class ExtMappings {
@@ -77,24 +77,32 @@ public class General97IndexCodes extends GeneralLegacyIndexCodes {
     }
 
     /**
-     * Returns the CharHandler for the given character.
+     * Returns the CodeTable holding the codes of the given character, which must have been mapped using
+     * {@link #toCodeChar}.
      */
     @Override
-    CharHandler getCharHandler(char c) {
+    CodeTable getCodeTable(char c) {
+        return Codes.VALUES;
+    }
+
+    /**
+     * Returns the single byte character whose codes are used for the given character.
+     */
+    static char toCodeChar(char c) {
         if (c <= LAST_CHAR) {
-            return Codes.VALUES[c];
+            return c;
         }
 
         if (c < FIRST_MAP_CHAR || c > LAST_MAP_CHAR) {
-            // outside the mapped range, ignored
-            return IGNORED_CHAR_HANDLER;
+            // outside the mapped range, use the "ignored" char 0
+            return FIRST_CHAR;
         }
 
         // some ext chars are equivalent to single byte chars. most chars have no
         // equivalent, and they map to 0 (which is an "ignored" char, so it all
         // works out)
         int extOffset = asUnsignedChar(c) - asUnsignedChar(FIRST_MAP_CHAR);
-        return Codes.VALUES[ExtMappings.VALUES[extOffset]];
+        return (char) ExtMappings.VALUES[extOffset];
     }
 
     /**
@@ -114,35 +122,32 @@ public class General97IndexCodes extends GeneralLegacyIndexCodes {
         int sigCharCount = 0;
         for (int i = 0; i < str.length(); ++i) {
 
-            char c = str.charAt(i);
-            CharHandler ch = getCharHandler(c);
+            char c = toCodeChar(str.charAt(i));
+            CodeTable codes = getCodeTable(c);
+            int idx = codes.indexOf(c);
 
-            byte[] bytes = ch.getInlineBytes(c);
-            if (bytes != null) {
-                // write the "inline" codes immediately
-                bout.write(bytes);
-            }
+            // write the "inline" codes immediately
+            codes.writeInlineCodes(idx, bout);
 
-            if (ch.getType() == Type.SIMPLE) {
+            if (codes.getType(idx) == Type.SIMPLE) {
                 // common case, skip further code handling
                 continue;
             }
 
-            if (ch.isSignificantChar()) {
+            if (codes.isSignificantChar(idx)) {
                 sigCharCount++;
                 // significant chars never have extra bytes
                 continue;
             }
 
-            bytes = ch.getExtraBytes();
-            if (bytes != null) {
+            if (codes.hasExtraCodes(idx)) {
                 if (extraCodes == null) {
                     extraCodes = new NibbleStream(str.length());
                     extraCodes.writeNibble(EXT_CODES_BOUNDS_NIBBLE);
                 }
 
                 // keep track of the extra code for later
-                writeExtraCodes(sigCharCount, bytes, extraCodes);
+                writeExtraCodes(sigCharCount, codes.getFirstExtraCode(idx), extraCodes);
                 sigCharCount = 0;
             }
         }
@@ -167,14 +172,14 @@ public class General97IndexCodes extends GeneralLegacyIndexCodes {
         }
     }
 
-    private static void writeExtraCodes(int numSigChars, byte[] bytes, NibbleStream extraCodes) {
+    private static void writeExtraCodes(int numSigChars, byte extraCode, NibbleStream extraCodes) {
         // need to fill in placeholder nibbles for any "significant" chars
         if (numSigChars > 0) {
             extraCodes.writeFillNibbles(numSigChars, INTERNATIONAL_EXTRA_PLACEHOLDER);
         }
 
         // there should only ever be a single "extra" byte
-        extraCodes.writeNibble(bytes[0]);
+        extraCodes.writeNibble(extraCode);
     }
 
     static short[] loadMappings(String mappingsFilePath, char firstChar, char lastChar) {
@@ -24,7 +24,7 @@ package io.github.spannm.jackcess.impl;
  * extra bytes, unprintable bytes, crazy codes) is identical to the legacy variant; only the per-character
  * code tables differ.
  * <p>
- * Character handlers are loaded lazily from:
+ * Character codes are loaded lazily from:
  * <ul>
  *   <li>{@code index_codes_gen.txt} – U+0000 to U+00FF</li>
  *   <li>{@code index_codes_ext_gen.txt} – U+0100 to U+FFFF</li>
@@ -42,16 +42,16 @@ public class GeneralIndexCodes extends GeneralLegacyIndexCodes {
 
     private static final class Codes {
         /**
-         * handlers for the first 256 chars. use nested class to lazy load the handlers
+         * codes for the first 256 chars. use nested class to lazy load the codes
          */
-        private static final CharHandler[] VALUES = loadCodes(CODES_FILE, FIRST_CHAR, LAST_CHAR);
+        private static final CodeTable VALUES = loadCodes(CODES_FILE, FIRST_CHAR, LAST_CHAR);
     }
 
     private static final class ExtCodes {
         /**
-         * handlers for the rest of the chars in BMP 0. use nested class to lazy load the handlers
+         * codes for the rest of the chars in BMP 0. use nested class to lazy load the codes
          */
-        private static final CharHandler[] VALUES = loadCodes(EXT_CODES_FILE, FIRST_EXT_CHAR, LAST_EXT_CHAR);
+        private static final CodeTable VALUES = loadCodes(EXT_CODES_FILE, FIRST_EXT_CHAR, LAST_EXT_CHAR);
     }
 
     static final GeneralIndexCodes GEN_INSTANCE = new GeneralIndexCodes();
@@ -60,16 +60,11 @@ public class GeneralIndexCodes extends GeneralLegacyIndexCodes {
     }
 
     /**
-     * Returns the CharHandler for the given character.
+     * Returns the CodeTable holding the codes of the given character.
      */
     @Override
-    CharHandler getCharHandler(char c) {
-        if (c <= LAST_CHAR) {
-            return Codes.VALUES[c];
-        }
-
-        int extOffset = asUnsignedChar(c) - asUnsignedChar(FIRST_EXT_CHAR);
-        return ExtCodes.VALUES[extOffset];
+    CodeTable getCodeTable(char c) {
+        return c <= LAST_CHAR ? Codes.VALUES : ExtCodes.VALUES;
     }
 
 }
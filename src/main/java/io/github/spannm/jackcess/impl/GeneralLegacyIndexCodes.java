@@ -18,14 +18,11 @@ package io.github.spannm.jackcess.impl;
 
 import io.github.spannm.jackcess.impl.ByteUtil.ByteStream;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Encoding logic for MS Access "General Legacy" (Access 2000–2007) text index entries.
@@ -52,10 +49,10 @@ import java.util.Map;
  *       affect sort order in complex ways. Written last.</li>
  * </ol>
  *
- * <h2>Character handlers ({@link CharHandler})</h2>
- * Each of the 65 536 BMP characters is mapped to a {@link CharHandler} instance that supplies the
- * byte values for each of the four sections above. Handlers for code points U+0000–U+00FF are loaded
- * from {@code index_codes_genleg.txt}; handlers for U+0100–U+FFFF from
+ * <h2>Character code tables ({@link CodeTable})</h2>
+ * Each of the 65 536 BMP characters has an entry in a {@link CodeTable}, which supplies the byte
+ * values for each of the four sections above. The codes for code points U+0000–U+00FF are loaded
+ * from {@code index_codes_genleg.txt}; the codes for U+0100–U+FFFF from
  * {@code index_codes_ext_genleg.txt}. Both files live in the Jackcess classpath resources under
  * {@link DatabaseImpl#RESOURCE_PATH}.
  *
@@ -111,55 +108,17 @@ public class GeneralLegacyIndexCodes {
      * Enum which classifies the types of char encoding strategies used when creating text index entries.
      */
     enum Type {
-        SIMPLE("S") {
-            @Override
-            public CharHandler parseCodes(String[] codeStrings) {
-                return parseSimpleCodes(codeStrings);
-            }
-        },
-        INTERNATIONAL("I") {
-            @Override
-            public CharHandler parseCodes(String[] codeStrings) {
-                return parseInternationalCodes(codeStrings);
-            }
-        },
-        UNPRINTABLE("U") {
-            @Override
-            public CharHandler parseCodes(String[] codeStrings) {
-                return parseUnprintableCodes(codeStrings);
-            }
-        },
-        UNPRINTABLE_EXT("P") {
-            @Override
-            public CharHandler parseCodes(String[] codeStrings) {
-                return parseUnprintableExtCodes(codeStrings);
-            }
-        },
-        INTERNATIONAL_EXT("Z") {
-            @Override
-            public CharHandler parseCodes(String[] codeStrings) {
-                return parseInternationalExtCodes(codeStrings);
-            }
-        },
-        SIGNIFICANT("G") {
-            @Override
-            public CharHandler parseCodes(String[] codeStrings) {
-                return parseSignificantCodes(codeStrings);
-            }
-        },
-        SURROGATE("Q") {
-            @Override
-            public CharHandler parseCodes(String[] _codeStrings) {
-                // these are not parsed from the codes files
-                throw new UnsupportedOperationException();
-            }
-        },
-        IGNORED("X") {
-            @Override
-            public CharHandler parseCodes(String[] codeStrings) {
-                return IGNORED_CHAR_HANDLER;
-            }
-        };
+        SIMPLE("S"),
+        INTERNATIONAL("I"),
+        UNPRINTABLE("U"),
+        UNPRINTABLE_EXT("P"),
+        INTERNATIONAL_EXT("Z"),
+        SIGNIFICANT("G"),
+        // these are not parsed from the codes files
+        SURROGATE("Q"),
+        IGNORED("X");
+
+        private static final Type[] VALUES = values();
 
         private final String _prefixCode;
 
@@ -171,273 +130,343 @@ public class GeneralLegacyIndexCodes {
             return _prefixCode;
         }
 
-        public abstract CharHandler parseCodes(String[] codeStrings);
+        static Type forPrefixCode(char prefixCode) {
+            for (Type type : VALUES) {
+                if (type != SURROGATE && type._prefixCode.charAt(0) == prefixCode) {
+                    return type;
+                }
+            }
+            throw new IllegalStateException("Unexpected code prefix " + prefixCode);
+        }
     }
 
+    /** the extra code of surrogate chars */
+    private static final byte SURROGATE_EXTRA_CODE = 0x3f;
+
     /**
-     * Holds the MS Access index byte-encoding information for a single Unicode character.
+     * Holds the MS Access index byte-encoding information for a contiguous range of Unicode characters.
      * <p>
-     * Each character in a text value to be indexed contributes bytes to up to four distinct sections of the
-     * index entry (see class-level documentation of {@link GeneralLegacyIndexCodes}):
+     * Each character in a text value to be indexed contributes bytes to up to four distinct sections of the index entry
+     * (see class-level documentation of {@link GeneralLegacyIndexCodes}):
      * <ul>
-     *   <li>{@link #getInlineBytes(char)} – primary sort key, written immediately.</li>
-     *   <li>{@link #getExtraBytes()} / {@link #getExtraByteModifier()} – accent/diacritic weight, written
-     *       after {@link #END_TEXT}.</li>
-     *   <li>{@link #getUnprintableBytes()} – position-encoded bytes for control characters.</li>
-     *   <li>{@link #getCrazyFlag()} – special ordering flag for a small set of characters.</li>
+     *   <li>inline codes – primary sort key, written immediately.</li>
+     *   <li>extra codes / extra code modifier – accent/diacritic weight, written after {@link #END_TEXT}.</li>
+     *   <li>unprintable codes – position-encoded bytes for control characters.</li>
+     *   <li>crazy flag – special ordering flag for a small set of characters.</li>
      * </ul>
-     * Concrete subclasses are created by the {@link Type} enum's {@code parseCodes} factory methods from the
-     * resource files ({@code index_codes_genleg.txt} / {@code index_codes_ext_genleg.txt}).
+     * The table is made of flat arrays indexed by the position of the character in the range: the {@link Type} of the
+     * character, references (offset and length) to its codes, which are all packed into one byte array, and a flag byte.
+     * This keeps the tables compact and quick to load, as opposed to one object per character (about 65k objects for
+     * the extended characters).
      */
-    abstract static class CharHandler {
-        public abstract Type getType();
-
-        public byte[] getInlineBytes(char c) {
-            return null;
+    static final class CodeTable {
+        /** a reference to no codes */
+        private static final int NO_CODES = 0;
+
+        private final int        _firstChar;
+        /** ordinal of the Type of each char */
+        private final byte[]     _types;
+        /** references to the inline codes of each char */
+        private final int[]      _inlineCodes;
+        /** references to the extra codes (or the unprintable codes for Type.UNPRINTABLE) of each char */
+        private final int[]      _extraCodes;
+        /** extra code modifier (Type.UNPRINTABLE_EXT) or crazy flag (Type.INTERNATIONAL_EXT) of each char */
+        private final byte[]     _flags;
+        /** the codes of all chars */
+        private byte[]           _codes;
+        private int              _codesLength;
+
+        private CodeTable(int firstChar, int numChars, int codesCapacity) {
+            _firstChar = firstChar;
+            _types = new byte[numChars];
+            _inlineCodes = new int[numChars];
+            _extraCodes = new int[numChars];
+            _flags = new byte[numChars];
+            _codes = new byte[codesCapacity];
         }
 
-        public byte[] getExtraBytes() {
-            return null;
+        /**
+         * Returns the index of the given char in this table.
+         */
+        int indexOf(char c) {
+            return asUnsignedChar(c) - _firstChar;
         }
 
-        public byte[] getUnprintableBytes() {
-            return null;
+        Type getType(int idx) {
+            return Type.VALUES[_types[idx]];
         }
 
-        public byte getExtraByteModifier() {
-            return 0;
+        boolean isSignificantChar(int idx) {
+            return _types[idx] == Type.SIGNIFICANT.ordinal();
         }
 
-        public byte getCrazyFlag() {
-            return 0;
+        /**
+         * Writes the inline codes of the char to the given stream, returning {@code false} if the char has none.
+         */
+        boolean writeInlineCodes(int idx, ByteStream bout) {
+            return writeCodes(_inlineCodes[idx], bout);
         }
 
-        public boolean isSignificantChar() {
-            return false;
+        boolean hasExtraCodes(int idx) {
+            return _types[idx] != Type.UNPRINTABLE.ordinal() && _extraCodes[idx] != NO_CODES;
         }
-    }
-
-    /**
-     * CharHandler for Type.SIMPLE
-     */
-    private static final class SimpleCharHandler extends CharHandler {
-        private final byte[] _bytes;
 
-        private SimpleCharHandler(byte[] bytes) {
-            _bytes = bytes;
+        void writeExtraCodes(int idx, ByteStream bout) {
+            writeCodes(_extraCodes[idx], bout);
         }
 
-        @Override
-        public Type getType() {
-            return Type.SIMPLE;
+        byte getFirstExtraCode(int idx) {
+            return _codes[_extraCodes[idx] >>> 8];
         }
 
-        @Override
-        public byte[] getInlineBytes(char c) {
-            return _bytes;
+        byte getExtraCodeModifier(int idx) {
+            return _types[idx] == Type.UNPRINTABLE_EXT.ordinal() ? _flags[idx] : 0;
         }
-    }
-
-    /**
-     * CharHandler for Type.INTERNATIONAL
-     */
-    private static final class InternationalCharHandler extends CharHandler {
-        private final byte[] _bytes;
-        private final byte[] _extraBytes;
 
-        private InternationalCharHandler(byte[] bytes, byte[] extraBytes) {
-            _bytes = bytes;
-            _extraBytes = extraBytes;
+        boolean hasUnprintableCodes(int idx) {
+            return _types[idx] == Type.UNPRINTABLE.ordinal();
         }
 
-        @Override
-        public Type getType() {
-            return Type.INTERNATIONAL;
+        void writeUnprintableCodes(int idx, ByteStream bout) {
+            writeCodes(_extraCodes[idx], bout);
         }
 
-        @Override
-        public byte[] getInlineBytes(char c) {
-            return _bytes;
+        byte getCrazyFlag(int idx) {
+            return _types[idx] == Type.INTERNATIONAL_EXT.ordinal() ? _flags[idx] : 0;
         }
 
-        @Override
-        public byte[] getExtraBytes() {
-            return _extraBytes;
+        private boolean writeCodes(int codesRef, ByteStream bout) {
+            if (codesRef == NO_CODES) {
+                return false;
+            }
+            bout.write(_codes, codesRef >>> 8, codesRef & 0xFF);
+            return true;
         }
-    }
 
-    /**
-     * CharHandler for Type.UNPRINTABLE
-     */
-    private static final class UnprintableCharHandler extends CharHandler {
-        private final byte[] _unprintBytes;
-
-        private UnprintableCharHandler(byte[] unprintBytes) {
-            _unprintBytes = unprintBytes;
+        private void setCodes(int idx, Type type, int inlineCodes, int extraCodes, byte flag) {
+            _types[idx] = (byte) type.ordinal();
+            _inlineCodes[idx] = inlineCodes;
+            _extraCodes[idx] = extraCodes;
+            _flags[idx] = flag;
         }
 
-        @Override
-        public Type getType() {
-            return Type.UNPRINTABLE;
+        /**
+         * Adds the codes of a surrogate char, which are computed rather than read from the codes files.
+         */
+        private void addSurrogateCodes(int idx, int inlineCode) {
+            int inlineCodes = addCodes((byte) (inlineCode >>> 8 & 0xFF), (byte) (inlineCode & 0xFF));
+            setCodes(idx, Type.SURROGATE, inlineCodes, addCodes(SURROGATE_EXTRA_CODE), (byte) 0);
         }
 
-        @Override
-        public byte[] getUnprintableBytes() {
-            return _unprintBytes;
+        /**
+         * Parses the codes of the char from the given line of an index codes file.
+         */
+        private void parseCodes(int idx, CodesLine line) {
+            Type type = line.getType();
+            switch (type) {
+                case SIMPLE:
+                case SIGNIFICANT:
+                    line.requireCodeCount(1);
+                    setCodes(idx, type, addHexCodes(line, 0, true), NO_CODES, (byte) 0);
+                    break;
+                case INTERNATIONAL:
+                    line.requireCodeCount(2);
+                    setCodes(idx, type, addHexCodes(line, 0, true), addHexCodes(line, 1, true), (byte) 0);
+                    break;
+                case UNPRINTABLE:
+                    line.requireCodeCount(1);
+                    setCodes(idx, type, NO_CODES, addHexCodes(line, 0, true), (byte) 0);
+                    break;
+                case UNPRINTABLE_EXT:
+                    line.requireCodeCount(1);
+                    int modifierRef = addHexCodes(line, 0, true);
+                    if ((modifierRef & 0xFF) != 1) {
+                        throw line.unexpectedCodes();
+                    }
+                    // the modifier is kept as flag, discard the code bytes
+                    _codesLength--;
+                    setCodes(idx, type, NO_CODES, NO_CODES, _codes[_codesLength]);
+                    break;
+                case INTERNATIONAL_EXT:
+                    line.requireCodeCount(3);
+                    byte crazyFlag = line.isCode(2, "1") ? CRAZY_CODE_1 : CRAZY_CODE_2;
+                    setCodes(idx, type, addHexCodes(line, 0, true), addHexCodes(line, 1, false), crazyFlag);
+                    break;
+                case IGNORED:
+                    setCodes(idx, type, NO_CODES, NO_CODES, (byte) 0);
+                    break;
+                default:
+                    throw line.unexpectedCodes();
+            }
         }
-    }
 
-    /**
-     * CharHandler for Type.UNPRINTABLE_EXT
-     */
-    private static final class UnprintableExtCharHandler extends CharHandler {
-        private final byte _extraByteMod;
+        /**
+         * Adds the bytes of the given hex encoded code string to the codes of this table, optionally throwing an
+         * exception if no codes are given.
+         */
+        private int addHexCodes(CodesLine line, int codeIdx, boolean required) {
+            int start = line.getCodeStart(codeIdx);
+            int end = line.getCodeEnd(codeIdx);
+            if (start == end) {
+                if (required) {
+                    throw new IllegalStateException("empty code bytes");
+                }
+                return NO_CODES;
+            }
+
+            int numBytes = (end - start + 1) / 2;
+            ensureCapacity(numBytes);
+            int offset = _codesLength;
+            int pos = start;
+            if ((end - start) % 2 != 0) {
+                // stripped a leading 0
+                _codes[_codesLength++] = (byte) line.hexDigit(pos++);
+            }
+            while (pos < end) {
+                _codes[_codesLength++] = (byte) (line.hexDigit(pos) << 4 | line.hexDigit(pos + 1));
+                pos += 2;
+            }
+            return offset << 8 | numBytes;
+        }
 
-        private UnprintableExtCharHandler(Byte extraByteMod) {
-            _extraByteMod = extraByteMod;
+        private int addCodes(byte... codes) {
+            ensureCapacity(codes.length);
+            int offset = _codesLength;
+            System.arraycopy(codes, 0, _codes, offset, codes.length);
+            _codesLength += codes.length;
+            return offset << 8 | codes.length;
         }
 
-        @Override
-        public Type getType() {
-            return Type.UNPRINTABLE_EXT;
+        private void ensureCapacity(int numBytes) {
+            if (_codesLength + numBytes > _codes.length) {
+                _codes = Arrays.copyOf(_codes, Math.max(_codes.length * 2, _codesLength + numBytes));
+            }
         }
 
-        @Override
-        public byte getExtraByteModifier() {
-            return _extraByteMod;
+        private void trimCodes() {
+            _codes = Arrays.copyOf(_codes, _codesLength);
         }
     }
 
     /**
-     * CharHandler for Type.INTERNATIONAL_EXT
+     * A line of an index codes file, which is a type prefix followed by comma separated hex encoded code strings.
      */
-    private static final class InternationalExtCharHandler extends CharHandler {
-        private final byte[] _bytes;
-        private final byte[] _extraBytes;
-        private final byte   _crazyFlag;
+    private static final class CodesLine {
+        private static final int MAX_CODES    = 3;
 
-        private InternationalExtCharHandler(byte[] bytes, byte[] extraBytes, byte crazyFlag) {
-            _bytes = bytes;
-            _extraBytes = extraBytes;
-            _crazyFlag = crazyFlag;
-        }
-
-        @Override
-        public Type getType() {
-            return Type.INTERNATIONAL_EXT;
-        }
+        private final byte[]     _data;
+        private final int[]      _codeBounds  = new int[(MAX_CODES + 1) * 2];
+        private int              _pos;
+        private int              _lineStart;
+        private int              _numCodes;
 
-        @Override
-        public byte[] getInlineBytes(char c) {
-            return _bytes;
+        private CodesLine(byte[] data) {
+            _data = data;
         }
 
-        @Override
-        public byte[] getExtraBytes() {
-            return _extraBytes;
-        }
+        /**
+         * Moves to the next line of the file.
+         */
+        private void next() {
+            if (_pos >= _data.length) {
+                throw new IllegalStateException("Missing index codes");
+            }
+            _lineStart = _pos;
+            int lineEnd = _pos;
+            while (lineEnd < _data.length && _data[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            _pos = lineEnd + 1;
+            if (lineEnd > _lineStart && _data[lineEnd - 1] == '\r') {
+                lineEnd--;
+            }
 
-        @Override
-        public byte getCrazyFlag() {
-            return _crazyFlag;
+            // split the remainder of the line (after the prefix) into the code strings
+            _numCodes = 0;
+            int codeStart = _lineStart + 1;
+            for (int i = codeStart; i <= lineEnd; i++) {
+                if (i == lineEnd || _data[i] == ',') {
+                    if (_numCodes <= MAX_CODES) {
+                        _codeBounds[_numCodes * 2] = codeStart;
+                        _codeBounds[_numCodes * 2 + 1] = Math.max(codeStart, i);
+                    }
+                    _numCodes++;
+                    codeStart = i + 1;
+                }
+            }
         }
-    }
-
-    /**
-     * CharHandler for Type.SIGNIFICANT
-     */
-    private static final class SignificantCharHandler extends CharHandler {
-        private final byte[] _bytes;
 
-        private SignificantCharHandler(byte[] bytes) {
-            _bytes = bytes;
+        private Type getType() {
+            return Type.forPrefixCode((char) _data[_lineStart]);
         }
 
-        @Override
-        public Type getType() {
-            return Type.SIGNIFICANT;
+        private void requireCodeCount(int numCodes) {
+            if (_numCodes != numCodes) {
+                throw unexpectedCodes();
+            }
         }
 
-        @Override
-        public byte[] getInlineBytes(char c) {
-            return _bytes;
+        private int getCodeStart(int codeIdx) {
+            return _codeBounds[codeIdx * 2];
         }
 
-        @Override
-        public boolean isSignificantChar() {
-            return true;
+        private int getCodeEnd(int codeIdx) {
+            return _codeBounds[codeIdx * 2 + 1];
         }
-    }
-
-    /** shared CharHandler instance for Type.IGNORED */
-    static final CharHandler                 IGNORED_CHAR_HANDLER  = new CharHandler() {
-                                                                       @Override
-                                                                       public Type getType() {
-                                                                           return Type.IGNORED;
-                                                                       }
-                                                                   };
-
-    /** the surrogate char buffers are computed on the fly. Re-use a buffer for those. */
-    private static final ThreadLocal<byte[]> SURROGATE_CHAR_BUF    = ThreadLocal.withInitial(() -> new byte[2]);
-    private static final byte[]              SURROGATE_EXTRA_BYTES = {0x3f};
 
-    private abstract static class SurrogateCharHandler extends CharHandler {
-        @Override
-        public Type getType() {
-            return Type.SURROGATE;
+        private boolean isCode(int codeIdx, String code) {
+            int start = getCodeStart(codeIdx);
+            return getCodeEnd(codeIdx) - start == code.length()
+                && new String(_data, start, code.length(), StandardCharsets.US_ASCII).equals(code);
         }
 
-        @Override
-        public byte[] getExtraBytes() {
-            return SURROGATE_EXTRA_BYTES;
+        private int hexDigit(int pos) {
+            int digit = Character.digit(_data[pos], 16);
+            if (digit < 0) {
+                throw unexpectedCodes();
+            }
+            return digit;
         }
 
-        protected static byte[] toInlineBytes(int _idxC) {
-            byte[] bytes = SURROGATE_CHAR_BUF.get();
-            bytes[0] = (byte) ((_idxC >>> 8) & 0xFF);
-            bytes[1] = (byte) (_idxC & 0xFF);
-            return bytes;
+        private IllegalStateException unexpectedCodes() {
+            int lineEnd = _lineStart;
+            while (lineEnd < _data.length && _data[lineEnd] != '\n' && _data[lineEnd] != '\r') {
+                lineEnd++;
+            }
+            return new IllegalStateException("Unexpected code strings " + new String(_data, _lineStart, lineEnd - _lineStart, StandardCharsets.US_ASCII));
         }
     }
 
     /**
-     * shared CharHandler instance for "high surrogate" chars (which are computed)
+     * Returns the inline code of the given "high surrogate" char, which is computed.
      */
-    static final CharHandler HIGH_SURROGATE_CHAR_HANDLER = new SurrogateCharHandler() {
-                                                             @Override
-                                                             public byte[] getInlineBytes(char c) {
-                                                                 // the high sorrogate bytes seems to be computed from a fixed offset
-                                                                 int idxC = asUnsignedChar(c) - 10238;
-                                                                 return toInlineBytes(idxC);
-                                                             }
-                                                         };
+    private static int getHighSurrogateCode(char c) {
+        // the high sorrogate bytes seems to be computed from a fixed offset
+        return asUnsignedChar(c) - 10238;
+    }
 
     /**
-     * shared CharHandler instance for "low surrogate" chars (which are computed)
+     * Returns the inline code of the given "low surrogate" char, which is computed.
      */
-    static final CharHandler LOW_SURROGATE_CHAR_HANDLER  = new SurrogateCharHandler() {
-                                                             @Override
-                                                             public byte[] getInlineBytes(char c) {
-                                                                 // the low surrogate bytes are computed with a specific value based in
-                                                                 // its location in a 1024 character block.
-                                                                 int charOffset = (asUnsignedChar(c) - 0xdc00) % 1024;
-
-                                                                 int idxOffset = 0;
-                                                                 if (charOffset < 8) {
-                                                                     idxOffset = 9992;
-                                                                 } else if (charOffset < (8 + 254)) {
-                                                                     idxOffset = 9990;
-                                                                 } else if (charOffset < (8 + 254 + 254)) {
-                                                                     idxOffset = 9988;
-                                                                 } else if (charOffset < (8 + 254 + 254 + 254)) {
-                                                                     idxOffset = 9986;
-                                                                 } else {
-                                                                     idxOffset = 9984;
-                                                                 }
-                                                                 int idxC = asUnsignedChar(c) - idxOffset;
-                                                                 return toInlineBytes(idxC);
-                                                             }
-                                                         };
+    private static int getLowSurrogateCode(char c) {
+        // the low surrogate bytes are computed with a specific value based in
+        // its location in a 1024 character block.
+        int charOffset = (asUnsignedChar(c) - 0xdc00) % 1024;
+
+        int idxOffset = 0;
+        if (charOffset < 8) {
+            idxOffset = 9992;
+        } else if (charOffset < (8 + 254)) {
+            idxOffset = 9990;
+        } else if (charOffset < (8 + 254 + 254)) {
+            idxOffset = 9988;
+        } else if (charOffset < (8 + 254 + 254 + 254)) {
+            idxOffset = 9986;
+        } else {
+            idxOffset = 9984;
+        }
+        return asUnsignedChar(c) - idxOffset;
+    }
 
     static final char        FIRST_CHAR                  = (char) 0x0000;
     static final char        LAST_CHAR                   = (char) 0x00FF;
@@ -446,16 +475,16 @@ public class GeneralLegacyIndexCodes {
 
     private static final class Codes {
         /**
-         * handlers for the first 256 chars. use nested class to lazy load the handlers
+         * codes for the first 256 chars. use nested class to lazy load the codes
          */
-        private static final CharHandler[] VALUES = loadCodes(CODES_FILE, FIRST_CHAR, LAST_CHAR);
+        private static final CodeTable VALUES = loadCodes(CODES_FILE, FIRST_CHAR, LAST_CHAR);
     }
 
     private static final class ExtCodes {
         /**
-         * handlers for the rest of the chars in BMP 0. use nested class to lazy load the handlers
+         * codes for the rest of the chars in BMP 0. use nested class to lazy load the codes
          */
-        private static final CharHandler[] VALUES = loadCodes(EXT_CODES_FILE, FIRST_EXT_CHAR, LAST_EXT_CHAR);
+        private static final CodeTable VALUES = loadCodes(EXT_CODES_FILE, FIRST_EXT_CHAR, LAST_EXT_CHAR);
     }
 
     static final GeneralLegacyIndexCodes GEN_LEG_INSTANCE = new GeneralLegacyIndexCodes();
@@ -464,151 +493,48 @@ public class GeneralLegacyIndexCodes {
     }
 
     /**
-     * Returns the CharHandler for the given character.
+     * Returns the CodeTable holding the codes of the given character.
      */
-    CharHandler getCharHandler(char c) {
-        if (c <= LAST_CHAR) {
-            return Codes.VALUES[c];
-        }
-
-        int extOffset = asUnsignedChar(c) - asUnsignedChar(FIRST_EXT_CHAR);
-        return ExtCodes.VALUES[extOffset];
+    CodeTable getCodeTable(char c) {
+        return c <= LAST_CHAR ? Codes.VALUES : ExtCodes.VALUES;
     }
 
     /**
-     * Loads the CharHandlers for the given range of characters from the resource file with the given name.
+     * Loads the codes for the given range of characters from the resource file with the given name.
      */
-    static CharHandler[] loadCodes(String codesFilePath, char firstChar, char lastChar) {
-        int numCodes = asUnsignedChar(lastChar) - asUnsignedChar(firstChar) + 1;
-        CharHandler[] values = new CharHandler[numCodes];
-
-        Map<String, Type> prefixMap = new HashMap<>();
-        for (Type type : Type.values()) {
-            prefixMap.put(type.getPrefixCode(), type);
+    static CodeTable loadCodes(String codesFilePath, char firstChar, char lastChar) {
+        byte[] data = null;
+        try (InputStream in = DatabaseImpl.getResourceAsStream(codesFilePath)) {
+            data = in.readAllBytes();
+        } catch (IOException _ex) {
+            throw new UncheckedIOException("failed loading index codes file " + codesFilePath, _ex);
         }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(DatabaseImpl.getResourceAsStream(codesFilePath), StandardCharsets.US_ASCII))) {
-
-            int start = asUnsignedChar(firstChar);
-            int end = asUnsignedChar(lastChar);
+        int start = asUnsignedChar(firstChar);
+        int end = asUnsignedChar(lastChar);
+        // most chars have 2-3 bytes of codes, which are hex encoded in the file
+        CodeTable table = new CodeTable(start, end - start + 1, data.length / 2);
+        CodesLine line = new CodesLine(data);
+        try {
             for (int i = start; i <= end; ++i) {
                 char c = (char) i;
-                CharHandler ch = null;
                 if (Character.isHighSurrogate(c)) {
                     // surrogate chars are not included in the codes files
-                    ch = HIGH_SURROGATE_CHAR_HANDLER;
+                    table.addSurrogateCodes(i - start, getHighSurrogateCode(c));
                 } else if (Character.isLowSurrogate(c)) {
                     // surrogate chars are not included in the codes files
-                    ch = LOW_SURROGATE_CHAR_HANDLER;
+                    table.addSurrogateCodes(i - start, getLowSurrogateCode(c));
                 } else {
-                    String codeLine = reader.readLine();
-                    ch = parseCodes(prefixMap, codeLine);
+                    line.next();
+                    table.parseCodes(i - start, line);
                 }
-                values[i - start] = ch;
             }
-
-        } catch (IOException _ex) {
-            throw new UncheckedIOException("failed loading index codes file " + codesFilePath, _ex);
+        } catch (IllegalStateException _ex) {
+            throw new IllegalStateException("failed parsing index codes file " + codesFilePath + ": " + _ex.getMessage(), _ex);
         }
+        table.trimCodes();
 
-        return values;
-    }
-
-    /**
-     * Returns a CharHandler parsed from the given line from an index codes file.
-     */
-    private static CharHandler parseCodes(Map<String, Type> prefixMap, String codeLine) {
-        String prefix = codeLine.substring(0, 1);
-        String suffix = codeLine.length() > 1 ? codeLine.substring(1) : "";
-        return prefixMap.get(prefix).parseCodes(suffix.split(",", -1));
-    }
-
-    /**
-     * Returns a SimpleCharHandler parsed from the given index code strings.
-     */
-    private static CharHandler parseSimpleCodes(String[] codeStrings) {
-        if (codeStrings.length != 1) {
-            throw new IllegalStateException("Unexpected code strings " + Arrays.toString(codeStrings));
-        }
-        return new SimpleCharHandler(codesToBytes(codeStrings[0], true));
-    }
-
-    /**
-     * Returns an InternationalCharHandler parsed from the given index code strings.
-     */
-    private static CharHandler parseInternationalCodes(String[] codeStrings) {
-        if (codeStrings.length != 2) {
-            throw new IllegalStateException("Unexpected code strings " + Arrays.toString(codeStrings));
-        }
-        return new InternationalCharHandler(codesToBytes(codeStrings[0], true), codesToBytes(codeStrings[1], true));
-    }
-
-    /**
-     * Returns a UnprintableCharHandler parsed from the given index code strings.
-     */
-    private static CharHandler parseUnprintableCodes(String[] codeStrings) {
-        if (codeStrings.length != 1) {
-            throw new IllegalStateException("Unexpected code strings " + Arrays.toString(codeStrings));
-        }
-        return new UnprintableCharHandler(codesToBytes(codeStrings[0], true));
-    }
-
-    /**
-     * Returns a UnprintableExtCharHandler parsed from the given index code strings.
-     */
-    private static CharHandler parseUnprintableExtCodes(String[] codeStrings) {
-        if (codeStrings.length != 1) {
-            throw new IllegalStateException("Unexpected code strings " + Arrays.toString(codeStrings));
-        }
-        byte[] bytes = codesToBytes(codeStrings[0], true);
-        if (bytes.length != 1) {
-            throw new IllegalStateException("Unexpected code strings " + Arrays.toString(codeStrings));
-        }
-        return new UnprintableExtCharHandler(bytes[0]);
-    }
-
-    /**
-     * Returns a InternationalExtCharHandler parsed from the given index code strings.
-     */
-    private static CharHandler parseInternationalExtCodes(String[] codeStrings) {
-        if (codeStrings.length != 3) {
-            throw new IllegalStateException("Unexpected code strings " + Arrays.toString(codeStrings));
-        }
-
-        byte crazyFlag = "1".equals(codeStrings[2]) ? CRAZY_CODE_1 : CRAZY_CODE_2;
-        return new InternationalExtCharHandler(codesToBytes(codeStrings[0], true), codesToBytes(codeStrings[1], false), crazyFlag);
-    }
-
-    /**
-     * Returns a SignificantCharHandler parsed from the given index code strings.
-     */
-    private static CharHandler parseSignificantCodes(String[] codeStrings) {
-        if (codeStrings.length != 1) {
-            throw new IllegalStateException("Unexpected code strings " + Arrays.toString(codeStrings));
-        }
-        return new SignificantCharHandler(codesToBytes(codeStrings[0], true));
-    }
-
-    /**
-     * Converts a string of hex encoded bytes to a byte[], optionally throwing an exception if no codes are given.
-     */
-    private static byte[] codesToBytes(String codes, boolean required) {
-        if (codes.isEmpty()) {
-            if (required) {
-                throw new IllegalStateException("empty code bytes");
-            }
-            return null;
-        }
-        if (codes.length() % 2 != 0) {
-            // stripped a leading 0
-            codes = "0" + codes;
-        }
-        byte[] bytes = new byte[codes.length() / 2];
-        for (int i = 0; i < bytes.length; ++i) {
-            int charIdx = i * 2;
-            bytes[i] = (byte) Integer.parseInt(codes.substring(charIdx, charIdx + 2), 16);
-        }
-        return bytes;
+        return table;
     }
 
     /**
@@ -638,45 +564,42 @@ public class GeneralLegacyIndexCodes {
         for (int i = 0; i < str.length(); ++i) {
 
             char c = str.charAt(i);
-            CharHandler ch = getCharHandler(c);
+            CodeTable codes = getCodeTable(c);
+            int idx = codes.indexOf(c);
 
             int curCharOffset = charOffset;
-            byte[] bytes = ch.getInlineBytes(c);
-            if (bytes != null) {
-                // write the "inline" codes immediately
-                bout.write(bytes);
-
+            // write the "inline" codes immediately
+            if (codes.writeInlineCodes(idx, bout)) {
                 // only increment the charOffset for chars with inline codes
                 charOffset++;
             }
 
-            if (ch.getType() == Type.SIMPLE) {
+            if (codes.getType(idx) == Type.SIMPLE) {
                 // common case, skip further code handling
                 continue;
             }
 
-            bytes = ch.getExtraBytes();
-            byte extraCodeModifier = ch.getExtraByteModifier();
-            if (bytes != null || extraCodeModifier != 0) {
+            boolean hasExtraCodes = codes.hasExtraCodes(idx);
+            byte extraCodeModifier = codes.getExtraCodeModifier(idx);
+            if (hasExtraCodes || extraCodeModifier != 0) {
                 if (extraCodes == null) {
                     extraCodes = new ExtraCodesStream(str.length());
                 }
 
                 // keep track of the extra codes for later
-                writeExtraCodes(curCharOffset, bytes, extraCodeModifier, extraCodes);
+                writeExtraCodes(curCharOffset, hasExtraCodes ? codes : null, idx, extraCodeModifier, extraCodes);
             }
 
-            bytes = ch.getUnprintableBytes();
-            if (bytes != null) {
+            if (codes.hasUnprintableCodes(idx)) {
                 if (unprintableCodes == null) {
                     unprintableCodes = new ByteStream();
                 }
 
                 // keep track of the unprintable codes for later
-                writeUnprintableCodes(curCharOffset, bytes, unprintableCodes, extraCodes);
+                writeUnprintableCodes(curCharOffset, codes, idx, unprintableCodes, extraCodes);
             }
 
-            byte crazyFlag = ch.getCrazyFlag();
+            byte crazyFlag = codes.getCrazyFlag(idx);
             if (crazyFlag != 0) {
                 if (crazyCodes == null) {
                     crazyCodes = new ByteStream();
@@ -770,9 +693,10 @@ public class GeneralLegacyIndexCodes {
     }
 
     /**
-     * Encodes the given extra code info in the given stream.
+     * Encodes the given extra code info in the given stream, the extra codes of the char with the given index are
+     * written if a CodeTable is given, otherwise the extra code modifier is applied.
      */
-    private static void writeExtraCodes(int charOffset, byte[] bytes, byte extraCodeModifier, ExtraCodesStream extraCodes) {
+    private static void writeExtraCodes(int charOffset, CodeTable codes, int idx, byte extraCodeModifier, ExtraCodesStream extraCodes) {
         // we fill in a placeholder value for any chars w/out extra codes
         int numChars = extraCodes.getNumChars();
         if (numChars < charOffset) {
@@ -781,10 +705,10 @@ public class GeneralLegacyIndexCodes {
             extraCodes.incrementNumChars(fillChars);
         }
 
-        if (bytes != null) {
+        if (codes != null) {
 
             // write the actual extra codes and update the number of chars
-            extraCodes.write(bytes);
+            codes.writeExtraCodes(idx, extraCodes);
             extraCodes.incrementNumChars(1);
 
         } else {
@@ -827,7 +751,7 @@ public class GeneralLegacyIndexCodes {
     /**
      * Encodes the given unprintable char codes in the given stream.
      */
-    private static void writeUnprintableCodes(int charOffset, byte[] bytes, ByteStream unprintableCodes, ExtraCodesStream extraCodes) {
+    private static void writeUnprintableCodes(int charOffset, CodeTable codes, int idx, ByteStream unprintableCodes, ExtraCodesStream extraCodes) {
         // the offset seems to be calculated based on the number of bytes in the
         // "extra codes" part of the entry (even if there are no extra codes bytes
         // actually written in the final entry).
@@ -848,7 +772,7 @@ public class GeneralLegacyIndexCodes {
         unprintableCodes.write(offset & 0xFF);
 
         unprintableCodes.write(UNPRINTABLE_MIDFIX);
-        unprintableCodes.write(bytes);
+        codes.writeUnprintableCodes(idx, unprintableCodes);
     }
 
     /**
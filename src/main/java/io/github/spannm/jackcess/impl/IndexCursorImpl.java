@@ -124,6 +124,84 @@ public class IndexCursorImpl extends CursorImpl implements IndexCursor {
         }
     }
 
+    @Override
+    public List<List<Row>> findRowsByEntries(Collection<Object[]> entryValuesList) throws IOException {
+        List<Object[]> lookups = new ArrayList<>(entryValuesList);
+        List<List<IndexData.Entry>> entries = getIndex().getIndexData().findEntries(lookups, mentryCursor.getFirstEntry(), mentryCursor.getLastEntry());
+
+        // read each row once, in page order
+        SortedMap<RowIdImpl, Row> rows = new TreeMap<>();
+        for (List<IndexData.Entry> lookupEntries : entries) {
+            for (IndexData.Entry entry : lookupEntries) {
+                rows.put(entry.getRowId(), null);
+            }
+        }
+        RowState rowState = getTable().createRowState();
+        for (Map.Entry<RowIdImpl, Row> e : rows.entrySet()) {
+            e.setValue(getTable().getRow(rowState, e.getKey(), null));
+        }
+
+        List<List<Row>> results = new ArrayList<>(lookups.size());
+        for (int i = 0; i < lookups.size(); i++) {
+            Object[] entryValues = lookups.get(i);
+            List<Row> matches = new ArrayList<>();
+            for (IndexData.Entry entry : entries.get(i)) {
+                Row row = rows.get(entry.getRowId());
+                if (rowMatchesEntry(row, entryValues, mcolumnMatcher)) {
+                    matches.add(row);
+                }
+            }
+            results.add(matches);
+        }
+        return results;
+    }
+
+    /**
+     * Returns {@code true} if the given row matches the given values for (a prefix of) the index columns.
+     */
+    private boolean rowMatchesEntry(Row row, Object[] entryValues, ColumnMatcher columnMatcher) {
+        List<IndexData.ColumnDescriptor> columns = getIndex().getColumns();
+        for (int i = 0; i < entryValues.length; i++) {
+            String columnName = columns.get(i).getName();
+            if (!columnMatcher.matches(getTable(), columnName, entryValues[i], row.get(columnName))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long countRange(Object[] startEntryValues, boolean startInclusive, Object[] endEntryValues, boolean endInclusive) throws IOException {
+        return countRangeImpl(startEntryValues, startInclusive, endEntryValues, endInclusive, Long.MAX_VALUE);
+    }
+
+    @Override
+    public boolean exists(Object... entryValues) throws IOException {
+        return countRangeImpl(entryValues, true, entryValues, true, 1L) > 0;
+    }
+
+    /**
+     * Counts the index entries within the given range and the range of this cursor, up to the given limit.
+     */
+    private long countRangeImpl(Object[] startEntryValues, boolean startInclusive, Object[] endEntryValues, boolean endInclusive, long limit) throws IOException {
+        IndexData indexData = getIndex().getIndexData();
+        IndexData.Entry firstEntry = mentryCursor.getFirstEntry();
+        if (startEntryValues != null) {
+            IndexData.Entry startEntry = indexData.createBoundEntry(startEntryValues, startInclusive);
+            if (startEntry.compareTo(firstEntry) > 0) {
+                firstEntry = startEntry;
+            }
+        }
+        IndexData.Entry lastEntry = mentryCursor.getLastEntry();
+        if (endEntryValues != null) {
+            IndexData.Entry endEntry = indexData.createBoundEntry(endEntryValues, !endInclusive);
+            if (endEntry.compareTo(lastEntry) < 0) {
+                lastEntry = endEntry;
+            }
+        }
+        return indexData.countEntries(firstEntry, lastEntry, limit);
+    }
+
     @Override
     public void findClosestRowByEntry(Object... entryValues) throws IOException {
         PositionImpl curPos = mcurPos;
@@ -157,6 +235,46 @@ public class IndexCursorImpl extends CursorImpl implements IndexCursor {
         return new EntryIterator(iterBuilder.getColumnNames(), toRowValues(iterBuilder.getEntryValues()), iterBuilder.getColumnMatcher());
     }
 
+    @Override
+    public boolean isIndexOnlyCapable(Collection<String> columnNames) {
+        return getIndexOnlyColumnPositions(columnNames) != null;
+    }
+
+    @Override
+    public Iterable<Row> newIndexOnlyIterable(Collection<String> columnNames) {
+        int[] positions = getIndexOnlyColumnPositions(columnNames);
+        if (positions == null) {
+            throw new IllegalArgumentException("Columns " + columnNames + " cannot be read from index " + getIndex().getName());
+        }
+        List<String> names = new ArrayList<>(columnNames);
+        return () -> new IndexOnlyIterator(names, positions);
+    }
+
+    /**
+     * Returns the positions within the index of the given columns, or {@code null} if not all of them can be decoded
+     * from the index entries.
+     */
+    private int[] getIndexOnlyColumnPositions(Collection<String> columnNames) {
+        List<IndexData.ColumnDescriptor> columns = getIndex().getColumns();
+        int decodableLen = getIndex().getIndexData().getDecodablePrefixLength();
+        int[] positions = new int[columnNames.size()];
+        int i = 0;
+        for (String columnName : columnNames) {
+            int pos = -1;
+            for (int c = 0; c < decodableLen; c++) {
+                if (columns.get(c).getName().equalsIgnoreCase(columnName)) {
+                    pos = c;
+                    break;
+                }
+            }
+            if (pos < 0) {
+                return null;
+            }
+            positions[i++] = pos;
+        }
+        return positions;
+    }
+
     @Override
     protected IndexDirHandler getDirHandler(boolean moveForward) {
         return moveForward ? mforwardDirHandler : mreverseDirHandler;
@@ -454,4 +572,61 @@ public class IndexCursorImpl extends CursorImpl implements IndexCursor {
         }
     }
 
+    /**
+     * Iterator which returns the rows in the range of this cursor, decoded from the index entries only.
+     */
+    private final class IndexOnlyIterator implements Iterator<Row> {
+        private final List<String>          mcolumnNames;
+        private final int[]                 mpositions;
+        private final int                   mnumColumns;
+        private final IndexData.EntryCursor mcursor;
+        private IndexData.Entry             mnext;
+
+        private IndexOnlyIterator(List<String> _columnNames, int[] _positions) {
+            mcolumnNames = _columnNames;
+            mpositions = _positions;
+            int numColumns = 0;
+            for (int pos : _positions) {
+                numColumns = Math.max(numColumns, pos + 1);
+            }
+            mnumColumns = numColumns;
+            try {
+                mcursor = getIndex().getIndexData().cursor(mentryCursor.getFirstEntry(), mentryCursor.getLastEntry());
+            } catch (IOException _ex) {
+                throw new UncheckedIOException(_ex);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (mnext == null) {
+                try {
+                    mnext = mcursor.getNextEntry();
+                } catch (IOException _ex) {
+                    throw new UncheckedIOException(_ex);
+                }
+            }
+            return mnext.getRowId().isValid();
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            IndexData.Entry entry = mnext;
+            mnext = null;
+            try {
+                Object[] values = getIndex().getIndexData().decodeEntryValues(entry, mnumColumns);
+                RowImpl row = new RowImpl(entry.getRowId(), mcolumnNames.size());
+                for (int i = 0; i < mpositions.length; i++) {
+                    row.put(getIndex().getColumns().get(mpositions[i]).getName(), values[mpositions[i]]);
+                }
+                return row;
+            } catch (IOException _ex) {
+                throw new UncheckedIOException(_ex);
+            }
+        }
+    }
+
 }
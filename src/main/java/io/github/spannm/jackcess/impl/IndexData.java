@@ -19,6 +19,7 @@ package io.github.spannm.jackcess.impl;
 import static io.github.spannm.jackcess.impl.IndexCodes.*;
 
 import io.github.spannm.jackcess.ConstraintViolationException;
+import io.github.spannm.jackcess.DataType;
 import io.github.spannm.jackcess.Index;
 import io.github.spannm.jackcess.IndexBuilder;
 import io.github.spannm.jackcess.impl.ByteUtil.ByteStream;
@@ -187,8 +188,12 @@ public class IndexData {
     private final List<Index>              _indexes             = new ArrayList<>();
     /** flags for this index */
     private byte                           _indexFlags;
-    /** Usage map of pages that this index owns */
+    /** Usage map of pages that this index owns, read on first use */
     private UsageMap                       _ownedPages;
+    /** page number of the usage map of pages that this index owns */
+    private int                            _ownedPagesPageNumber;
+    /** row number of the usage map of pages that this index owns */
+    private int                            _ownedPagesRowNumber;
     /**
      * {@code true} if the index entries have been initialized, {@code false} otherwise
      */
@@ -207,6 +212,8 @@ public class IndexData {
     private String                         _unsupportedReason;
     /** Cache which manages the index pages */
     private final IndexPageCache           _pageCache;
+    /** the most recently collected statistics, if any */
+    private IndexStatistics                _statistics;
 
     protected IndexData(TableImpl table, int number, int uniqueEntryCount, int uniqueEntryCountOffset) {
         _table = table;
@@ -408,15 +415,26 @@ public class IndexData {
      * Returns the number of database pages owned by this index data.
      */
     public int getOwnedPageCount() {
-        return _ownedPages.getPageCount();
+        try {
+            return getOwnedPages().getPageCount();
+        } catch (IOException _ex) {
+            throw new UncheckedIOException(_ex);
+        }
     }
 
     void addOwnedPage(int pageNumber) throws IOException {
-        _ownedPages.addPageNumber(pageNumber);
+        getOwnedPages().addPageNumber(pageNumber);
     }
 
     void collectUsageMapPages(Collection<Integer> pages) {
-        pages.add(_ownedPages.getTablePageNumber());
+        pages.add(_ownedPagesPageNumber);
+    }
+
+    private UsageMap getOwnedPages() throws IOException {
+        if (_ownedPages == null) {
+            _ownedPages = UsageMap.read(getTable().getDatabase(), _ownedPagesPageNumber, _ownedPagesRowNumber, false);
+        }
+        return _ownedPages;
     }
 
     /**
@@ -443,6 +461,37 @@ public class IndexData {
         return count;
     }
 
+    /**
+     * Returns statistics about the key distribution of this index, sampled from its leaf pages. The statistics are
+     * cached and re-collected once enough entries have been added or removed since the last collection. <p> Forces
+     * index initialization.
+     */
+    public IndexStatistics getStatistics() throws IOException {
+        initialize();
+        if (_statistics == null || _statistics.isStale(_modCount)) {
+            _statistics = IndexStatistics.collect(this, _pageCache.getLeafPageNumbers(), IndexStatistics.DEFAULT_SAMPLE_PAGE_COUNT, _modCount);
+        }
+        return _statistics;
+    }
+
+    /**
+     * Estimates the number of entries in the range defined by the given startRow and endRow (see
+     * {@link #cursor(Object[], boolean, Object[], boolean)}) without reading the range. <p> Forces index
+     * initialization.
+     *
+     * @param startRow the first row of data for the range, or {@code null} for the first entry
+     * @param startInclusive whether or not startRow is inclusive or exclusive
+     * @param endRow the last row of data for the range, or {@code null} for the last entry
+     * @param endInclusive whether or not endRow is inclusive or exclusive
+     */
+    public long estimateRangeCount(Object[] startRow, boolean startInclusive, Object[] endRow, boolean endInclusive) throws IOException {
+        IndexStatistics stats = getStatistics();
+        // the histogram is too coarse for the inclusive flags to matter
+        byte[] startEntryBytes = createEntryBytes(startRow);
+        byte[] endEntryBytes = startRow == endRow ? startEntryBytes : createEntryBytes(endRow);
+        return stats.estimateRangeCount(startEntryBytes, endEntryBytes);
+    }
+
     /**
      * Forces initialization of this index (actual parsing of index pages). normally, the index will not be initialized until the entries are actually needed.
      */
@@ -495,7 +544,9 @@ public class IndexData {
             }
         }
 
-        _ownedPages = UsageMap.read(getTable().getDatabase(), tableBuffer);
+        // the usage map is only read when first needed (when the index is written)
+        _ownedPagesRowNumber = tableBuffer.get();
+        _ownedPagesPageNumber = ByteUtil.get3ByteInt(tableBuffer);
 
         _rootPageNumber = tableBuffer.getInt();
 
@@ -627,6 +678,42 @@ public class IndexData {
         return prepareAddEntry(new Entry(createEntryBytes(row), rowId), isNullEntry, row, change);
     }
 
+    /**
+     * Adds the given rows of the table to this index in bulk: the entries of all rows are created and sorted before they
+     * are added in index order, so that consecutive additions hit the same (cached) index pages. All constraints are
+     * checked as for single row additions. <p> Forces index initialization.
+     *
+     * @param rows the rows to be added (the values of the index columns)
+     * @param rowIds the ids of the rows to be added
+     */
+    public void addRows(List<Object[]> rows, List<RowIdImpl> rowIds) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        // make sure we've parsed the entries
+        initialize();
+
+        List<BulkEntry> entries = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            int nullCount = countNullValues(row);
+            boolean isNullEntry = nullCount == _columns.size();
+            if (shouldIgnoreNulls() && isNullEntry) {
+                continue;
+            }
+            if (nullCount > 0 && (isBackingPrimaryKey() || isRequired())) {
+                throw new ConstraintViolationException(withErrorContext("Null value found in row " + Arrays.toString(row) + " for primary key or required index"));
+            }
+            entries.add(new BulkEntry(new Entry(createEntryBytes(row), rowIds.get(i)), isNullEntry, row));
+        }
+        entries.sort(Comparator.comparing(e -> e._entry));
+
+        for (BulkEntry e : entries) {
+            prepareAddEntry(e._entry, e._isNullEntry, e._row, new AddRowPendingChange(null)).commit();
+        }
+    }
+
     /**
      * Adds an entry to the correct index dataPage, maintaining the order.
      */
@@ -829,6 +916,205 @@ public class IndexData {
         return new EntryCursor(findEntryPosition(startEntry), findEntryPosition(endEntry));
     }
 
+    /**
+     * Finds the entries matching each of the given lookup values in a single forward pass over the leaf pages. The
+     * lookups are sorted by their encoded entry bytes first. Consecutive lookups usually hit the same or the next leaf
+     * page, the tree is only descended again if a lookup lies further ahead (or behind). <p> Forces index
+     * initialization.
+     *
+     * @param entryValuesList the values for (a prefix of) the index columns for each lookup
+     * @param firstEntry only entries after this (exclusive) entry are returned
+     * @param lastEntry only entries before this (exclusive) entry are returned
+     * @return the matching entries in index order for each lookup, in the order of the given lookups
+     */
+    List<List<Entry>> findEntries(List<Object[]> entryValuesList, Entry firstEntry, Entry lastEntry) throws IOException {
+        initialize();
+
+        int numLookups = entryValuesList.size();
+        Entry[] startEntries = new Entry[numLookups];
+        Entry[] endEntries = new Entry[numLookups];
+        Integer[] order = new Integer[numLookups];
+        for (int i = 0; i < numLookups; i++) {
+            Object[] entryValues = entryValuesList.get(i);
+            startEntries[i] = createBoundEntry(entryValues, true);
+            endEntries[i] = createBoundEntry(entryValues, false);
+            order[i] = i;
+        }
+        Arrays.sort(order, (i1, i2) -> startEntries[i1].compareTo(startEntries[i2]));
+
+        List<List<Entry>> results = new ArrayList<>(Collections.nCopies(numLookups, null));
+        DataPage dataPage = null;
+        for (Integer i : order) {
+            Entry startEntry = startEntries[i];
+            Entry endEntry = endEntries[i];
+            List<Entry> matches = new ArrayList<>();
+            results.set(i, matches);
+
+            dataPage = findLeafPageForward(dataPage, startEntry);
+            int idx = missingIndexToInsertionPoint(dataPage.findEntry(startEntry));
+
+            // collect all entries up to the end entry, following the leaf links
+            DataPage curPage = dataPage;
+            while (curPage != null) {
+                List<Entry> entries = curPage.getEntries();
+                for (; idx < entries.size(); idx++) {
+                    Entry entry = entries.get(idx);
+                    if (entry.compareTo(endEntry) > 0 || entry.compareTo(lastEntry) >= 0) {
+                        curPage = null;
+                        break;
+                    }
+                    if (entry.compareTo(firstEntry) > 0) {
+                        matches.add(entry);
+                    }
+                }
+                if (curPage != null) {
+                    curPage = curPage.getNextPageNumber() != INVALID_INDEX_PAGE_NUMBER ? getDataPage(curPage.getNextPageNumber()) : null;
+                    idx = 0;
+                    if (curPage != null) {
+                        // the next lookup most likely starts where this one ended
+                        dataPage = curPage;
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Creates an (invalid) entry which sorts directly before (or after) all entries matching the given values for (a
+     * prefix of) the index columns.
+     *
+     * @param entryValues the values for (a prefix of) the index columns
+     * @param before whether the entry should sort before or after the matching entries
+     */
+    Entry createBoundEntry(Object[] entryValues, boolean before) throws IOException {
+        if (before) {
+            return new Entry(createEntryBytes(constructPartialIndexRowFromEntry(MIN_VALUE, entryValues)), RowIdImpl.FIRST_ROW_ID);
+        }
+        return new Entry(createEntryBytes(constructPartialIndexRowFromEntry(MAX_VALUE, entryValues)), RowIdImpl.LAST_ROW_ID);
+    }
+
+    /**
+     * Counts the entries between the given (exclusive) entries by walking the leaf pages through their next-page links.
+     * Leaf pages which lie completely within the range are counted as a whole, without comparing their entries. No
+     * rows are read. <p> Forces index initialization.
+     *
+     * @param firstEntry only entries after this (exclusive) entry are counted
+     * @param lastEntry only entries before this (exclusive) entry are counted
+     * @param limit counting stops once this many entries were found
+     * @return the number of entries in the range, at most {@code limit}
+     */
+    long countEntries(Entry firstEntry, Entry lastEntry, long limit) throws IOException {
+        initialize();
+        if (firstEntry.compareTo(lastEntry) >= 0) {
+            return 0;
+        }
+
+        DataPage dataPage = findDataPage(firstEntry);
+        int idx = dataPage.findEntry(firstEntry);
+        idx = idx < 0 ? missingIndexToInsertionPoint(idx) : idx + 1;
+
+        long count = 0;
+        while (count < limit) {
+            List<Entry> entries = dataPage.getEntries();
+            if (entries.isEmpty() || getLastEntry(dataPage).compareTo(lastEntry) < 0) {
+                // the rest of this page is within the range
+                count += Math.max(0, entries.size() - idx);
+            } else {
+                for (; idx < entries.size() && entries.get(idx).compareTo(lastEntry) < 0; idx++) {
+                    count++;
+                }
+                break;
+            }
+
+            int nextPageNumber = dataPage.getNextPageNumber();
+            if (nextPageNumber == INVALID_INDEX_PAGE_NUMBER) {
+                break;
+            }
+            dataPage = getDataPage(nextPageNumber);
+            idx = 0;
+        }
+        return Math.min(count, limit);
+    }
+
+    /**
+     * Returns the leaf page on which the given entry does or should reside, starting from the given leaf page (if any).
+     * Moves to the next leaf page if the entry is just past the current one, otherwise descends from the root.
+     */
+    private DataPage findLeafPageForward(DataPage curPage, Entry entry) throws IOException {
+        if (curPage == null || curPage.isEmpty() || entry.compareTo(curPage.getEntries().get(0)) < 0) {
+            return findDataPage(entry);
+        }
+        if (entry.compareTo(getLastEntry(curPage)) <= 0) {
+            return curPage;
+        }
+        int nextPageNumber = curPage.getNextPageNumber();
+        if (nextPageNumber != INVALID_INDEX_PAGE_NUMBER) {
+            DataPage nextPage = getDataPage(nextPageNumber);
+            if (!nextPage.isEmpty() && entry.compareTo(getLastEntry(nextPage)) <= 0) {
+                return nextPage;
+            }
+        }
+        // there is a gap, search from the top
+        return findDataPage(entry);
+    }
+
+    private static Entry getLastEntry(DataPage dataPage) {
+        List<Entry> entries = dataPage.getEntries();
+        return entries.get(entries.size() - 1);
+    }
+
+    /**
+     * Gets a new cursor for this index, narrowed to the range between the given (exclusive) entries. <p> Forces index
+     * initialization.
+     */
+    EntryCursor cursor(Entry firstEntry, Entry lastEntry) throws IOException {
+        initialize();
+        return new EntryCursor(findEntryPosition(firstEntry), findEntryPosition(lastEntry));
+    }
+
+    /**
+     * Returns the number of leading columns of this index whose values can be decoded from the index entries (see
+     * {@link #decodeEntryValues}).
+     */
+    int getDecodablePrefixLength() {
+        int prefixLen = 0;
+        for (ColumnDescriptor col : _columns) {
+            if (!col.isDecodable()) {
+                break;
+            }
+            prefixLen++;
+        }
+        return prefixLen;
+    }
+
+    /**
+     * Decodes the values of the first {@code numColumns} index columns from the given entry, without reading the
+     * row from the table.
+     *
+     * @param entry a valid entry of this index
+     * @param numColumns number of leading index columns to decode, at most {@link #getDecodablePrefixLength}
+     * @return the decoded values, in index column order
+     */
+    Object[] decodeEntryValues(Entry entry, int numColumns) throws IOException {
+        if (numColumns > getDecodablePrefixLength()) {
+            throw new IllegalArgumentException(withErrorContext("Cannot decode " + numColumns + " columns from index entries"));
+        }
+        byte[] entryBytes = entry.getEntryBytes();
+        Object[] values = new Object[numColumns];
+        int offset = 0;
+        for (int i = 0; i < numColumns; i++) {
+            ColumnDescriptor col = _columns.get(i);
+            int len = col.getEncodedLength(entryBytes, offset);
+            if (len < 0) {
+                throw new IOException(withErrorContext("Invalid entry " + entry));
+            }
+            values[i] = col.readValue(entryBytes, offset);
+            offset += len;
+        }
+        return values;
+    }
+
     private Position findEntryPosition(Entry entry) throws IOException {
         DataPage dataPage = findDataPage(entry);
         int idx = dataPage.findEntry(entry);
@@ -1365,6 +1651,44 @@ public class IndexData {
         }
     }
 
+    /**
+     * Returns the length of a value written by {@link #writeGeneralBinaryEntry} which starts at the given offset within
+     * the given entry bytes, or {@code -1} if the entry bytes end before the value does.
+     */
+    private static int getGeneralBinaryEntryLength(byte[] entryBytes, int offset) {
+        int pos = offset;
+        while (pos + 9 <= entryBytes.length) {
+            pos += 9;
+            // intermediate segments always end with an (unflipped) length of 9
+            if (entryBytes[pos - 1] != (byte) 9) {
+                return pos - offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes a value written by {@link #writeGeneralBinaryEntry} which occupies the given bytes of the given entry
+     * bytes.
+     */
+    private static byte[] readGeneralBinaryEntry(byte[] entryBytes, int offset, int length, boolean isAsc) {
+        byte[] valueBytes = new byte[length / 9 * 8];
+        byte[] partialEntryBytes = new byte[9];
+        int dataLen = 0;
+        for (int pos = offset; pos < offset + length; pos += 9) {
+            System.arraycopy(entryBytes, pos, partialEntryBytes, 0, 9);
+            boolean isLast = pos + 9 >= offset + length;
+            if (!isAsc) {
+                // the length byte is only flipped for the last segment
+                flipBytes(partialEntryBytes, 0, isLast ? 9 : 8);
+            }
+            int segmentLen = isLast ? partialEntryBytes[8] : 8;
+            System.arraycopy(partialEntryBytes, 0, valueBytes, dataLen, segmentLen);
+            dataLen += segmentLen;
+        }
+        return ByteUtil.copyOf(valueBytes, dataLen);
+    }
+
     /**
      * Creates one of the special index entries.
      */
@@ -1592,6 +1916,57 @@ public class IndexData {
          */
         protected abstract void writeNonNullValue(Object value, ByteStream bout) throws IOException;
 
+        /**
+         * Returns the number of bytes of the segment for this column which starts at the given offset within the given
+         * entry bytes, or {@code -1} if the length cannot be determined without fully decoding the value.
+         */
+        int getEncodedLength(byte[] entryBytes, int offset) {
+            if (offset >= entryBytes.length) {
+                return -1;
+            }
+            if (isNullEntry(entryBytes[offset])) {
+                return 1;
+            }
+            int valueLength = getNonNullEncodedLength(entryBytes, offset + 1);
+            return valueLength < 0 ? -1 : 1 + valueLength;
+        }
+
+        /**
+         * Returns the number of bytes written by {@link #writeNonNullValue} for the value starting at the given offset
+         * within the given entry bytes, or {@code -1} if unknown (the default).
+         */
+        int getNonNullEncodedLength(byte[] entryBytes, int offset) {
+            return -1;
+        }
+
+        /**
+         * Returns {@code true} if values of this column can be decoded from the index entry bytes (see
+         * {@link #readValue}), {@code false} otherwise (the default).
+         */
+        boolean isDecodable() {
+            return false;
+        }
+
+        /**
+         * Decodes the value of the segment for this column which starts at the given offset within the given entry
+         * bytes. Only supported if {@link #isDecodable()}.
+         */
+        Object readValue(byte[] entryBytes, int offset) throws IOException {
+            if (isNullEntry(entryBytes[offset])) {
+                return null;
+            }
+            return readNonNullValue(entryBytes, offset + 1, getNonNullEncodedLength(entryBytes, offset + 1));
+        }
+
+        /**
+         * Decodes a value written by {@link #writeNonNullValue} which occupies the given bytes of the given entry bytes.
+         * Must only be called if this descriptor {@link #isDecodable() is decodable}.
+         */
+        Object readNonNullValue(byte[] entryBytes, int offset, int length) throws IOException {
+            throw new IllegalStateException("Index entries for column " + getColumn()
+                + " are not decodable, readNonNullValue must only be called if isDecodable() is true");
+        }
+
         @Override
         public String toString() {
             return ToStringBuilder.builder(this).append("column", getColumn()).append("flags", getFlags() + " " + (isAscending() ? "(ASC)" : "(DSC)")).toString();
@@ -1606,6 +1981,30 @@ public class IndexData {
             super(column, flags);
         }
 
+        @Override
+        int getNonNullEncodedLength(byte[] entryBytes, int offset) {
+            return getColumn().getType().getFixedSize();
+        }
+
+        @Override
+        boolean isDecodable() {
+            // complex type foreign keys are not plain values
+            return getColumn().getType() != DataType.COMPLEX_TYPE && !getColumn().isCalculated();
+        }
+
+        @Override
+        Object readNonNullValue(byte[] entryBytes, int offset, int length) throws IOException {
+            byte[] valueBytes = ByteUtil.copyOf(entryBytes, offset, length);
+
+            // undo the bit twiddling of writeNonNullValue
+            if (!isAscending()) {
+                flipBytes(valueBytes);
+            }
+            flipFirstBitInByte(valueBytes, 0);
+
+            return getColumn().read(valueBytes, ENTRY_BYTE_ORDER);
+        }
+
         @Override
         protected void writeNonNullValue(Object value, ByteStream bout) throws IOException {
             byte[] valueBytes = encodeNumberColumnValue(value, getColumn());
@@ -1631,6 +2030,33 @@ public class IndexData {
             super(column, flags);
         }
 
+        @Override
+        int getNonNullEncodedLength(byte[] entryBytes, int offset) {
+            return getColumn().getType().getFixedSize();
+        }
+
+        @Override
+        boolean isDecodable() {
+            return !getColumn().isCalculated();
+        }
+
+        @Override
+        Object readNonNullValue(byte[] entryBytes, int offset, int length) throws IOException {
+            byte[] valueBytes = ByteUtil.copyOf(entryBytes, offset, length);
+
+            // undo the bit twiddling of writeNonNullValue (the first bit is set
+            // for positive ascending and negative descending values)
+            boolean isNegative = (valueBytes[0] & 0x80) != 0 != isAscending();
+            if (isNegative == isAscending()) {
+                flipBytes(valueBytes);
+            }
+            if (!isNegative) {
+                flipFirstBitInByte(valueBytes, 0);
+            }
+
+            return getColumn().read(valueBytes, ENTRY_BYTE_ORDER);
+        }
+
         @Override
         protected void writeNonNullValue(Object value, ByteStream bout) throws IOException {
             byte[] valueBytes = encodeNumberColumnValue(value, getColumn());
@@ -1673,6 +2099,11 @@ public class IndexData {
             valueBytes[0] = isNegative ? (byte) 0x00 : (byte) 0xFF;
         }
 
+        @Override
+        int getNonNullEncodedLength(byte[] entryBytes, int offset) {
+            return getColumn().getType().getFixedSize();
+        }
+
         @Override
         protected void writeNonNullValue(Object value, ByteStream bout) throws IOException {
             byte[] valueBytes = encodeNumberColumnValue(value, getColumn());
@@ -1727,6 +2158,25 @@ public class IndexData {
             super(column, flags);
         }
 
+        @Override
+        int getNonNullEncodedLength(byte[] entryBytes, int offset) {
+            return getColumn().getType().getFixedSize();
+        }
+
+        @Override
+        boolean isDecodable() {
+            return !getColumn().isCalculated();
+        }
+
+        @Override
+        Object readNonNullValue(byte[] entryBytes, int offset, int length) throws IOException {
+            byte[] valueBytes = ByteUtil.copyOf(entryBytes, offset, length);
+            if (!isAscending()) {
+                flipBytes(valueBytes);
+            }
+            return getColumn().read(valueBytes, ENTRY_BYTE_ORDER);
+        }
+
         @Override
         protected void writeNonNullValue(Object value, ByteStream bout) throws IOException {
             byte[] valueBytes = encodeNumberColumnValue(value, getColumn());
@@ -1756,6 +2206,21 @@ public class IndexData {
             return false;
         }
 
+        @Override
+        int getNonNullEncodedLength(byte[] entryBytes, int offset) {
+            return 1;
+        }
+
+        @Override
+        boolean isDecodable() {
+            return !getColumn().isCalculated();
+        }
+
+        @Override
+        Object readNonNullValue(byte[] entryBytes, int offset, int length) {
+            return entryBytes[offset] == (isAscending() ? ASC_BOOLEAN_TRUE : DESC_BOOLEAN_TRUE);
+        }
+
         @Override
         protected void writeNonNullValue(Object value, ByteStream bout) {
             bout.write(ColumnImpl.toBooleanValue(value) ? isAscending() ? ASC_BOOLEAN_TRUE : DESC_BOOLEAN_TRUE : isAscending() ? ASC_BOOLEAN_FALSE : DESC_BOOLEAN_FALSE);
@@ -1963,6 +2428,22 @@ public class IndexData {
             super(column, flags);
         }
 
+        @Override
+        int getNonNullEncodedLength(byte[] entryBytes, int offset) {
+            return getGeneralBinaryEntryLength(entryBytes, offset);
+        }
+
+        @Override
+        boolean isDecodable() {
+            return !getColumn().isCalculated();
+        }
+
+        @Override
+        Object readNonNullValue(byte[] entryBytes, int offset, int length) throws IOException {
+            byte[] valueBytes = readGeneralBinaryEntry(entryBytes, offset, length, isAscending());
+            return getColumn().read(valueBytes, ENTRY_BYTE_ORDER);
+        }
+
         @Override
         protected void writeNonNullValue(Object value, ByteStream bout) throws IOException {
             writeGeneralBinaryEntry(encodeNumberColumnValue(value, getColumn()), isAscending(), bout);
@@ -1977,6 +2458,21 @@ public class IndexData {
             super(column, flags);
         }
 
+        @Override
+        int getNonNullEncodedLength(byte[] entryBytes, int offset) {
+            return getGeneralBinaryEntryLength(entryBytes, offset);
+        }
+
+        @Override
+        boolean isDecodable() {
+            return !getColumn().isCalculated();
+        }
+
+        @Override
+        Object readNonNullValue(byte[] entryBytes, int offset, int length) {
+            return readGeneralBinaryEntry(entryBytes, offset, length, isAscending());
+        }
+
         @Override
         protected void writeNonNullValue(Object value, ByteStream bout) throws IOException {
             writeGeneralBinaryEntry(ColumnImpl.toByteArray(value), isAscending(), bout);
@@ -1991,6 +2487,12 @@ public class IndexData {
             super(column, flags);
         }
 
+        @Override
+        int getNonNullEncodedLength(byte[] entryBytes, int offset) {
+            // 5 blocks of 8 value bytes plus separator, 2 value bytes, trailer
+            return 5 * 9 + 2 + ASC_EXT_DATE_TRAILER.length;
+        }
+
         @Override
         protected void writeNonNullValue(Object value, ByteStream bout) throws IOException {
             byte[] valueBytes = encodeNumberColumnValue(value, getColumn());
@@ -2822,6 +3324,21 @@ public class IndexData {
         }
     }
 
+    /**
+     * An entry to be added in bulk along with the row it was created from.
+     */
+    private static final class BulkEntry {
+        private final Entry    _entry;
+        private final boolean  _isNullEntry;
+        private final Object[] _row;
+
+        private BulkEntry(Entry entry, boolean isNullEntry, Object[] row) {
+            _entry = entry;
+            _isNullEntry = isNullEntry;
+            _row = row;
+        }
+    }
+
     /**
      * Utility class which maintains information about a pending index update. An instance of this class can be used to complete the change (by calling {@link #commit}) or undo the change (by calling
      * {@link #rollback}).
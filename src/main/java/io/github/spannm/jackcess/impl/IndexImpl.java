@@ -134,6 +134,21 @@ public class IndexImpl implements Index, Comparable<IndexImpl> {
         return getIndexData().getUniqueEntryCountOffset();
     }
 
+    /**
+     * Returns sampled statistics about the key distribution of this index, see {@link IndexData#getStatistics()}.
+     */
+    public IndexStatistics getStatistics() throws IOException {
+        return getIndexData().getStatistics();
+    }
+
+    /**
+     * Estimates the number of entries in the given range of this index, see
+     * {@link IndexData#estimateRangeCount(Object[], boolean, Object[], boolean)}.
+     */
+    public long estimateRangeCount(Object[] startRow, boolean startInclusive, Object[] endRow, boolean endInclusive) throws IOException {
+        return getIndexData().estimateRangeCount(startRow, startInclusive, endRow, endInclusive);
+    }
+
     @Override
     public String getName() {
         return _name;
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.impl;
+
+import io.github.spannm.jackcess.util.CaseInsensitiveColumnMatcher;
+import io.github.spannm.jackcess.util.ColumnMatcher;
+import io.github.spannm.jackcess.util.SimpleColumnMatcher;
+import io.github.spannm.jackcess.util.ToStringBuilder;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Chooses an access path for row pattern searches (see {@link io.github.spannm.jackcess.Cursor#findFirstRow(Map)}) on
+ * an un-indexed cursor.
+ * <p>
+ * The planner looks for the index whose leading columns are covered by the pattern and which is expected to return
+ * the fewest rows (see {@link IndexStatistics}). The matching index entries are then used to locate candidate rows, and the full pattern (including
+ * any columns not covered by the index) is applied to each candidate as a residual filter. If no index is selective
+ * enough, the search falls back to a plain table scan.
+ * <p>
+ * An index based search returns the same rows in the same order as a table scan would, it merely avoids reading rows
+ * which cannot match.
+ */
+public final class IndexLookupPlanner {
+
+    /**
+     * an index is only used if it is expected to return at most this fraction of the rows in the table
+     */
+    static final double MAX_SELECTIVITY = 0.25d;
+
+    private IndexLookupPlanner() {
+    }
+
+    /**
+     * Determines how rows matching the given pattern should be located in the given table.
+     *
+     * @param table the table to search
+     * @param rowPattern column names and values which must match the desired rows
+     * @return the chosen plan, never {@code null}
+     */
+    public static Plan plan(TableImpl table, Map<String, ?> rowPattern) {
+        long rowCount = table.getRowCount();
+
+        if (rowPattern == null || rowPattern.isEmpty()) {
+            return new Plan(table, rowPattern, null, 0, rowCount, rowCount, "empty pattern");
+        }
+
+        IndexImpl bestIndex = null;
+        int bestPrefixLen = 0;
+        long bestEstimate = Long.MAX_VALUE;
+
+        for (IndexImpl index : table.getIndexes()) {
+            if (index.getIndexData().getUnsupportedReason() != null) {
+                continue;
+            }
+
+            int prefixLen = getUsablePrefixLength(index, rowPattern);
+            if (prefixLen == 0) {
+                continue;
+            }
+
+            long estimate = estimateRowCount(index, prefixLen, rowCount);
+            if (estimate < bestEstimate || estimate == bestEstimate && prefixLen > bestPrefixLen) {
+                bestIndex = index;
+                bestPrefixLen = prefixLen;
+                bestEstimate = estimate;
+            }
+        }
+
+        if (bestIndex == null) {
+            return new Plan(table, rowPattern, null, 0, rowCount, rowCount, "no index on pattern columns");
+        }
+        if (bestEstimate > 1 && bestEstimate > rowCount * MAX_SELECTIVITY) {
+            return new Plan(table, rowPattern, null, 0, rowCount, rowCount,
+                "index " + bestIndex.getName() + " not selective enough (est. " + bestEstimate + " rows)");
+        }
+        return new Plan(table, rowPattern, bestIndex, bestPrefixLen, bestEstimate, rowCount, null);
+    }
+
+    /**
+     * Returns {@code true} if the given matcher is consistent with the equality used by index lookups, {@code false}
+     * otherwise (in which case only a table scan can guarantee correct results).
+     */
+    static boolean isSupportedMatcher(ColumnMatcher columnMatcher) {
+        return columnMatcher == SimpleColumnMatcher.INSTANCE || columnMatcher == CaseInsensitiveColumnMatcher.INSTANCE;
+    }
+
+    /**
+     * Returns the number of leading columns of the given index which can be used to narrow a search for the given
+     * pattern.
+     */
+    private static int getUsablePrefixLength(IndexImpl index, Map<String, ?> rowPattern) {
+        int prefixLen = 0;
+        for (IndexData.ColumnDescriptor col : index.getColumns()) {
+            if (!rowPattern.containsKey(col.getName())) {
+                break;
+            }
+            Object value = rowPattern.get(col.getName());
+            if (value instanceof Predicate<?> || value == null && index.shouldIgnoreNulls()) {
+                // predicates cannot be encoded and null values are missing from the index
+                break;
+            }
+            prefixLen++;
+        }
+        return prefixLen;
+    }
+
+    /**
+     * Estimates the number of rows returned by a lookup on the given number of leading index columns. Uses the
+     * sampled {@link IndexStatistics} if possible, otherwise assumes the unique entries of the index are spread evenly
+     * over its columns.
+     */
+    static long estimateRowCount(IndexImpl index, int prefixLen, long rowCount) {
+        int numCols = index.getColumnCount();
+        if (index.isUnique() && prefixLen == numCols) {
+            return Math.min(1L, rowCount);
+        }
+
+        try {
+            long estimate = index.getStatistics().estimateLookupCount(prefixLen);
+            if (estimate >= 0) {
+                return estimate;
+            }
+        } catch (IOException _ex) {
+            // statistics are only a hint, fall back to the stored counts
+        }
+
+        int uniqueEntryCount = index.getUniqueEntryCount();
+        if (uniqueEntryCount <= 0 || rowCount <= 0) {
+            // nothing known about this index
+            return rowCount;
+        }
+        double distinct = Math.pow(uniqueEntryCount, (double) prefixLen / numCols);
+        return Math.max(1L, Math.round(rowCount / Math.max(1d, distinct)));
+    }
+
+    /**
+     * The result of planning a row pattern search.
+     */
+    public static final class Plan {
+        private final TableImpl      _table;
+        private final Map<String, ?> _rowPattern;
+        private final IndexImpl      _index;
+        private final int            _prefixLen;
+        private final long           _estimatedRowCount;
+        private final long           _rowCount;
+        private final String         _scanReason;
+        /** matching row ids of an indexed plan, looked up on first use */
+        private List<RowIdImpl>      _candidateRowIds;
+        private int                  _candidatesModCount;
+        private int                  _lastCandidate = -1;
+
+        private Plan(TableImpl table, Map<String, ?> rowPattern, IndexImpl index, int prefixLen, long estimatedRowCount, long rowCount, String scanReason) {
+            _table = table;
+            _rowPattern = rowPattern;
+            _index = index;
+            _prefixLen = prefixLen;
+            _estimatedRowCount = estimatedRowCount;
+            _rowCount = rowCount;
+            _scanReason = scanReason;
+        }
+
+        /**
+         * Returns {@code true} if this plan uses an index, {@code false} if it scans the table.
+         */
+        public boolean isIndexed() {
+            return _index != null;
+        }
+
+        /**
+         * Returns the index chosen for the lookup, or {@code null} for a table scan.
+         */
+        public IndexImpl getIndex() {
+            return _index;
+        }
+
+        /**
+         * Returns the names of the pattern columns which are matched using the index.
+         */
+        public List<String> getIndexColumnNames() {
+            if (_index == null) {
+                return List.of();
+            }
+            List<String> names = new ArrayList<>(_prefixLen);
+            for (IndexData.ColumnDescriptor col : _index.getColumns().subList(0, _prefixLen)) {
+                names.add(col.getName());
+            }
+            return names;
+        }
+
+        /**
+         * Returns the names of the pattern columns which are checked against each candidate row.
+         */
+        public List<String> getResidualColumnNames() {
+            if (_rowPattern == null) {
+                return List.of();
+            }
+            List<String> names = new ArrayList<>(_rowPattern.keySet());
+            names.removeAll(getIndexColumnNames());
+            return names;
+        }
+
+        /**
+         * Returns the estimated number of rows read by this plan.
+         */
+        public long getEstimatedRowCount() {
+            return _estimatedRowCount;
+        }
+
+        /**
+         * Returns the ids of all rows whose index entries match the indexed pattern columns, sorted in table scan
+         * order. The ids are looked up once per search and only looked up again if the table has been modified since.
+         */
+        List<RowIdImpl> getCandidateRowIds() throws IOException {
+            int modCount = _table.getModCount();
+            if (_candidateRowIds == null || _candidatesModCount != modCount) {
+                _candidateRowIds = findCandidateRowIds();
+                _candidatesModCount = modCount;
+                _lastCandidate = -1;
+            }
+            return _candidateRowIds;
+        }
+
+        /**
+         * Returns the index of the first candidate row after (or before, when moving in reverse) the given row in the
+         * {@link #getCandidateRowIds candidate rows}, which may be out of bounds if there is none.
+         */
+        int getNextCandidate(RowIdImpl curRowId, boolean moveForward) {
+            int idx = _lastCandidate;
+            if (idx < 0 || idx >= _candidateRowIds.size() || !_candidateRowIds.get(idx).equals(curRowId)) {
+                // the cursor was not left on the last returned candidate
+                idx = Collections.binarySearch(_candidateRowIds, curRowId);
+                if (idx < 0) {
+                    int insertIdx = -idx - 1;
+                    return moveForward ? insertIdx : insertIdx - 1;
+                }
+            }
+            return moveForward ? idx + 1 : idx - 1;
+        }
+
+        /**
+         * Remembers the candidate row on which the cursor was left, so that the next step can continue from there.
+         */
+        void setLastCandidate(int idx) {
+            _lastCandidate = idx;
+        }
+
+        private List<RowIdImpl> findCandidateRowIds() throws IOException {
+            Object[] values = new Object[_prefixLen];
+            int i = 0;
+            for (IndexData.ColumnDescriptor col : _index.getColumns().subList(0, _prefixLen)) {
+                values[i++] = _rowPattern.get(col.getName());
+            }
+
+            IndexData indexData = _index.getIndexData();
+            Object[] startRow = indexData.constructPartialIndexRowFromEntry(IndexData.MIN_VALUE, values);
+            Object[] endRow = indexData.constructPartialIndexRowFromEntry(IndexData.MAX_VALUE, values);
+            IndexData.EntryCursor entryCursor = indexData.cursor(startRow, true, endRow, true);
+
+            List<RowIdImpl> rowIds = new ArrayList<>();
+            RowIdImpl rowId;
+            while ((rowId = entryCursor.getNextEntry().getRowId()).isValid()) {
+                rowIds.add(rowId);
+            }
+            Collections.sort(rowIds);
+            return rowIds;
+        }
+
+        @Override
+        public String toString() {
+            ToStringBuilder sb = ToStringBuilder.valueBuilder(this).append("table", _table.getName());
+            if (_index == null) {
+                sb.append("access", "TABLE SCAN").append("reason", _scanReason);
+            } else {
+                sb.append("access", "INDEX RANGE SCAN")
+                    .append("index", _index.getName())
+                    .append("indexColumns", getIndexColumnNames())
+                    .append("residualColumns", getResidualColumnNames());
+            }
+            return sb.append("estimatedRows", _estimatedRowCount).append("tableRows", _rowCount).toString();
+        }
+    }
+}
@@ -26,6 +26,7 @@ import io.github.spannm.jackcess.util.ToStringBuilder;
 import java.io.IOException;
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -81,6 +82,11 @@ public class IndexPageCache {
         return getIndexData().getPageChannel();
     }
 
+    private String getDatabasePath() {
+        Path path = getIndexData().getTable().getDatabase().getPath();
+        return path != null ? path.toString() : null;
+    }
+
     /**
      * Sets the root page for this index, must be called before normal usage.
      *
@@ -211,7 +217,10 @@ public class IndexPageCache {
      */
     private DataPageMain getDataPage(Integer pageNumber) throws IOException {
         DataPageMain dataPage = _dataPages.get(pageNumber);
-        if (dataPage == null && pageNumber > INVALID_INDEX_PAGE_NUMBER) {
+        if (dataPage != null) {
+            getPageChannel().getMetricsCollector().indexPageCacheHit();
+        } else if (pageNumber > INVALID_INDEX_PAGE_NUMBER) {
+            getPageChannel().getMetricsCollector().indexPageCacheMiss();
             dataPage = readDataPage(pageNumber)._main;
             _dataPages.put(pageNumber, dataPage);
         }
@@ -377,11 +386,22 @@ public class IndexPageCache {
             return;
         }
 
+        JfrEvents.IndexPageMerge event = new JfrEvents.IndexPageMerge();
+        event.begin();
+
         // remove this page from its parent page
         updateParentEntry(parentDataPage, cacheDataPage, oldLastEntry, null, UpdateType.REMOVE);
 
         // remove this page from any next/prev pages
         removeFromPeers(cacheDataPage);
+
+        if (event.shouldCommit()) {
+            event.databasePath = getDatabasePath();
+            event.tableName = getIndexData().getTable().getName();
+            event.indexName = getIndexData().getName();
+            event.pageNumber = dpMain._pageNumber;
+            event.commit();
+        }
     }
 
     /**
@@ -530,6 +550,22 @@ public class IndexPageCache {
      * @param origDataPage the page to split
      */
     private void splitDataPage(CacheDataPage origDataPage) throws IOException {
+        JfrEvents.IndexPageSplit event = new JfrEvents.IndexPageSplit();
+        event.begin();
+
+        int pageNumber = origDataPage._main._pageNumber;
+        splitFullDataPage(origDataPage);
+
+        if (event.shouldCommit()) {
+            event.databasePath = getDatabasePath();
+            event.tableName = getIndexData().getTable().getName();
+            event.indexName = getIndexData().getName();
+            event.pageNumber = pageNumber;
+            event.commit();
+        }
+    }
+
+    private void splitFullDataPage(CacheDataPage origDataPage) throws IOException {
         DataPageMain origMain = origDataPage._main;
         DataPageExtra origExtra = origDataPage._extra;
 
@@ -539,6 +575,7 @@ public class IndexPageCache {
         if (numEntries < 2) {
             throw new IllegalStateException(withErrorContext("Cannot split page with less than 2 entries " + origDataPage));
         }
+        getPageChannel().getMetricsCollector().indexPageSplit();
 
         if (origMain.isRoot()) {
             // we can't split the root page directly, so we need to put another page
@@ -823,6 +860,42 @@ public class IndexPageCache {
         }
     }
 
+    /**
+     * Returns the numbers of all leaf pages of the index, in entry order. The leaf pages themselves are not loaded
+     * (except for the first one, which tells us that we have reached the leaf level).
+     */
+    public List<Integer> getLeafPageNumbers() throws IOException {
+        if (_rootPage._leaf) {
+            return Collections.singletonList(_rootPage._pageNumber);
+        }
+
+        List<DataPageMain> nodePages = Collections.singletonList(_rootPage);
+        while (true) {
+            List<Integer> childPageNumbers = new ArrayList<>();
+            for (DataPageMain dpMain : nodePages) {
+                for (Entry e : dpMain.getExtra()._entryView) {
+                    childPageNumbers.add(e.getSubPageNumber());
+                }
+            }
+            if (childPageNumbers.isEmpty()) {
+                return childPageNumbers;
+            }
+
+            DataPageMain firstChild = nodePages.get(0).getChildPage(nodePages.get(0).getExtra()._entryView.get(0));
+            if (firstChild._leaf) {
+                return childPageNumbers;
+            }
+
+            List<DataPageMain> childPages = new ArrayList<>(childPageNumbers.size());
+            for (DataPageMain dpMain : nodePages) {
+                for (Entry e : dpMain.getExtra()._entryView) {
+                    childPages.add(dpMain.getChildPage(e));
+                }
+            }
+            nodePages = childPages;
+        }
+    }
+
     /**
      * Marks the given index page as modified and saves it for writing, if necessary (if the page is already marked, does nothing).
      *
@@ -1013,6 +1086,8 @@ public class IndexPageCache {
         public DataPageExtra getExtra() throws IOException {
             DataPageExtra extra = _extra.get();
             if (extra == null) {
+                // the entries have been garbage collected
+                getPageChannel().getMetricsCollector().indexPageCacheMiss();
                 extra = readDataPage(_pageNumber)._extra;
                 setExtra(extra);
             }
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.impl;
+
+import io.github.spannm.jackcess.util.ToStringBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Estimated key distribution of an index, computed from a sample of its leaf pages.
+ * <p>
+ * The sampled pages are spread evenly over the leaf level of the index. Since each leaf page holds a contiguous run of
+ * sorted entries, the number of distinct keys is estimated from the rate at which adjacent sampled entries change
+ * value. If all leaf pages were sampled, the statistics are exact.
+ * <p>
+ * Instances are immutable. {@link IndexData#getStatistics()} caches them until enough entries have been added or
+ * removed to make them stale.
+ */
+public final class IndexStatistics {
+
+    /** max number of leaf pages read when collecting statistics */
+    static final int     DEFAULT_SAMPLE_PAGE_COUNT = 32;
+    /** max number of buckets in the equi-depth histogram */
+    static final int     MAX_HISTOGRAM_BUCKETS     = 64;
+    /** min number of index modifications before statistics are considered stale */
+    static final int     MIN_STALE_MOD_COUNT       = 16;
+
+    private final int    _modCount;
+    private final int    _leafPageCount;
+    private final int    _sampledPageCount;
+    private final int    _sampledEntryCount;
+    private final long   _entryCount;
+    /** estimated distinct values for the first (i + 1) index columns, -1 if unknown */
+    private final long[] _distinctPrefixCounts;
+    /** entry bytes of the bucket boundaries of the histogram, first and last are min/max */
+    private final List<byte[]> _histogramBoundaries;
+
+    private IndexStatistics(int modCount, int leafPageCount, int sampledPageCount, int sampledEntryCount, long entryCount,
+        long[] distinctPrefixCounts, List<byte[]> histogramBoundaries) {
+        _modCount = modCount;
+        _leafPageCount = leafPageCount;
+        _sampledPageCount = sampledPageCount;
+        _sampledEntryCount = sampledEntryCount;
+        _entryCount = entryCount;
+        _distinctPrefixCounts = distinctPrefixCounts;
+        _histogramBoundaries = histogramBoundaries;
+    }
+
+    /**
+     * Samples up to the given number of leaf pages of the given index.
+     *
+     * @param indexData the (initialized) index to sample
+     * @param leafPageNumbers all leaf pages of the index in entry order
+     * @param maxSamplePages the max number of leaf pages to read
+     * @param modCount the current modification count of the index
+     */
+    static IndexStatistics collect(IndexData indexData, List<Integer> leafPageNumbers, int maxSamplePages, int modCount) throws IOException {
+        int leafPageCount = leafPageNumbers.size();
+        int sampleCount = Math.min(leafPageCount, Math.max(1, maxSamplePages));
+        List<IndexData.ColumnDescriptor> columns = indexData.getColumns();
+        int numCols = columns.size();
+
+        List<byte[]> sample = new ArrayList<>();
+        // adjacent sampled entry pairs, and the number of them which differ in the first (i + 1) columns
+        long pairCount = 0;
+        long[] changeCounts = new long[numCols];
+        boolean[] unknownPrefixes = new boolean[numCols];
+
+        int[] prevEnds = null;
+        byte[] prevBytes = null;
+        int prevLeafIdx = -2;
+        for (int i = 0; i < sampleCount; i++) {
+            int leafIdx = (int) ((long) i * leafPageCount / sampleCount);
+            IndexData.DataPage dataPage = indexData.getDataPage(leafPageNumbers.get(leafIdx));
+            if (leafIdx != prevLeafIdx + 1) {
+                // not adjacent to the previous sampled page, don't compare across the gap
+                prevBytes = null;
+            }
+            prevLeafIdx = leafIdx;
+
+            for (IndexData.Entry entry : dataPage.getEntries()) {
+                byte[] entryBytes = entry.getEntryBytes();
+                int[] ends = getPrefixEnds(columns, entryBytes);
+                if (prevBytes != null) {
+                    pairCount++;
+                    for (int c = 0; c < numCols; c++) {
+                        if (ends[c] < 0 || prevEnds[c] < 0) {
+                            unknownPrefixes[c] = true;
+                        } else if (!Arrays.equals(entryBytes, 0, ends[c], prevBytes, 0, prevEnds[c])) {
+                            changeCounts[c]++;
+                        }
+                    }
+                }
+                sample.add(entryBytes);
+                prevBytes = entryBytes;
+                prevEnds = ends;
+            }
+        }
+
+        int sampledEntryCount = sample.size();
+        long entryCount = sampleCount == leafPageCount ? sampledEntryCount
+            : Math.round((double) sampledEntryCount * leafPageCount / Math.max(1, sampleCount));
+
+        long[] distinctPrefixCounts = new long[numCols];
+        for (int c = 0; c < numCols; c++) {
+            if (entryCount == 0) {
+                distinctPrefixCounts[c] = 0;
+            } else if (c == numCols - 1 && indexData.isUnique()) {
+                distinctPrefixCounts[c] = entryCount;
+            } else if (unknownPrefixes[c] && c < numCols - 1) {
+                distinctPrefixCounts[c] = -1;
+            } else if (pairCount == 0) {
+                distinctPrefixCounts[c] = 1;
+            } else {
+                double changeRate = (double) changeCounts[c] / pairCount;
+                distinctPrefixCounts[c] = Math.min(entryCount, 1 + Math.round(changeRate * (entryCount - 1)));
+            }
+        }
+
+        List<byte[]> boundaries = new ArrayList<>();
+        if (sampledEntryCount > 0) {
+            int buckets = Math.min(MAX_HISTOGRAM_BUCKETS, sampledEntryCount);
+            for (int b = 0; b < buckets; b++) {
+                boundaries.add(sample.get((int) ((long) b * sampledEntryCount / buckets)));
+            }
+            boundaries.add(sample.get(sampledEntryCount - 1));
+        }
+
+        return new IndexStatistics(modCount, leafPageCount, sampleCount, sampledEntryCount, entryCount,
+            distinctPrefixCounts, Collections.unmodifiableList(boundaries));
+    }
+
+    /**
+     * Returns the end offsets of the segments of the given entry bytes for each column, or {@code -1} for the columns
+     * at and after the first one whose segment length cannot be determined. The full entry always ends with the last
+     * column.
+     */
+    private static int[] getPrefixEnds(List<IndexData.ColumnDescriptor> columns, byte[] entryBytes) {
+        int numCols = columns.size();
+        int[] ends = new int[numCols];
+        int offset = 0;
+        for (int c = 0; c < numCols; c++) {
+            int len = offset < 0 ? -1 : columns.get(c).getEncodedLength(entryBytes, offset);
+            offset = len < 0 ? -1 : offset + len;
+            ends[c] = offset;
+        }
+        ends[numCols - 1] = entryBytes.length;
+        return ends;
+    }
+
+    /**
+     * Returns {@code true} if the index was modified too often since these statistics were collected.
+     */
+    boolean isStale(int curModCount) {
+        int changes = Math.abs(curModCount - _modCount);
+        return changes > Math.max(MIN_STALE_MOD_COUNT, _entryCount / 10);
+    }
+
+    /**
+     * Returns the estimated number of entries in the index.
+     */
+    public long getEntryCount() {
+        return _entryCount;
+    }
+
+    /**
+     * Returns the number of leaf pages of the index.
+     */
+    public int getLeafPageCount() {
+        return _leafPageCount;
+    }
+
+    /**
+     * Returns the number of leaf pages which were read to compute these statistics.
+     */
+    public int getSampledPageCount() {
+        return _sampledPageCount;
+    }
+
+    /**
+     * Returns the number of entries which were read to compute these statistics.
+     */
+    public int getSampledEntryCount() {
+        return _sampledEntryCount;
+    }
+
+    /**
+     * Returns {@code true} if all leaf pages were read, in which case the counts are exact.
+     */
+    public boolean isExact() {
+        return _sampledPageCount == _leafPageCount;
+    }
+
+    /**
+     * Returns the estimated number of distinct values of the first {@code numColumns} columns of the index, or
+     * {@code -1} if that cannot be estimated (e.g. a text column precedes the last requested column).
+     *
+     * @param numColumns number of leading index columns, at least 1
+     */
+    public long getDistinctPrefixCount(int numColumns) {
+        if (numColumns < 1 || numColumns > _distinctPrefixCounts.length) {
+            throw new IllegalArgumentException("Invalid number of columns " + numColumns);
+        }
+        return _distinctPrefixCounts[numColumns - 1];
+    }
+
+    /**
+     * Returns the estimated number of entries with the same values for the first {@code numColumns} columns of the
+     * index, or {@code -1} if that cannot be estimated.
+     *
+     * @param numColumns number of leading index columns, at least 1
+     */
+    public long estimateLookupCount(int numColumns) {
+        long distinct = getDistinctPrefixCount(numColumns);
+        if (distinct < 0) {
+            return -1;
+        }
+        return distinct == 0 ? 0 : Math.max(1, Math.round((double) _entryCount / distinct));
+    }
+
+    /**
+     * Returns the entry bytes of the histogram bucket boundaries (each bucket holds roughly the same number of
+     * entries). The first and last boundaries are the smallest and largest sampled entries.
+     */
+    public List<byte[]> getHistogramBoundaries() {
+        List<byte[]> copy = new ArrayList<>(_histogramBoundaries.size());
+        for (byte[] boundary : _histogramBoundaries) {
+            copy.add(boundary.clone());
+        }
+        return copy;
+    }
+
+    /**
+     * Estimates the number of entries between the given entry bytes using the histogram.
+     *
+     * @param startEntryBytes the lower bound, or {@code null} for no lower bound
+     * @param endEntryBytes the upper bound, or {@code null} for no upper bound
+     */
+    long estimateRangeCount(byte[] startEntryBytes, byte[] endEntryBytes) {
+        int numBuckets = _histogramBoundaries.size() - 1;
+        if (numBuckets < 1) {
+            return _entryCount;
+        }
+
+        double coveredBuckets = 0d;
+        for (int b = 0; b < numBuckets; b++) {
+            byte[] bucketStart = _histogramBoundaries.get(b);
+            byte[] bucketEnd = _histogramBoundaries.get(b + 1);
+            boolean afterStart = startEntryBytes == null || IndexData.BYTE_CODE_COMPARATOR.compare(bucketStart, startEntryBytes) >= 0;
+            boolean beforeEnd = endEntryBytes == null || IndexData.BYTE_CODE_COMPARATOR.compare(bucketEnd, endEntryBytes) <= 0;
+            if (afterStart && beforeEnd) {
+                coveredBuckets += 1d;
+            } else if ((startEntryBytes == null || IndexData.BYTE_CODE_COMPARATOR.compare(bucketEnd, startEntryBytes) >= 0)
+                && (endEntryBytes == null || IndexData.BYTE_CODE_COMPARATOR.compare(bucketStart, endEntryBytes) <= 0)) {
+                // range overlaps part of the bucket
+                coveredBuckets += 0.5d;
+            }
+        }
+        return Math.round(_entryCount * coveredBuckets / numBuckets);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.valueBuilder(this)
+            .append("entryCount", _entryCount)
+            .append("leafPages", _leafPageCount)
+            .append("sampledPages", _sampledPageCount)
+            .append("distinctPrefixCounts", Arrays.toString(_distinctPrefixCounts))
+            .append("histogramBuckets", Math.max(0, _histogramBoundaries.size() - 1))
+            .toString();
+    }
+}
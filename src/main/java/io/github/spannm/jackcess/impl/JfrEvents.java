@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.impl;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder events emitted by the database engine. The events are disabled unless a recording enables
+ * them (e.g. {@code -XX:StartFlightRecording} with a settings file enabling the {@value #CATEGORY} category), in which
+ * case creating, beginning and checking an event is optimized away by the JIT.
+ * <p>
+ * Usage pattern:
+ *
+ * <pre>
+ * PageRead event = new PageRead();
+ * event.begin();
+ * ... // the measured operation
+ * if (event.shouldCommit()) {
+ *     ... // set the fields
+ *     event.commit();
+ * }
+ * </pre>
+ */
+final class JfrEvents {
+
+    static final String           CATEGORY    = "Jackcess";
+    private static final String   NAME_PREFIX = "io.github.spannm.jackcess.";
+    private static final String[] PAGE_TYPES  = {"INVALID", "DATA", "TABLE_DEF", "INDEX_NODE", "INDEX_LEAF", "USAGE_MAP"};
+
+    private JfrEvents() {
+    }
+
+    /**
+     * Returns the name of the given page type code (see {@link PageTypes}).
+     */
+    static String getPageTypeName(byte pageType) {
+        return pageType >= 0 && pageType < PAGE_TYPES.length ? PAGE_TYPES[pageType] : "UNKNOWN";
+    }
+
+    @Name(NAME_PREFIX + "DatabaseOpen")
+    @Label("Database Open")
+    @Description("Opening or creating a database, including reading the system catalog")
+    @Category({CATEGORY, "Database"})
+    static final class DatabaseOpen extends Event {
+        @Label("Database Path")
+        String databasePath;
+        @Label("File Format")
+        String fileFormat;
+        @Label("Created")
+        boolean created;
+        @Label("Read Only")
+        boolean readOnly;
+    }
+
+    @Name(NAME_PREFIX + "PageRead")
+    @Label("Page Read")
+    @Description("Reading and decoding a page of the database file")
+    @Category({CATEGORY, "I/O"})
+    static final class PageRead extends Event {
+        @Label("Database Path")
+        String databasePath;
+        @Label("Page Number")
+        int    pageNumber;
+        @Label("Page Type")
+        String pageType;
+    }
+
+    @Name(NAME_PREFIX + "PageWrite")
+    @Label("Page Write")
+    @Description("Encoding and writing a page (or part of a page) of the database file")
+    @Category({CATEGORY, "I/O"})
+    static final class PageWrite extends Event {
+        @Label("Database Path")
+        String databasePath;
+        @Label("Page Number")
+        int    pageNumber;
+        @Label("Page Type")
+        String pageType;
+        @Label("Page Offset")
+        int    pageOffset;
+        @Label("Bytes Written")
+        @DataAmount
+        int    numBytes;
+    }
+
+    @Name(NAME_PREFIX + "Flush")
+    @Label("Flush")
+    @Description("Forcing the written pages of the database file to disk")
+    @Category({CATEGORY, "I/O"})
+    static final class Flush extends Event {
+        @Label("Database Path")
+        String databasePath;
+    }
+
+    @Name(NAME_PREFIX + "IndexPageSplit")
+    @Label("Index Page Split")
+    @Description("Splitting a full index page")
+    @Category({CATEGORY, "Index"})
+    static final class IndexPageSplit extends Event {
+        @Label("Database Path")
+        String databasePath;
+        @Label("Table Name")
+        String tableName;
+        @Label("Index Name")
+        String indexName;
+        @Label("Page Number")
+        int    pageNumber;
+    }
+
+    @Name(NAME_PREFIX + "IndexPageMerge")
+    @Label("Index Page Merge")
+    @Description("Removing an empty index page and merging it into its parent and peer pages")
+    @Category({CATEGORY, "Index"})
+    static final class IndexPageMerge extends Event {
+        @Label("Database Path")
+        String databasePath;
+        @Label("Table Name")
+        String tableName;
+        @Label("Index Name")
+        String indexName;
+        @Label("Page Number")
+        int    pageNumber;
+    }
+
+    @Name(NAME_PREFIX + "AddRows")
+    @Label("Add Rows")
+    @Description("Adding a batch of rows to a table, including index updates")
+    @Category({CATEGORY, "Table"})
+    static final class AddRows extends Event {
+        @Label("Database Path")
+        String databasePath;
+        @Label("Table Name")
+        String tableName;
+        @Label("Row Count")
+        int    rowCount;
+    }
+}
@@ -163,6 +163,7 @@ class LongValueColumnImpl extends ColumnImpl {
 
             if (LONG_VALUE_TYPE_OTHER_PAGE == type) {
                 getPageChannel().readPage(lvalPage, pageNum);
+                getPageChannel().getMetricsCollector().longValuePageRead();
                 short rowStart = TableImpl.findRowStart(lvalPage, rowNum, getFormat());
                 short rowEnd = TableImpl.findRowEnd(lvalPage, rowNum, getFormat());
                 int rowLen = rowEnd - rowStart;
@@ -180,6 +181,7 @@ class LongValueColumnImpl extends ColumnImpl {
                 while (remainingLen > 0) {
                     lvalPage.clear();
                     getPageChannel().readPage(lvalPage, pageNum);
+                    getPageChannel().getMetricsCollector().longValuePageRead();
 
                     short rowStart = TableImpl.findRowStart(lvalPage, rowNum, getFormat());
                     short rowEnd = TableImpl.findRowEnd(lvalPage, rowNum, getFormat());
@@ -16,6 +16,8 @@ limitations under the License.
 
 package io.github.spannm.jackcess.impl;
 
+import io.github.spannm.jackcess.util.MetricsCollector;
+
 import java.io.Flushable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -71,6 +73,12 @@ public class PageChannel implements Channel, Flushable {
     private TempPageHolder        _fullPageEncodeBufferH;
     private TempBufferHolder      _tempDecodeBufferH;
     private int                   _writeCount;
+    /** receives the I/O events of this channel */
+    private final MetricsCollector _metrics;
+    /** whether or not to measure the time of codec and flush operations */
+    private final boolean         _timed;
+    /** path of the database file, reported in flight recorder events */
+    private String                _databasePath;
 
     /**
      * Only used by unit tests
@@ -83,6 +91,8 @@ public class PageChannel implements Channel, Flushable {
         _closeChannel = false;
         _format = JetFormat.VERSION_4;
         _autoSync = false;
+        _metrics = MetricsCollector.NONE;
+        _timed = false;
     }
 
     /**
@@ -90,16 +100,29 @@ public class PageChannel implements Channel, Flushable {
      * @param format Format of the database in the channel
      */
     public PageChannel(FileChannel channel, boolean closeChannel, JetFormat format, boolean autoSync) {
+        this(channel, closeChannel, format, autoSync, null);
+    }
+
+    /**
+     * @param channel Channel containing the database
+     * @param format Format of the database in the channel
+     * @param metrics receives the I/O events of this channel, may be {@code null}
+     */
+    public PageChannel(FileChannel channel, boolean closeChannel, JetFormat format, boolean autoSync, MetricsCollector metrics) {
         _channel = channel;
         _closeChannel = closeChannel;
         _format = format;
         _autoSync = autoSync;
+        _metrics = metrics != null ? metrics : MetricsCollector.NONE;
+        _timed = _metrics != MetricsCollector.NONE;
     }
 
     /**
      * Does second-stage initialization, must be called after construction.
      */
     public void initialize(DatabaseImpl database, CodecProvider codecProvider) throws IOException {
+        _databasePath = database.getPath() != null ? database.getPath().toString() : null;
+
         // initialize page en/decoding support
         _codecHandler = codecProvider.createHandler(this, database.getCharset());
         if (!_codecHandler.canEncodePartialPage()) {
@@ -122,6 +145,13 @@ public class PageChannel implements Channel, Flushable {
         return _autoSync;
     }
 
+    /**
+     * Returns the collector receiving the I/O and engine events of the database, never {@code null}.
+     */
+    public MetricsCollector getMetricsCollector() {
+        return _metrics;
+    }
+
     /**
      * Begins a "logical" write operation. See {@link #finishWrite} for more details.
      */
@@ -196,11 +226,25 @@ public class PageChannel implements Channel, Flushable {
      * @param pageNumber Number of the page to read in (starting at 0)
      */
     public void readPage(ByteBuffer buffer, int pageNumber) throws IOException {
+        JfrEvents.PageRead event = new JfrEvents.PageRead();
+        event.begin();
+
         if (pageNumber == 0) {
             readRootPage(buffer);
-            return;
+        } else {
+            readDecodedPage(buffer, pageNumber);
         }
 
+        if (event.shouldCommit()) {
+            event.databasePath = _databasePath;
+            event.pageNumber = pageNumber;
+            event.pageType = JfrEvents.getPageTypeName(buffer.get(0));
+            event.commit();
+        }
+    }
+
+    private void readDecodedPage(ByteBuffer buffer, int pageNumber) throws IOException {
+
         validatePageNumber(pageNumber);
 
         ByteBuffer inPage = buffer;
@@ -217,7 +261,14 @@ public class PageChannel implements Channel, Flushable {
             throw new IOException("Failed attempting to read " + getFormat().PAGE_SIZE + " bytes from page " + pageNumber + ", only read " + bytesRead);
         }
 
-        _codecHandler.decodePage(inPage, outPage, pageNumber);
+        if (_timed) {
+            long start = System.nanoTime();
+            _codecHandler.decodePage(inPage, outPage, pageNumber);
+            _metrics.pageDecoded(System.nanoTime() - start);
+        } else {
+            _codecHandler.decodePage(inPage, outPage, pageNumber);
+        }
+        _metrics.pageRead(outPage.get(0), bytesRead);
     }
 
     /**
@@ -235,6 +286,7 @@ public class PageChannel implements Channel, Flushable {
 
         // de-mask header (note, page 0 never has additional encoding)
         applyHeaderMask(buffer);
+        _metrics.pageRead(buffer.get(0), bytesRead);
     }
 
     /**
@@ -255,6 +307,25 @@ public class PageChannel implements Channel, Flushable {
      * @param pageOffset offset within the page at which to start writing the page data
      */
     public void writePage(ByteBuffer page, int pageNumber, int pageOffset) throws IOException {
+        JfrEvents.PageWrite event = new JfrEvents.PageWrite();
+        event.begin();
+
+        int writeLen = writeEncodedPage(page, pageNumber, pageOffset);
+
+        if (event.shouldCommit()) {
+            event.databasePath = _databasePath;
+            event.pageNumber = pageNumber;
+            event.pageType = JfrEvents.getPageTypeName(page.get(0));
+            event.pageOffset = pageOffset;
+            event.numBytes = writeLen;
+            event.commit();
+        }
+    }
+
+    /**
+     * Writes the given page (or part of a page) and returns the number of bytes written.
+     */
+    private int writeEncodedPage(ByteBuffer page, int pageNumber, int pageOffset) throws IOException {
         assertWriting();
         validatePageNumber(pageNumber);
 
@@ -296,7 +367,13 @@ public class PageChannel implements Channel, Flushable {
             }
 
             // re-encode page
-            encodedPage = _codecHandler.encodePage(page, pageNumber, pageOffset);
+            if (_timed) {
+                long start = System.nanoTime();
+                encodedPage = _codecHandler.encodePage(page, pageNumber, pageOffset);
+                _metrics.pageEncoded(System.nanoTime() - start);
+            } else {
+                encodedPage = _codecHandler.encodePage(page, pageNumber, pageOffset);
+            }
 
             // reset position/limit in case they were affected by encoding
             encodedPage.position(pageOffset).limit(pageOffset + writeLen);
@@ -304,12 +381,14 @@ public class PageChannel implements Channel, Flushable {
 
         try {
             _channel.write(encodedPage, getPageOffset(pageNumber) + pageOffset);
+            _metrics.pageWritten(page.get(0), writeLen);
         } finally {
             if (pageNumber == 0) {
                 // de-mask header
                 applyHeaderMask(page);
             }
         }
+        return writeLen;
     }
 
     /**
@@ -382,7 +461,21 @@ public class PageChannel implements Channel, Flushable {
 
     @Override
     public void flush() throws IOException {
-        _channel.force(true);
+        JfrEvents.Flush event = new JfrEvents.Flush();
+        event.begin();
+
+        if (_timed) {
+            long start = System.nanoTime();
+            _channel.force(true);
+            _metrics.flushed(System.nanoTime() - start);
+        } else {
+            _channel.force(true);
+        }
+
+        if (event.shouldCommit()) {
+            event.databasePath = _databasePath;
+            event.commit();
+        }
     }
 
     @Override
@@ -122,14 +122,11 @@ public class PropertyMaps implements Iterable<PropertyMapImpl> {
     static final class Handler {
         /** the current database */
         private final DatabaseImpl              _database;
-        /** the system table "property" column */
-        private final ColumnImpl                _propCol;
         /** cache of PropColumns used to read/write property values */
         private final Map<DataType, PropColumn> _columns = new HashMap<>();
 
         Handler(DatabaseImpl database) {
             _database = database;
-            _propCol = _database.getSystemCatalog().getColumn(DatabaseImpl.CAT_COL_PROPS);
         }
 
         /**
@@ -228,7 +225,7 @@ public class PropertyMaps implements Iterable<PropertyMapImpl> {
             byte[] mapsBytes = write(maps);
 
             // for now assume all properties come from system catalog table
-            _propCol.getTable().updateValue(_propCol, rowId, mapsBytes);
+            _database.updatePropertiesForObject(rowId, mapsBytes);
         }
 
         private void writeBlock(PropertyMapImpl propMap, Set<String> propNames, short blockType, ByteArrayBuilder bab) throws IOException {
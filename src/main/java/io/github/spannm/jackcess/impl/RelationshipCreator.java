@@ -136,8 +136,8 @@ public class RelationshipCreator extends DBMutator {
 
     private void validate() throws IOException {
 
-        _primaryTable = getDatabase().getTable(_relationship.getFromTable());
-        _secondaryTable = getDatabase().getTable(_relationship.getToTable());
+        _primaryTable = getLocalTable(_relationship.getFromTable());
+        _secondaryTable = getLocalTable(_relationship.getToTable());
 
         if (_primaryTable == null || _secondaryTable == null) {
             throw new IllegalArgumentException(withErrorContext("Two valid tables are required in relationship"));
@@ -212,6 +212,13 @@ public class RelationshipCreator extends DBMutator {
 
     }
 
+    private TableImpl getLocalTable(String name) throws IOException {
+        // tables of a shared linked database are handed out as thread-safe views
+        // which cannot take part in a relationship
+        Table table = getDatabase().getTable(name);
+        return table instanceof TableImpl ? (TableImpl) table : null;
+    }
+
     private IndexBuilder createPrimaryIndex() {
         String name = createPrimaryIndexName();
         return createIndex(name, _primaryCols).withUnique().withType(IndexImpl.FOREIGN_KEY_INDEX_TYPE);
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.impl;
+
+import io.github.spannm.jackcess.Row;
+
+import java.io.*;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot of the system catalog rows of a database, persisted as a sidecar file in a schema cache directory (see
+ * {@link io.github.spannm.jackcess.DatabaseBuilder#withSchemaCache}). A later read-only open of the same file serves
+ * the table lookups and the catalog index from the snapshot instead of looking up and decoding the catalog rows.
+ * <p>
+ * Only the catalog rows are cached: the definition of a table (columns, indexes, properties) is still read from the
+ * database file when the table is first accessed.
+ * <p>
+ * A snapshot is only valid for the exact file it was taken from: it records the path, size and last modified time of
+ * the database file, the charset used to decode names and a checksum over the raw table definition and data pages of
+ * the system catalog. If any of these differ on open, the snapshot is discarded and a new one is written. Validating a
+ * snapshot reads the catalog pages, but does not decode any of their rows.
+ */
+final class SchemaSnapshot {
+    private static final Logger LOGGER        = System.getLogger(SchemaSnapshot.class.getName());
+
+    private static final int    MAGIC         = 0x4A435353; // "JCSS"
+    private static final int    VERSION       = 3;
+    private static final String FILE_EXT      = ".schema";
+
+    private static final byte   TYPE_NULL     = 0;
+    private static final byte   TYPE_STRING   = 1;
+    private static final byte   TYPE_SHORT    = 2;
+    private static final byte   TYPE_INT      = 3;
+    private static final byte   TYPE_BYTES    = 4;
+    private static final byte   TYPE_DATETIME = 5;
+    private static final byte   TYPE_DATE     = 6;
+
+    /** identity of the database file the snapshot belongs to */
+    private final String        _fileKey;
+    private final int           _tableParentId;
+    private final List<Row>     _rows;
+
+    SchemaSnapshot(String fileKey, int tableParentId, List<Row> rows) {
+        _fileKey = fileKey;
+        _tableParentId = tableParentId;
+        _rows = rows;
+    }
+
+    int getTableParentId() {
+        return _tableParentId;
+    }
+
+    /**
+     * @return the system catalog rows, in table order
+     */
+    List<Row> getRows() {
+        return _rows;
+    }
+
+    /**
+     * @return the key identifying the current state of the given database, derived from its file attributes, charset
+     *         and a checksum of the raw system catalog pages
+     */
+    static String getFileKey(DatabaseImpl db) throws IOException {
+        Path file = db.getPath().toAbsolutePath().normalize();
+
+        // checksum the table definition and all pages owned by the system catalog, so that in-place row updates (e.g.
+        // renames or property changes) are detected even if the file size and last modified time are unchanged
+        TableImpl catalog = db.getSystemCatalog();
+        PageChannel pageChannel = db.getPageChannel();
+        ByteBuffer buffer = pageChannel.createPageBuffer();
+        CRC32 crc = new CRC32();
+        pageChannel.readPage(buffer, catalog.getTableDefPageNumber());
+        crc.update(buffer);
+        UsageMap.PageCursor pageCursor = catalog.getOwnedPagesCursor();
+        int pageNumber;
+        while ((pageNumber = pageCursor.getNextPage()) != RowIdImpl.LAST_PAGE_NUMBER) {
+            buffer.clear();
+            pageChannel.readPage(buffer, pageNumber);
+            crc.update(buffer);
+        }
+
+        return file + "|" + Files.size(file) + "|" + Files.getLastModifiedTime(file).toMillis() + "|" + db.getCharset().name() + "|"
+            + Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * @return the sidecar file for the given database file in the given cache directory
+     */
+    static Path getSnapshotFile(Path cacheDir, Path dbFile) {
+        Path file = dbFile.toAbsolutePath().normalize();
+        return cacheDir.resolve(file.getFileName() + "-" + Integer.toHexString(file.toString().hashCode()) + FILE_EXT);
+    }
+
+    /**
+     * Reads the snapshot from the given sidecar file.
+     *
+     * @return the snapshot, or {@code null} if the file does not exist, cannot be read or does not match the given key
+     */
+    static SchemaSnapshot read(Path snapshotFile, String fileKey) {
+        if (!Files.isReadable(snapshotFile)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !fileKey.equals(in.readUTF())) {
+                LOGGER.log(Level.DEBUG, () -> "Discarding outdated schema snapshot " + snapshotFile);
+                return null;
+            }
+
+            int tableParentId = in.readInt();
+            int numRows = in.readInt();
+            List<Row> rows = new ArrayList<>(numRows);
+            for (int i = 0; i < numRows; i++) {
+                RowImpl row = new RowImpl(new RowIdImpl(in.readInt(), in.readInt()));
+                int numValues = in.readUnsignedShort();
+                for (int j = 0; j < numValues; j++) {
+                    row.put(in.readUTF(), readValue(in));
+                }
+                rows.add(row);
+            }
+            return new SchemaSnapshot(fileKey, tableParentId, rows);
+
+        } catch (IOException | RuntimeException _ex) {
+            LOGGER.log(Level.WARNING, "Could not read schema snapshot " + snapshotFile, _ex);
+            return null;
+        }
+    }
+
+    /**
+     * Writes this snapshot to the given sidecar file. The file is replaced atomically (where supported), so that
+     * concurrent readers see either the old or the new snapshot. Failures are logged, but otherwise ignored.
+     */
+    void write(Path snapshotFile) {
+        Path tmpFile = null;
+        try {
+            Path dir = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            tmpFile = Files.createTempFile(dir, snapshotFile.getFileName().toString(), ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(_fileKey);
+                out.writeInt(_tableParentId);
+                out.writeInt(_rows.size());
+                for (Row row : _rows) {
+                    RowIdImpl rowId = (RowIdImpl) row.getId();
+                    out.writeInt(rowId.getPageNumber());
+                    out.writeInt(rowId.getRowNumber());
+                    out.writeShort(row.size());
+                    for (Map.Entry<String, Object> e : row.entrySet()) {
+                        out.writeUTF(e.getKey());
+                        writeValue(out, e.getValue());
+                    }
+                }
+            }
+
+            try {
+                Files.move(tmpFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException _ex) {
+                Files.move(tmpFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tmpFile = null;
+
+        } catch (IOException | RuntimeException _ex) {
+            LOGGER.log(Level.WARNING, "Could not write schema snapshot " + snapshotFile, _ex);
+        } finally {
+            if (tmpFile != null) {
+                try {
+                    Files.deleteIfExists(tmpFile);
+                } catch (IOException _ignored) {
+                    // nothing more to do
+                }
+            }
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof String) {
+            // may be longer than writeUTF supports (e.g. the connect string of a linked table)
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(TYPE_STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof Short) {
+            out.writeByte(TYPE_SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TYPE_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof byte[]) {
+            out.writeByte(TYPE_BYTES);
+            out.writeInt(((byte[]) value).length);
+            out.write((byte[]) value);
+        } else if (value instanceof LocalDateTime) {
+            out.writeByte(TYPE_DATETIME);
+            out.writeUTF(value.toString());
+        } else if (value instanceof Date) {
+            out.writeByte(TYPE_DATE);
+            out.writeLong(((Date) value).getTime());
+        } else {
+            throw new IOException("Unexpected system catalog value type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                byte[] strBytes = new byte[in.readInt()];
+                in.readFully(strBytes);
+                return new String(strBytes, StandardCharsets.UTF_8);
+            case TYPE_SHORT:
+                return in.readShort();
+            case TYPE_INT:
+                return in.readInt();
+            case TYPE_BYTES:
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return bytes;
+            case TYPE_DATETIME:
+                return LocalDateTime.parse(in.readUTF());
+            case TYPE_DATE:
+                return new Date(in.readLong());
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+}
@@ -172,7 +172,7 @@ public class TableCreator extends TableMutator {
             // update the database with the new table info
             getDatabase().addNewTable(_name, _tdefPageNumber, DatabaseImpl.TYPE_TABLE, null, null);
 
-            TableImpl newTable = getDatabase().getTable(_name);
+            TableImpl newTable = (TableImpl) getDatabase().getTable(_name);
 
             // add any table properties
             boolean addedProps = false;
@@ -30,6 +30,7 @@ import java.lang.System.Logger.Level;
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -53,6 +54,14 @@ public class TableImpl implements Table, PropertyMaps.Owner {
 
     private static final int    MAX_BYTE           = 256;
 
+    /** max number of rows added at once (sorted by their entries) when populating a new index */
+    private static final int    POPULATE_INDEX_CHUNK_SIZE = 100_000;
+
+    /** rough memory size of a parsed column (incl. its properties), used to estimate the size of a table */
+    private static final int    ESTIMATED_COLUMN_SIZE     = 512;
+    /** rough memory size of a parsed index (excl. its page cache), used to estimate the size of a table */
+    private static final int    ESTIMATED_INDEX_SIZE      = 1024;
+
     /**
      * Table type code for system tables
      */
@@ -88,6 +97,8 @@ public class TableImpl implements Table, PropertyMaps.Owner {
     private int                                 _logicalIndexCount;
     /** page number of the definition of this table */
     private final int                           _tableDefPageNumber;
+    /** length of the definition of this table (over all definition pages) when it was read */
+    private int                                 _tableDefLength;
     /** max Number of columns in the table (includes previous deletions) */
     private short                               _maxColumnCount;
     /** max Number of variable columns in the table */
@@ -146,6 +157,11 @@ public class TableImpl implements Table, PropertyMaps.Owner {
     private final FKEnforcer                    _fkEnforcer;
     /** table validator if any (and enabled) */
     private RowValidatorEvalContext             _rowValidator;
+    /**
+     * whether the property defined validators, default values and calculated column expressions still need to be
+     * loaded (they are loaded on first write, so that reading a table does not need its properties)
+     */
+    private boolean                             _propertiesValidatorsPending;
 
     /**
      * default cursor for iterating through the table, kept here for basic table traversal
@@ -196,6 +212,7 @@ public class TableImpl implements Table, PropertyMaps.Owner {
 
         // read table definition
         tableBuffer = loadCompleteTableDefinitionBuffer(tableBuffer, null);
+        _tableDefLength = tableBuffer.limit();
 
         _rowCount = tableBuffer.getInt(getFormat().OFFSET_NUM_ROWS);
         _lastLongAutoNumber = tableBuffer.getInt(getFormat().OFFSET_NEXT_AUTO_NUMBER);
@@ -247,10 +264,29 @@ public class TableImpl implements Table, PropertyMaps.Owner {
                 col.initColumnValidator();
             }
 
-            reloadRowValidator();
+            _propertiesValidatorsPending = true;
         }
     }
 
+    /**
+     * Loads the property defined validators, default values and calculated column expressions of this table and its
+     * columns, if not already loaded.
+     */
+    void initPropertiesValidators() throws IOException {
+        if (!_propertiesValidatorsPending) {
+            return;
+        }
+        _propertiesValidatorsPending = false;
+
+        if (!getDatabase().isReadOnly()) {
+            for (ColumnImpl col : _columns) {
+                col.reloadPropertiesValidators();
+            }
+        }
+
+        reloadRowValidator();
+    }
+
     private void reloadRowValidator() throws IOException {
 
         // reset table row validator before proceeding
@@ -426,6 +462,8 @@ public class TableImpl implements Table, PropertyMaps.Owner {
 
     @Override
     public void propertiesUpdated() throws IOException {
+        _propertiesValidatorsPending = false;
+
         // propagate update to columns
         for (ColumnImpl col : _columns) {
             col.propertiesUpdated();
@@ -532,6 +570,23 @@ public class TableImpl implements Table, PropertyMaps.Owner {
         return _autoNumColumns;
     }
 
+    /**
+     * @return the modification count of this table, incremented whenever a data page or the table definition is
+     *         written
+     */
+    int getModCount() {
+        return _modCount;
+    }
+
+    /**
+     * @return a rough estimate of the memory held by the parsed definition of this table, used to bound the number of
+     *         tables kept by the table cache of the database
+     */
+    long getEstimatedSize() {
+        return _tableDefLength + (long) _columns.size() * ESTIMATED_COLUMN_SIZE
+            + (long) _indexDatas.size() * ESTIMATED_INDEX_SIZE;
+    }
+
     @Override
     public CursorImpl getDefaultCursor() {
         if (_defaultCursor == null) {
@@ -662,7 +717,9 @@ public class TableImpl implements Table, PropertyMaps.Owner {
         ByteBuffer rowBuffer = positionAtRowData(rowState, rowId);
         requireNonDeletedRow(rowState, rowId);
 
-        return getRow(getFormat(), rowState, rowBuffer, _columns, columnNames);
+        RowImpl row = getRow(getFormat(), rowState, rowBuffer, _columns, columnNames);
+        getPageChannel().getMetricsCollector().rowDecoded(_name);
+        return row;
     }
 
     /**
@@ -1196,6 +1253,9 @@ public class TableImpl implements Table, PropertyMaps.Owner {
             // after fully constructed, allow column validator to be configured (but
             // only for user tables)
             newCol.initColumnValidator();
+            if (!_propertiesValidatorsPending && !getDatabase().isReadOnly()) {
+                newCol.reloadPropertiesValidators();
+            }
         }
 
         // save any column properties
@@ -1307,15 +1367,24 @@ public class TableImpl implements Table, PropertyMaps.Owner {
             idxCols.add(col.getColumn());
         }
 
-        // iterate through all the rows and add them to the index
-        Object[] rowVals = new Object[_columns.size()];
+        // iterate through all the rows and add them to the index in sorted chunks
+        List<Object[]> rows = new ArrayList<>();
+        List<RowIdImpl> rowIds = new ArrayList<>();
         for (Row row : getDefaultCursor().newIterable().addColumns(idxCols)) {
+            Object[] rowVals = new Object[_columns.size()];
             for (Column col : idxCols) {
                 col.setRowValue(rowVals, col.getRowValue(row));
             }
+            rows.add(rowVals);
+            rowIds.add((RowIdImpl) row.getId());
 
-            IndexData.commitAll(idxData.prepareAddRow(rowVals, (RowIdImpl) row.getId(), null));
+            if (rows.size() == POPULATE_INDEX_CHUNK_SIZE) {
+                idxData.addRows(rows, rowIds);
+                rows.clear();
+                rowIds.clear();
+            }
         }
+        idxData.addRows(rows, rowIds);
 
         updateTableDefinition(0);
     }
@@ -1959,6 +2028,54 @@ public class TableImpl implements Table, PropertyMaps.Owner {
         }
     }
 
+    /**
+     * Copies the encoded data of all rows of the given table verbatim into this table, bypassing the decoding and
+     * encoding of the row values. Both tables must have the same format and column layout and no long value or complex
+     * columns (the row data is self-contained). This table must not have any indexes, they need to be added (and
+     * populated) after the copy.
+     *
+     * @return the number of copied rows
+     */
+    public int copyRowData(TableImpl srcTable) throws IOException {
+        if (!_indexDatas.isEmpty()) {
+            throw new IllegalStateException(withErrorContext("Cannot copy row data into a table with indexes"));
+        }
+
+        CursorImpl cursor = CursorImpl.createCursor(srcTable);
+        RowState rowState = srcTable.createRowState();
+        int rowCount = 0;
+        getPageChannel().startWrite();
+        try {
+            ByteBuffer dataPage = null;
+            int pageNumber = PageChannel.INVALID_PAGE_NUMBER;
+            while (cursor.moveToNextRow()) {
+                ByteBuffer rowData = positionAtRowData(rowState, cursor.getSavepoint().getCurrentPosition().getRowId());
+                if (rowData == null) {
+                    continue;
+                }
+
+                int rowSize = rowData.remaining();
+                dataPage = findFreeRowSpace(rowSize, dataPage, pageNumber);
+                pageNumber = _addRowBufferH.getPageNumber();
+                addDataPageRow(dataPage, rowSize, getFormat(), 0);
+                dataPage.put(rowData);
+                rowCount++;
+            }
+
+            if (dataPage != null) {
+                writeDataPage(dataPage, pageNumber);
+            }
+
+            // the copied rows keep their autonumbers
+            adjustLongAutoNumber(srcTable.getLastLongAutoNumber());
+            updateTableDefinition(rowCount);
+
+        } finally {
+            getPageChannel().finishWrite();
+        }
+        return rowCount;
+    }
+
     /**
      * Add multiple rows to this table, only writing to disk after all rows have been written, and every time a data
      * page is filled.
@@ -1970,6 +2087,11 @@ public class TableImpl implements Table, PropertyMaps.Owner {
             return rows;
         }
 
+        initPropertiesValidators();
+
+        JfrEvents.AddRows event = new JfrEvents.AddRows();
+        event.begin();
+
         getPageChannel().startWrite();
         try {
 
@@ -2138,6 +2260,14 @@ public class TableImpl implements Table, PropertyMaps.Owner {
             getPageChannel().finishWrite();
         }
 
+        if (event.shouldCommit()) {
+            Path path = getDatabase().getPath();
+            event.databasePath = path != null ? path.toString() : null;
+            event.tableName = _name;
+            event.rowCount = rows.size();
+            event.commit();
+        }
+
         return rows;
     }
 
@@ -2192,6 +2322,7 @@ public class TableImpl implements Table, PropertyMaps.Owner {
      */
     public Object[] updateRow(RowState rowState, RowIdImpl rowId, Object... row) throws IOException {
         requireValidRowId(rowId);
+        initPropertiesValidators();
 
         getPageChannel().startWrite();
         try {
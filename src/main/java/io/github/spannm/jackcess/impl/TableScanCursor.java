@@ -17,8 +17,12 @@
 package io.github.spannm.jackcess.impl;
 
 import io.github.spannm.jackcess.impl.TableImpl.RowState;
+import io.github.spannm.jackcess.util.ColumnMatcher;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Simple un-indexed cursor.
@@ -35,6 +39,10 @@ public class TableScanCursor extends CursorImpl {
     private final ScanDirHandler      _reverseDirHandler  = new ReverseScanDirHandler();
     /** Cursor over the pages that this table owns */
     private final UsageMap.PageCursor _ownedPagesCursor;
+    /** pattern of the last planned search */
+    private Map<String, Object>       _lastRowPattern;
+    /** plan of the last search, reused by subsequent searches for the same pattern */
+    private IndexLookupPlanner.Plan   _lastPlan;
 
     public TableScanCursor(TableImpl table) {
         super(new IdImpl(table, null), table, FIRST_SCAN_POSITION, LAST_SCAN_POSITION);
@@ -71,6 +79,53 @@ public class TableScanCursor extends CursorImpl {
         return new ScanPosition(rowId);
     }
 
+    /**
+     * Plans the given search, see {@link IndexLookupPlanner}. Repeated searches for the same pattern (e.g. successive
+     * calls to {@code findNextRow}) share the plan, and thus its candidate rows.
+     */
+    @Override
+    protected Object prepareSearchInfo(Map<String, ?> rowPattern) {
+        if (rowPattern == null) {
+            return IndexLookupPlanner.plan(getTable(), rowPattern);
+        }
+        if (_lastPlan == null || !_lastRowPattern.equals(rowPattern)) {
+            _lastRowPattern = new HashMap<>(rowPattern);
+            _lastPlan = IndexLookupPlanner.plan(getTable(), _lastRowPattern);
+        }
+        return _lastPlan;
+    }
+
+    /**
+     * Uses an index to find the candidate rows if the search was planned that way, otherwise scans the table.
+     */
+    @Override
+    protected boolean findAnotherRowImpl(Map<String, ?> rowPattern, boolean moveForward, ColumnMatcher columnMatcher, Object searchInfo) throws IOException {
+        if (!(searchInfo instanceof IndexLookupPlanner.Plan) || !((IndexLookupPlanner.Plan) searchInfo).isIndexed()
+            || !IndexLookupPlanner.isSupportedMatcher(columnMatcher)) {
+            return super.findAnotherRowImpl(rowPattern, moveForward, columnMatcher, searchInfo);
+        }
+
+        IndexLookupPlanner.Plan plan = (IndexLookupPlanner.Plan) searchInfo;
+        List<RowIdImpl> rowIds;
+        try {
+            rowIds = plan.getCandidateRowIds();
+        } catch (IllegalArgumentException _ex) {
+            // the pattern values could not be converted to index entries, the
+            // table scan sorts that out
+            return super.findAnotherRowImpl(rowPattern, moveForward, columnMatcher, searchInfo);
+        }
+
+        int step = moveForward ? 1 : -1;
+        for (int i = plan.getNextCandidate(mcurPos.getRowId(), moveForward); i >= 0 && i < rowIds.size(); i += step) {
+            restorePosition(getRowPosition(rowIds.get(i)));
+            if (isCurrentRowValid() && currentRowMatchesImpl(rowPattern, columnMatcher)) {
+                plan.setLastCandidate(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected PositionImpl findAnotherPosition(RowState rowState, PositionImpl curPos, boolean moveForward) throws IOException {
         ScanDirHandler handler = getDirHandler(moveForward);
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.*;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Utility class for exporting tables from an Access database in the
+ * <a href="https://arrow.apache.org/docs/format/Columnar.html#ipc-streaming-format">Apache Arrow IPC streaming
+ * format</a>, e.g. for analytics tools like DuckDB or Polars. The rows are collected column-wise into record batches of
+ * a configurable size and written without any Arrow library. See the {@link Builder} for convenient configuration of
+ * the export functionality. The rows and columns can be customized by an {@link ExportFilter}, as for
+ * {@link ExportUtil}, as long as the filtered values still match the column types.
+ * <p>
+ * Numeric types are mapped to the corresponding Arrow integer, floating point and decimal types, date/time values to
+ * timestamps (microseconds, without time zone), text to Utf8, binary data to Binary and complex columns to the int
+ * complex value foreign key.
+ */
+public class ArrowExportUtil {
+
+    public static final String DEFAULT_FILE_EXT   = "arrows";
+    public static final int    DEFAULT_BATCH_SIZE = 10000;
+
+    private ArrowExportUtil() {
+    }
+
+    /**
+     * Copy all tables into new Arrow stream files <br>
+     * Equivalent to: {@code exportAll(db, dir, "arrows", SimpleExportFilter.INSTANCE);}
+     *
+     * @param db Database the tables to export belong to
+     * @param dir The directory where the new files will be created
+     *
+     * @see #exportAll(Database,File,String,ExportFilter)
+     * @see Builder
+     */
+    public static void exportAll(Database db, File dir) throws IOException {
+        exportAll(db, dir, DEFAULT_FILE_EXT, SimpleExportFilter.INSTANCE);
+    }
+
+    /**
+     * Copy all tables into new Arrow stream files.
+     *
+     * @param db Database the tables to export belong to
+     * @param dir The directory where the new files will be created
+     * @param ext The file extension of the new files
+     * @param filter valid export filter
+     *
+     * @see #exportFile(Database,String,File,ExportFilter)
+     * @see Builder
+     */
+    public static void exportAll(Database db, File dir, String ext, ExportFilter filter) throws IOException {
+        exportAll(db, dir, ext, filter, DEFAULT_BATCH_SIZE);
+    }
+
+    private static void exportAll(Database db, File dir, String ext, ExportFilter filter, int batchSize)
+        throws IOException {
+        for (String tableName : db.getTableNames()) {
+            exportFile(db, tableName, new File(dir, tableName + "." + ext), filter, batchSize);
+        }
+    }
+
+    /**
+     * Copy a table into a new Arrow stream file.
+     *
+     * @param db Database the table to export belongs to
+     * @param tableName Name of the table to export
+     * @param f New file to create
+     * @param filter valid export filter
+     *
+     * @see #exportStream(Cursor,OutputStream,ExportFilter)
+     * @see Builder
+     */
+    public static void exportFile(Database db, String tableName, File f, ExportFilter filter) throws IOException {
+        exportFile(db, tableName, f, filter, DEFAULT_BATCH_SIZE);
+    }
+
+    private static void exportFile(Database db, String tableName, File f, ExportFilter filter, int batchSize)
+        throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(f.toPath()))) {
+            exportStream(CursorBuilder.createCursor(db.getTable(tableName)), out, filter, batchSize);
+        }
+    }
+
+    /**
+     * Copy a table in this database to the given stream in Arrow streaming format. <br>
+     * Equivalent to: {@code exportStream(CursorBuilder.createCursor(db.getTable(tableName)), out, filter);}
+     *
+     * @param db Database the table to export belongs to
+     * @param tableName Name of the table to export
+     * @param out Stream to export to
+     * @param filter valid export filter
+     *
+     * @see #exportStream(Cursor,OutputStream,ExportFilter)
+     * @see Builder
+     */
+    public static void exportStream(Database db, String tableName, OutputStream out, ExportFilter filter)
+        throws IOException {
+        exportStream(CursorBuilder.createCursor(db.getTable(tableName)), out, filter);
+    }
+
+    /**
+     * Copy the rows of the given cursor to the given stream in Arrow streaming format, in record batches of
+     * {@link #DEFAULT_BATCH_SIZE} rows.
+     *
+     * @param cursor Cursor to export
+     * @param out Stream to export to
+     * @param filter valid export filter
+     *
+     * @see Builder
+     */
+    public static void exportStream(Cursor cursor, OutputStream out, ExportFilter filter) throws IOException {
+        exportStream(cursor, out, filter, DEFAULT_BATCH_SIZE);
+    }
+
+    private static void exportStream(Cursor cursor, OutputStream out, ExportFilter filter, int batchSize)
+        throws IOException {
+        Table table = cursor.getTable();
+        List<? extends Column> origCols = table.getColumns();
+        List<Column> columns = filter.filterColumns(new ArrayList<>(origCols));
+
+        Collection<String> columnNames = null;
+        if (!origCols.equals(columns)) {
+
+            // columns have been filtered
+            columnNames = new HashSet<>();
+            for (Column c : columns) {
+                columnNames.add(c.getName());
+            }
+        }
+
+        ArrowStreamWriter writer = new ArrowStreamWriter(out, columns, table.getDatabase().getZoneId(), batchSize);
+        writer.writeSchema();
+        Object[] unfilteredRowData = new Object[columns.size()];
+        Row row;
+        while ((row = cursor.getNextRow(columnNames)) != null) {
+
+            // fill raw row data in array
+            for (int i = 0; i < columns.size(); i++) {
+                unfilteredRowData[i] = columns.get(i).getRowValue(row);
+            }
+
+            // apply filter
+            Object[] rowData = filter.filterRow(unfilteredRowData);
+            if (rowData != null) {
+                writer.writeRow(rowData);
+            }
+        }
+
+        writer.finish();
+    }
+
+    /**
+     * Builder which simplifies configuration of an Arrow export operation.
+     */
+    public static class Builder {
+        private Database     mdb;
+        private String       mtableName;
+        private String       mext       = DEFAULT_FILE_EXT;
+        private Cursor       mcursor;
+        private ExportFilter mfilter    = SimpleExportFilter.INSTANCE;
+        private int          mbatchSize = DEFAULT_BATCH_SIZE;
+
+        public Builder(Database _db) {
+            this(_db, null);
+        }
+
+        public Builder(Database _db, String _tableName) {
+            mdb = _db;
+            mtableName = _tableName;
+        }
+
+        public Builder(Cursor _cursor) {
+            mcursor = _cursor;
+        }
+
+        public Builder withDatabase(Database _db) {
+            mdb = _db;
+            return this;
+        }
+
+        public Builder withTableName(String _tableName) {
+            mtableName = _tableName;
+            return this;
+        }
+
+        public Builder withCursor(Cursor _cursor) {
+            mcursor = _cursor;
+            return this;
+        }
+
+        public Builder withFilter(ExportFilter _filter) {
+            mfilter = _filter;
+            return this;
+        }
+
+        public Builder withFileNameExtension(String _ext) {
+            mext = _ext;
+            return this;
+        }
+
+        /**
+         * Sets the max number of rows per record batch (default {@link ArrowExportUtil#DEFAULT_BATCH_SIZE}).
+         */
+        public Builder withBatchSize(int _batchSize) {
+            if (_batchSize < 1) {
+                throw new IllegalArgumentException("Invalid batch size " + _batchSize);
+            }
+            mbatchSize = _batchSize;
+            return this;
+        }
+
+        /**
+         * @see ArrowExportUtil#exportAll(Database,File,String,ExportFilter)
+         */
+        public void exportAll(File dir) throws IOException {
+            ArrowExportUtil.exportAll(mdb, dir, mext, mfilter, mbatchSize);
+        }
+
+        /**
+         * @see ArrowExportUtil#exportFile(Database,String,File,ExportFilter)
+         */
+        public void exportFile(File f) throws IOException {
+            ArrowExportUtil.exportFile(mdb, mtableName, f, mfilter, mbatchSize);
+        }
+
+        /**
+         * @see ArrowExportUtil#exportStream(Database,String,OutputStream,ExportFilter)
+         * @see ArrowExportUtil#exportStream(Cursor,OutputStream,ExportFilter)
+         */
+        public void exportStream(OutputStream out) throws IOException {
+            Cursor cursor = mcursor != null ? mcursor : CursorBuilder.createCursor(mdb.getTable(mtableName));
+            ArrowExportUtil.exportStream(cursor, out, mfilter, mbatchSize);
+        }
+    }
+
+}
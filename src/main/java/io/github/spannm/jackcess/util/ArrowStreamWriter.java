@@ -0,0 +1,783 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.Column;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Writes the (filtered) rows of an export in the Apache Arrow IPC streaming format, used by {@link ArrowExportUtil}.
+ * <p>
+ * The stream consists of a schema message, one record batch message per {@code batchSize} rows and the end-of-stream
+ * marker. The values of each column are appended to a column vector (validity bitmap plus value buffers) as the rows
+ * are read, so that a record batch is written directly from the column vectors. The message metadata is encoded as
+ * flatbuffers by a minimal built-in encoder, so no Arrow library is needed.
+ * <p>
+ * Column types are mapped to Arrow types as follows: {@code BOOLEAN} to Bool, {@code BYTE} to UInt8, {@code INT},
+ * {@code LONG} and {@code BIG_INT} to Int16, Int32 and Int64, {@code FLOAT} and {@code DOUBLE} to single and double
+ * precision FloatingPoint, {@code MONEY} and {@code NUMERIC} to Decimal128, date/time types to Timestamp (microseconds,
+ * without time zone), {@code TEXT}, {@code MEMO} and {@code GUID} to Utf8, complex columns to Int32 (the complex value
+ * foreign key) and all other types to Binary.
+ */
+final class ArrowStreamWriter {
+
+    private static final int   CONTINUATION         = 0xFFFFFFFF;
+    private static final short METADATA_VERSION_V5  = 4;
+
+    // MessageHeader union
+    private static final byte  HEADER_SCHEMA        = 1;
+    private static final byte  HEADER_RECORD_BATCH  = 3;
+
+    // Type union
+    private static final byte  TYPE_INT             = 2;
+    private static final byte  TYPE_FLOATING_POINT  = 3;
+    private static final byte  TYPE_BINARY          = 4;
+    private static final byte  TYPE_UTF8            = 5;
+    private static final byte  TYPE_BOOL            = 6;
+    private static final byte  TYPE_DECIMAL         = 7;
+    private static final byte  TYPE_TIMESTAMP       = 10;
+
+    private static final short PRECISION_SINGLE     = 1;
+    private static final short PRECISION_DOUBLE     = 2;
+    private static final short TIME_UNIT_MICROS     = 2;
+
+    private final OutputStream _out;
+    private final ZoneId       _zoneId;
+    private final List<String> _names;
+    private final Vector[]     _vectors;
+    private final int          _batchSize;
+    private int                _rowCount;
+    private final ByteBuf      _buf = new ByteBuf(8192);
+
+    ArrowStreamWriter(OutputStream out, List<? extends Column> columns, ZoneId zoneId, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Invalid batch size " + batchSize);
+        }
+        _out = out;
+        _zoneId = zoneId;
+        _batchSize = batchSize;
+        _names = new ArrayList<>(columns.size());
+        _vectors = new Vector[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            Column col = columns.get(i);
+            _names.add(col.getName());
+            _vectors[i] = newVector(col);
+        }
+    }
+
+    private Vector newVector(Column col) {
+        switch (col.getType()) {
+            case BOOLEAN:
+                return new BoolVector();
+            case BYTE:
+                return new IntVector(8, false);
+            case INT:
+                return new IntVector(16, true);
+            case LONG:
+            case COMPLEX_TYPE:
+                return new IntVector(32, true);
+            case BIG_INT:
+                return new IntVector(64, true);
+            case FLOAT:
+                return new FloatVector(PRECISION_SINGLE);
+            case DOUBLE:
+                return new FloatVector(PRECISION_DOUBLE);
+            case MONEY:
+                return new DecimalVector(19, 4);
+            case NUMERIC:
+                return new DecimalVector(col.getPrecision(), col.getScale());
+            case SHORT_DATE_TIME:
+            case EXT_DATE_TIME:
+                return new TimestampVector(_zoneId);
+            case TEXT:
+            case MEMO:
+            case GUID:
+                return new VarBinaryVector(true);
+            default:
+                return new VarBinaryVector(false);
+        }
+    }
+
+    /**
+     * Writes the schema message.
+     */
+    void writeSchema() throws IOException {
+        FbTable[] fields = new FbTable[_vectors.length];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = new FbTable()
+                .addRef(0, _names.get(i))
+                .add(1, 1, 1)
+                .add(2, 1, _vectors[i].getTypeId())
+                .addRef(3, _vectors[i].getType())
+                .addRef(5, new FbTable[0]);
+        }
+        FbTable schema = new FbTable()
+            .add(0, 2, 0)
+            .addRef(1, fields);
+        writeMessage(HEADER_SCHEMA, schema, 0);
+        _out.write(_buf.array(), 0, _buf.size());
+        _buf.reset();
+    }
+
+    /**
+     * Appends the given row data (in the order of the columns given at construction), writing a record batch when
+     * the batch size is reached.
+     */
+    void writeRow(Object[] rowData) throws IOException {
+        for (int i = 0; i < _vectors.length; i++) {
+            try {
+                _vectors[i].append(rowData[i]);
+            } catch (ClassCastException _ex) {
+                throw new IOException("Value " + rowData[i] + " of column " + _names.get(i)
+                    + " does not match the column type", _ex);
+            }
+        }
+        if (++_rowCount == _batchSize) {
+            writeBatch();
+        }
+    }
+
+    /**
+     * Writes the outstanding rows and the end-of-stream marker and flushes the underlying stream.
+     */
+    void finish() throws IOException {
+        if (_rowCount > 0) {
+            writeBatch();
+        }
+        _buf.putInt(CONTINUATION);
+        _buf.putInt(0);
+        _out.write(_buf.array(), 0, _buf.size());
+        _buf.reset();
+        _out.flush();
+    }
+
+    private void writeBatch() throws IOException {
+        ByteBuf nodes = new ByteBuf(_vectors.length * 16);
+        ByteBuf buffers = new ByteBuf(_vectors.length * 48);
+        int numBuffers = 0;
+        long bodyLength = 0;
+        for (Vector vector : _vectors) {
+            nodes.putLong(_rowCount);
+            nodes.putLong(vector._nullCount);
+            for (ByteBuf buffer : vector.getBuffers()) {
+                buffers.putLong(bodyLength);
+                buffers.putLong(buffer.size());
+                bodyLength += padded(buffer.size());
+                numBuffers++;
+            }
+        }
+
+        FbTable batch = new FbTable()
+            .add(0, 8, _rowCount)
+            .addRef(1, new FbStructs(nodes, _vectors.length))
+            .addRef(2, new FbStructs(buffers, numBuffers));
+        writeMessage(HEADER_RECORD_BATCH, batch, bodyLength);
+        _out.write(_buf.array(), 0, _buf.size());
+        _buf.reset();
+
+        byte[] padding = new byte[8];
+        for (Vector vector : _vectors) {
+            for (ByteBuf buffer : vector.getBuffers()) {
+                _out.write(buffer.array(), 0, buffer.size());
+                _out.write(padding, 0, padded(buffer.size()) - buffer.size());
+            }
+            vector.reset();
+        }
+        _rowCount = 0;
+    }
+
+    /**
+     * Encodes the message with the given header into the buffer (continuation marker, metadata length, flatbuffer
+     * padded to 8 bytes).
+     */
+    private void writeMessage(byte headerType, FbTable header, long bodyLength) {
+        FbTable message = new FbTable()
+            .add(0, 2, METADATA_VERSION_V5)
+            .add(1, 1, headerType)
+            .addRef(2, header)
+            .add(3, 8, bodyLength);
+
+        _buf.putInt(CONTINUATION);
+        int lengthPos = _buf.size();
+        _buf.putInt(0);
+        int start = _buf.size();
+        new FbEncoder(_buf, start).writeRoot(message);
+        _buf.align(start, 8);
+        _buf.setInt(lengthPos, _buf.size() - start);
+    }
+
+    private static int padded(int len) {
+        return (len + 7) & ~7;
+    }
+
+    /**
+     * Growable little-endian byte buffer.
+     */
+    private static final class ByteBuf {
+        private byte[] _bytes;
+        private int    _size;
+
+        private ByteBuf(int capacity) {
+            _bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        private byte[] array() {
+            return _bytes;
+        }
+
+        private int size() {
+            return _size;
+        }
+
+        private void reset() {
+            _size = 0;
+        }
+
+        private void ensure(int len) {
+            if (_size + len > _bytes.length) {
+                byte[] bytes = new byte[Math.max(_size + len, _bytes.length * 2)];
+                System.arraycopy(_bytes, 0, bytes, 0, _size);
+                _bytes = bytes;
+            }
+        }
+
+        private void put(long value, int len) {
+            ensure(len);
+            for (int i = 0; i < len; i++) {
+                _bytes[_size++] = (byte) (value >>> (i * 8));
+            }
+        }
+
+        private void putByte(int value) {
+            put(value, 1);
+        }
+
+        private void putShort(int value) {
+            put(value, 2);
+        }
+
+        private void putInt(int value) {
+            put(value, 4);
+        }
+
+        private void putLong(long value) {
+            put(value, 8);
+        }
+
+        private void putBytes(byte[] bytes) {
+            putBytes(bytes, bytes.length);
+        }
+
+        private void putBytes(byte[] bytes, int len) {
+            ensure(len);
+            System.arraycopy(bytes, 0, _bytes, _size, len);
+            _size += len;
+        }
+
+        private void setInt(int pos, int value) {
+            for (int i = 0; i < 4; i++) {
+                _bytes[pos + i] = (byte) (value >>> (i * 8));
+            }
+        }
+
+        /**
+         * Pads the buffer with zeros until the position relative to the given start is a multiple of the given
+         * alignment.
+         */
+        private void align(int start, int alignment) {
+            while ((_size - start) % alignment != 0) {
+                putByte(0);
+            }
+        }
+    }
+
+    // ----- column vectors -----
+
+    private abstract static class Vector {
+        private final ByteBuf _validity = new ByteBuf(128);
+        private int           _length;
+        private int           _nullCount;
+
+        final void append(Object value) {
+            if ((_length & 7) == 0) {
+                _validity.putByte(0);
+            }
+            if (value != null) {
+                _validity.array()[_length >>> 3] |= (byte) (1 << (_length & 7));
+                appendValue(value);
+            } else {
+                _nullCount++;
+                appendNull();
+            }
+            _length++;
+        }
+
+        abstract byte getTypeId();
+
+        abstract FbTable getType();
+
+        abstract void appendValue(Object value);
+
+        abstract void appendNull();
+
+        abstract ByteBuf[] getDataBuffers();
+
+        /**
+         * Returns the validity bitmap followed by the data buffers.
+         */
+        final ByteBuf[] getBuffers() {
+            ByteBuf[] data = getDataBuffers();
+            ByteBuf[] buffers = new ByteBuf[data.length + 1];
+            buffers[0] = _validity;
+            System.arraycopy(data, 0, buffers, 1, data.length);
+            return buffers;
+        }
+
+        void reset() {
+            _validity.reset();
+            _length = 0;
+            _nullCount = 0;
+            for (ByteBuf buffer : getDataBuffers()) {
+                buffer.reset();
+            }
+        }
+    }
+
+    private static final class BoolVector extends Vector {
+        private final ByteBuf _values = new ByteBuf(128);
+        private int           _count;
+
+        @Override
+        byte getTypeId() {
+            return TYPE_BOOL;
+        }
+
+        @Override
+        FbTable getType() {
+            return new FbTable();
+        }
+
+        @Override
+        void appendValue(Object value) {
+            appendBit((Boolean) value);
+        }
+
+        @Override
+        void appendNull() {
+            appendBit(false);
+        }
+
+        private void appendBit(boolean bit) {
+            if ((_count & 7) == 0) {
+                _values.putByte(0);
+            }
+            if (bit) {
+                _values.array()[_count >>> 3] |= (byte) (1 << (_count & 7));
+            }
+            _count++;
+        }
+
+        @Override
+        ByteBuf[] getDataBuffers() {
+            return new ByteBuf[] {_values};
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            _count = 0;
+        }
+    }
+
+    private static final class IntVector extends Vector {
+        private final int     _bitWidth;
+        private final boolean _signed;
+        private final ByteBuf _values = new ByteBuf(1024);
+
+        private IntVector(int bitWidth, boolean signed) {
+            _bitWidth = bitWidth;
+            _signed = signed;
+        }
+
+        @Override
+        byte getTypeId() {
+            return TYPE_INT;
+        }
+
+        @Override
+        FbTable getType() {
+            return new FbTable()
+                .add(0, 4, _bitWidth)
+                .add(1, 1, _signed ? 1 : 0);
+        }
+
+        @Override
+        void appendValue(Object value) {
+            _values.put(((Number) value).longValue(), _bitWidth / 8);
+        }
+
+        @Override
+        void appendNull() {
+            _values.put(0, _bitWidth / 8);
+        }
+
+        @Override
+        ByteBuf[] getDataBuffers() {
+            return new ByteBuf[] {_values};
+        }
+    }
+
+    private static final class FloatVector extends Vector {
+        private final short   _precision;
+        private final ByteBuf _values = new ByteBuf(1024);
+
+        private FloatVector(short precision) {
+            _precision = precision;
+        }
+
+        @Override
+        byte getTypeId() {
+            return TYPE_FLOATING_POINT;
+        }
+
+        @Override
+        FbTable getType() {
+            return new FbTable().add(0, 2, _precision);
+        }
+
+        @Override
+        void appendValue(Object value) {
+            if (_precision == PRECISION_SINGLE) {
+                _values.putInt(Float.floatToRawIntBits(((Number) value).floatValue()));
+            } else {
+                _values.putLong(Double.doubleToRawLongBits(((Number) value).doubleValue()));
+            }
+        }
+
+        @Override
+        void appendNull() {
+            _values.put(0, _precision == PRECISION_SINGLE ? 4 : 8);
+        }
+
+        @Override
+        ByteBuf[] getDataBuffers() {
+            return new ByteBuf[] {_values};
+        }
+    }
+
+    private static final class DecimalVector extends Vector {
+        private final int     _precision;
+        private final int     _scale;
+        private final ByteBuf _values = new ByteBuf(2048);
+
+        private DecimalVector(int precision, int scale) {
+            _precision = precision;
+            _scale = scale;
+        }
+
+        @Override
+        byte getTypeId() {
+            return TYPE_DECIMAL;
+        }
+
+        @Override
+        FbTable getType() {
+            return new FbTable()
+                .add(0, 4, _precision)
+                .add(1, 4, _scale)
+                .add(2, 4, 128);
+        }
+
+        @Override
+        void appendValue(Object value) {
+            BigDecimal decimal = value instanceof BigDecimal ? (BigDecimal) value
+                : new BigDecimal(value.toString());
+            // 128 bit little-endian two's complement of the unscaled value
+            byte[] bigEndian = decimal.setScale(_scale, RoundingMode.HALF_EVEN).unscaledValue().toByteArray();
+            byte signExt = bigEndian[0] < 0 ? (byte) 0xFF : 0;
+            _values.ensure(16);
+            for (int i = 0; i < 16; i++) {
+                int idx = bigEndian.length - 1 - i;
+                _values.putByte(idx >= 0 ? bigEndian[idx] : signExt);
+            }
+        }
+
+        @Override
+        void appendNull() {
+            _values.putLong(0);
+            _values.putLong(0);
+        }
+
+        @Override
+        ByteBuf[] getDataBuffers() {
+            return new ByteBuf[] {_values};
+        }
+    }
+
+    private static final class TimestampVector extends Vector {
+        private final ZoneId  _zoneId;
+        private final ByteBuf _values = new ByteBuf(1024);
+
+        private TimestampVector(ZoneId zoneId) {
+            _zoneId = zoneId;
+        }
+
+        @Override
+        byte getTypeId() {
+            return TYPE_TIMESTAMP;
+        }
+
+        @Override
+        FbTable getType() {
+            return new FbTable().add(0, 2, TIME_UNIT_MICROS);
+        }
+
+        @Override
+        void appendValue(Object value) {
+            LocalDateTime ldt = value instanceof Date
+                ? LocalDateTime.ofInstant(((Date) value).toInstant(), _zoneId) : (LocalDateTime) value;
+            _values.putLong(ldt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + ldt.getNano() / 1_000);
+        }
+
+        @Override
+        void appendNull() {
+            _values.putLong(0);
+        }
+
+        @Override
+        ByteBuf[] getDataBuffers() {
+            return new ByteBuf[] {_values};
+        }
+    }
+
+    private static final class VarBinaryVector extends Vector {
+        private final boolean _utf8;
+        private final ByteBuf _offsets = new ByteBuf(1024);
+        private final ByteBuf _values  = new ByteBuf(8192);
+
+        private VarBinaryVector(boolean utf8) {
+            _utf8 = utf8;
+            _offsets.putInt(0);
+        }
+
+        @Override
+        byte getTypeId() {
+            return _utf8 ? TYPE_UTF8 : TYPE_BINARY;
+        }
+
+        @Override
+        FbTable getType() {
+            return new FbTable();
+        }
+
+        @Override
+        void appendValue(Object value) {
+            byte[] bytes = !_utf8 && value instanceof byte[] ? (byte[]) value
+                : value.toString().getBytes(StandardCharsets.UTF_8);
+            _values.putBytes(bytes);
+            _offsets.putInt(_values.size());
+        }
+
+        @Override
+        void appendNull() {
+            _offsets.putInt(_values.size());
+        }
+
+        @Override
+        ByteBuf[] getDataBuffers() {
+            return new ByteBuf[] {_offsets, _values};
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            _offsets.putInt(0);
+        }
+    }
+
+    // ----- minimal flatbuffers encoding -----
+
+    /**
+     * A flatbuffers table: scalar fields and references to strings, tables, vectors of tables and vectors of structs.
+     */
+    private static final class FbTable {
+        private final List<FbField> _fields = new ArrayList<>();
+
+        private FbTable add(int id, int size, long value) {
+            _fields.add(new FbField(id, size, value, null));
+            return this;
+        }
+
+        private FbTable addRef(int id, Object ref) {
+            _fields.add(new FbField(id, 4, 0, ref));
+            return this;
+        }
+    }
+
+    private static final class FbField {
+        private final int    _id;
+        private final int    _size;
+        private final long   _value;
+        private final Object _ref;
+
+        private FbField(int id, int size, long value, Object ref) {
+            _id = id;
+            _size = size;
+            _value = value;
+            _ref = ref;
+        }
+    }
+
+    /**
+     * A vector of structs, all of which have 8 byte alignment.
+     */
+    private static final class FbStructs {
+        private final ByteBuf _data;
+        private final int     _count;
+
+        private FbStructs(ByteBuf data, int count) {
+            _data = data;
+            _count = count;
+        }
+    }
+
+    /**
+     * Encodes flatbuffers front to back: each table is preceded by its vtable and followed by the objects it
+     * references, so that all offsets point forward as required.
+     */
+    private static final class FbEncoder {
+        private final ByteBuf _buf;
+        /** start of the flatbuffer within the buffer, all alignments are relative to it */
+        private final int     _start;
+
+        private FbEncoder(ByteBuf buf, int start) {
+            _buf = buf;
+            _start = start;
+        }
+
+        private void writeRoot(FbTable root) {
+            int rootPos = _buf.size();
+            _buf.putInt(0);
+            patchOffset(rootPos, writeTable(root));
+        }
+
+        private void patchOffset(int fieldPos, int targetPos) {
+            _buf.setInt(fieldPos, targetPos - fieldPos);
+        }
+
+        private int writeTable(FbTable table) {
+            List<FbField> fields = new ArrayList<>(table._fields);
+            fields.sort(Comparator.comparingInt((FbField f) -> f._size).reversed());
+
+            // layout of the inline fields after the vtable offset, the table start is 8 byte aligned
+            int[] fieldOffsets = new int[fields.size()];
+            int inlineSize = 4;
+            int maxId = -1;
+            for (int i = 0; i < fields.size(); i++) {
+                FbField f = fields.get(i);
+                inlineSize = (inlineSize + f._size - 1) / f._size * f._size;
+                fieldOffsets[i] = inlineSize;
+                inlineSize += f._size;
+                maxId = Math.max(maxId, f._id);
+            }
+
+            _buf.align(_start, 2);
+            int vtablePos = _buf.size();
+            _buf.putShort(4 + 2 * (maxId + 1));
+            _buf.putShort(inlineSize);
+            for (int id = 0; id <= maxId; id++) {
+                int offset = 0;
+                for (int i = 0; i < fields.size(); i++) {
+                    if (fields.get(i)._id == id) {
+                        offset = fieldOffsets[i];
+                    }
+                }
+                _buf.putShort(offset);
+            }
+
+            _buf.align(_start, 8);
+            int tablePos = _buf.size();
+            _buf.putInt(tablePos - vtablePos);
+            for (int i = 0; i < fields.size(); i++) {
+                while (_buf.size() < tablePos + fieldOffsets[i]) {
+                    _buf.putByte(0);
+                }
+                _buf.put(fields.get(i)._value, fields.get(i)._size);
+            }
+
+            for (int i = 0; i < fields.size(); i++) {
+                Object ref = fields.get(i)._ref;
+                if (ref != null) {
+                    patchOffset(tablePos + fieldOffsets[i], writeObject(ref));
+                }
+            }
+            return tablePos;
+        }
+
+        private int writeObject(Object obj) {
+            if (obj instanceof FbTable) {
+                return writeTable((FbTable) obj);
+            }
+
+            if (obj instanceof String) {
+                byte[] bytes = ((String) obj).getBytes(StandardCharsets.UTF_8);
+                _buf.align(_start, 4);
+                int pos = _buf.size();
+                _buf.putInt(bytes.length);
+                _buf.putBytes(bytes);
+                _buf.putByte(0);
+                return pos;
+            }
+
+            if (obj instanceof FbTable[]) {
+                FbTable[] tables = (FbTable[]) obj;
+                _buf.align(_start, 4);
+                int pos = _buf.size();
+                _buf.putInt(tables.length);
+                for (int i = 0; i < tables.length; i++) {
+                    _buf.putInt(0);
+                }
+                for (int i = 0; i < tables.length; i++) {
+                    patchOffset(pos + 4 + i * 4, writeTable(tables[i]));
+                }
+                return pos;
+            }
+
+            // vector of 8 byte aligned structs, the elements following the length must be aligned
+            FbStructs structs = (FbStructs) obj;
+            _buf.align(_start, 4);
+            if ((_buf.size() - _start) % 8 == 0) {
+                _buf.putInt(0);
+            }
+            int pos = _buf.size();
+            _buf.putInt(structs._count);
+            _buf.putBytes(structs._data.array(), structs._data.size());
+            return pos;
+        }
+    }
+}
@@ -21,7 +21,6 @@ import io.github.spannm.jackcess.Database.FileFormat;
 import io.github.spannm.jackcess.Table;
 import io.github.spannm.jackcess.impl.ByteUtil;
 import io.github.spannm.jackcess.impl.DatabaseImpl;
-import io.github.spannm.jackcess.impl.TableImpl;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -62,6 +61,7 @@ public abstract class CustomLinkResolver implements LinkResolver {
     private final FileFormat       _defaultFormat;
     private final boolean          _defaultInMemory;
     private final Path             _defaultTempDir;
+    private final LinkResolver     _linkedDbResolver;
 
     /**
      * Creates a CustomLinkResolver using the default behavior for creating temp dbs, see {@link #DEFAULT_FORMAT},
@@ -82,9 +82,25 @@ public abstract class CustomLinkResolver implements LinkResolver {
      */
     protected CustomLinkResolver(FileFormat defaultFormat, boolean defaultInMemory,
         Path defaultTempDir) {
+        this(defaultFormat, defaultInMemory, defaultTempDir, null);
+    }
+
+    /**
+     * Creates a CustomLinkResolver with the given default behavior for creating temp dbs, which resolves normal access
+     * dbs through the given pool (sharing them between read-only linkers).
+     *
+     * @param defaultFormat the default format for the temp db
+     * @param defaultInMemory whether or not the temp db should be entirely in memory by default
+     * @param defaultTempDir the default temp dir for a file based temp db ({@code null} for the system default temp
+     *            directory)
+     * @param linkedDbPool pool used to resolve normal access dbs ({@code null} to open them with the default behavior)
+     */
+    protected CustomLinkResolver(FileFormat defaultFormat, boolean defaultInMemory,
+        Path defaultTempDir, LinkedDatabasePool linkedDbPool) {
         _defaultFormat = defaultFormat;
         _defaultInMemory = defaultInMemory;
         _defaultTempDir = defaultTempDir;
+        _linkedDbResolver = linkedDbPool != null ? linkedDbPool : DEFAULT;
     }
 
     protected FileFormat getDefaultFormat() {
@@ -112,13 +128,14 @@ public abstract class CustomLinkResolver implements LinkResolver {
      *         getDefaultTempDirectory());
      * }
      *
-     * // not a custmom file, load using the default behavior
+     * // not a custmom file, load using the default behavior (or the pool, if configured)
      * return LinkResolver.DEFAULT.resolveLinkedDatabase(linkerDb, linkeeFileName);
      * </pre>
      *
      * @see #loadCustomFile
      * @see #createTempDb
      * @see LinkResolver#DEFAULT
+     * @see LinkedDatabasePool
      */
     @Override
     public Database resolveLinkedDatabase(Database linkerDb, String linkeeFileName) throws IOException {
@@ -129,7 +146,19 @@ public abstract class CustomLinkResolver implements LinkResolver {
             return createTempDb(customFile, getDefaultFormat(), isDefaultInMemory(),
                 getDefaultTempDirectory(), readOnly);
         }
-        return DEFAULT.resolveLinkedDatabase(linkerDb, linkeeFileName);
+        return _linkedDbResolver.resolveLinkedDatabase(linkerDb, linkeeFileName);
+    }
+
+    /**
+     * Closes temp dbs, normal access dbs are released to the pool (if configured) or closed.
+     */
+    @Override
+    public void releaseLinkedDatabase(Database linkerDb, Database linkeeDb) throws IOException {
+        if (linkeeDb instanceof TempDatabaseImpl) {
+            linkeeDb.close();
+        } else {
+            _linkedDbResolver.releaseLinkedDatabase(linkerDb, linkeeDb);
+        }
     }
 
     /**
@@ -237,9 +266,9 @@ public abstract class CustomLinkResolver implements LinkResolver {
         }
 
         @Override
-        protected TableImpl getTable(String name, boolean includeSystemTables)
+        protected Table getTable(String name, boolean includeSystemTables)
             throws IOException {
-            TableImpl table = super.getTable(name, includeSystemTables);
+            Table table = super.getTable(name, includeSystemTables);
             if (table == null && _resolver.loadCustomTable(this, _customFile, name)) {
                 table = super.getTable(name, includeSystemTables);
             }
@@ -258,8 +287,7 @@ public abstract class CustomLinkResolver implements LinkResolver {
 
         static FileChannel initDbChannel(FileChannel channel, FileFormat format)
             throws IOException {
-            FileFormatDetails details = getFileFormatDetails(format);
-            transferDatabase(getResourceAsStream(details.getEmptyFilePath()), channel);
+            getFileFormatDetails(format).writeEmptyFile(channel);
             return channel;
         }
     }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.impl.ColumnImpl;
+import io.github.spannm.jackcess.impl.TableImpl;
+
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utility class for copying tables from one Access database to another (or within the same database), e.g. for
+ * moving tables between .mdb and .accdb files or consolidating multiple databases.
+ * <p>
+ * The destination table gets the same columns and indexes as the source table and all of its rows, including their
+ * autonumber values. The rows are copied before the indexes are added, so that each index is populated in bulk
+ * instead of being maintained row by row. If both databases have the same format and the column layout of the new
+ * table matches the source table, the encoded row data is copied verbatim. Otherwise (e.g. for tables with memo/OLE
+ * columns, whose data lives on separate long value pages) the rows are copied value by value.
+ * <p>
+ * Complex columns (attachments, multi-value and version history columns) cannot be created by this library. Tables
+ * with complex columns are only copied if the caller explicitly accepts that these columns (and their data) are
+ * omitted, see {@link #copyTable(Table,Database,String,boolean)}. Relationships and the foreign key indexes backing them
+ * are not copied either.
+ */
+public class DatabaseCopier {
+    private static final Logger LOGGER          = System.getLogger(DatabaseCopier.class.getName());
+
+    private static final int    COPY_BATCH_SIZE = 200;
+
+    private DatabaseCopier() {
+    }
+
+    /**
+     * Copies the given table into a new table of the same name in the given database.
+     *
+     * @param srcTable Table to copy
+     * @param destDb Database to create the new table in
+     * @return the new table
+     * @throws UnsupportedOperationException if the source table has complex columns
+     *
+     * @see #copyTable(Table,Database,String)
+     */
+    public static Table copyTable(Table srcTable, Database destDb) throws IOException {
+        return copyTable(srcTable, destDb, srcTable.getName());
+    }
+
+    /**
+     * Copies the given table into a new table with the given name in the given database.
+     *
+     * @param srcTable Table to copy
+     * @param destDb Database to create the new table in
+     * @param destTableName Name of the new table
+     * @return the new table
+     * @throws UnsupportedOperationException if the source table has complex columns
+     *
+     * @see #copyTable(Table,Database,String,boolean)
+     */
+    public static Table copyTable(Table srcTable, Database destDb, String destTableName) throws IOException {
+        return copyTable(srcTable, destDb, destTableName, false);
+    }
+
+    /**
+     * Copies the given table into a new table with the given name in the given database.
+     *
+     * @param srcTable Table to copy
+     * @param destDb Database to create the new table in
+     * @param destTableName Name of the new table
+     * @param omitComplexColumns whether complex columns (attachments, multi-value and version history columns) of the
+     *            source table are omitted from the copy (losing their data), if {@code false}, tables with complex
+     *            columns cannot be copied
+     * @return the new table
+     * @throws UnsupportedOperationException if the source table has complex columns which are not to be omitted
+     */
+    public static Table copyTable(Table srcTable, Database destDb, String destTableName, boolean omitComplexColumns)
+        throws IOException {
+        TableBuilder tableBuilder = new TableBuilder(destTableName);
+        Set<String> omittedColumns = new HashSet<>();
+        for (Column col : srcTable.getColumns()) {
+            if (col.getType() != DataType.COMPLEX_TYPE) {
+                tableBuilder.addColumn(new ColumnBuilder(col.getName()).withFromColumn(col));
+            } else if (omitComplexColumns) {
+                omittedColumns.add(col.getName());
+                LOGGER.log(Level.WARNING, () -> "Omitting complex column " + col.getName() + " of table "
+                    + srcTable.getName() + " from copy " + destTableName);
+            } else {
+                throw new UnsupportedOperationException("Cannot copy complex column " + col.getName() + " of table "
+                    + srcTable.getName() + ", complex columns can only be omitted from the copy");
+            }
+        }
+        Table destTable = tableBuilder.toTable(destDb);
+
+        if (canCopyRowData(srcTable, destTable)) {
+            ((TableImpl) destTable).copyRowData((TableImpl) srcTable);
+        } else {
+            copyRows(srcTable, destTable);
+        }
+
+        for (Index idx : srcTable.getIndexes()) {
+            if (!idx.isForeignKey() && !hasColumn(idx, omittedColumns)) {
+                toIndexBuilder(idx).addToTable(destTable);
+            }
+        }
+
+        return destTable;
+    }
+
+    /**
+     * Returns {@code true} if the encoded row data of the source table can be copied verbatim to the destination table.
+     */
+    static boolean canCopyRowData(Table srcTable, Table destTable) {
+        if (!(srcTable instanceof TableImpl) || !(destTable instanceof TableImpl)
+            || ((TableImpl) srcTable).getFormat() != ((TableImpl) destTable).getFormat()) {
+            return false;
+        }
+
+        List<? extends Column> srcCols = srcTable.getColumns();
+        List<? extends Column> destCols = destTable.getColumns();
+        if (srcCols.size() != destCols.size()) {
+            // complex columns have been omitted
+            return false;
+        }
+        for (int i = 0; i < srcCols.size(); i++) {
+            ColumnImpl srcCol = (ColumnImpl) srcCols.get(i);
+            ColumnImpl destCol = (ColumnImpl) destCols.get(i);
+            if (srcCol.getType().isLongValue()
+                || srcCol.getType() != destCol.getType()
+                || srcCol.getLength() != destCol.getLength()
+                || srcCol.getColumnNumber() != destCol.getColumnNumber()
+                || srcCol.isVariableLength() != destCol.isVariableLength()
+                || srcCol.getFixedDataOffset() != destCol.getFixedDataOffset()
+                || srcCol.getVarLenTableIndex() != destCol.getVarLenTableIndex()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void copyRows(Table srcTable, Table destTable) throws IOException {
+        // keep the autonumber values of the source rows
+        destTable.setAllowAutoNumberInsert(Boolean.TRUE);
+        try {
+            List<Object[]> rows = new ArrayList<>(COPY_BATCH_SIZE);
+            for (Row row : CursorBuilder.createCursor(srcTable).newIterable()) {
+                rows.add(destTable.asRow(row));
+                if (rows.size() == COPY_BATCH_SIZE) {
+                    destTable.addRows(rows);
+                    rows.clear();
+                }
+            }
+            destTable.addRows(rows);
+        } finally {
+            destTable.setAllowAutoNumberInsert(null);
+        }
+    }
+
+    private static boolean hasColumn(Index idx, Set<String> columnNames) {
+        for (Index.Column idxCol : idx.getColumns()) {
+            if (columnNames.contains(idxCol.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static IndexBuilder toIndexBuilder(Index idx) {
+        IndexBuilder idxBuilder = new IndexBuilder(idx.getName());
+        for (Index.Column idxCol : idx.getColumns()) {
+            idxBuilder.withColumns(idxCol.isAscending(), idxCol.getName());
+        }
+        if (idx.isPrimaryKey()) {
+            idxBuilder.withPrimaryKey();
+        } else {
+            if (idx.isUnique()) {
+                idxBuilder.withUnique();
+            }
+            if (idx.isRequired()) {
+                idxBuilder.withRequired();
+            }
+        }
+        if (idx.shouldIgnoreNulls()) {
+            idxBuilder.withIgnoreNulls();
+        }
+        return idxBuilder;
+    }
+}
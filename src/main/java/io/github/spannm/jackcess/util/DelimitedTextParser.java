@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming parser for delimited text with a literal (non regex) delimiter, used by {@link ImportUtil}.
+ * <p>
+ * The input is consumed through a char buffer by a simple state machine, so quoted values spanning multiple lines are
+ * handled without re-reading any input. The token buffers are reused for all records. The results are the same as
+ * those of the regex based line splitting: a value is only quoted if it starts with the quote character, two quote
+ * characters within a quoted value are an embedded quote, anything between the closing quote and the next delimiter
+ * is ignored, line breaks within quoted values are replaced by the platform line separator and a trailing delimiter
+ * does not start another (empty) value.
+ */
+final class DelimitedTextParser {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private enum State {
+        START_VALUE,
+        UNQUOTED,
+        QUOTED,
+        QUOTE_IN_QUOTED,
+        AFTER_QUOTED
+    }
+
+    private final Reader        _in;
+    private final char[]        _delim;
+    private final char          _quote;
+    private final char[]        _buf    = new char[BUFFER_SIZE];
+    private int                 _pos;
+    private int                 _limit;
+    private final StringBuilder _value  = new StringBuilder();
+    private final List<String>  _values = new ArrayList<>();
+    /** whether the last record consisted of whitespace only */
+    private boolean             _blank;
+
+    DelimitedTextParser(Reader in, String delim, char quote) {
+        if (delim.isEmpty()) {
+            throw new IllegalArgumentException("Empty delimiter");
+        }
+        _in = in;
+        _delim = delim.toCharArray();
+        _quote = quote;
+    }
+
+    /**
+     * Returns the literal delimiter represented by the given delimiter regular expression, or {@code null} if it is not
+     * a simple literal (in which case it cannot be handled by this parser).
+     */
+    static String toLiteralDelimiter(String delimRegex) {
+        if (delimRegex == null || delimRegex.isEmpty()) {
+            return null;
+        }
+        if (delimRegex.length() == 2 && delimRegex.charAt(0) == '\\') {
+            char c = delimRegex.charAt(1);
+            if (c == 't') {
+                return "\t";
+            }
+            return isRegexMetaChar(c) ? String.valueOf(c) : null;
+        }
+        for (int i = 0; i < delimRegex.length(); i++) {
+            if (isRegexMetaChar(delimRegex.charAt(i))) {
+                return null;
+            }
+        }
+        return delimRegex;
+    }
+
+    private static boolean isRegexMetaChar(char c) {
+        return "\\^$.|?*+()[]{}".indexOf(c) >= 0;
+    }
+
+    /**
+     * Returns {@code true} if the last record returned by {@link #nextRecord} consisted of whitespace only.
+     */
+    boolean isBlankRecord() {
+        return _blank;
+    }
+
+    /**
+     * Parses the next record.
+     *
+     * @param numColumns the min length of the returned array (missing values are {@code null})
+     * @return the values of the next record, or {@code null} if the end of the input was reached
+     * @throws EOFException if the input ends within a quoted value
+     */
+    Object[] nextRecord(int numColumns) throws IOException {
+        _values.clear();
+        _value.setLength(0);
+        _blank = true;
+
+        State state = State.START_VALUE;
+        boolean consumed = false;
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                if (state == State.QUOTED) {
+                    throw new EOFException("Missing end of quoted value " + _value);
+                }
+                if (!consumed) {
+                    return null;
+                }
+                endRecord(state);
+                break;
+            }
+            consumed = true;
+            if (_blank && !Character.isWhitespace(c)) {
+                _blank = false;
+            }
+
+            if (state == State.QUOTED) {
+                if (c == _quote) {
+                    state = State.QUOTE_IN_QUOTED;
+                } else if (isLineBreak(c)) {
+                    _value.append(ImportUtil.LINE_SEPARATOR);
+                } else {
+                    _value.append((char) c);
+                }
+                continue;
+            }
+
+            if (state == State.QUOTE_IN_QUOTED) {
+                if (c == _quote) {
+                    // embedded quote
+                    _value.append(_quote);
+                    state = State.QUOTED;
+                    continue;
+                }
+                addValue();
+                state = State.AFTER_QUOTED;
+                // drop through and handle the char after the closing quote
+            }
+
+            if (isLineBreak(c)) {
+                endRecord(state);
+                break;
+            }
+            if (isDelimiter(c)) {
+                if (state != State.AFTER_QUOTED) {
+                    addValue();
+                }
+                state = State.START_VALUE;
+                continue;
+            }
+
+            switch (state) {
+                case START_VALUE:
+                    if (c == _quote) {
+                        state = State.QUOTED;
+                    } else {
+                        _value.append((char) c);
+                        state = State.UNQUOTED;
+                    }
+                    break;
+                case UNQUOTED:
+                    _value.append((char) c);
+                    break;
+                default:
+                    // ignore anything between closing quote and delimiter
+                    break;
+            }
+        }
+
+        return _values.toArray(new Object[Math.max(_values.size(), numColumns)]);
+    }
+
+    private void endRecord(State state) {
+        if (state == State.UNQUOTED || state == State.QUOTE_IN_QUOTED) {
+            addValue();
+        }
+    }
+
+    private void addValue() {
+        _values.add(_value.toString());
+        _value.setLength(0);
+    }
+
+    /**
+     * Returns {@code true} if the given char starts a line break, consuming the rest of a "\r\n" line break.
+     */
+    private boolean isLineBreak(int c) throws IOException {
+        if (c == '\n') {
+            return true;
+        }
+        if (c == '\r') {
+            if (fill(1) && _buf[_pos] == '\n') {
+                _pos++;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if the given char starts the delimiter, consuming the rest of the delimiter.
+     */
+    private boolean isDelimiter(int c) throws IOException {
+        if (c != _delim[0]) {
+            return false;
+        }
+        int remaining = _delim.length - 1;
+        if (remaining == 0) {
+            return true;
+        }
+        if (!fill(remaining)) {
+            return false;
+        }
+        for (int i = 0; i < remaining; i++) {
+            if (_buf[_pos + i] != _delim[i + 1]) {
+                return false;
+            }
+        }
+        _pos += remaining;
+        return true;
+    }
+
+    private int read() throws IOException {
+        if (_pos >= _limit && !fill(1)) {
+            return -1;
+        }
+        return _buf[_pos++];
+    }
+
+    /**
+     * Ensures that at least the given number of chars are buffered, returns {@code false} if the input ends before.
+     */
+    private boolean fill(int minChars) throws IOException {
+        if (_limit - _pos >= minChars) {
+            return true;
+        }
+        if (_pos > 0) {
+            System.arraycopy(_buf, _pos, _buf, 0, _limit - _pos);
+            _limit -= _pos;
+            _pos = 0;
+        }
+        while (_limit < minChars) {
+            int read = _in.read(_buf, _limit, _buf.length - _limit);
+            if (read < 0) {
+                return false;
+            }
+            _limit += read;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.Column;
+import io.github.spannm.jackcess.impl.ByteUtil;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Writes the (filtered) rows of an export as delimited text, used by {@link ExportUtil}.
+ * <p>
+ * The values are formatted into a reusable char buffer which is handed to the underlying writer in large chunks. A
+ * value is quoted if it contains the delimiter, the quote character or a line break, which is determined by a plain
+ * scan of its chars. With a parallelism of 1 the rows are formatted on the calling thread. Otherwise the rows are
+ * collected in batches which are formatted by {@code parallelism} formatter threads, while the calling thread writes
+ * the formatted batches in their original order. The number of batches in flight is bounded, so a slow writer
+ * throttles the source.
+ */
+final class DelimitedTextWriter {
+
+    /** number of rows formatted as one unit by the formatter threads */
+    static final int                           BATCH_SIZE      = 1000;
+    /** number of buffered chars which are written at once when formatting on the calling thread */
+    private static final int                   FLUSH_THRESHOLD = 8192;
+    private static final String                LINE_SEPARATOR  = System.lineSeparator();
+
+    private final Writer                       _out;
+    private final String                       _delim;
+    private final char                         _quote;
+    private final StringBuilder                _buf            = new StringBuilder(FLUSH_THRESHOLD * 2);
+    private char[]                             _chars          = new char[FLUSH_THRESHOLD * 2];
+    private List<Object[]>                     _batch;
+    private final ExecutorService              _formatters;
+    private final Deque<Future<StringBuilder>> _pending;
+    private final int                          _maxPending;
+
+    DelimitedTextWriter(Writer out, String delim, char quote, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism " + parallelism);
+        }
+        _out = out;
+        _delim = delim;
+        _quote = quote;
+        _maxPending = parallelism * 2;
+
+        if (parallelism == 1) {
+            _formatters = null;
+            _pending = null;
+            return;
+        }
+
+        _batch = new ArrayList<>(BATCH_SIZE);
+        _formatters = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "jackcess-export-format");
+            t.setDaemon(true);
+            return t;
+        });
+        _pending = new ArrayDeque<>(_maxPending + 1);
+    }
+
+    /**
+     * Writes the names of the given columns as the header line.
+     */
+    void writeHeader(List<? extends Column> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                _buf.append(_delim);
+            }
+            appendValue(_buf, columns.get(i).getName());
+        }
+        _buf.append(LINE_SEPARATOR);
+        flushBuffer();
+    }
+
+    /**
+     * Writes the given row data. The array is copied if it is formatted later, so it may be reused by the caller.
+     */
+    void writeRow(Object[] rowData, int numColumns) throws IOException {
+        if (_formatters == null) {
+            appendRow(_buf, rowData, numColumns);
+            if (_buf.length() >= FLUSH_THRESHOLD) {
+                flushBuffer();
+            }
+            return;
+        }
+
+        _batch.add(Arrays.copyOf(rowData, numColumns));
+        if (_batch.size() == BATCH_SIZE) {
+            submitBatch();
+        }
+    }
+
+    /**
+     * Writes all outstanding rows and flushes the underlying writer.
+     */
+    void finish() throws IOException {
+        if (_formatters != null) {
+            if (!_batch.isEmpty()) {
+                submitBatch();
+            }
+            while (!_pending.isEmpty()) {
+                writeNextBatch();
+            }
+        }
+        flushBuffer();
+        _out.flush();
+    }
+
+    /**
+     * Stops the formatter threads, discarding any rows which are not written yet.
+     */
+    void close() {
+        if (_formatters != null) {
+            _formatters.shutdownNow();
+            _pending.clear();
+        }
+    }
+
+    private void submitBatch() throws IOException {
+        List<Object[]> batch = _batch;
+        int numColumns = batch.get(0).length;
+        _batch = new ArrayList<>(BATCH_SIZE);
+        _pending.add(_formatters.submit(() -> {
+            StringBuilder sb = new StringBuilder(batch.size() * numColumns * 16);
+            for (Object[] rowData : batch) {
+                appendRow(sb, rowData, numColumns);
+            }
+            return sb;
+        }));
+        while (_pending.size() > _maxPending) {
+            writeNextBatch();
+        }
+    }
+
+    private void writeNextBatch() throws IOException {
+        try {
+            write(_pending.remove().get());
+        } catch (InterruptedException _ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException _ex) {
+            Throwable cause = _ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        write(_buf);
+        _buf.setLength(0);
+    }
+
+    private void write(StringBuilder sb) throws IOException {
+        int len = sb.length();
+        if (_chars.length < len) {
+            _chars = new char[Math.max(len, _chars.length * 2)];
+        }
+        sb.getChars(0, len, _chars, 0);
+        _out.write(_chars, 0, len);
+    }
+
+    private void appendRow(StringBuilder sb, Object[] rowData, int numColumns) {
+        for (int i = 0; i < numColumns; i++) {
+            if (i > 0) {
+                sb.append(_delim);
+            }
+            Object obj = rowData[i];
+            if (obj != null) {
+                appendValue(sb, obj instanceof byte[] ? ByteUtil.toHexString((byte[]) obj) : String.valueOf(obj));
+            }
+        }
+        sb.append(LINE_SEPARATOR);
+    }
+
+    private void appendValue(StringBuilder sb, String value) {
+        if (!needsQuote(value)) {
+            sb.append(value);
+            return;
+        }
+
+        // wrap the value in quotes and handle internal quotes
+        sb.append(_quote);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == _quote) {
+                sb.append(_quote);
+            }
+            sb.append(c);
+        }
+        sb.append(_quote);
+    }
+
+    /**
+     * Returns {@code true} if the given value contains the delimiter, the quote character or a line break.
+     */
+    private boolean needsQuote(String value) {
+        if (_delim.isEmpty()) {
+            // an empty delimiter is contained in any value
+            return true;
+        }
+        char delimStart = _delim.charAt(0);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == _quote || c == '\n' || c == '\r' || c == delimStart && value.startsWith(_delim, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -17,14 +17,14 @@ limitations under the License.
 package io.github.spannm.jackcess.util;
 
 import io.github.spannm.jackcess.*;
-import io.github.spannm.jackcess.impl.ByteUtil;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Utility class for exporting tables from an Access database to other formats. See the {@link Builder} for convenient
@@ -116,9 +116,94 @@ public class ExportUtil {
     public static void exportAll(Database db, File dir,
         String ext, boolean header, String delim,
         char quote, ExportFilter filter) throws IOException {
-        for (String tableName : db.getTableNames()) {
-            exportFile(db, tableName, new File(dir, tableName + "." + ext), header,
-                delim, quote, filter);
+        exportAll(db, dir, ext, header, delim, quote, filter, 1);
+    }
+
+    /**
+     * Copies all tables into new delimited text files, exporting up to {@code parallelism} tables concurrently. The
+     * database is only accessed by one thread at a time, so that the reading of rows is serialized while the rows of
+     * the tables are filtered, formatted and written concurrently (which requires a thread-safe filter).
+     */
+    private static void exportAll(Database db, File dir, String ext, boolean header, String delim, char quote,
+        ExportFilter filter, int parallelism) throws IOException {
+        Set<String> tableNames = db.getTableNames();
+        if (parallelism == 1 || tableNames.size() < 2) {
+            for (String tableName : tableNames) {
+                exportFile(db, tableName, new File(dir, tableName + "." + ext), header,
+                    delim, quote, filter);
+            }
+            return;
+        }
+
+        ExecutorService exporters = Executors.newFixedThreadPool(Math.min(parallelism, tableNames.size()), r -> {
+            Thread t = new Thread(r, "jackcess-export");
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<?>> results = new ArrayList<>(tableNames.size());
+        try {
+            for (String tableName : tableNames) {
+                File f = new File(dir, tableName + "." + ext);
+                results.add(exporters.submit(() -> {
+                    if (failed.get()) {
+                        // skip remaining tables
+                        return null;
+                    }
+                    try {
+                        exportTable(db, tableName, f, header, delim, quote, filter);
+                    } catch (IOException | RuntimeException _ex) {
+                        failed.set(true);
+                        throw _ex;
+                    }
+                    return null;
+                }));
+            }
+        } finally {
+            exporters.shutdown();
+        }
+
+        // wait for all running exports, report the first failure
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (Future<?> result : results) {
+            while (true) {
+                try {
+                    result.get();
+                    break;
+                } catch (InterruptedException _ex) {
+                    // database access is not interruptible, let the running exports complete
+                    interrupted = true;
+                } catch (ExecutionException _ex) {
+                    if (failure == null) {
+                        failure = _ex.getCause();
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw new IOException(failure);
+        }
+    }
+
+    private static void exportTable(Database db, String tableName, File f, boolean header, String delim, char quote,
+        ExportFilter filter) throws IOException {
+        Cursor cursor;
+        synchronized (db) {
+            cursor = CursorBuilder.createCursor(db.getTable(tableName));
+        }
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(f))) {
+            exportWriter(cursor, out, header, delim, quote, filter, 1, db);
         }
     }
 
@@ -159,8 +244,14 @@ public class ExportUtil {
     public static void exportFile(Database db, String tableName, File f, boolean header,
             String delim, char quote, ExportFilter filter) throws IOException {
 
+        exportFile(db, tableName, f, header, delim, quote, filter, 1);
+    }
+
+    private static void exportFile(Database db, String tableName, File f, boolean header, String delim, char quote,
+        ExportFilter filter, int parallelism) throws IOException {
         try (BufferedWriter out = new BufferedWriter(new FileWriter(f))) {
-            exportWriter(db, tableName, out, header, delim, quote, filter);
+            exportWriter(CursorBuilder.createCursor(db.getTable(tableName)), out, header, delim, quote, filter,
+                parallelism, null);
         }
     }
 
@@ -219,12 +310,17 @@ public class ExportUtil {
     public static void exportWriter(Cursor cursor,
         BufferedWriter out, boolean header, String delim,
         char quote, ExportFilter filter) throws IOException {
-        String delimiter = delim == null ? DEFAULT_DELIMITER : delim;
+        exportWriter(cursor, out, header, delim, quote, filter, 1, null);
+    }
 
-        // create pattern which will indicate whether or not a value needs to be
-        // quoted or not (contains delimiter, separator, or newline)
-        Pattern needsQuotePattern = Pattern.compile(
-            "(?:" + Pattern.quote(delimiter) + ")|(?:" + Pattern.quote("" + quote) + ")|(?:[\n\r])");
+    /**
+     * Copies the rows of the given cursor to the given writer, formatting the values on {@code parallelism} threads.
+     * If a {@code dbLock} is given, the cursor is only accessed while holding it (batch wise), so that multiple tables
+     * of the same database can be exported concurrently.
+     */
+    private static void exportWriter(Cursor cursor, BufferedWriter out, boolean header, String delim, char quote,
+        ExportFilter filter, int parallelism, Object dbLock) throws IOException {
+        String delimiter = delim == null ? DEFAULT_DELIMITER : delim;
 
         List<? extends Column> origCols = cursor.getTable().getColumns();
         List<Column> columns = new ArrayList<>(origCols);
@@ -240,85 +336,59 @@ public class ExportUtil {
             }
         }
 
-        // print the header row (if desired)
-        if (header) {
-            for (Iterator<Column> iter = columns.iterator(); iter.hasNext();) {
-
-                writeValue(out, iter.next().getName(), quote, needsQuotePattern);
-
-                if (iter.hasNext()) {
-                    out.write(delimiter);
-                }
+        DelimitedTextWriter writer = new DelimitedTextWriter(out, delimiter, quote, parallelism);
+        try {
+            // print the header row (if desired)
+            if (header) {
+                writer.writeHeader(columns);
             }
-            out.newLine();
-        }
 
-        // print the data rows
-        Object[] unfilteredRowData = new Object[columns.size()];
-        Row row;
-        while ((row = cursor.getNextRow(columnNames)) != null) {
-
-            // fill raw row data in array
-            for (int i = 0; i < columns.size(); i++) {
-                unfilteredRowData[i] = columns.get(i).getRowValue(row);
-            }
-
-            // apply filter
-            Object[] rowData = filter.filterRow(unfilteredRowData);
-            if (rowData == null) {
-                continue;
-            }
+            // print the data rows
+            Object[] unfilteredRowData = new Object[columns.size()];
+            List<Row> rows = new ArrayList<>(DelimitedTextWriter.BATCH_SIZE);
+            while (readRows(cursor, columnNames, rows, dbLock)) {
+                for (Row row : rows) {
 
-            // print row
-            for (int i = 0; i < columns.size(); i++) {
-
-                Object obj = rowData[i];
-                if (obj != null) {
-
-                    String value = null;
-                    if (obj instanceof byte[]) {
-
-                        value = ByteUtil.toHexString((byte[]) obj);
-
-                    } else {
-
-                        value = String.valueOf(rowData[i]);
+                    // fill raw row data in array
+                    for (int i = 0; i < columns.size(); i++) {
+                        unfilteredRowData[i] = columns.get(i).getRowValue(row);
                     }
 
-                    writeValue(out, value, quote, needsQuotePattern);
-                }
-
-                if (i < columns.size() - 1) {
-                    out.write(delimiter);
+                    // apply filter
+                    Object[] rowData = filter.filterRow(unfilteredRowData);
+                    if (rowData != null) {
+                        writer.writeRow(rowData, columns.size());
+                    }
                 }
             }
 
-            out.newLine();
+            writer.finish();
+        } finally {
+            writer.close();
         }
-
-        out.flush();
     }
 
-    private static void writeValue(BufferedWriter out, String value, char quote,
-        Pattern needsQuotePattern) throws IOException {
-        if (!needsQuotePattern.matcher(value).find()) {
-
-            // no quotes necessary
-            out.write(value);
-            return;
+    /**
+     * Reads the next batch of rows from the given cursor (holding the given lock, if any), returns {@code false} if
+     * there are no more rows.
+     */
+    private static boolean readRows(Cursor cursor, Collection<String> columnNames, List<Row> rows, Object dbLock)
+        throws IOException {
+        rows.clear();
+        if (dbLock == null) {
+            return readRows(cursor, columnNames, rows);
         }
+        synchronized (dbLock) {
+            return readRows(cursor, columnNames, rows);
+        }
+    }
 
-        // wrap the value in quotes and handle internal quotes
-        out.write(quote);
-        for (int i = 0; i < value.length(); ++i) {
-            char c = value.charAt(i);
-
-            if (c == quote) {
-                out.write(quote);
-            }
-            out.write(c);
+    private static boolean readRows(Cursor cursor, Collection<String> columnNames, List<Row> rows) throws IOException {
+        Row row;
+        while (rows.size() < DelimitedTextWriter.BATCH_SIZE && (row = cursor.getNextRow(columnNames)) != null) {
+            rows.add(row);
         }
-        out.write(quote);
+        return !rows.isEmpty();
     }
 
     /**
@@ -327,12 +397,13 @@ public class ExportUtil {
     public static class Builder {
         private Database     mdb;
         private String       mtableName;
-        private String       mext    = DEFAULT_FILE_EXT;
+        private String       mext         = DEFAULT_FILE_EXT;
         private Cursor       mcursor;
-        private String       mdelim  = DEFAULT_DELIMITER;
-        private char         mquote  = DEFAULT_QUOTE_CHAR;
-        private ExportFilter mfilter = SimpleExportFilter.INSTANCE;
+        private String       mdelim       = DEFAULT_DELIMITER;
+        private char         mquote       = DEFAULT_QUOTE_CHAR;
+        private ExportFilter mfilter      = SimpleExportFilter.INSTANCE;
         private boolean      mheader;
+        private int          mparallelism = 1;
 
         public Builder(Database _db) {
             this(_db, null);
@@ -387,11 +458,25 @@ public class ExportUtil {
             return this;
         }
 
+        /**
+         * Sets the number of threads used for the export (default 1). When exporting a single table, the rows are
+         * formatted in batches by this number of threads and written in their original order. When exporting all
+         * tables, this number of tables is exported concurrently (reading from the database one thread at a time), in
+         * which case the filter must be thread-safe.
+         */
+        public Builder withParallelism(int _parallelism) {
+            if (_parallelism < 1) {
+                throw new IllegalArgumentException("Invalid parallelism " + _parallelism);
+            }
+            mparallelism = _parallelism;
+            return this;
+        }
+
         /**
          * @see ExportUtil#exportAll(Database,File,String,boolean,String,char,ExportFilter)
          */
         public void exportAll(File dir) throws IOException {
-            ExportUtil.exportAll(mdb, dir, mext, mheader, mdelim, mquote, mfilter);
+            ExportUtil.exportAll(mdb, dir, mext, mheader, mdelim, mquote, mfilter, mparallelism);
         }
 
         /**
@@ -399,7 +484,7 @@ public class ExportUtil {
          */
         public void exportFile(File f) throws IOException {
             ExportUtil.exportFile(mdb, mtableName, f, mheader, mdelim, mquote,
-                mfilter);
+                mfilter, mparallelism);
         }
 
         /**
@@ -407,13 +492,8 @@ public class ExportUtil {
          * @see ExportUtil#exportWriter(Cursor,BufferedWriter,boolean,String,char,ExportFilter)
          */
         public void exportWriter(BufferedWriter writer) throws IOException {
-            if (mcursor != null) {
-                ExportUtil.exportWriter(mcursor, writer, mheader, mdelim,
-                    mquote, mfilter);
-            } else {
-                ExportUtil.exportWriter(mdb, mtableName, writer, mheader, mdelim,
-                    mquote, mfilter);
-            }
+            Cursor cursor = mcursor != null ? mcursor : CursorBuilder.createCursor(mdb.getTable(mtableName));
+            ExportUtil.exportWriter(cursor, writer, mheader, mdelim, mquote, mfilter, mparallelism, null);
         }
     }
 
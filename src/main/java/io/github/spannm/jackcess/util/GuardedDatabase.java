@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.expr.EvalConfig;
+import io.github.spannm.jackcess.query.Query;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.BaseStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Thread-safe, read-only view of a database shared by several users, see {@link SharedDatabaseRegistry} and
+ * {@link LinkedDatabasePool}. Each user gets its own view:
+ * <ul>
+ * <li>all calls on the view, and on the tables, cursors, iterators etc. obtained from it, are serialized on the shared
+ * database</li>
+ * <li>closing the view releases it (see {@link #release}), the shared database itself is not closed</li>
+ * <li>the shared configuration and metadata cannot be changed, i.e. setters, {@link Database#createLinkedTable} and
+ * modifications of property maps throw an {@link UnsupportedOperationException}</li>
+ * <li>{@link Table#getDefaultCursor}, {@link Table#getNextRow} and {@link Table#reset} would use the default cursor
+ * shared by all users and throw an {@link UnsupportedOperationException}, while iterating a table uses a new
+ * cursor</li>
+ * <li>rows and other detached values (row ids, cursor positions and savepoints, OLE blobs) are returned as they are,
+ * they do not access the database. Complex column values however do, so they must not be used concurrently</li>
+ * </ul>
+ */
+abstract class GuardedDatabase implements Closeable {
+    /** types whose setters and modifying methods change state shared by all users of a database */
+    private static final List<Class<?>> SHARED_STATE_TYPES     = List.of(Database.class, Table.class, Column.class,
+        Index.class, Relationship.class, Query.class, PropertyMap.class, PropertyMap.Property.class, TableMetaData.class,
+        EvalConfig.class);
+    private static final Set<String>    PROPERTY_MAP_MODIFIERS = Set.of("put", "putAll", "remove", "save");
+    /** methods of a table using its default cursor, which would be shared by all users of a database */
+    private static final Set<String>    DEFAULT_CURSOR_METHODS = Set.of("getDefaultCursor", "getNextRow", "reset");
+    /** value types which are detached from the database and need not be guarded */
+    private static final List<Class<?>> DETACHED_TYPES         = List.of(Row.class, RowId.class, Cursor.Position.class,
+        Cursor.Savepoint.class, OleBlob.class);
+
+    private final Database              _db;
+    private final String                _name;
+    private final Database              _view;
+    private volatile boolean            _closed;
+
+    /**
+     * @param db the shared database, all calls on the view are synchronized on it
+     * @param name the name of the shared database, for error messages
+     */
+    GuardedDatabase(Database db, String name) {
+        _db = db;
+        _name = name;
+        _view = (Database) Proxy.newProxyInstance(Database.class.getClassLoader(), new Class<?>[] {Database.class},
+            new GuardedInvocationHandler(this, db));
+    }
+
+    /**
+     * @return the guarded view of the shared database
+     */
+    Database getView() {
+        checkOpen();
+        return _view;
+    }
+
+    void checkOpen() {
+        if (_closed) {
+            throw new IllegalStateException("View of shared database " + _name + " is closed");
+        }
+    }
+
+    /**
+     * Closes this view, releasing the shared database once.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (_closed) {
+                return;
+            }
+            _closed = true;
+        }
+        release();
+    }
+
+    /**
+     * Called once when this view is closed, without holding the lock of the shared database.
+     */
+    protected abstract void release() throws IOException;
+
+    /**
+     * Forwards the calls on a guarded object to its target while holding the lock of the shared database, guarding the
+     * returned objects the same way.
+     */
+    private static final class GuardedInvocationHandler implements InvocationHandler {
+        private final GuardedDatabase _guardedDb;
+        private final Object          _target;
+
+        private GuardedInvocationHandler(GuardedDatabase guardedDb, Object target) {
+            _guardedDb = guardedDb;
+            _target = target;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (method.getDeclaringClass() == Object.class) {
+                // equals, hashCode and toString
+                return method.invoke(_target, unwrapAll(args));
+            }
+            Database sharedDb = _guardedDb._db;
+            if (_target == sharedDb && "close".equals(name)) {
+                _guardedDb.close();
+                return null;
+            }
+            if (isModifier(method)) {
+                throw new UnsupportedOperationException("Shared database " + _guardedDb._name + " cannot be modified: "
+                    + method.getDeclaringClass().getSimpleName() + "." + name);
+            }
+            if (_target instanceof Table && DEFAULT_CURSOR_METHODS.contains(name)) {
+                throw new UnsupportedOperationException("The default cursor of shared table " + ((Table) _target).getName()
+                    + " cannot be used, use a new cursor instead: " + name);
+            }
+            _guardedDb.checkOpen();
+
+            if (_target instanceof Table && "iterator".equals(name)) {
+                // iterate with a new cursor instead of the shared default cursor
+                return ((Table) proxy).newCursor().toCursor().iterator();
+            }
+
+            // iterate through the guarded iterator, so that the elements are guarded as well
+            if (_target instanceof Iterable && args == null && ("spliterator".equals(name) || "stream".equals(name))) {
+                Spliterator<?> spliterator = Spliterators.spliteratorUnknownSize(((Iterable<?>) proxy).iterator(), 0);
+                return "stream".equals(name) ? StreamSupport.stream(spliterator, false) : spliterator;
+            }
+            if ("forEach".equals(name) && _target instanceof Iterable && args != null && args[0] instanceof Consumer) {
+                ((Iterable<?>) proxy).iterator().forEachRemaining((Consumer<Object>) args[0]);
+                return null;
+            }
+            if ("forEachRemaining".equals(name) && _target instanceof Iterator) {
+                Iterator<?> iter = (Iterator<?>) proxy;
+                while (iter.hasNext()) {
+                    ((Consumer<Object>) args[0]).accept(iter.next());
+                }
+                return null;
+            }
+            if ("newTableMetaDataStream".equals(name) && _target == sharedDb) {
+                return StreamSupport.stream(((Database) proxy).newTableMetaDataIterable().spliterator(), false);
+            }
+
+            synchronized (sharedDb) {
+                Object result;
+                if (method.getReturnType() == CursorBuilder.class) {
+                    result = _target instanceof Index
+                        ? new GuardedCursorBuilder(_guardedDb, ((Index) _target).getTable()).withIndex((Index) _target)
+                        : new GuardedCursorBuilder(_guardedDb, (Table) _target);
+                } else if (method.getReturnType() == TableIterableBuilder.class) {
+                    result = new GuardedTableIterableBuilder(_guardedDb, (Database) _target);
+                } else if (method.getReturnType() == IterableBuilder.class) {
+                    result = new GuardedIterableBuilder(_guardedDb, (Cursor) _target);
+                } else if (method.getReturnType() == EntryIterableBuilder.class) {
+                    result = new GuardedEntryIterableBuilder(_guardedDb, (IndexCursor) _target, unwrapAll((Object[]) args[0]));
+                } else {
+                    try {
+                        result = method.invoke(_target, unwrapAll(args));
+                    } catch (InvocationTargetException _ex) {
+                        throw _ex.getCause();
+                    }
+                    result = guard(_guardedDb, result, method.getReturnType());
+                }
+                return result;
+            }
+        }
+
+        private boolean isModifier(Method method) {
+            String name = method.getName();
+            if (SHARED_STATE_TYPES.stream().noneMatch(t -> t.isInstance(_target))) {
+                return false;
+            }
+            return name.startsWith("set") && method.getParameterCount() > 0
+                || _target instanceof Database && ("createLinkedTable".equals(name) || "close".equals(name))
+                || _target instanceof PropertyMap && PROPERTY_MAP_MODIFIERS.contains(name);
+        }
+    }
+
+    /**
+     * @return the given value, or a guarded view of it if it may give access to the shared database
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T guard(GuardedDatabase guardedDb, T value, Class<?> declaredType) {
+        if (value == null) {
+            return null;
+        }
+        if (value == guardedDb._db) {
+            return (T) guardedDb._view;
+        }
+        if (declaredType != Object.class && !declaredType.isInterface() || unwrap(value) != value
+            || DETACHED_TYPES.stream().anyMatch(t -> t.isInstance(value))) {
+            return value;
+        }
+        Class<?> cls = value.getClass();
+        if (!cls.getName().startsWith("io.github.spannm.jackcess.") && !(value instanceof Iterable || value instanceof Map
+            || value instanceof Iterator || value instanceof Spliterator || value instanceof BaseStream)) {
+            return value;
+        }
+
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
+            for (Class<?> i : c.getInterfaces()) {
+                if (Modifier.isPublic(i.getModifiers()) && i.getModule().isExported(i.getPackageName())) {
+                    interfaces.add(i);
+                }
+            }
+        }
+        if (interfaces.isEmpty()) {
+            return value;
+        }
+        return (T) Proxy.newProxyInstance(GuardedDatabase.class.getClassLoader(), interfaces.toArray(new Class<?>[0]),
+            new GuardedInvocationHandler(guardedDb, value));
+    }
+
+    /**
+     * @return the target of the given guarded value, or the value itself if it is not guarded
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T unwrap(T value) {
+        if (value != null && Proxy.isProxyClass(value.getClass())
+            && Proxy.getInvocationHandler(value) instanceof GuardedInvocationHandler) {
+            return (T) ((GuardedInvocationHandler) Proxy.getInvocationHandler(value))._target;
+        }
+        return value;
+    }
+
+    private static Object[] unwrapAll(Object[] values) {
+        if (values == null) {
+            return null;
+        }
+        Object[] unwrapped = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            unwrapped[i] = values[i] instanceof Object[] ? unwrapAll((Object[]) values[i]) : unwrap(values[i]);
+        }
+        return unwrapped;
+    }
+
+    /**
+     * CursorBuilder creating guarded cursors.
+     */
+    private static final class GuardedCursorBuilder extends CursorBuilder {
+        private final GuardedDatabase _guardedDb;
+
+        private GuardedCursorBuilder(GuardedDatabase guardedDb, Table table) {
+            super(table);
+            _guardedDb = guardedDb;
+        }
+
+        @Override
+        public CursorBuilder withIndex(Index index) {
+            return super.withIndex(unwrap(index));
+        }
+
+        @Override
+        public CursorBuilder restoreSavepoint(Cursor.Savepoint savepoint) {
+            return super.restoreSavepoint(unwrap(savepoint));
+        }
+
+        @Override
+        public Cursor toCursor() throws IOException {
+            synchronized (_guardedDb._db) {
+                _guardedDb.checkOpen();
+                return guard(_guardedDb, super.toCursor(), Cursor.class);
+            }
+        }
+
+        @Override
+        public IndexCursor toIndexCursor() throws IOException {
+            return (IndexCursor) toCursor();
+        }
+    }
+
+    /**
+     * TableIterableBuilder iterating guarded tables.
+     */
+    private static final class GuardedTableIterableBuilder extends TableIterableBuilder {
+        private final GuardedDatabase _guardedDb;
+
+        private GuardedTableIterableBuilder(GuardedDatabase guardedDb, Database db) {
+            super(db);
+            _guardedDb = guardedDb;
+        }
+
+        @Override
+        public Iterator<Table> iterator() {
+            synchronized (_guardedDb._db) {
+                _guardedDb.checkOpen();
+                return guard(_guardedDb, super.iterator(), Iterator.class);
+            }
+        }
+    }
+
+    /**
+     * IterableBuilder iterating guarded rows.
+     */
+    private static final class GuardedIterableBuilder extends IterableBuilder {
+        private final GuardedDatabase _guardedDb;
+
+        private GuardedIterableBuilder(GuardedDatabase guardedDb, Cursor cursor) {
+            super(cursor);
+            _guardedDb = guardedDb;
+        }
+
+        @Override
+        public Iterator<Row> iterator() {
+            synchronized (_guardedDb._db) {
+                _guardedDb.checkOpen();
+                return guard(_guardedDb, super.iterator(), Iterator.class);
+            }
+        }
+    }
+
+    /**
+     * EntryIterableBuilder iterating guarded rows.
+     */
+    private static final class GuardedEntryIterableBuilder extends EntryIterableBuilder {
+        private final GuardedDatabase _guardedDb;
+
+        private GuardedEntryIterableBuilder(GuardedDatabase guardedDb, IndexCursor cursor, Object... entryValues) {
+            super(cursor, entryValues);
+            _guardedDb = guardedDb;
+        }
+
+        @Override
+        public Iterator<Row> iterator() {
+            synchronized (_guardedDb._db) {
+                _guardedDb.checkOpen();
+                return guard(_guardedDb, super.iterator(), Iterator.class);
+            }
+        }
+    }
+}
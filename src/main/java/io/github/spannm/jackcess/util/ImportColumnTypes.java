@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.DataType;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Infers the column types of imported delimited text from a sample of its rows and converts the text values
+ * accordingly (see {@link ImportUtil.Builder#withTypeInference(int)}).
+ * <p>
+ * A column gets the first of the types {@link DataType#LONG}, {@link DataType#DOUBLE}, {@link DataType#BOOLEAN} and
+ * {@link DataType#SHORT_DATE_TIME} which can represent all non-empty sampled values, otherwise it remains
+ * {@link DataType#TEXT}. Empty values are imported as {@code null} for the typed columns. As a Yes/No column cannot
+ * hold {@code null}, a column with empty values is never inferred as {@link DataType#BOOLEAN}.
+ * <p>
+ * Values which would lose information when converted are not considered numeric: numbers with leading zeros (e.g. zip
+ * codes or account numbers like {@code 01234}) and numbers with more than {@value #MAX_DOUBLE_DIGITS} significant
+ * digits (e.g. card or order numbers), which a double cannot represent exactly.
+ */
+final class ImportColumnTypes {
+
+    private static final DateTimeFormatter DATE_TIME_FMT     = DateTimeFormatter.ofPattern("yyyy-MM-dd[[ ]['T']HH:mm[:ss]]");
+    /** the maximum number of significant decimal digits a double represents exactly */
+    static final int                       MAX_DOUBLE_DIGITS = 15;
+
+    private ImportColumnTypes() {
+    }
+
+    /**
+     * Returns the most specific type which fits all non-empty values of the given column in the given sample rows.
+     * {@link DataType#BOOLEAN} is only returned if none of the values is empty.
+     */
+    static DataType inferType(List<Object[]> sampleRows, int columnIdx) {
+        boolean isLong = true;
+        boolean isDouble = true;
+        boolean isBoolean = true;
+        boolean isDate = true;
+        boolean hasValue = false;
+
+        for (Object[] row : sampleRows) {
+            String value = columnIdx < row.length ? (String) row[columnIdx] : null;
+            if (value == null || value.isEmpty()) {
+                // would be imported as false
+                isBoolean = false;
+                continue;
+            }
+            hasValue = true;
+            isLong = isLong && parseLong(value) != null;
+            isDouble = isDouble && parseDouble(value) != null;
+            isBoolean = isBoolean && parseBoolean(value) != null;
+            isDate = isDate && parseDate(value) != null;
+            if (!isLong && !isDouble && !isBoolean && !isDate) {
+                break;
+            }
+        }
+
+        if (!hasValue) {
+            return DataType.TEXT;
+        }
+        if (isLong) {
+            return DataType.LONG;
+        }
+        if (isDouble) {
+            return DataType.DOUBLE;
+        }
+        if (isBoolean) {
+            return DataType.BOOLEAN;
+        }
+        return isDate ? DataType.SHORT_DATE_TIME : DataType.TEXT;
+    }
+
+    /**
+     * Converts the given text value to a value of the given (inferred) type.
+     *
+     * @throws IOException if the value does not fit the type
+     */
+    static Object convert(DataType type, String columnName, Object value) throws IOException {
+        if (type == DataType.TEXT || value == null) {
+            return value;
+        }
+        String str = (String) value;
+        if (str.isEmpty()) {
+            return null;
+        }
+
+        Object converted;
+        switch (type) {
+            case LONG:
+                converted = parseLong(str);
+                break;
+            case DOUBLE:
+                converted = parseDouble(str);
+                break;
+            case BOOLEAN:
+                converted = parseBoolean(str);
+                break;
+            case SHORT_DATE_TIME:
+                converted = parseDate(str);
+                break;
+            default:
+                converted = str;
+                break;
+        }
+        if (converted == null) {
+            throw new IOException("Value '" + str + "' of column " + columnName + " does not match the inferred type " + type
+                + ", use a larger sample for type inference");
+        }
+        return converted;
+    }
+
+    static Integer parseLong(String value) {
+        int len = value.length();
+        int start = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+        if (start == len || len - start > 10 || hasLeadingZero(value, start)) {
+            return null;
+        }
+        for (int i = start; i < len; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        long l = Long.parseLong(value);
+        return l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE ? (int) l : null;
+    }
+
+    static Double parseDouble(String value) {
+        // only plain decimal numbers, no hex, infinity or type suffixes
+        int len = value.length();
+        int i = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+        if (hasLeadingZero(value, i)) {
+            return null;
+        }
+        int digits = 0;
+        int significantDigits = 0;
+        for (; i < len && isDigit(value.charAt(i)); i++) {
+            digits++;
+            if (significantDigits > 0 || value.charAt(i) != '0') {
+                significantDigits++;
+            }
+        }
+        if (i < len && value.charAt(i) == '.') {
+            for (i++; i < len && isDigit(value.charAt(i)); i++) {
+                digits++;
+                if (significantDigits > 0 || value.charAt(i) != '0') {
+                    significantDigits++;
+                }
+            }
+        }
+        if (digits == 0 || significantDigits > MAX_DOUBLE_DIGITS) {
+            return null;
+        }
+        if (i < len && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < len && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            int expDigits = 0;
+            for (; i < len && isDigit(value.charAt(i)); i++) {
+                expDigits++;
+            }
+            if (expDigits == 0) {
+                return null;
+            }
+        }
+        return i == len ? Double.valueOf(value) : null;
+    }
+
+    /**
+     * Returns {@code true} if the number starting at the given position has a leading zero which would be lost by
+     * converting it.
+     */
+    private static boolean hasLeadingZero(String value, int start) {
+        return start + 1 < value.length() && value.charAt(start) == '0' && isDigit(value.charAt(start + 1));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    static Boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value) || "yes".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(value) || "no".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    static LocalDateTime parseDate(String value) {
+        if (value.length() < 10 || !isDigit(value.charAt(0))) {
+            return null;
+        }
+        try {
+            if (value.length() == 10) {
+                return LocalDate.parse(value, DATE_TIME_FMT).atStartOfDay();
+            }
+            return LocalDateTime.parse(value, DATE_TIME_FMT);
+        } catch (DateTimeParseException _ex) {
+            return null;
+        }
+    }
+}
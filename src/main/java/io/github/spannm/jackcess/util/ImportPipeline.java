@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.Column;
+import io.github.spannm.jackcess.Table;
+import io.github.spannm.jackcess.impl.ColumnImpl;
+import io.github.spannm.jackcess.impl.DatabaseImpl;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Receives the (filtered) rows of an import in batches and adds them to the target table.
+ * <p>
+ * With a parallelism of 1 the batches are added on the calling thread. Otherwise the import runs as a pipeline: the
+ * calling thread keeps reading the source while the values of completed batches are converted to their internal
+ * representation by {@code parallelism} converter threads and a single writer thread adds the converted batches to the
+ * table in their original order. The number of batches in flight is bounded, so a slow writer throttles the source.
+ */
+final class ImportPipeline {
+
+    /** max wait before re-checking the pipeline for failures while the queue is full */
+    private static final long                           QUEUE_POLL_MILLIS = 100L;
+    /** empty batch which signals the end of the import to the writer */
+    private static final Future<List<Object[]>>         END_OF_ROWS       = CompletableFuture.completedFuture(List.of());
+
+    private final Table                                 _table;
+    private final int                                   _batchSize;
+    private List<Object[]>                              _batch;
+    private final ExecutorService                       _converters;
+    private final BlockingQueue<Future<List<Object[]>>> _queue;
+    private final Thread                                _writer;
+    private volatile boolean                            _closed;
+    /** set by the writer once it has stopped without failure */
+    private volatile boolean                            _writerDone;
+    private volatile Throwable                          _failure;
+
+    ImportPipeline(Table table, int batchSize, int parallelism) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Invalid batch size " + batchSize);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism " + parallelism);
+        }
+        _table = table;
+        _batchSize = batchSize;
+        _batch = new ArrayList<>(batchSize);
+
+        if (parallelism == 1) {
+            _converters = null;
+            _queue = null;
+            _writer = null;
+            return;
+        }
+
+        _converters = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "jackcess-import-convert");
+            t.setDaemon(true);
+            return t;
+        });
+        _queue = new ArrayBlockingQueue<>(parallelism * 2);
+        _writer = new Thread(this::writeBatches, "jackcess-import-write");
+        _writer.setDaemon(true);
+        _writer.start();
+    }
+
+    /**
+     * Adds the given row to the current batch, handing the batch off once it is full.
+     */
+    void addRow(Object[] row) throws IOException {
+        _batch.add(row);
+        if (_batch.size() == _batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Adds all outstanding rows and waits until they are written.
+     */
+    void finish() throws IOException {
+        if (!_batch.isEmpty()) {
+            flush();
+        }
+        if (_writer == null) {
+            return;
+        }
+        try {
+            enqueue(END_OF_ROWS);
+            _writer.join();
+        } catch (InterruptedException _ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } finally {
+            close();
+        }
+        checkFailure();
+    }
+
+    /**
+     * Stops the pipeline, discarding any rows which are not written yet. Waits for the writer to complete the batch it
+     * is currently adding (the writer is never interrupted, as that would close the file channel of the database).
+     */
+    void close() {
+        if (_writer == null || _closed) {
+            return;
+        }
+        _closed = true;
+        _converters.shutdown();
+        _queue.clear();
+        _queue.offer(END_OF_ROWS);
+        boolean interrupted = false;
+        while (_writer.isAlive()) {
+            try {
+                _writer.join();
+            } catch (InterruptedException _ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush() throws IOException {
+        List<Object[]> batch = _batch;
+        _batch = new ArrayList<>(_batchSize);
+        if (_writer == null) {
+            _table.addRows(batch);
+            return;
+        }
+
+        checkFailure();
+        try {
+            enqueue(_converters.submit(() -> toInternalValues(batch)));
+        } catch (InterruptedException _ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        }
+    }
+
+    private void enqueue(Future<List<Object[]>> batch) throws IOException, InterruptedException {
+        while (!_queue.offer(batch, QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkFailure();
+        }
+    }
+
+    /**
+     * Converts the values of the given rows to the internal representation of the table columns, so that the writer
+     * only needs to write them.
+     */
+    private List<Object[]> toInternalValues(List<Object[]> batch) throws IOException {
+        DatabaseImpl db = (DatabaseImpl) _table.getDatabase();
+        List<? extends Column> columns = _table.getColumns();
+        for (Object[] row : batch) {
+            for (int i = 0; i < row.length && i < columns.size(); i++) {
+                Column col = columns.get(i);
+                if (col.isAutoNumber() || col.isCalculated()) {
+                    continue;
+                }
+                row[i] = ColumnImpl.toInternalValue(col.getType(), row[i], db);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Runs on the writer thread, adds the converted batches to the table in order.
+     */
+    private void writeBatches() {
+        try {
+            while (!_closed) {
+                List<Object[]> batch = _queue.take().get();
+                if (batch.isEmpty() || _closed) {
+                    break;
+                }
+                _table.addRows(batch);
+            }
+            _writerDone = true;
+        } catch (InterruptedException _ex) {
+            Thread.currentThread().interrupt();
+            _failure = _ex;
+        } catch (ExecutionException _ex) {
+            _failure = _ex.getCause();
+        } catch (Throwable _ex) {
+            // includes errors, the caller would otherwise wait for the writer forever
+            _failure = _ex;
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable failure = _failure;
+        if (failure == null) {
+            if (_writer != null && !_writerDone && !_writer.isAlive()) {
+                throw new IOException("Import writer stopped unexpectedly, rows may be missing");
+            }
+            return;
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof UncheckedIOException) {
+            throw new IOException(failure.getMessage(), failure.getCause());
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new IOException(failure);
+    }
+}
@@ -23,6 +23,8 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -33,7 +35,7 @@ import java.util.regex.Pattern;
  * implementing a custom {@link ImportFilter}.
  */
 public class ImportUtil {
-    /** Batch commit size for copying other result sets into this database */
+    /** Default batch commit size for copying other result sets into this database */
     private static final int COPY_TABLE_BATCH_SIZE = 200;
 
     /** the platform line separator */
@@ -131,6 +133,16 @@ public class ImportUtil {
     public static String importResultSet(ResultSet source, Database db,
         String name, ImportFilter filter,
         boolean useExistingTable) throws SQLException, IOException {
+        return importResultSet(source, db, name, filter, useExistingTable, COPY_TABLE_BATCH_SIZE, 1);
+    }
+
+    /**
+     * Copy an existing JDBC ResultSet into a new (or optionally existing) table in this database, see
+     * {@link Builder#withParallelism(int)}.
+     */
+    private static String importResultSet(ResultSet source, Database db,
+        String name, ImportFilter filter,
+        boolean useExistingTable, int batchSize, int parallelism) throws SQLException, IOException {
         ResultSetMetaData md = source.getMetaData();
 
         name = TableBuilder.escapeIdentifier(name);
@@ -140,26 +152,24 @@ public class ImportUtil {
             table = createUniqueTable(db, name, columns, md, filter);
         }
 
-        List<Object[]> rows = new ArrayList<>(COPY_TABLE_BATCH_SIZE);
         int numColumns = md.getColumnCount();
 
-        while (source.next()) {
-            Object[] row = new Object[numColumns];
-            for (int i = 0; i < row.length; i++) {
-                row[i] = source.getObject(i + 1);
-            }
-            row = filter.filterRow(row);
-            if (row == null) {
-                continue;
-            }
-            rows.add(row);
-            if (rows.size() == COPY_TABLE_BATCH_SIZE) {
-                table.addRows(rows);
-                rows.clear();
+        ImportPipeline pipeline = new ImportPipeline(table, batchSize, parallelism);
+        try {
+            while (source.next()) {
+                Object[] row = new Object[numColumns];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = source.getObject(i + 1);
+                }
+                row = filter.filterRow(row);
+                if (row == null) {
+                    continue;
+                }
+                pipeline.addRow(row);
             }
-        }
-        if (!rows.isEmpty()) {
-            table.addRows(rows);
+            pipeline.finish();
+        } finally {
+            pipeline.close();
         }
 
         return table.getName();
@@ -362,23 +372,63 @@ public class ImportUtil {
      */
     public static String importReader(BufferedReader in, Database db, String name, String delim,
         char quote, ImportFilter filter, boolean useExistingTable, boolean header) throws IOException {
+        return importReader(in, db, name, delim, quote, filter, useExistingTable, header, 0, COPY_TABLE_BATCH_SIZE, 1);
+    }
 
-        String line = in.readLine();
-        if (StringUtil.isBlank(line)) {
-            return null;
+    /**
+     * Copy a delimited text file into a new (or optionally exixsting) table in this database, optionally inferring the
+     * types of the columns of a new table from the first data rows.
+     * <p>
+     * Literal delimiters (the common case) are handled by a streaming parser, actual regular expressions fall back to
+     * splitting the input line by line.
+     *
+     * @param typeInferenceRows the number of rows used to infer the column types of a new table, or {@code 0} to
+     *            create text columns only
+     * @param batchSize the number of rows added to the table at once
+     * @param parallelism the number of value conversion threads, see {@link Builder#withParallelism(int)}
+     */
+    private static String importReader(BufferedReader in, Database db, String name, String delim,
+        char quote, ImportFilter filter, boolean useExistingTable, boolean header, int typeInferenceRows,
+        int batchSize, int parallelism) throws IOException {
+
+        String literalDelim = DelimitedTextParser.toLiteralDelimiter(delim);
+        RecordReader reader;
+        if (literalDelim != null) {
+            DelimitedTextParser parser = new DelimitedTextParser(in, literalDelim, quote);
+            reader = numColumns -> parser.nextRecord(numColumns);
+        } else {
+            Pattern delimPat = Pattern.compile(delim);
+            reader = numColumns -> {
+                String line = in.readLine();
+                return line != null ? splitLine(line, delimPat, quote, in, numColumns) : null;
+            };
         }
 
-        Pattern delimPat = Pattern.compile(delim);
+        Object[] firstRecord = reader.nextRecord(0);
+        if (firstRecord == null || isBlank(firstRecord)) {
+            return null;
+        }
 
         name = TableBuilder.escapeIdentifier(name);
         Table table = null;
+        List<Object[]> sampleRows = new ArrayList<>();
+        DataType[] columnTypes = null;
         if (!useExistingTable || (table = db.getTable(name)) == null) {
 
-            List<ColumnBuilder> columns = new ArrayList<>();
-            Object[] columnNames = splitLine(line, delimPat, quote, in, 0);
+            Object[] data;
+            while (sampleRows.size() < typeInferenceRows && (data = reader.nextRecord(firstRecord.length)) != null) {
+                sampleRows.add(data);
+            }
 
-            for (Object columnName : columnNames) {
-                columns.add(new ColumnBuilder((String) columnName, DataType.TEXT).escapeName().withLength((short) DataType.TEXT.getMaxSize()).toColumn());
+            List<ColumnBuilder> columns = new ArrayList<>();
+            columnTypes = new DataType[firstRecord.length];
+            for (int i = 0; i < firstRecord.length; i++) {
+                columnTypes[i] = typeInferenceRows > 0 ? ImportColumnTypes.inferType(sampleRows, i) : DataType.TEXT;
+                ColumnBuilder column = new ColumnBuilder((String) firstRecord[i], columnTypes[i]).escapeName();
+                if (columnTypes[i] == DataType.TEXT) {
+                    column.withLength((short) DataType.TEXT.getMaxSize());
+                }
+                columns.add(column.toColumn());
             }
 
             table = createUniqueTable(db, name, columns, null, filter);
@@ -387,37 +437,62 @@ public class ImportUtil {
             header = true;
         }
 
-        List<Object[]> rows = new ArrayList<>(COPY_TABLE_BATCH_SIZE);
         int numColumns = table.getColumnCount();
 
         if (!header) {
-            // first line is _not_ a header line
-            Object[] data = splitLine(line, delimPat, quote, in, numColumns);
-            data = filter.filterRow(data);
-            if (data != null) {
-                rows.add(data);
-            }
+            // first record is _not_ a header line
+            sampleRows.add(0, firstRecord);
         }
 
-        while ((line = in.readLine()) != null) {
-            Object[] data = splitLine(line, delimPat, quote, in, numColumns);
-            data = filter.filterRow(data);
-            if (data == null) {
-                continue;
-            }
-            rows.add(data);
-            if (rows.size() == COPY_TABLE_BATCH_SIZE) {
-                table.addRows(rows);
-                rows.clear();
+        ImportPipeline pipeline = new ImportPipeline(table, batchSize, parallelism);
+        try {
+            Iterator<Object[]> sampleIter = sampleRows.iterator();
+            Object[] data;
+            while ((data = sampleIter.hasNext() ? sampleIter.next() : reader.nextRecord(numColumns)) != null) {
+                if (data.length < numColumns) {
+                    data = Arrays.copyOf(data, numColumns);
+                }
+                if (columnTypes != null && typeInferenceRows > 0) {
+                    convertValues(data, columnTypes, firstRecord);
+                }
+                data = filter.filterRow(data);
+                if (data == null) {
+                    continue;
+                }
+                pipeline.addRow(data);
             }
-        }
-        if (!rows.isEmpty()) {
-            table.addRows(rows);
+            pipeline.finish();
+        } finally {
+            pipeline.close();
         }
 
         return table.getName();
     }
 
+    /**
+     * Source of the records of delimited text.
+     */
+    @FunctionalInterface
+    private interface RecordReader {
+        /**
+         * Returns the next record (with at least the given number of values), or {@code null} at the end of the input.
+         */
+        Object[] nextRecord(int numColumns) throws IOException;
+    }
+
+    private static boolean isBlank(Object[] record) {
+        return record.length == 0 || record.length == 1 && StringUtil.isBlank((String) record[0]);
+    }
+
+    /**
+     * Converts the text values of the given row to the inferred column types.
+     */
+    private static void convertValues(Object[] row, DataType[] columnTypes, Object[] columnNames) throws IOException {
+        for (int i = 0; i < columnTypes.length && i < row.length; i++) {
+            row[i] = ImportColumnTypes.convert(columnTypes[i], (String) columnNames[i], row[i]);
+        }
+    }
+
     /**
      * Splits the given line using the given delimiter pattern and quote character. May read additional lines for quotes
      * spanning newlines.
@@ -522,6 +597,9 @@ public class ImportUtil {
         private ImportFilter _filter = SimpleImportFilter.INSTANCE;
         private boolean      _useExistingTable;
         private boolean      _header = true;
+        private int          _typeInferenceRows;
+        private int          _batchSize = COPY_TABLE_BATCH_SIZE;
+        private int          _parallelism = 1;
 
         public Builder(Database db) {
             this(db, null);
@@ -567,21 +645,66 @@ public class ImportUtil {
             return this;
         }
 
+        /**
+         * Infers the types of the columns of a new table (integer, double, boolean, date/time or text) from the given
+         * number of rows at the start of the imported text, instead of creating text columns only. Typed columns
+         * result in smaller rows and faster later scans. Numbers with leading zeros are kept as text.
+         * <p>
+         * The column types are fixed once the table is created. A value after the sampled rows which does not match
+         * the inferred type of its column fails the import with an {@link IOException}, leaving the new table with
+         * the rows imported up to that point. The sample should therefore be representative of the whole input.
+         *
+         * @param numRows the number of rows to sample, {@code 0} (the default) disables type inference
+         */
+        public Builder withTypeInference(int numRows) {
+            _typeInferenceRows = numRows;
+            return this;
+        }
+
+        /**
+         * Sets the number of rows which are added to the table at once (default 200).
+         */
+        public Builder withBatchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Invalid batch size " + batchSize);
+            }
+            _batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads converting the imported values to their internal representation (default 1).
+         * <p>
+         * With a parallelism above 1 the import runs as a pipeline: the calling thread reads (and filters) the source
+         * rows, the conversion threads process completed batches and a single writer thread adds them to the table in
+         * their original order. Reading the source, converting values and writing pages then overlap. The
+         * {@link ImportFilter} is always called on the calling thread, in source order. The database must not be used
+         * by other threads during the import.
+         */
+        public Builder withParallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Invalid parallelism " + parallelism);
+            }
+            _parallelism = parallelism;
+            return this;
+        }
+
         /**
          * @see ImportUtil#importResultSet(ResultSet,Database,String,ImportFilter,boolean)
          */
         public String importResultSet(ResultSet source)
             throws SQLException, IOException {
             return ImportUtil.importResultSet(source, _db, _tableName, _filter,
-                _useExistingTable);
+                _useExistingTable, _batchSize, _parallelism);
         }
 
         /**
          * @see ImportUtil#importFile(File,Database,String,String,char,ImportFilter,boolean,boolean)
          */
         public String importFile(File f) throws IOException {
-            return ImportUtil.importFile(f, _db, _tableName, _delim, _quote, _filter,
-                _useExistingTable, _header);
+            try (BufferedReader in = new BufferedReader(new FileReader(f))) {
+                return importReader(in);
+            }
         }
 
         /**
@@ -589,7 +712,7 @@ public class ImportUtil {
          */
         public String importReader(BufferedReader reader) throws IOException {
             return ImportUtil.importReader(reader, _db, _tableName, _delim, _quote,
-                _filter, _useExistingTable, _header);
+                _filter, _useExistingTable, _header, _typeInferenceRows, _batchSize, _parallelism);
         }
     }
 
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.*;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Utility class for exporting tables from an Access database as <a href="https://jsonlines.org/">JSON Lines</a>, i.e.
+ * one JSON object per row and line, keyed by column name. See the {@link Builder} for convenient configuration of the
+ * export functionality. The rows and columns can be customized by an {@link ExportFilter}, as for
+ * {@link ExportUtil}.
+ * <p>
+ * Numbers and booleans are written unquoted, date/time values as ISO-8601 local date/time strings, binary values as
+ * base64 strings and the values of complex columns (attachments, multi-value and version history columns) as nested
+ * arrays. Files are written in UTF-8.
+ */
+public class JsonLinesExportUtil {
+
+    public static final String DEFAULT_FILE_EXT = "jsonl";
+
+    private JsonLinesExportUtil() {
+    }
+
+    /**
+     * Copy all tables into new JSON Lines files <br>
+     * Equivalent to: {@code exportAll(db, dir, "jsonl", SimpleExportFilter.INSTANCE);}
+     *
+     * @param db Database the tables to export belong to
+     * @param dir The directory where the new files will be created
+     *
+     * @see #exportAll(Database,File,String,ExportFilter)
+     * @see Builder
+     */
+    public static void exportAll(Database db, File dir) throws IOException {
+        exportAll(db, dir, DEFAULT_FILE_EXT, SimpleExportFilter.INSTANCE);
+    }
+
+    /**
+     * Copy all tables into new JSON Lines files.
+     *
+     * @param db Database the tables to export belong to
+     * @param dir The directory where the new files will be created
+     * @param ext The file extension of the new files
+     * @param filter valid export filter
+     *
+     * @see #exportFile(Database,String,File,ExportFilter)
+     * @see Builder
+     */
+    public static void exportAll(Database db, File dir, String ext, ExportFilter filter) throws IOException {
+        for (String tableName : db.getTableNames()) {
+            exportFile(db, tableName, new File(dir, tableName + "." + ext), filter);
+        }
+    }
+
+    /**
+     * Copy a table into a new JSON Lines file.
+     *
+     * @param db Database the table to export belongs to
+     * @param tableName Name of the table to export
+     * @param f New file to create
+     * @param filter valid export filter
+     *
+     * @see #exportWriter(Cursor,BufferedWriter,ExportFilter)
+     * @see Builder
+     */
+    public static void exportFile(Database db, String tableName, File f, ExportFilter filter) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(f.toPath(), StandardCharsets.UTF_8)) {
+            exportWriter(db, tableName, out, filter);
+        }
+    }
+
+    /**
+     * Copy a table in this database to the given writer as JSON Lines. <br>
+     * Equivalent to: {@code exportWriter(CursorBuilder.createCursor(db.getTable(tableName)), out, filter);}
+     *
+     * @param db Database the table to export belongs to
+     * @param tableName Name of the table to export
+     * @param out Writer to export to
+     * @param filter valid export filter
+     *
+     * @see #exportWriter(Cursor,BufferedWriter,ExportFilter)
+     * @see Builder
+     */
+    public static void exportWriter(Database db, String tableName, BufferedWriter out, ExportFilter filter)
+        throws IOException {
+        exportWriter(CursorBuilder.createCursor(db.getTable(tableName)), out, filter);
+    }
+
+    /**
+     * Copy the rows of the given cursor to the given writer as JSON Lines.
+     *
+     * @param cursor Cursor to export
+     * @param out Writer to export to
+     * @param filter valid export filter
+     *
+     * @see Builder
+     */
+    public static void exportWriter(Cursor cursor, BufferedWriter out, ExportFilter filter) throws IOException {
+        Table table = cursor.getTable();
+        List<? extends Column> origCols = table.getColumns();
+        List<Column> columns = filter.filterColumns(new ArrayList<>(origCols));
+
+        Collection<String> columnNames = null;
+        if (!origCols.equals(columns)) {
+
+            // columns have been filtered
+            columnNames = new HashSet<>();
+            for (Column c : columns) {
+                columnNames.add(c.getName());
+            }
+        }
+
+        JsonLinesWriter writer = new JsonLinesWriter(out, columns, table.getDatabase().getZoneId());
+        Object[] unfilteredRowData = new Object[columns.size()];
+        Row row;
+        while ((row = cursor.getNextRow(columnNames)) != null) {
+
+            // fill raw row data in array
+            for (int i = 0; i < columns.size(); i++) {
+                unfilteredRowData[i] = columns.get(i).getRowValue(row);
+            }
+
+            // apply filter
+            Object[] rowData = filter.filterRow(unfilteredRowData);
+            if (rowData != null) {
+                writer.writeRow(rowData);
+            }
+        }
+
+        writer.finish();
+    }
+
+    /**
+     * Builder which simplifies configuration of a JSON Lines export operation.
+     */
+    public static class Builder {
+        private Database     mdb;
+        private String       mtableName;
+        private String       mext    = DEFAULT_FILE_EXT;
+        private Cursor       mcursor;
+        private ExportFilter mfilter = SimpleExportFilter.INSTANCE;
+
+        public Builder(Database _db) {
+            this(_db, null);
+        }
+
+        public Builder(Database _db, String _tableName) {
+            mdb = _db;
+            mtableName = _tableName;
+        }
+
+        public Builder(Cursor _cursor) {
+            mcursor = _cursor;
+        }
+
+        public Builder withDatabase(Database _db) {
+            mdb = _db;
+            return this;
+        }
+
+        public Builder withTableName(String _tableName) {
+            mtableName = _tableName;
+            return this;
+        }
+
+        public Builder withCursor(Cursor _cursor) {
+            mcursor = _cursor;
+            return this;
+        }
+
+        public Builder withFilter(ExportFilter _filter) {
+            mfilter = _filter;
+            return this;
+        }
+
+        public Builder withFileNameExtension(String _ext) {
+            mext = _ext;
+            return this;
+        }
+
+        /**
+         * @see JsonLinesExportUtil#exportAll(Database,File,String,ExportFilter)
+         */
+        public void exportAll(File dir) throws IOException {
+            JsonLinesExportUtil.exportAll(mdb, dir, mext, mfilter);
+        }
+
+        /**
+         * @see JsonLinesExportUtil#exportFile(Database,String,File,ExportFilter)
+         */
+        public void exportFile(File f) throws IOException {
+            JsonLinesExportUtil.exportFile(mdb, mtableName, f, mfilter);
+        }
+
+        /**
+         * @see JsonLinesExportUtil#exportWriter(Database,String,BufferedWriter,ExportFilter)
+         * @see JsonLinesExportUtil#exportWriter(Cursor,BufferedWriter,ExportFilter)
+         */
+        public void exportWriter(BufferedWriter writer) throws IOException {
+            if (mcursor != null) {
+                JsonLinesExportUtil.exportWriter(mcursor, writer, mfilter);
+            } else {
+                JsonLinesExportUtil.exportWriter(mdb, mtableName, writer, mfilter);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.Column;
+import io.github.spannm.jackcess.complex.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the (filtered) rows of an export as JSON Lines (one JSON object per line), used by
+ * {@link JsonLinesExportUtil}.
+ * <p>
+ * The writer for each column is chosen once based on its {@link io.github.spannm.jackcess.DataType}, values are
+ * appended to a reusable char buffer which is handed to the underlying writer in large chunks. Numbers and booleans
+ * are written unquoted, date/time values as ISO-8601 local date/time, binary values base64 encoded and the values of
+ * complex columns (attachments, multi-value and version history columns) as nested arrays. Values which do not match
+ * the type of their column (e.g. replaced by an {@link ExportFilter}) are written based on their actual type.
+ */
+final class JsonLinesWriter {
+
+    /** number of buffered chars which are written at once */
+    private static final int               FLUSH_THRESHOLD = 8192;
+    private static final char[]            HEX_DIGITS      = "0123456789abcdef".toCharArray();
+
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(JsonLinesWriter writer, Object value) throws IOException;
+    }
+
+    private final Writer                   _out;
+    private final ZoneId                   _zoneId;
+    /** quoted and escaped column names, each followed by a colon */
+    private final String[]                 _keys;
+    private final ValueWriter[]            _valueWriters;
+    private final StringBuilder            _buf            = new StringBuilder(FLUSH_THRESHOLD * 2);
+    private char[]                         _chars          = new char[FLUSH_THRESHOLD * 2];
+    private final Base64.Encoder           _base64         = Base64.getEncoder();
+
+    JsonLinesWriter(Writer out, List<? extends Column> columns, ZoneId zoneId) {
+        _out = out;
+        _zoneId = zoneId;
+        _keys = new String[columns.size()];
+        _valueWriters = new ValueWriter[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            Column col = columns.get(i);
+            appendString(col.getName());
+            _keys[i] = _buf.append(':').toString();
+            _buf.setLength(0);
+            _valueWriters[i] = getValueWriter(col);
+        }
+    }
+
+    private static ValueWriter getValueWriter(Column col) {
+        switch (col.getType()) {
+            case BOOLEAN:
+                return JsonLinesWriter::writeBoolean;
+            case BYTE:
+            case INT:
+            case LONG:
+            case BIG_INT:
+            case MONEY:
+            case NUMERIC:
+            case FLOAT:
+            case DOUBLE:
+                return JsonLinesWriter::writeNumber;
+            case SHORT_DATE_TIME:
+            case EXT_DATE_TIME:
+                return JsonLinesWriter::writeDateTime;
+            case BINARY:
+            case OLE:
+            case UNKNOWN_0D:
+            case UNKNOWN_11:
+            case UNSUPPORTED_FIXEDLEN:
+            case UNSUPPORTED_VARLEN:
+                return JsonLinesWriter::writeBinary;
+            case COMPLEX_TYPE:
+                return JsonLinesWriter::writeComplex;
+            default:
+                return JsonLinesWriter::writeValue;
+        }
+    }
+
+    /**
+     * Writes the given row data (in the order of the columns given at construction) as one line.
+     */
+    void writeRow(Object[] rowData) throws IOException {
+        _buf.append('{');
+        for (int i = 0; i < _keys.length; i++) {
+            if (i > 0) {
+                _buf.append(',');
+            }
+            _buf.append(_keys[i]);
+            _valueWriters[i].write(this, rowData[i]);
+        }
+        _buf.append('}').append('\n');
+        if (_buf.length() >= FLUSH_THRESHOLD) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Writes all buffered rows and flushes the underlying writer.
+     */
+    void finish() throws IOException {
+        flushBuffer();
+        _out.flush();
+    }
+
+    private void flushBuffer() throws IOException {
+        int len = _buf.length();
+        if (_chars.length < len) {
+            _chars = new char[Math.max(len, _chars.length * 2)];
+        }
+        _buf.getChars(0, len, _chars, 0);
+        _out.write(_chars, 0, len);
+        _buf.setLength(0);
+    }
+
+    private void writeBoolean(Object value) throws IOException {
+        if (value instanceof Boolean) {
+            _buf.append(((Boolean) value).booleanValue());
+        } else {
+            writeValue(value);
+        }
+    }
+
+    private void writeNumber(Object value) throws IOException {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            _buf.append(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            _buf.append(((Long) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                // not representable as json number
+                appendString(value.toString());
+            } else {
+                _buf.append(value);
+            }
+        } else if (value instanceof BigDecimal) {
+            _buf.append(value);
+        } else {
+            writeValue(value);
+        }
+    }
+
+    private void writeDateTime(Object value) throws IOException {
+        if (value instanceof LocalDateTime) {
+            _buf.append('"');
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo((LocalDateTime) value, _buf);
+            _buf.append('"');
+        } else if (value instanceof Date) {
+            writeDateTime(LocalDateTime.ofInstant(((Date) value).toInstant(), _zoneId));
+        } else {
+            writeValue(value);
+        }
+    }
+
+    private void writeBinary(Object value) throws IOException {
+        if (value instanceof byte[]) {
+            _buf.append('"');
+            for (byte b : _base64.encode((byte[]) value)) {
+                _buf.append((char) b);
+            }
+            _buf.append('"');
+        } else {
+            writeValue(value);
+        }
+    }
+
+    private void writeComplex(Object value) throws IOException {
+        if (!(value instanceof ComplexValueForeignKey)) {
+            writeValue(value);
+            return;
+        }
+
+        _buf.append('[');
+        boolean first = true;
+        for (ComplexValue cv : ((ComplexValueForeignKey) value).getValues()) {
+            if (!first) {
+                _buf.append(',');
+            }
+            first = false;
+
+            if (cv instanceof Attachment) {
+                Attachment att = (Attachment) cv;
+                _buf.append("{\"fileName\":");
+                writeValue(att.getFileName());
+                _buf.append(",\"fileType\":");
+                writeValue(att.getFileType());
+                _buf.append(",\"fileUrl\":");
+                writeValue(att.getFileUrl());
+                _buf.append(",\"fileTimeStamp\":");
+                writeValue(att.getFileTimeStampObject());
+                _buf.append(",\"fileFlags\":");
+                writeValue(att.getFileFlags());
+                _buf.append(",\"fileData\":");
+                writeValue(att.getFileData());
+                _buf.append('}');
+            } else if (cv instanceof Version) {
+                Version ver = (Version) cv;
+                _buf.append("{\"value\":");
+                writeValue(ver.getValue());
+                _buf.append(",\"modifiedDate\":");
+                writeValue(ver.getModifiedDateObject());
+                _buf.append('}');
+            } else if (cv instanceof SingleValue) {
+                writeValue(((SingleValue) cv).get());
+            } else if (cv instanceof UnsupportedValue) {
+                _buf.append('{');
+                boolean firstEntry = true;
+                for (Map.Entry<String, Object> e : ((UnsupportedValue) cv).getValues().entrySet()) {
+                    if (!firstEntry) {
+                        _buf.append(',');
+                    }
+                    firstEntry = false;
+                    appendString(e.getKey());
+                    _buf.append(':');
+                    writeValue(e.getValue());
+                }
+                _buf.append('}');
+            } else {
+                writeValue(cv);
+            }
+        }
+        _buf.append(']');
+    }
+
+    /**
+     * Writes the given value based on its actual type.
+     */
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            _buf.append("null");
+        } else if (value instanceof CharSequence) {
+            appendString((CharSequence) value);
+        } else if (value instanceof Boolean) {
+            writeBoolean(value);
+        } else if (value instanceof Number) {
+            if (value instanceof Integer || value instanceof Short || value instanceof Byte || value instanceof Long
+                || value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
+                writeNumber(value);
+            } else {
+                appendString(value.toString());
+            }
+        } else if (value instanceof LocalDateTime || value instanceof Date) {
+            writeDateTime(value);
+        } else if (value instanceof byte[]) {
+            writeBinary(value);
+        } else if (value instanceof ComplexValueForeignKey) {
+            writeComplex(value);
+        } else {
+            appendString(value.toString());
+        }
+    }
+
+    /**
+     * Appends the given string as quoted and escaped json string.
+     */
+    private void appendString(CharSequence str) {
+        _buf.append('"');
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            switch (c) {
+                case '"':
+                    _buf.append("\\\"");
+                    break;
+                case '\\':
+                    _buf.append("\\\\");
+                    break;
+                case '\n':
+                    _buf.append("\\n");
+                    break;
+                case '\r':
+                    _buf.append("\\r");
+                    break;
+                case '\t':
+                    _buf.append("\\t");
+                    break;
+                case '\b':
+                    _buf.append("\\b");
+                    break;
+                case '\f':
+                    _buf.append("\\f");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        _buf.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        _buf.append(c);
+                    }
+                    break;
+            }
+        }
+        _buf.append('"');
+    }
+}
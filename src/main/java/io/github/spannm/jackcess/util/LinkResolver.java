@@ -43,4 +43,12 @@ public interface LinkResolver {
      * Returns the appropriate Database instance for the linkeeFileName from the given linkerDb.
      */
     Database resolveLinkedDatabase(Database linkerDb, String linkeeFileName) throws IOException;
+
+    /**
+     * Called when the given linkerDb is closed for each linked database previously returned by
+     * {@link #resolveLinkedDatabase}. The default implementation closes the linkeeDb.
+     */
+    default void releaseLinkedDatabase(Database linkerDb, Database linkeeDb) throws IOException {
+        linkeeDb.close();
+    }
 }
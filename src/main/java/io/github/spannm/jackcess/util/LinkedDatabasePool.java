@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.Database;
+import io.github.spannm.jackcess.DatabaseBuilder;
+import io.github.spannm.jackcess.impl.DatabaseImpl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * LinkResolver which shares read-only linked databases between all databases using the same pool, e.g. many read-only
+ * front-end databases linking to the same back-end database. Each linked file is opened only once and the linked
+ * database, including its page and table caches, is shared by all read-only linker databases.
+ * <p>
+ * Each read-only linker gets its own thread-safe view of the shared linked database, so that linkers may be used by
+ * different threads. The same restrictions as for the views of a {@link SharedDatabaseRegistry} apply, e.g. the linked
+ * tables cannot be modified and their default cursor cannot be used, iterating a linked table uses a new cursor.
+ * <p>
+ * Only the linked databases of read-only linkers are shared. A writable linker may modify its linked tables, so it
+ * gets its own writable linked database, opened and closed as with {@link LinkResolver#DEFAULT}.
+ * <p>
+ * Shared linked databases are reference counted. Once the last linker database using a linked database is closed,
+ * the linked database is kept open for the configured idle timeout, so that it can be reused by databases opened
+ * later on. Idle linked databases are closed on subsequent use of the pool once their timeout has expired, by
+ * {@link #evictIdle} or when the pool is closed.
+ * <p>
+ * Example usage:
+ *
+ * <pre>
+ * LinkedDatabasePool pool = new LinkedDatabasePool(Duration.ofMinutes(1));
+ * Database db = new DatabaseBuilder(new File("frontend.mdb"))
+ *     .withReadOnly(true)
+ *     .withLinkResolver(pool)
+ *     .open();
+ * </pre>
+ * <p>
+ * The pool is thread-safe. Linked databases are opened without holding the pool lock, so that opening a large file
+ * does not block the linkers of other files.
+ */
+public class LinkedDatabasePool implements LinkResolver, Closeable {
+    private static final Logger                  LOGGER               = System.getLogger(LinkedDatabasePool.class.getName());
+
+    /** by default, unused linked databases are kept open for 5 minutes */
+    public static final Duration                 DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+    private final long                           _idleTimeoutNanos;
+    private final Map<Path, PooledDatabase>      _pooledDbs           = new HashMap<>();
+    private final Map<Database, PooledDatabase>  _pooledDbsByDb       = new IdentityHashMap<>();
+    /** the guarded views handed out to read-only linkers */
+    private final Map<Database, GuardedDatabase> _views               = new IdentityHashMap<>();
+
+    /**
+     * Creates a LinkedDatabasePool with the {@link #DEFAULT_IDLE_TIMEOUT}.
+     */
+    public LinkedDatabasePool() {
+        this(DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Creates a LinkedDatabasePool with the given idle timeout.
+     *
+     * @param idleTimeout how long unused linked databases are kept open, {@link Duration#ZERO} to close them as soon
+     *            as they are no longer used
+     */
+    public LinkedDatabasePool(Duration idleTimeout) {
+        if (idleTimeout == null || idleTimeout.isNegative()) {
+            throw new IllegalArgumentException("Invalid idle timeout " + idleTimeout);
+        }
+        _idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * Returns a guarded view of the shared read-only database for the linkeeFileName if the linker is read-only,
+     * opening the database if it is not pooled yet. For a writable linker, a new writable database is opened which is
+     * not pooled.
+     */
+    @Override
+    public Database resolveLinkedDatabase(Database linkerDb, String linkeeFileName) throws IOException {
+        Path file = Paths.get(linkeeFileName).toAbsolutePath().normalize();
+        if (!(linkerDb instanceof DatabaseImpl && ((DatabaseImpl) linkerDb).isReadOnly())) {
+            return openDatabase(file, false);
+        }
+
+        synchronized (this) {
+            evictIdleQuietly(System.nanoTime());
+
+            PooledDatabase pooledDb = _pooledDbs.get(file);
+            if (pooledDb != null) {
+                return newView(pooledDb);
+            }
+        }
+
+        Database db = openDatabase(file, true);
+        Database unusedDb = null;
+        Database view;
+        synchronized (this) {
+            PooledDatabase pooledDb = _pooledDbs.get(file);
+            if (pooledDb != null) {
+                // opened by another thread in the meantime
+                unusedDb = db;
+            } else {
+                pooledDb = new PooledDatabase(file, db);
+                _pooledDbs.put(file, pooledDb);
+                _pooledDbsByDb.put(db, pooledDb);
+            }
+            view = newView(pooledDb);
+        }
+        if (unusedDb != null) {
+            unusedDb.close();
+        }
+        return view;
+    }
+
+    private Database newView(PooledDatabase pooledDb) {
+        pooledDb._refCount++;
+        GuardedDatabase guardedDb = new GuardedDatabase(pooledDb._db, pooledDb._file.toString()) {
+            @Override
+            protected void release() {
+                LinkedDatabasePool.this.release(pooledDb, this);
+            }
+        };
+        Database view = guardedDb.getView();
+        _views.put(view, guardedDb);
+        return view;
+    }
+
+    /**
+     * Releases the given view of a shared database. The shared database is closed once it is no longer used and its
+     * idle timeout has expired. Databases which are not pooled by this pool are closed immediately. Failures closing
+     * other idle databases are logged, but not thrown to the releasing linker.
+     */
+    @Override
+    public void releaseLinkedDatabase(Database linkerDb, Database linkeeDb) throws IOException {
+        GuardedDatabase guardedDb;
+        synchronized (this) {
+            guardedDb = _views.get(linkeeDb);
+        }
+        if (guardedDb != null) {
+            guardedDb.close();
+        } else {
+            linkeeDb.close();
+        }
+    }
+
+    private synchronized void release(PooledDatabase pooledDb, GuardedDatabase guardedDb) {
+        _views.values().remove(guardedDb);
+        long now = System.nanoTime();
+        if (pooledDb._refCount > 0 && --pooledDb._refCount == 0) {
+            pooledDb._idleSince = now;
+        }
+        evictIdleQuietly(now);
+    }
+
+    /**
+     * Opens the database for the given linked file. May be overridden to customize how linked databases are opened.
+     */
+    protected Database openDatabase(Path linkeeFile, boolean readOnly) throws IOException {
+        return new DatabaseBuilder()
+            .withPath(linkeeFile)
+            .withReadOnly(readOnly).open();
+    }
+
+    /**
+     * @return {@code true} if the given database, or the database of the given view, is currently held by this pool
+     */
+    public synchronized boolean isPooled(Database db) {
+        return _pooledDbsByDb.containsKey(db) || _views.containsKey(db);
+    }
+
+    /**
+     * @return the number of linked databases currently held open by this pool (used or idle)
+     */
+    public synchronized int size() {
+        return _pooledDbs.size();
+    }
+
+    /**
+     * Closes all unused linked databases whose idle timeout has expired.
+     */
+    public synchronized void evictIdle() throws IOException {
+        IOException error = evictIdle(System.nanoTime());
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void evictIdleQuietly(long now) {
+        IOException error = evictIdle(now);
+        if (error != null) {
+            LOGGER.log(Level.WARNING, "Could not close idle linked database", error);
+        }
+    }
+
+    /**
+     * @return the first failure closing an expired database (with any further ones suppressed), {@code null} if all
+     *         could be closed
+     */
+    private IOException evictIdle(long now) {
+        IOException error = null;
+        for (Iterator<PooledDatabase> iter = _pooledDbs.values().iterator(); iter.hasNext();) {
+            PooledDatabase pooledDb = iter.next();
+            if (pooledDb._refCount == 0 && now - pooledDb._idleSince >= _idleTimeoutNanos) {
+                iter.remove();
+                error = closeDatabase(pooledDb, error);
+            }
+        }
+        return error;
+    }
+
+    /**
+     * Closes all linked databases held by this pool, including the ones still in use.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        IOException error = null;
+        for (PooledDatabase pooledDb : _pooledDbs.values()) {
+            error = closeDatabase(pooledDb, error);
+        }
+        _pooledDbs.clear();
+        _views.clear();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private IOException closeDatabase(PooledDatabase pooledDb, IOException error) {
+        _pooledDbsByDb.remove(pooledDb._db);
+        try {
+            // wait for any call on a view of the database still in progress
+            synchronized (pooledDb._db) {
+                pooledDb._db.close();
+            }
+        } catch (IOException ex) {
+            if (error == null) {
+                return ex;
+            }
+            error.addSuppressed(ex);
+        }
+        return error;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return ToStringBuilder.valueBuilder(this)
+            .append("pooledDbs", _pooledDbs.values())
+            .toString();
+    }
+
+    private static final class PooledDatabase {
+        private final Path     _file;
+        private final Database _db;
+        private int            _refCount;
+        private long           _idleSince;
+
+        private PooledDatabase(Path file, Database db) {
+            _file = file;
+            _db = db;
+        }
+
+        @Override
+        public String toString() {
+            return _file + "[refCount=" + _refCount + "]";
+        }
+    }
+}
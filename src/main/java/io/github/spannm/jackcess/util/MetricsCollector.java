@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.DatabaseBuilder;
+
+/**
+ * Receives I/O and engine events of a database, e.g. to find out whether a workload is I/O or CPU bound. A collector
+ * is registered via {@link DatabaseBuilder#withMetricsCollector} and is called synchronously on the thread performing
+ * the operation, so implementations should be cheap, thread-safe if the database is shared, and should not allocate.
+ * <p>
+ * All methods do nothing by default, see {@link SimpleMetricsCollector} for an in-memory implementation.
+ */
+public interface MetricsCollector {
+
+    /** collector which ignores all events, used if no collector is configured */
+    MetricsCollector NONE = new MetricsCollector() {
+    };
+
+    /**
+     * Called after a page has been read from the file.
+     *
+     * @param pageType the type of the (decoded) page, one of the codes of
+     *        {@link io.github.spannm.jackcess.impl.PageTypes}
+     * @param numBytes the number of bytes read
+     */
+    default void pageRead(byte pageType, int numBytes) {
+    }
+
+    /**
+     * Called after a page (or part of a page) has been written to the file.
+     *
+     * @param pageType the type of the page, one of the codes of {@link io.github.spannm.jackcess.impl.PageTypes}
+     * @param numBytes the number of bytes written
+     */
+    default void pageWritten(byte pageType, int numBytes) {
+    }
+
+    /**
+     * Called after a page has been decoded by the codec handler of the database.
+     */
+    default void pageDecoded(long nanos) {
+    }
+
+    /**
+     * Called after a page has been encoded by the codec handler of the database.
+     */
+    default void pageEncoded(long nanos) {
+    }
+
+    /**
+     * Called when an index page has been found in the page cache of its index.
+     */
+    default void indexPageCacheHit() {
+    }
+
+    /**
+     * Called when an index page had to be read because it was not in the page cache of its index.
+     */
+    default void indexPageCacheMiss() {
+    }
+
+    /**
+     * Called when a table has been found in the table cache of the database.
+     */
+    default void tableCacheHit() {
+    }
+
+    /**
+     * Called when a table definition had to be read because the table was not in the table cache of the database.
+     */
+    default void tableCacheMiss() {
+    }
+
+    /**
+     * Called when an index page has been split because it was full.
+     */
+    default void indexPageSplit() {
+    }
+
+    /**
+     * Called after a row of the given table has been decoded.
+     */
+    default void rowDecoded(String tableName) {
+    }
+
+    /**
+     * Called after a page of a long value (memo/OLE) stored outside of its row has been read.
+     */
+    default void longValuePageRead() {
+    }
+
+    /**
+     * Called after the database file has been flushed to disk.
+     */
+    default void flushed(long nanos) {
+    }
+}
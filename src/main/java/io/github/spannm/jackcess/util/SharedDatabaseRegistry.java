@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+/**
+ * Registry of read-only databases shared by all users of the same file, e.g. several components of an application
+ * reading the same database. Each file is opened only once (per charset and time zone) and all users get a handle to
+ * the same underlying database, sharing its file channel, system catalog, table cache and index caches.
+ * <p>
+ * Shared databases are reference counted: a database is closed once the last handle to it is closed. When a handle is
+ * requested for a file whose size or last modified time changed since it was opened, a new database is opened for the
+ * file. Existing handles keep using the old database, which is closed with its last handle.
+ * <p>
+ * Example usage:
+ *
+ * <pre>
+ * try (SharedDatabaseRegistry.Handle handle = SharedDatabaseRegistry.getDefault().open(path)) {
+ *     Database db = handle.getDatabase();
+ *     ...
+ * }
+ * </pre>
+ * <p>
+ * The registry and its handles are thread-safe. A handle does not hand out the shared database itself, but a guarded
+ * view of it:
+ * <ul>
+ * <li>all calls on the view, and on the tables, cursors, iterators etc. obtained from it, are serialized on the shared
+ * database, so that it may be used by several threads</li>
+ * <li>closing the view closes its handle, the shared database itself is only closed with its last handle</li>
+ * <li>the shared configuration and metadata cannot be changed, i.e. setters (such as
+ * {@link Database#setDateTimeType}), {@link Database#createLinkedTable} and modifications of property maps throw an
+ * {@link UnsupportedOperationException}</li>
+ * <li>the default cursor of a table would be shared by all users, so {@link Table#getDefaultCursor},
+ * {@link Table#getNextRow} and {@link Table#reset} throw an {@link UnsupportedOperationException}, while iterating a
+ * table uses a new cursor</li>
+ * <li>rows and other detached values, such as row ids and savepoints, are returned as they are. Complex column values
+ * are not guarded and must not be used concurrently</li>
+ * </ul>
+ * Objects obtained from a view must only be passed back to methods of the view (and of the objects and builders
+ * obtained from it), not to static utility methods such as {@link CursorBuilder#findRow(Table, Map)}.
+ */
+public class SharedDatabaseRegistry {
+    private static final SharedDatabaseRegistry    DEFAULT                = new SharedDatabaseRegistry();
+
+    private final Map<RegistryKey, SharedDatabase> _sharedDbs             = new HashMap<>();
+
+    /**
+     * @return the process-wide default registry
+     */
+    public static SharedDatabaseRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns a handle to the shared read-only database for the given file, using the default charset and time zone.
+     *
+     * @see #open(Path, Charset, TimeZone)
+     */
+    public Handle open(Path file) throws IOException {
+        return open(file, null, null);
+    }
+
+    /**
+     * Returns a handle to the shared read-only database for the given file, charset and time zone, opening the
+     * database if it is not shared yet or if the file has been modified since it was opened. The database is opened
+     * without holding the registry lock, so that opening a large file does not block the users of other files.
+     *
+     * @param file the database file
+     * @param charset Charset to use, if {@code null}, uses default
+     * @param timeZone TimeZone to use, if {@code null}, uses default
+     * @return a new handle, which must be closed once the database is no longer used
+     */
+    public Handle open(Path file, Charset charset, TimeZone timeZone) throws IOException {
+        RegistryKey key = new RegistryKey(file.toAbsolutePath().normalize(), charset, timeZone);
+        FileTime lastModified = Files.getLastModifiedTime(key._file);
+        long size = Files.size(key._file);
+
+        synchronized (this) {
+            SharedDatabase sharedDb = _sharedDbs.get(key);
+            if (sharedDb != null && sharedDb.isCurrent(lastModified, size)) {
+                return new Handle(sharedDb);
+            }
+        }
+
+        Database db = openDatabase(key._file, charset, timeZone);
+        Database unusedDb = null;
+        Handle handle;
+        synchronized (this) {
+            SharedDatabase sharedDb = _sharedDbs.get(key);
+            if (sharedDb != null && sharedDb.isCurrent(lastModified, size)) {
+                // opened by another thread in the meantime
+                unusedDb = db;
+            } else {
+                // if the file has changed, the current users keep the old database until they are done
+                sharedDb = new SharedDatabase(key, db, lastModified, size);
+                _sharedDbs.put(key, sharedDb);
+            }
+            handle = new Handle(sharedDb);
+        }
+        if (unusedDb != null) {
+            unusedDb.close();
+        }
+        return handle;
+    }
+
+    /**
+     * Opens the shared read-only database for the given file. May be overridden to customize how shared databases are
+     * opened.
+     */
+    protected Database openDatabase(Path file, Charset charset, TimeZone timeZone) throws IOException {
+        return new DatabaseBuilder()
+            .withPath(file)
+            .withReadOnly(true)
+            .withCharset(charset)
+            .withTimeZone(timeZone).open();
+    }
+
+    /**
+     * @return the number of databases currently shared by this registry
+     */
+    public synchronized int size() {
+        return _sharedDbs.size();
+    }
+
+    private void release(SharedDatabase sharedDb) throws IOException {
+        synchronized (this) {
+            if (--sharedDb._refCount > 0) {
+                return;
+            }
+            _sharedDbs.remove(sharedDb._key, sharedDb);
+        }
+        synchronized (sharedDb._db) {
+            sharedDb._db.close();
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return ToStringBuilder.valueBuilder(this)
+            .append("sharedDbs", _sharedDbs.values())
+            .toString();
+    }
+
+    /**
+     * Handle to a shared database. Closing the handle releases the database, neither the handle nor the objects
+     * obtained from its database must be used afterwards.
+     */
+    public final class Handle implements Closeable {
+        private final SharedDatabase  _sharedDb;
+        private final GuardedDatabase _guardedDb;
+
+        private Handle(SharedDatabase sharedDb) {
+            _sharedDb = sharedDb;
+            _sharedDb._refCount++;
+            _guardedDb = new GuardedDatabase(sharedDb._db, sharedDb._key.toString()) {
+                @Override
+                protected void release() throws IOException {
+                    SharedDatabaseRegistry.this.release(_sharedDb);
+                }
+            };
+        }
+
+        /**
+         * @return a guarded view of the shared database, see {@link SharedDatabaseRegistry}
+         */
+        public Database getDatabase() {
+            return _guardedDb.getView();
+        }
+
+        @Override
+        public void close() throws IOException {
+            _guardedDb.close();
+        }
+    }
+
+    private static final class RegistryKey {
+        private final Path     _file;
+        private final Charset  _charset;
+        private final TimeZone _timeZone;
+
+        private RegistryKey(Path file, Charset charset, TimeZone timeZone) {
+            _file = file;
+            _charset = charset;
+            _timeZone = timeZone;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(_file, _charset, _timeZone);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RegistryKey)) {
+                return false;
+            }
+            RegistryKey other = (RegistryKey) o;
+            return _file.equals(other._file) && Objects.equals(_charset, other._charset)
+                && Objects.equals(_timeZone, other._timeZone);
+        }
+
+        @Override
+        public String toString() {
+            return _file.toString();
+        }
+    }
+
+    private static final class SharedDatabase {
+        private final RegistryKey _key;
+        private final Database    _db;
+        private final FileTime    _lastModified;
+        private final long        _size;
+        private int               _refCount;
+
+        private SharedDatabase(RegistryKey key, Database db, FileTime lastModified, long size) {
+            _key = key;
+            _db = db;
+            _lastModified = lastModified;
+            _size = size;
+        }
+
+        private boolean isCurrent(FileTime lastModified, long size) {
+            return _size == size && _lastModified.equals(lastModified);
+        }
+
+        @Override
+        public String toString() {
+            return _key + "[refCount=" + _refCount + "]";
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe {@link MetricsCollector} which keeps all counters in memory. A consistent view of the counters can be
+ * taken at any time using {@link #snapshot}; the difference between two snapshots gives the activity in between.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * SimpleMetricsCollector metrics = new SimpleMetricsCollector();
+ * try (Database db = new DatabaseBuilder().withFile(file).withMetricsCollector(metrics).open()) {
+ *     ...
+ * }
+ * System.out.println(metrics.snapshot());
+ * </pre>
+ */
+public class SimpleMetricsCollector implements MetricsCollector {
+
+    private static final int                        NUM_PAGE_TYPES  = 256;
+
+    private final AtomicLongArray                   _pageReads      = new AtomicLongArray(NUM_PAGE_TYPES);
+    private final AtomicLongArray                   _pageWrites     = new AtomicLongArray(NUM_PAGE_TYPES);
+    private final AtomicLong                        _bytesRead      = new AtomicLong();
+    private final AtomicLong                        _bytesWritten   = new AtomicLong();
+    private final AtomicLong                        _decodeNanos    = new AtomicLong();
+    private final AtomicLong                        _encodeNanos    = new AtomicLong();
+    private final AtomicLong                        _indexCacheHits = new AtomicLong();
+    private final AtomicLong                        _indexCacheMiss = new AtomicLong();
+    private final AtomicLong                        _indexSplits    = new AtomicLong();
+    private final AtomicLong                        _tableCacheHits = new AtomicLong();
+    private final AtomicLong                        _tableCacheMiss = new AtomicLong();
+    private final ConcurrentMap<String, AtomicLong> _rowsDecoded    = new ConcurrentHashMap<>();
+    private final AtomicLong                        _longValuePages = new AtomicLong();
+    private final AtomicLong                        _flushes        = new AtomicLong();
+    private final AtomicLong                        _flushNanos     = new AtomicLong();
+
+    @Override
+    public void pageRead(byte pageType, int numBytes) {
+        _pageReads.incrementAndGet(pageType & 0xFF);
+        _bytesRead.addAndGet(numBytes);
+    }
+
+    @Override
+    public void pageWritten(byte pageType, int numBytes) {
+        _pageWrites.incrementAndGet(pageType & 0xFF);
+        _bytesWritten.addAndGet(numBytes);
+    }
+
+    @Override
+    public void pageDecoded(long nanos) {
+        _decodeNanos.addAndGet(nanos);
+    }
+
+    @Override
+    public void pageEncoded(long nanos) {
+        _encodeNanos.addAndGet(nanos);
+    }
+
+    @Override
+    public void indexPageCacheHit() {
+        _indexCacheHits.incrementAndGet();
+    }
+
+    @Override
+    public void indexPageCacheMiss() {
+        _indexCacheMiss.incrementAndGet();
+    }
+
+    @Override
+    public void tableCacheHit() {
+        _tableCacheHits.incrementAndGet();
+    }
+
+    @Override
+    public void tableCacheMiss() {
+        _tableCacheMiss.incrementAndGet();
+    }
+
+    @Override
+    public void indexPageSplit() {
+        _indexSplits.incrementAndGet();
+    }
+
+    @Override
+    public void rowDecoded(String tableName) {
+        _rowsDecoded.computeIfAbsent(tableName, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public void longValuePageRead() {
+        _longValuePages.incrementAndGet();
+    }
+
+    @Override
+    public void flushed(long nanos) {
+        _flushes.incrementAndGet();
+        _flushNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Returns an immutable copy of the current counters.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public void reset() {
+        for (int i = 0; i < NUM_PAGE_TYPES; i++) {
+            _pageReads.set(i, 0L);
+            _pageWrites.set(i, 0L);
+        }
+        for (AtomicLong counter : new AtomicLong[] {_bytesRead, _bytesWritten, _decodeNanos, _encodeNanos,
+            _indexCacheHits, _indexCacheMiss, _indexSplits, _tableCacheHits, _tableCacheMiss, _longValuePages, _flushes, _flushNanos}) {
+            counter.set(0L);
+        }
+        _rowsDecoded.clear();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * Immutable view of the counters of a {@link SimpleMetricsCollector} at a point in time.
+     */
+    public static final class Snapshot {
+        private final long[]            _pageReads  = new long[NUM_PAGE_TYPES];
+        private final long[]            _pageWrites = new long[NUM_PAGE_TYPES];
+        private final long              _bytesRead;
+        private final long              _bytesWritten;
+        private final long              _decodeNanos;
+        private final long              _encodeNanos;
+        private final long              _indexPageCacheHits;
+        private final long              _indexPageCacheMisses;
+        private final long              _indexPageSplits;
+        private final long              _tableCacheHits;
+        private final long              _tableCacheMisses;
+        private final Map<String, Long> _rowsDecoded;
+        private final long              _longValuePagesRead;
+        private final long              _flushes;
+        private final long              _flushNanos;
+
+        private Snapshot(SimpleMetricsCollector metrics) {
+            for (int i = 0; i < NUM_PAGE_TYPES; i++) {
+                _pageReads[i] = metrics._pageReads.get(i);
+                _pageWrites[i] = metrics._pageWrites.get(i);
+            }
+            _bytesRead = metrics._bytesRead.get();
+            _bytesWritten = metrics._bytesWritten.get();
+            _decodeNanos = metrics._decodeNanos.get();
+            _encodeNanos = metrics._encodeNanos.get();
+            _indexPageCacheHits = metrics._indexCacheHits.get();
+            _indexPageCacheMisses = metrics._indexCacheMiss.get();
+            _indexPageSplits = metrics._indexSplits.get();
+            _tableCacheHits = metrics._tableCacheHits.get();
+            _tableCacheMisses = metrics._tableCacheMiss.get();
+            Map<String, Long> rowsDecoded = new TreeMap<>();
+            metrics._rowsDecoded.forEach((table, count) -> rowsDecoded.put(table, count.get()));
+            _rowsDecoded = Collections.unmodifiableMap(rowsDecoded);
+            _longValuePagesRead = metrics._longValuePages.get();
+            _flushes = metrics._flushes.get();
+            _flushNanos = metrics._flushNanos.get();
+        }
+
+        /**
+         * Returns the number of pages read of the given type (see {@link io.github.spannm.jackcess.impl.PageTypes}).
+         */
+        public long getPageReads(byte pageType) {
+            return _pageReads[pageType & 0xFF];
+        }
+
+        public long getPageReads() {
+            return sum(_pageReads);
+        }
+
+        /**
+         * Returns the number of pages written of the given type (see
+         * {@link io.github.spannm.jackcess.impl.PageTypes}).
+         */
+        public long getPageWrites(byte pageType) {
+            return _pageWrites[pageType & 0xFF];
+        }
+
+        public long getPageWrites() {
+            return sum(_pageWrites);
+        }
+
+        public long getBytesRead() {
+            return _bytesRead;
+        }
+
+        public long getBytesWritten() {
+            return _bytesWritten;
+        }
+
+        public long getDecodeNanos() {
+            return _decodeNanos;
+        }
+
+        public long getEncodeNanos() {
+            return _encodeNanos;
+        }
+
+        public long getIndexPageCacheHits() {
+            return _indexPageCacheHits;
+        }
+
+        public long getIndexPageCacheMisses() {
+            return _indexPageCacheMisses;
+        }
+
+        public long getIndexPageSplits() {
+            return _indexPageSplits;
+        }
+
+        public long getTableCacheHits() {
+            return _tableCacheHits;
+        }
+
+        public long getTableCacheMisses() {
+            return _tableCacheMisses;
+        }
+
+        /**
+         * Returns the number of decoded rows by table name.
+         */
+        public Map<String, Long> getRowsDecoded() {
+            return _rowsDecoded;
+        }
+
+        public long getRowsDecoded(String tableName) {
+            return _rowsDecoded.getOrDefault(tableName, 0L);
+        }
+
+        public long getLongValuePagesRead() {
+            return _longValuePagesRead;
+        }
+
+        public long getFlushes() {
+            return _flushes;
+        }
+
+        public long getFlushNanos() {
+            return _flushNanos;
+        }
+
+        private static long sum(long[] counts) {
+            long sum = 0;
+            for (long count : counts) {
+                sum += count;
+            }
+            return sum;
+        }
+
+        @Override
+        public String toString() {
+            return ToStringBuilder.valueBuilder(this)
+                .append("pageReads", getPageReads())
+                .append("pageWrites", getPageWrites())
+                .append("bytesRead", _bytesRead)
+                .append("bytesWritten", _bytesWritten)
+                .append("decodeNanos", _decodeNanos)
+                .append("encodeNanos", _encodeNanos)
+                .append("indexPageCacheHits", _indexPageCacheHits)
+                .append("indexPageCacheMisses", _indexPageCacheMisses)
+                .append("indexPageSplits", _indexPageSplits)
+                .append("tableCacheHits", _tableCacheHits)
+                .append("tableCacheMisses", _tableCacheMisses)
+                .append("rowsDecoded", _rowsDecoded)
+                .append("longValuePagesRead", _longValuePagesRead)
+                .append("flushes", _flushes)
+                .append("flushNanos", _flushNanos)
+                .toString();
+        }
+    }
+}
@@ -18,13 +18,19 @@ package io.github.spannm.jackcess;
 
 import static io.github.spannm.jackcess.test.Basename.INDEX_CURSOR;
 
+import io.github.spannm.jackcess.Database.FileFormat;
 import io.github.spannm.jackcess.impl.IndexImpl;
 import io.github.spannm.jackcess.test.AbstractBaseTest;
 import io.github.spannm.jackcess.test.TestDb;
+import io.github.spannm.jackcess.test.source.FileFormatSource;
 import io.github.spannm.jackcess.test.source.TestDbSource;
 import org.junit.jupiter.params.ParameterizedTest;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 class CursorBuilderTest extends AbstractBaseTest {
 
@@ -119,6 +125,95 @@ class CursorBuilderTest extends AbstractBaseTest {
         }
     }
 
+    @ParameterizedTest(name = "[{index}] {0}")
+    @TestDbSource(INDEX_CURSOR)
+    void testFindRowPlanner(TestDb testDb) throws IOException {
+        try (Database db = CursorTest.createTestIndexTable(testDb)) {
+            Table table = db.getTable("test");
+
+            String plan = CursorBuilder.explainFindRow(table, Map.of("id", 7));
+            assertTrue(plan.contains("INDEX RANGE SCAN"), plan);
+            assertTrue(plan.contains("indexColumns=[id]"), plan);
+
+            plan = CursorBuilder.explainFindRow(table, Map.of("id", 7, "value", "data7"));
+            assertTrue(plan.contains("INDEX RANGE SCAN"), plan);
+            assertTrue(plan.contains("residualColumns=[value]"), plan);
+
+            plan = CursorBuilder.explainFindRow(table, Map.of("value", "data7"));
+            assertTrue(plan.contains("TABLE SCAN"), plan);
+
+            assertEquals(7, CursorBuilder.findRow(table, Map.of("id", 7)).get("id"));
+            assertEquals("data7", CursorBuilder.findRow(table, Map.of("id", 7, "value", "data7")).get("value"));
+            assertNull(CursorBuilder.findRow(table, Map.of("id", 7, "value", "data8")));
+            assertNull(CursorBuilder.findRow(table, Map.of("id", 42)));
+
+            // index based searches must visit rows in table scan order
+            Cursor cursor = CursorBuilder.createCursor(table);
+            List<Object> found = new ArrayList<>();
+            for (Row row : cursor.newIterable().withMatchPattern(Map.of("id", 3))) {
+                found.add(row.get("id"));
+            }
+            assertEquals(List.of(3), found);
+
+            cursor.beforeFirst();
+            assertTrue(cursor.findFirstRow(Map.of("id", 5)));
+            assertEquals("data5", cursor.getCurrentRowValue(table.getColumn("value")));
+            assertFalse(cursor.findNextRow(Map.of("id", 5)));
+            assertEquals("data5", cursor.getCurrentRowValue(table.getColumn("value")));
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testFindRowPlannerManyMatches(FileFormat fileFormat) throws IOException {
+        try (Database db = createDbMem(fileFormat)) {
+            Table table = new TableBuilder("test")
+                .addColumn(new ColumnBuilder("id", DataType.LONG))
+                .addColumn(new ColumnBuilder("grp", DataType.LONG))
+                .addIndex(new IndexBuilder("grpIdx").withColumns("grp"))
+                .toTable(db);
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                rows.add(new Object[] {i, i % 20});
+            }
+            table.addRows(rows);
+
+            Map<String, Object> pattern = Map.of("grp", 7);
+            assertTrue(CursorBuilder.explainFindRow(table, pattern).contains("INDEX RANGE SCAN"));
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 7; i < 400; i += 20) {
+                expected.add(i);
+            }
+
+            Cursor cursor = CursorBuilder.createCursor(table);
+            List<Integer> found = new ArrayList<>();
+            while (cursor.findNextRow(pattern)) {
+                found.add((Integer) cursor.getCurrentRowValue(table.getColumn("id")));
+            }
+            assertEquals(expected, found);
+
+            found.clear();
+            for (Row row : cursor.newIterable().reverse().withMatchPattern(pattern)) {
+                found.add(row.getInt("id"));
+            }
+            Collections.reverse(found);
+            assertEquals(expected, found);
+
+            // rows added during the search are found like with a table scan
+            cursor.beforeFirst();
+            assertTrue(cursor.findNextRow(pattern));
+            table.addRow(1000, 7);
+            expected.add(1000);
+            found.clear();
+            found.add((Integer) cursor.getCurrentRowValue(table.getColumn("id")));
+            while (cursor.findNextRow(pattern)) {
+                found.add((Integer) cursor.getCurrentRowValue(table.getColumn("id")));
+            }
+            assertEquals(expected, found);
+        }
+    }
+
     private static void assertCursor(Cursor expected, Cursor found) {
         assertSame(expected.getTable(), found.getTable());
         if (expected instanceof IndexCursor) {
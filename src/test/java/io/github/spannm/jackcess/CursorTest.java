@@ -1253,6 +1253,125 @@ class CursorTest extends AbstractBaseTest {
         }
     }
 
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testFindRowsByEntries(FileFormat fileFormat) throws IOException {
+        try (Database db = createDbMem(fileFormat)) {
+            Table t = DatabaseBuilder.newTable("Test")
+                .addColumn(DatabaseBuilder.newColumn("id", DataType.LONG))
+                .addColumn(DatabaseBuilder.newColumn("data1", DataType.TEXT))
+                .addColumn(DatabaseBuilder.newColumn("num2", DataType.LONG))
+                .addIndex(DatabaseBuilder.newIndex("idx2")
+                    .withColumns(true, "data1")
+                    .withColumns(false, "num2"))
+                .toTable(db);
+
+            int id = 1;
+            for (String str : List.of("A", "B", "C", "D")) {
+                for (int i = 4; i >= 0; --i) {
+                    for (int j = 1; j < 3; j++) {
+                        t.addRow(id, str, i);
+                        id++;
+                    }
+                }
+            }
+
+            IndexCursor c = t.getIndex("idx2").newCursor().toIndexCursor();
+
+            List<List<Row>> results = c.findRowsByEntries(List.of(
+                new Object[] {"C", 3}, new Object[] {"Z", 1}, new Object[] {"A", 4}, new Object[] {"C", 3}));
+            assertEquals(4, results.size());
+            assertEquals(List.of(23, 24), getIds(results.get(0)));
+            assertEquals(List.of(), getIds(results.get(1)));
+            assertEquals(List.of(1, 2), getIds(results.get(2)));
+            assertEquals(List.of(23, 24), getIds(results.get(3)));
+
+            // partial entries match all rows with the given prefix
+            results = c.findRowsByEntries(List.of(new Object[] {"D"}, new Object[] {"B"}));
+            assertEquals(List.of(31, 32, 33, 34, 35, 36, 37, 38, 39, 40), getIds(results.get(0)));
+            assertEquals(List.of(11, 12, 13, 14, 15, 16, 17, 18, 19, 20), getIds(results.get(1)));
+
+            assertEquals(List.of(), c.findRowsByEntries(List.of()));
+
+            // lookups are limited to the range of the cursor
+            c = t.getIndex("idx2").newCursor()
+                .withStartEntry("B", 2)
+                .withEndEntry("C", 2)
+                .toIndexCursor();
+            results = c.findRowsByEntries(List.of(
+                new Object[] {"A", 4}, new Object[] {"B", 3}, new Object[] {"B", 2}, new Object[] {"C"}));
+            assertEquals(List.of(), getIds(results.get(0)));
+            assertEquals(List.of(), getIds(results.get(1)));
+            assertEquals(List.of(15, 16), getIds(results.get(2)));
+            assertEquals(List.of(21, 22, 23, 24, 25, 26), getIds(results.get(3)));
+
+            // the cursor position is not changed
+            assertTrue(c.isBeforeFirst());
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testCountRange(FileFormat fileFormat) throws IOException {
+        try (Database db = createDbMem(fileFormat)) {
+            Table t = DatabaseBuilder.newTable("Test")
+                .addColumn(DatabaseBuilder.newColumn("id", DataType.LONG))
+                .addColumn(DatabaseBuilder.newColumn("grp", DataType.LONG))
+                .addColumn(DatabaseBuilder.newColumn("data", DataType.TEXT))
+                .addIndex(DatabaseBuilder.newIndex("grp_id").withColumns("grp", "id"))
+                .toTable(db);
+
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < 3000; i++) {
+                rows.add(new Object[] {i, i % 30, "data" + i});
+            }
+            t.addRows(rows);
+
+            IndexCursor c = t.getIndex("grp_id").newCursor().toIndexCursor();
+            assertEquals(3000, c.countRange(null, true, null, true));
+            assertEquals(100, c.countRange(new Object[] {5}, true, new Object[] {5}, true));
+            assertEquals(1000, c.countRange(new Object[] {10}, true, new Object[] {19}, true));
+            assertEquals(800, c.countRange(new Object[] {10}, false, new Object[] {19}, false));
+            assertEquals(500, c.countRange(new Object[] {25}, true, null, true));
+            assertEquals(2500, c.countRange(null, true, new Object[] {25}, false));
+            assertEquals(41, c.countRange(new Object[] {7, 1807}, true, new Object[] {8, 8}, true));
+            assertEquals(39, c.countRange(new Object[] {7, 1807}, false, new Object[] {8, 8}, false));
+            assertEquals(0, c.countRange(new Object[] {19}, true, new Object[] {10}, true));
+            assertEquals(0, c.countRange(new Object[] {40}, true, null, true));
+
+            assertTrue(c.exists(29));
+            assertTrue(c.exists(3, 1203));
+            assertFalse(c.exists(3, 1204));
+            assertFalse(c.exists(30));
+
+            // counts are limited to the range of the cursor
+            c = t.getIndex("grp_id").newCursor()
+                .withStartEntry(10, 1000)
+                .withEndEntry(12, 12)
+                .withEndRowInclusive(false)
+                .toIndexCursor();
+            int expected = 0;
+            for (Row row : c) {
+                expected++;
+            }
+            assertEquals(expected, c.countRange(null, true, null, true));
+            assertEquals(100, c.countRange(new Object[] {11}, true, new Object[] {11}, true));
+            assertEquals(0, c.countRange(new Object[] {12}, false, null, true));
+            assertFalse(c.exists(9));
+            assertTrue(c.exists(10));
+            assertFalse(c.exists(12, 12));
+            assertTrue(c.isAfterLast());
+        }
+    }
+
+    private static List<Integer> getIds(List<Row> rows) {
+        List<Integer> ids = new ArrayList<>();
+        for (Row row : rows) {
+            ids.add(row.getInt("id"));
+        }
+        return ids;
+    }
+
     private static void doPartialIndexLookup(Index idx) throws IOException {
         int colCount = idx.getColumnCount();
         IndexCursor c = idx.newCursor().toIndexCursor();
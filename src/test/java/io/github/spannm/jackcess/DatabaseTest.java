@@ -166,6 +166,27 @@ class DatabaseTest extends AbstractBaseTest {
         }
     }
 
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testCreateMultiple(FileFormat fileFormat) throws IOException {
+        try (Database db1 = createDbMem(fileFormat);
+             Database db2 = createDbMem(fileFormat)) {
+            DatabaseBuilder.newTable("Test").addColumn(DatabaseBuilder.newColumn("id", DataType.LONG)).toTable(db1);
+            db1.getDatabaseProperties().put("Title", DataType.TEXT, "db1");
+            db1.getDatabaseProperties().save();
+
+            assertEquals(Set.of("Test"), db1.getTableNames());
+            assertEquals(0, db2.getTableNames().size());
+            assertNull(db2.getDatabaseProperties().getValue("Title"));
+
+            Table sysTable1 = db1.getSystemTable("MSysObjects");
+            Table sysTable2 = db2.getSystemTable("MSysObjects");
+            assertNotNull(sysTable2.getCreatedDate());
+            assertEquals(sysTable1.getCreatedDate(), sysTable2.getCreatedDate());
+            assertEquals(sysTable1.getUpdatedDate(), sysTable2.getUpdatedDate());
+        }
+    }
+
     @ParameterizedTest(name = "[{index}] {0}")
     @FileFormatSource
     void testDeleteCurrentRow(FileFormat fileFormat) throws IOException {
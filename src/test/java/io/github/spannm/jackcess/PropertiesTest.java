@@ -421,6 +421,43 @@ class PropertiesTest extends AbstractBaseTest {
         }
     }
 
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testCatalogIndexUpdates(FileFormat fileFormat) throws IOException {
+        try (Database db = createDbMem(fileFormat)) {
+            Table t1 = DatabaseBuilder.newTable("Test1")
+                .putProperty("prop1", "v1")
+                .addColumn(DatabaseBuilder.newColumn("id", DataType.LONG))
+                .toTable(db);
+            assertNotNull(t1.getCreatedDate());
+
+            // catalog index is built now, so later changes must be reflected by it
+            Table t2 = DatabaseBuilder.newTable("Test2")
+                .putProperty("prop2", "v2")
+                .addColumn(DatabaseBuilder.newColumn("id", DataType.LONG))
+                .toTable(db);
+            assertNotNull(t2.getCreatedDate());
+            assertNotNull(t2.getUpdatedDate());
+
+            DatabaseImpl dbImpl = (DatabaseImpl) db;
+            int t2Id = ((TableImpl) t2).getTableDefPageNumber();
+            assertEquals("v2", dbImpl.getPropertiesForObject(t2Id, null).getDefault().getValue("prop2"));
+
+            PropertyMap t1Props = t1.getProperties();
+            t1Props.put("prop1", "v1-updated");
+            t1Props.save();
+            int t1Id = ((TableImpl) t1).getTableDefPageNumber();
+            assertEquals("v1-updated", dbImpl.getPropertiesForObject(t1Id, null).getDefault().getValue("prop1"));
+
+            // direct modification of the system catalog invalidates the index
+            Table sysCat = dbImpl.getSystemCatalog();
+            Row catRow = CursorBuilder.findRow(sysCat, Map.of("Id", t2Id));
+            catRow.put("LvProp", null);
+            sysCat.updateRow(catRow);
+            assertNull(dbImpl.getPropertiesForObject(t2Id, null).getDefault().getValue("prop2"));
+        }
+    }
+
     @Test
     void testEnumValues() {
         PropertyMaps maps = new PropertyMaps(10, null, null, null);
@@ -22,15 +22,18 @@ import static io.github.spannm.jackcess.test.TestUtil.*;
 
 import io.github.spannm.jackcess.Database.FileFormat;
 import io.github.spannm.jackcess.expr.*;
+import io.github.spannm.jackcess.impl.IndexImpl;
 import io.github.spannm.jackcess.impl.expr.DefaultFunctions;
 import io.github.spannm.jackcess.impl.expr.FunctionSupport;
 import io.github.spannm.jackcess.impl.expr.ValueSupport;
 import io.github.spannm.jackcess.test.AbstractBaseTest;
 import io.github.spannm.jackcess.test.source.FileFormatSource;
+import io.github.spannm.jackcess.util.MemFileChannel;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -247,6 +250,38 @@ class PropertyExpressionTest extends AbstractBaseTest {
         }
     }
 
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testValidatorsOfReopenedTable(FileFormat fileFormat) throws IOException {
+        FileChannel channel = MemFileChannel.newChannel();
+        try (Database db = new DatabaseBuilder().withFileFormat(fileFormat).withChannel(channel).create()) {
+            newTable("test")
+                .addColumn(newColumn("id", DataType.LONG).withAutoNumber(true))
+                .addColumn(newColumn("data1", DataType.LONG)
+                    .withProperty(PropertyMap.VALIDATION_RULE_PROP, ">37"))
+                .addColumn(newColumn("data2", DataType.LONG)
+                    .withProperty(PropertyMap.DEFAULT_VALUE_PROP, "9"))
+                .putProperty(PropertyMap.VALIDATION_RULE_PROP, "[data2] < 100")
+                .withPrimaryKey("id")
+                .toTable(db);
+        }
+
+        // the validators are loaded on the first write to the table
+        try (Database db = new DatabaseBuilder().withChannel(channel).open()) {
+            db.setEvaluateExpressions(true);
+
+            Table t = db.getTable("test");
+            assertEquals(0, t.getRowCount());
+
+            assertThrows(InvalidValueException.class, () -> t.addRow(Column.AUTO_NUMBER, 3, 8));
+            assertThrows(InvalidValueException.class, () -> t.addRow(Column.AUTO_NUMBER, 42, 200));
+            t.addRow(Column.AUTO_NUMBER, 42, null);
+
+            assertTable(createExpectedTable(createExpectedRow("id", 1, "data1", 42, "data2", 9)), t);
+            assertEquals(1, ((IndexImpl) t.getPrimaryKeyIndex()).getIndexData().getOwnedPageCount());
+        }
+    }
+
     @ParameterizedTest(name = "[{index}] {0}")
     @FileFormatSource
     void testCustomEvalConfig(FileFormat fileFormat) throws IOException {
@@ -18,9 +18,11 @@ package io.github.spannm.jackcess;
 
 import static io.github.spannm.jackcess.test.Basename.INDEX;
 
+import io.github.spannm.jackcess.Database.FileFormat;
 import io.github.spannm.jackcess.impl.RelationshipImpl;
 import io.github.spannm.jackcess.test.AbstractBaseTest;
 import io.github.spannm.jackcess.test.TestDb;
+import io.github.spannm.jackcess.test.source.FileFormatSource;
 import io.github.spannm.jackcess.test.source.TestDbReadOnlySource;
 import org.junit.jupiter.params.ParameterizedTest;
 
@@ -113,6 +115,43 @@ class RelationshipTest extends AbstractBaseTest {
         }
     }
 
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testNewRelationships(FileFormat fileFormat) throws IOException {
+        try (Database db = createDbMem(fileFormat)) {
+            Table t1 = newIdTable(db, "Table1");
+            Table t2 = newIdTable(db, "Table2");
+            Table t3 = newIdTable(db, "Table3");
+
+            assertEquals(List.of(), db.getRelationships());
+
+            Relationship rel12 = DatabaseBuilder.newRelationship(t1, t2).addColumns("id", "id").toRelationship(db);
+            assertSameRelationships(List.of(rel12), db.getRelationships(t1), true);
+            assertSameRelationships(List.of(rel12), db.getRelationships(t2), true);
+            assertEquals(List.of(), db.getRelationships(t3));
+
+            Relationship rel23 = DatabaseBuilder.newRelationship(t2, t3).addColumns("id", "id").withReferentialIntegrity().toRelationship(db);
+            assertSameRelationships(List.of(rel23, rel12), db.getRelationships(t2), true);
+            assertSameRelationships(List.of(rel23), db.getRelationships(t3, t2), true);
+            assertEquals(List.of(), db.getRelationships(t1, t3));
+            assertSameRelationships(new ArrayList<>(List.of(rel12, rel23)), db.getRelationships(), false);
+
+            Relationship found = db.getRelationships(t3).get(0);
+            assertSame(t2, found.getFromTable());
+            assertSame(t3, found.getToTable());
+            assertEquals(List.of(t2.getColumn("id")), found.getFromColumns());
+            assertEquals(List.of(t3.getColumn("id")), found.getToColumns());
+            assertTrue(found.hasReferentialIntegrity());
+        }
+    }
+
+    private static Table newIdTable(Database db, String name) throws IOException {
+        return DatabaseBuilder.newTable(name)
+            .addColumn(DatabaseBuilder.newColumn("id", DataType.LONG))
+            .withPrimaryKey("id")
+            .toTable(db);
+    }
+
     private static void assertSameRelationships(
         List<Relationship> expected, List<Relationship> found, boolean ordered) {
         assertEquals(expected.size(), found.size());
@@ -132,6 +132,35 @@ public class IndexCodesTest extends AbstractBaseTest {
         fail("testDB: " + testDB + ": Could not find expected row " + expectedRow + " starting at " + entryToString(startPos));
     }
 
+    @Test
+    void testCodeTables() {
+        GeneralLegacyIndexCodes codes = GeneralIndexCodes.GEN_INSTANCE;
+        for (char c : new char[] {'A', '\u00e9', '\u0001', '\u4e2d', '\ud83d', '\ude00'}) {
+            GeneralLegacyIndexCodes.CodeTable table = codes.getCodeTable(c);
+            int idx = table.indexOf(c);
+            ByteUtil.ByteStream inlineCodes = new ByteUtil.ByteStream();
+            boolean hasInlineCodes = table.writeInlineCodes(idx, inlineCodes);
+
+            switch (table.getType(idx)) {
+                case INTERNATIONAL:
+                case SURROGATE:
+                    assertTrue(hasInlineCodes);
+                    assertTrue(table.hasExtraCodes(idx));
+                    break;
+                case UNPRINTABLE:
+                    assertFalse(hasInlineCodes);
+                    assertTrue(table.hasUnprintableCodes(idx));
+                    break;
+                default:
+                    assertTrue(hasInlineCodes, "unexpected codes for " + (int) c);
+            }
+        }
+
+        GeneralLegacyIndexCodes.CodeTable table = codes.getCodeTable('\ud83d');
+        assertEquals(GeneralLegacyIndexCodes.Type.SURROGATE, table.getType(table.indexOf('\ud83d')));
+        assertEquals(GeneralLegacyIndexCodes.Type.SIMPLE, codes.getCodeTable('A').getType('A'));
+    }
+
     //////
     //
     // The code below is for use in reverse engineering index entries.
@@ -438,6 +438,149 @@ class IndexTest extends AbstractBaseTest {
         }
     }
 
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testIndexStatistics(FileFormat fileFormat) throws IOException {
+        try (Database db = createDbMem(fileFormat)) {
+            Table t = DatabaseBuilder.newTable("TestTable")
+                .addColumn(DatabaseBuilder.newColumn("id", DataType.LONG))
+                .addColumn(DatabaseBuilder.newColumn("grp", DataType.LONG))
+                .addColumn(DatabaseBuilder.newColumn("val", DataType.DOUBLE))
+                .addColumn(DatabaseBuilder.newColumn("name", DataType.TEXT))
+                .withPrimaryKey("id")
+                .addIndex(DatabaseBuilder.newIndex("grp_val").withColumns("grp", "val"))
+                .addIndex(DatabaseBuilder.newIndex("name_grp").withColumns("name", "grp"))
+                .toTable(db);
+
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                rows.add(new Object[] {i, i % 50, (double) (i % 3), "name" + i % 20});
+            }
+            t.addRows(rows);
+
+            IndexImpl pk = (IndexImpl) t.getPrimaryKeyIndex();
+            IndexStatistics stats = pk.getStatistics();
+            assertTrue(stats.isExact());
+            assertEquals(1000, stats.getEntryCount());
+            assertEquals(1000, stats.getDistinctPrefixCount(1));
+            assertEquals(1, stats.estimateLookupCount(1));
+
+            IndexImpl grpVal = (IndexImpl) t.getIndex("grp_val");
+            stats = grpVal.getStatistics();
+            assertTrue(stats.isExact());
+            assertEquals(1000, stats.getEntryCount());
+            assertEquals(50, stats.getDistinctPrefixCount(1));
+            assertEquals(150, stats.getDistinctPrefixCount(2));
+            assertEquals(20, stats.estimateLookupCount(1));
+            assertThrows(IllegalArgumentException.class, () -> grpVal.getStatistics().getDistinctPrefixCount(3));
+            assertFalse(stats.getHistogramBoundaries().isEmpty());
+            assertEquals(1000, grpVal.estimateRangeCount(null, true, null, true));
+            long rangeCount = grpVal.estimateRangeCount(
+                grpVal.constructPartialIndexRowFromEntry(IndexData.MIN_VALUE, 10), true,
+                grpVal.constructPartialIndexRowFromEntry(IndexData.MAX_VALUE, 34), true);
+            assertTrue(rangeCount > 300 && rangeCount < 700, "range estimate " + rangeCount);
+
+            // text segments cannot be delimited, but the full key can
+            IndexImpl nameGrp = (IndexImpl) t.getIndex("name_grp");
+            stats = nameGrp.getStatistics();
+            assertEquals(-1, stats.getDistinctPrefixCount(1));
+            assertEquals(100, stats.getDistinctPrefixCount(2));
+
+            // statistics are cached until enough entries changed
+            assertSame(stats, nameGrp.getStatistics());
+            t.addRow(1000, 0, 0d, "name0");
+            assertSame(stats, nameGrp.getStatistics());
+            rows.clear();
+            for (int i = 1001; i < 1200; i++) {
+                rows.add(new Object[] {i, i % 50, (double) (i % 3), "other" + i % 20});
+            }
+            t.addRows(rows);
+            stats = nameGrp.getStatistics();
+            assertEquals(1200, stats.getEntryCount());
+            assertEquals(200, stats.getDistinctPrefixCount(2));
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testIndexOnlyScan(FileFormat fileFormat) throws IOException {
+        try (Database db = createDbMem(fileFormat)) {
+            Table t = DatabaseBuilder.newTable("TestTable")
+                .addColumn(DatabaseBuilder.newColumn("id", DataType.LONG))
+                .addColumn(DatabaseBuilder.newColumn("num", DataType.INT))
+                .addColumn(DatabaseBuilder.newColumn("amt", DataType.MONEY))
+                .addColumn(DatabaseBuilder.newColumn("dt", DataType.SHORT_DATE_TIME))
+                .addColumn(DatabaseBuilder.newColumn("dbl", DataType.DOUBLE))
+                .addColumn(DatabaseBuilder.newColumn("flt", DataType.FLOAT))
+                .addColumn(DatabaseBuilder.newColumn("b", DataType.BYTE))
+                .addColumn(DatabaseBuilder.newColumn("flag", DataType.BOOLEAN))
+                .addColumn(DatabaseBuilder.newColumn("guid", DataType.GUID))
+                .addColumn(DatabaseBuilder.newColumn("bin", DataType.BINARY))
+                .addColumn(DatabaseBuilder.newColumn("name", DataType.TEXT))
+                .withPrimaryKey("id")
+                .addIndex(DatabaseBuilder.newIndex("asc_idx").withColumns("num", "amt", "dt", "dbl"))
+                .addIndex(DatabaseBuilder.newIndex("desc_idx").withColumns(false, "flt", "b", "flag", "guid"))
+                .addIndex(DatabaseBuilder.newIndex("bin_idx").withColumns("bin", "id"))
+                .addIndex(DatabaseBuilder.newIndex("name_idx").withColumns("name", "id"))
+                .toTable(db);
+
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                rows.add(new Object[] {i, i % 7 == 0 ? null : (i % 41) - 20, new java.math.BigDecimal((i % 13) - 6).movePointLeft(2),
+                    java.time.LocalDateTime.of(2020, 1 + i % 12, 1 + i % 28, i % 24, 0), (i % 11 - 5) * 1.25d,
+                    (float) (i % 9 - 4) / 3, (byte) (i % 256), i % 2 == 0, i % 5 == 0 ? null : String.format("{%08X-0000-0000-0000-%012X}", i, i * 7919L),
+                    new byte[] {(byte) i, (byte) (i >> 8), 1, 2, 3, 4, 5, 6, 7, 8, (byte) (i % 3)}, "name" + i});
+            }
+            t.addRows(rows);
+
+            doTestIndexOnlyScan(t.getIndex("asc_idx"), List.of("dbl", "num", "amt", "dt"));
+            doTestIndexOnlyScan(t.getIndex("desc_idx"), List.of("flt", "b", "flag", "guid"));
+            doTestIndexOnlyScan(t.getIndex("bin_idx"), List.of("id", "bin"));
+            doTestIndexOnlyScan(t.getIndex(IndexBuilder.PRIMARY_KEY_NAME), List.of("id"));
+
+            // a prefix of the index columns is sufficient
+            IndexCursor cursor = t.getIndex("asc_idx").newCursor().toIndexCursor();
+            assertTrue(cursor.isIndexOnlyCapable(List.of("num")));
+            assertFalse(cursor.isIndexOnlyCapable(List.of("num", "id")));
+
+            // text columns cannot be decoded
+            IndexCursor nameCursor = t.getIndex("name_idx").newCursor().toIndexCursor();
+            assertFalse(nameCursor.isIndexOnlyCapable(List.of("id")));
+            assertThrows(IllegalArgumentException.class, () -> nameCursor.newIndexOnlyIterable(List.of("name")));
+
+            // the range of the cursor is respected
+            cursor = t.getIndex(IndexBuilder.PRIMARY_KEY_NAME).newCursor()
+                .withStartEntry(10).withEndEntry(20).withEndRowInclusive(false).toIndexCursor();
+            List<Object> ids = new ArrayList<>();
+            for (Row row : cursor.newIndexOnlyIterable(List.of("id"))) {
+                ids.add(row.get("id"));
+            }
+            assertEquals(List.of(10, 11, 12, 13, 14, 15, 16, 17, 18, 19), ids);
+        }
+    }
+
+    private static void doTestIndexOnlyScan(Index index, List<String> columnNames) throws IOException {
+        IndexCursor cursor = index.newCursor().toIndexCursor();
+        assertTrue(cursor.isIndexOnlyCapable(columnNames));
+
+        Iterator<Row> iter = cursor.newIndexOnlyIterable(columnNames).iterator();
+        for (Row expected : cursor.newIterable().withColumnNames(columnNames)) {
+            assertTrue(iter.hasNext());
+            Row actual = iter.next();
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(columnNames, new ArrayList<>(actual.keySet()));
+            for (String columnName : columnNames) {
+                Object expectedValue = expected.get(columnName);
+                if (expectedValue instanceof byte[]) {
+                    assertArrayEquals((byte[]) expectedValue, (byte[]) actual.get(columnName));
+                } else {
+                    assertEquals(expectedValue, actual.get(columnName), columnName);
+                }
+            }
+        }
+        assertFalse(iter.hasNext());
+    }
+
     @ParameterizedTest(name = "[{index}] {0}")
     @FileFormatSource
     void testIndexCreationSharedData(FileFormat fileFormat) throws IOException {
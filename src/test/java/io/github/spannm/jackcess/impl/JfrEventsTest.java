@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.impl;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import io.github.spannm.jackcess.test.AbstractBaseTest;
+import io.github.spannm.jackcess.test.TestUtil;
+import io.github.spannm.jackcess.test.source.FileFormatSource;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+class JfrEventsTest extends AbstractBaseTest {
+
+    private static final String[] EVENT_NAMES = {"DatabaseOpen", "PageRead", "PageWrite", "Flush", "IndexPageSplit",
+        "IndexPageMerge", "AddRows"};
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testEvents(FileFormat fileFormat) throws IOException {
+        File dbFile = TestUtil.createTempFile(getShortTestMethodName(), fileFormat.getFileExtension(), false);
+        Path recordingFile = TestUtil.createTempFile(getShortTestMethodName(), ".jfr", false).toPath();
+
+        try (Recording recording = new Recording()) {
+            for (String name : EVENT_NAMES) {
+                recording.enable("io.github.spannm.jackcess." + name).withoutThreshold();
+            }
+            recording.start();
+
+            try (Database db = new DatabaseBuilder().withFile(dbFile).withFileFormat(fileFormat)
+                .withAutoSync(false).create()) {
+                Table t = new TableBuilder("test")
+                    .addColumn(new ColumnBuilder("id", DataType.LONG).withAutoNumber(true))
+                    .addColumn(new ColumnBuilder("data", DataType.TEXT))
+                    .withPrimaryKey("id")
+                    .addIndex(new IndexBuilder("data_idx").withColumns("data"))
+                    .toTable(db);
+                List<Object[]> rows = new ArrayList<>();
+                for (int i = 0; i < 1000; i++) {
+                    rows.add(new Object[] {Column.AUTO_NUMBER, "value " + TestUtil.createString(20) + i});
+                }
+                t.addRows(rows);
+
+                Cursor cursor = CursorBuilder.createCursor(t);
+                while (cursor.moveToNextRow()) {
+                    cursor.deleteCurrentRow();
+                }
+                db.flush();
+            }
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        Map<String, List<RecordedEvent>> events = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+            events.computeIfAbsent(event.getEventType().getName().substring("io.github.spannm.jackcess.".length()),
+                k -> new ArrayList<>()).add(event);
+        }
+        for (String name : EVENT_NAMES) {
+            assertTrue(events.containsKey(name), name);
+        }
+
+        String dbPath = dbFile.toPath().toString();
+        RecordedEvent open = events.get("DatabaseOpen").get(0);
+        assertEquals(dbPath, open.getString("databasePath"));
+        assertEquals(fileFormat.name(), open.getString("fileFormat"));
+        assertTrue(open.getBoolean("created"));
+
+        assertTrue(events.get("PageRead").stream().anyMatch(e -> "TABLE_DEF".equals(e.getString("pageType"))));
+        assertTrue(events.get("PageWrite").stream().anyMatch(e -> "DATA".equals(e.getString("pageType"))
+            && dbPath.equals(e.getString("databasePath")) && e.getInt("pageNumber") > 0));
+
+        RecordedEvent addRows = events.get("AddRows").stream()
+            .filter(e -> "test".equals(e.getString("tableName"))).findFirst().get();
+        assertEquals(1000, addRows.getInt("rowCount"));
+
+        for (String name : new String[] {"IndexPageSplit", "IndexPageMerge"}) {
+            assertTrue(events.get(name).stream().anyMatch(e -> "test".equals(e.getString("tableName"))
+                && "data_idx".equals(e.getString("indexName"))), name);
+        }
+    }
+}
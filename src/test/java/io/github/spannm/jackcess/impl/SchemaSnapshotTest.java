@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.impl;
+
+import static io.github.spannm.jackcess.test.Basename.QUERY;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import io.github.spannm.jackcess.query.Query;
+import io.github.spannm.jackcess.test.AbstractBaseTest;
+import io.github.spannm.jackcess.test.TestDb;
+import io.github.spannm.jackcess.test.TestUtil;
+import io.github.spannm.jackcess.test.source.FileFormatSource;
+import io.github.spannm.jackcess.test.source.TestDbReadOnlySource;
+import io.github.spannm.jackcess.util.SimpleMetricsCollector;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.*;
+
+class SchemaSnapshotTest extends AbstractBaseTest {
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @TestDbReadOnlySource(QUERY)
+    void testReadSchemaFromSnapshot(TestDb testDb) throws IOException {
+        Path cacheDir = createCacheDir();
+        Path snapshotFile = SchemaSnapshot.getSnapshotFile(cacheDir, testDb.getFile().toPath());
+
+        Map<String, Object> expected;
+        try (Database db = openReadOnly(testDb.getFile(), testDb.getExpectedCharset(), null)) {
+            expected = describeSchema(db);
+        }
+
+        try (Database db = openReadOnly(testDb.getFile(), testDb.getExpectedCharset(), cacheDir)) {
+            assertEquals(expected, describeSchema(db));
+        }
+        assertTrue(Files.exists(snapshotFile));
+
+        // a cached open neither looks up nor decodes any catalog rows
+        SimpleMetricsCollector metrics = new SimpleMetricsCollector();
+        try (Database db = new DatabaseBuilder()
+            .withFile(testDb.getFile())
+            .withReadOnly(true)
+            .withCharset(testDb.getExpectedCharset())
+            .withSchemaCache(cacheDir)
+            .withMetricsCollector(metrics)
+            .open()) {
+            assertEquals(expected.get("tables"), new ArrayList<>(db.getTableNames()));
+            assertEquals(0, metrics.snapshot().getRowsDecoded("MSysObjects"));
+        }
+
+        try (Database db = openReadOnly(testDb.getFile(), testDb.getExpectedCharset(), cacheDir)) {
+            SchemaSnapshot snapshot = SchemaSnapshot.read(snapshotFile, SchemaSnapshot.getFileKey((DatabaseImpl) db));
+            assertNotNull(snapshot);
+            assertEquals(((DatabaseImpl) db).getSystemCatalog().getRowCount(), snapshot.getRows().size());
+
+            assertEquals(expected, describeSchema(db));
+            assertNull(db.getTable("NoSuchTable"));
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testInvalidateSnapshot(FileFormat fileFormat) throws IOException {
+        Path cacheDir = createCacheDir();
+        File dbFile = TestUtil.createTempFile(getShortTestMethodName(), fileFormat.getFileExtension(), false);
+        SchemaSnapshot.getSnapshotFile(cacheDir, dbFile.toPath()).toFile().deleteOnExit();
+
+        try (Database db = DatabaseBuilder.newDatabase(dbFile).withFileFormat(fileFormat).create()) {
+            createTable(db, "Table1");
+        }
+
+        try (Database db = openReadOnly(dbFile, null, cacheDir)) {
+            assertEquals(Set.of("Table1"), db.getTableNames());
+        }
+        try (Database db = openReadOnly(dbFile, null, cacheDir)) {
+            assertEquals(Set.of("Table1"), db.getTableNames());
+            assertNotNull(db.getTable("table1").getCreatedDate());
+        }
+
+        // snapshots are not used for writable databases
+        try (Database db = new DatabaseBuilder().withFile(dbFile).withSchemaCache(cacheDir).open()) {
+            createTable(db, "Table2");
+            assertEquals(Set.of("Table1", "Table2"), db.getTableNames());
+        }
+
+        try (Database db = openReadOnly(dbFile, null, cacheDir)) {
+            assertEquals(Set.of("Table1", "Table2"), db.getTableNames());
+            assertEquals("v", db.getTable("Table2").getProperties().getValue("prop"));
+        }
+
+        // in-place catalog row updates are detected, even if the file size and last modified time are unchanged
+        long size = Files.size(dbFile.toPath());
+        FileTime lastModified = Files.getLastModifiedTime(dbFile.toPath());
+        LocalDateTime updated = LocalDateTime.of(2001, 2, 3, 4, 5, 6);
+        try (Database db = new DatabaseBuilder().withFile(dbFile).open()) {
+            Table catalog = db.getSystemTable("MSysObjects");
+            for (Row row : catalog) {
+                if ("Table2".equals(row.getString("Name"))) {
+                    row.put("DateUpdate", updated);
+                    catalog.updateRow(row);
+                }
+            }
+        }
+        Files.setLastModifiedTime(dbFile.toPath(), lastModified);
+        assertEquals(size, Files.size(dbFile.toPath()));
+
+        try (Database db = openReadOnly(dbFile, null, cacheDir)) {
+            assertEquals(updated, db.getTable("Table2").getUpdatedDate());
+        }
+
+        // corrupt snapshots are ignored
+        Files.write(SchemaSnapshot.getSnapshotFile(cacheDir, dbFile.toPath()), new byte[] {1, 2, 3});
+        try (Database db = openReadOnly(dbFile, null, cacheDir)) {
+            assertEquals(Set.of("Table1", "Table2"), db.getTableNames());
+        }
+    }
+
+    private static Path createCacheDir() {
+        return TestUtil.createTempDir(TestUtil.getTestTempDir().getName(), "schema-cache").toPath();
+    }
+
+    private static Database openReadOnly(File file, Charset charset, Path cacheDir) throws IOException {
+        return new DatabaseBuilder()
+            .withFile(file)
+            .withReadOnly(true)
+            .withCharset(charset)
+            .withSchemaCache(cacheDir)
+            .open();
+    }
+
+    private static void createTable(Database db, String name) throws IOException {
+        DatabaseBuilder.newTable(name)
+            .putProperty("prop", "v")
+            .addColumn(DatabaseBuilder.newColumn("id", DataType.LONG))
+            .toTable(db);
+    }
+
+    /**
+     * @return the schema details read from the system catalog
+     */
+    private static Map<String, Object> describeSchema(Database db) throws IOException {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("tables", new ArrayList<>(db.getTableNames()));
+        schema.put("systemTables", new ArrayList<>(db.getSystemTableNames()));
+        for (String tableName : db.getTableNames()) {
+            Table table = db.getTable(tableName);
+            schema.put(tableName + ".props", table.getProperties().toString());
+            schema.put(tableName + ".created", table.getCreatedDate());
+            schema.put(tableName + ".updated", table.getUpdatedDate());
+            schema.put(tableName + ".columns", table.getColumns().size());
+        }
+        for (Query query : db.getQueries()) {
+            schema.put(query.getName(), query.toSQLString());
+        }
+        return schema;
+    }
+}
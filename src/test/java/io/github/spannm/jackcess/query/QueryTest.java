@@ -212,6 +212,37 @@ class QueryTest extends AbstractBaseTest {
         }
     }
 
+    @ParameterizedTest(name = "[{index}] {0}")
+    @TestDbReadOnlySource(QUERY)
+    void testReadSingleQueries(TestDb testDb) throws IOException {
+        Map<String, String> expectedQueries = new LinkedHashMap<>();
+        try (Database db = testDb.open()) {
+            for (Query q : db.getQueries()) {
+                expectedQueries.put(q.getName(), q.toSQLString());
+            }
+        }
+
+        try (Database db = testDb.open()) {
+            for (Map.Entry<String, String> e : expectedQueries.entrySet()) {
+                Query q = db.getQuery(e.getKey().toUpperCase());
+                assertEquals(e.getKey(), q.getName());
+                assertEquals(e.getValue(), q.toSQLString());
+                assertSame(q, db.getQuery(e.getKey()));
+            }
+            assertNull(db.getQuery("NoSuchQuery"));
+        }
+
+        try (Database db = testDb.open()) {
+            List<String> names = new ArrayList<>();
+            for (Query q : db.newQueryIterable()) {
+                names.add(q.getName());
+                assertEquals(expectedQueries.get(q.getName()), q.toSQLString());
+            }
+            assertEquals(new ArrayList<>(expectedQueries.keySet()), names);
+            assertEquals(db.getQueries(), db.getQueries());
+        }
+    }
+
     @Test
     void testAppendQuery() {
         AppendQuery query = (AppendQuery) newQuery(
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.test;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Generates synthetic databases for load and scale testing. The schema resembles a small order management system:
+ * <ul>
+ * <li>{@value #CUSTOMERS}: text, date and memo columns with unique and non-unique indexes</li>
+ * <li>{@value #PRODUCTS}: text, money, memo and OLE columns</li>
+ * <li>{@value #ORDERS}: foreign keys to both, with skewed key distributions and optional memo/OLE values, filled
+ * until the configured row count or target file size is reached</li>
+ * </ul>
+ * All values are derived from the {@link Spec#withSeed seed} of the {@link Spec}, so the same spec always produces the
+ * same data.
+ * <p>
+ * Rows are added in batches to tables without indexes, the indexes and the referentially enforced relationships are
+ * created afterwards, which populates each index in a single pass instead of maintaining it for every row.
+ * <p>
+ * Complex columns (attachments, multi-value columns) are not generated, as they cannot be created by this library.
+ * <p>
+ * The generator lives with the test utilities, so that it is compiled and tested by the regular build and can be used
+ * by the benchmarks (profile {@code jmh}) as well.
+ * <p>
+ * Usage: {@code DatabaseGenerator <file> [<fileFormat> [<targetSizeMb> [<seed>]]]}
+ */
+public final class DatabaseGenerator {
+
+    static final String           CUSTOMERS  = "customers";
+    static final String           PRODUCTS   = "products";
+    static final String           ORDERS     = "orders";
+
+    private static final int      BATCH_SIZE = 1000;
+    private static final long     MB         = 1024L * 1024L;
+    private static final String[] STATUSES   = {"new", "paid", "shipped", "delivered", "returned", "cancelled"};
+    private static final String[] WORDS      = {"alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf",
+        "hotel", "india", "juliett", "kilo", "lima", "mike", "november", "oscar", "papa", "quebec", "romeo", "sierra",
+        "tango", "uniform", "victor", "whiskey", "xray", "yankee", "zulu"};
+
+    private final Spec          _spec;
+    private final Random        _random;
+    private final StringBuilder _buf          = new StringBuilder();
+
+    private DatabaseGenerator(Spec spec) {
+        _spec = spec;
+        _random = new Random(spec._seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: " + DatabaseGenerator.class.getSimpleName()
+                + " <file> [<fileFormat> [<targetSizeMb> [<seed>]]]");
+            System.exit(1);
+        }
+        Spec spec = new Spec();
+        if (args.length > 1) {
+            spec.withFileFormat(FileFormat.valueOf(args[1]));
+        }
+        if (args.length > 2) {
+            spec.withTargetSize(Long.parseLong(args[2]) * MB);
+        }
+        if (args.length > 3) {
+            spec.withSeed(Long.parseLong(args[3]));
+        }
+        File file = new File(args[0]);
+        long start = System.nanoTime();
+        generate(spec, file);
+        System.out.printf("Generated %s (%d MB) in %d s%n", file, file.length() / MB,
+            (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    /**
+     * Creates a new database file with the given spec. An existing file is overwritten.
+     */
+    public static void generate(Spec spec, File file) throws IOException {
+        try (Database db = new DatabaseBuilder()
+            .withFile(file)
+            .withFileFormat(spec._fileFormat)
+            .withAutoSync(false)
+            .create()) {
+            db.setDateTimeType(DateTimeType.LOCAL_DATE_TIME);
+            new DatabaseGenerator(spec).generate(db, file);
+        }
+    }
+
+    private void generate(Database db, File file) throws IOException {
+        Table customers = new TableBuilder(CUSTOMERS)
+            .addColumn(new ColumnBuilder("id", DataType.LONG).withAutoNumber(true))
+            .addColumn(new ColumnBuilder("name", DataType.TEXT).withLengthInUnits(100))
+            .addColumn(new ColumnBuilder("city", DataType.TEXT).withLengthInUnits(50))
+            .addColumn(new ColumnBuilder("email", DataType.TEXT))
+            .addColumn(new ColumnBuilder("created", DataType.SHORT_DATE_TIME))
+            .addColumn(new ColumnBuilder("notes", DataType.MEMO))
+            .toTable(db);
+        Table products = new TableBuilder(PRODUCTS)
+            .addColumn(new ColumnBuilder("id", DataType.LONG).withAutoNumber(true))
+            .addColumn(new ColumnBuilder("sku", DataType.TEXT).withLengthInUnits(20))
+            .addColumn(new ColumnBuilder("name", DataType.TEXT))
+            .addColumn(new ColumnBuilder("price", DataType.MONEY))
+            .addColumn(new ColumnBuilder("description", DataType.MEMO))
+            .addColumn(new ColumnBuilder("image", DataType.OLE))
+            .toTable(db);
+        Table orders = new TableBuilder(ORDERS)
+            .addColumn(new ColumnBuilder("id", DataType.LONG).withAutoNumber(true))
+            .addColumn(new ColumnBuilder("customer_id", DataType.LONG))
+            .addColumn(new ColumnBuilder("product_id", DataType.LONG))
+            .addColumn(new ColumnBuilder("quantity", DataType.INT))
+            .addColumn(new ColumnBuilder("amount", DataType.MONEY))
+            .addColumn(new ColumnBuilder("ordered", DataType.SHORT_DATE_TIME))
+            .addColumn(new ColumnBuilder("status", DataType.TEXT).withLengthInUnits(20))
+            .addColumn(new ColumnBuilder("comment", DataType.MEMO))
+            .addColumn(new ColumnBuilder("receipt", DataType.OLE))
+            .toTable(db);
+
+        LocalDateTime epoch = LocalDateTime.of(2000, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= _spec._numCustomers; i++) {
+            batch.add(new Object[] {Column.AUTO_NUMBER, "customer " + i + " " + words(1, 3), words(1, 2),
+                "customer" + i + "@example.com", epoch.plusMinutes(_random.nextInt(10_000_000)),
+                nullable(_spec._memoRate, () -> text(_spec._minMemoLength, _spec._maxMemoLength))});
+            addRows(customers, batch, i == _spec._numCustomers);
+        }
+        for (int i = 1; i <= _spec._numProducts; i++) {
+            batch.add(new Object[] {Column.AUTO_NUMBER, String.format("SKU-%08d", i), words(2, 5),
+                BigDecimal.valueOf(100 + _random.nextInt(1_000_000), 2),
+                text(_spec._minMemoLength, _spec._maxMemoLength),
+                nullable(_spec._oleRate, () -> bytes(_spec._minOleLength, _spec._maxOleLength))});
+            addRows(products, batch, i == _spec._numProducts);
+        }
+
+        long targetSize = _spec._targetSize;
+        for (long i = 1; i <= _spec._numOrders; i++) {
+            batch.add(new Object[] {Column.AUTO_NUMBER, skewedKey(_spec._numCustomers), skewedKey(_spec._numProducts),
+                1 + _random.nextInt(20), BigDecimal.valueOf(100 + _random.nextInt(10_000_000), 2),
+                epoch.plusMinutes(i * 3), STATUSES[skewedKey(STATUSES.length) - 1],
+                nullable(_spec._memoRate, () -> text(_spec._minMemoLength, _spec._maxMemoLength)),
+                nullable(_spec._oleRate, () -> bytes(_spec._minOleLength, _spec._maxOleLength))});
+            if (addRows(orders, batch, i == _spec._numOrders) && targetSize > 0 && file.length() >= targetSize) {
+                break;
+            }
+        }
+        addRows(orders, batch, true);
+
+        // populate the indexes in one pass over the loaded rows
+        new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME).withColumns("id").withPrimaryKey().addToTable(customers);
+        new IndexBuilder("name_idx").withColumns("name").withUnique().addToTable(customers);
+        new IndexBuilder("city_idx").withColumns("city").addToTable(customers);
+        new IndexBuilder("created_idx").withColumns("created").addToTable(customers);
+        new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME).withColumns("id").withPrimaryKey().addToTable(products);
+        new IndexBuilder("sku_idx").withColumns("sku").withUnique().addToTable(products);
+        new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME).withColumns("id").withPrimaryKey().addToTable(orders);
+        new IndexBuilder("ordered_idx").withColumns("ordered").addToTable(orders);
+        new IndexBuilder("status_idx").withColumns("status", "ordered").addToTable(orders);
+
+        new RelationshipBuilder(CUSTOMERS, ORDERS).addColumns("id", "customer_id")
+            .withReferentialIntegrity().toRelationship(db);
+        new RelationshipBuilder(PRODUCTS, ORDERS).addColumns("id", "product_id")
+            .withReferentialIntegrity().toRelationship(db);
+    }
+
+    /**
+     * Adds the batched rows to the given table once the batch is full or if forced, returns {@code true} if rows
+     * have been added.
+     */
+    private static boolean addRows(Table table, List<Object[]> batch, boolean force) throws IOException {
+        if (batch.isEmpty() || batch.size() < BATCH_SIZE && !force) {
+            return false;
+        }
+        table.addRows(batch);
+        batch.clear();
+        return true;
+    }
+
+    /**
+     * Returns a key in {@code [1, numKeys]}. With a skew of 1 the keys are uniformly distributed, larger values
+     * increasingly favor the low keys.
+     */
+    private int skewedKey(int numKeys) {
+        return 1 + (int) (numKeys * Math.pow(_random.nextDouble(), _spec._keySkew));
+    }
+
+    private Object nullable(double rate, Supplier<Object> value) {
+        return _random.nextDouble() < rate ? value.get() : null;
+    }
+
+    private String words(int min, int max) {
+        _buf.setLength(0);
+        int num = min + _random.nextInt(max - min + 1);
+        for (int i = 0; i < num; i++) {
+            if (i > 0) {
+                _buf.append(' ');
+            }
+            _buf.append(WORDS[_random.nextInt(WORDS.length)]);
+        }
+        return _buf.toString();
+    }
+
+    private String text(int minLength, int maxLength) {
+        _buf.setLength(0);
+        int len = minLength + _random.nextInt(maxLength - minLength + 1);
+        while (_buf.length() < len) {
+            _buf.append(WORDS[_random.nextInt(WORDS.length)]).append(' ');
+        }
+        _buf.setLength(len);
+        return _buf.toString();
+    }
+
+    private byte[] bytes(int minLength, int maxLength) {
+        byte[] bytes = new byte[minLength + _random.nextInt(maxLength - minLength + 1)];
+        _random.nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Configuration of a generated database. The defaults create about 20 MB of data.
+     */
+    public static final class Spec {
+        private FileFormat _fileFormat    = FileFormat.V2016;
+        private long       _seed          = 42;
+        private long       _targetSize;
+        private int        _numCustomers  = 10_000;
+        private int        _numProducts   = 1_000;
+        private long       _numOrders     = 100_000;
+        private double     _keySkew       = 2.0;
+        private double     _memoRate      = 0.2;
+        private int        _minMemoLength = 100;
+        private int        _maxMemoLength = 4000;
+        private double     _oleRate       = 0.05;
+        private int        _minOleLength  = 1000;
+        private int        _maxOleLength  = 50_000;
+
+        public Spec withFileFormat(FileFormat fileFormat) {
+            _fileFormat = fileFormat;
+            return this;
+        }
+
+        public Spec withSeed(long seed) {
+            _seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the file size in bytes at which no more orders are added. If set, the number of orders is unbounded
+         * unless limited by {@link #withNumOrders}. The final file is slightly larger, as the indexes are added at
+         * the end.
+         */
+        public Spec withTargetSize(long targetSize) {
+            _targetSize = targetSize;
+            _numOrders = Long.MAX_VALUE;
+            return this;
+        }
+
+        public Spec withNumCustomers(int numCustomers) {
+            _numCustomers = requirePositive(numCustomers, "customers");
+            return this;
+        }
+
+        public Spec withNumProducts(int numProducts) {
+            _numProducts = requirePositive(numProducts, "products");
+            return this;
+        }
+
+        public Spec withNumOrders(long numOrders) {
+            _numOrders = requirePositive(numOrders, "orders");
+            return this;
+        }
+
+        /**
+         * Sets the skew of the foreign keys and status values of the orders, where 1 means uniformly distributed.
+         */
+        public Spec withKeySkew(double keySkew) {
+            if (keySkew < 1) {
+                throw new IllegalArgumentException("Invalid key skew " + keySkew);
+            }
+            _keySkew = keySkew;
+            return this;
+        }
+
+        /**
+         * Sets the rate of non-null memo values and their length range in characters.
+         */
+        public Spec withMemo(double rate, int minLength, int maxLength) {
+            checkRange(rate, minLength, maxLength);
+            _memoRate = rate;
+            _minMemoLength = minLength;
+            _maxMemoLength = maxLength;
+            return this;
+        }
+
+        /**
+         * Sets the rate of non-null OLE values and their length range in bytes.
+         */
+        public Spec withOle(double rate, int minLength, int maxLength) {
+            checkRange(rate, minLength, maxLength);
+            _oleRate = rate;
+            _minOleLength = minLength;
+            _maxOleLength = maxLength;
+            return this;
+        }
+
+        private static <T extends Number> T requirePositive(T num, String what) {
+            if (num.longValue() < 1) {
+                throw new IllegalArgumentException("Invalid number of " + what + " " + num);
+            }
+            return num;
+        }
+
+        private static void checkRange(double rate, int minLength, int maxLength) {
+            if (rate < 0 || rate > 1 || minLength < 0 || maxLength < minLength) {
+                throw new IllegalArgumentException("Invalid rate " + rate + " or length range " + minLength + "-"
+                    + maxLength);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.test;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import io.github.spannm.jackcess.test.source.FileFormatSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class DatabaseGeneratorTest extends AbstractBaseTest {
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testGenerate(FileFormat fileFormat) throws IOException {
+        DatabaseGenerator.Spec spec = new DatabaseGenerator.Spec()
+            .withFileFormat(fileFormat)
+            .withNumCustomers(50)
+            .withNumProducts(10)
+            .withNumOrders(1500)
+            .withMemo(0.5, 10, 500)
+            .withOle(0.1, 10, 2000);
+        File file = TestUtil.createTempFile(getShortTestMethodName(), fileFormat.getFileExtension(), false);
+        DatabaseGenerator.generate(spec, file);
+
+        try (Database db = new DatabaseBuilder().withFile(file).withReadOnly(true).open()) {
+            assertEquals(fileFormat, db.getFileFormat());
+            Table customers = db.getTable(DatabaseGenerator.CUSTOMERS);
+            Table products = db.getTable(DatabaseGenerator.PRODUCTS);
+            Table orders = db.getTable(DatabaseGenerator.ORDERS);
+            assertEquals(50, customers.getRowCount());
+            assertEquals(10, products.getRowCount());
+            assertEquals(1500, orders.getRowCount());
+
+            assertEquals("id", customers.getPrimaryKeyIndex().getColumns().get(0).getName());
+            assertTrue(customers.getIndex("name_idx").isUnique());
+            assertNotNull(orders.getIndex("status_idx"));
+
+            List<Relationship> rels = db.getRelationships(customers, orders);
+            assertEquals(1, rels.size());
+            assertTrue(rels.get(0).hasReferentialIntegrity());
+            rels = db.getRelationships(products, orders);
+            assertEquals(1, rels.size());
+            assertTrue(rels.get(0).hasReferentialIntegrity());
+
+            Set<Integer> customerIds = new HashSet<>();
+            for (Row row : customers) {
+                customerIds.add(row.getInt("id"));
+            }
+            for (Row row : orders) {
+                assertTrue(customerIds.contains(row.getInt("customer_id")));
+                int productId = row.getInt("product_id");
+                assertTrue(productId >= 1 && productId <= 10);
+            }
+        }
+    }
+
+    @Test
+    void testSpec() {
+        DatabaseGenerator.Spec spec = new DatabaseGenerator.Spec();
+        assertThrows(IllegalArgumentException.class, () -> spec.withNumOrders(0));
+        assertThrows(IllegalArgumentException.class, () -> spec.withKeySkew(0.5));
+        assertThrows(IllegalArgumentException.class, () -> spec.withMemo(1.5, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> spec.withOle(0.5, 10, 5));
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import io.github.spannm.jackcess.test.AbstractBaseTest;
+import io.github.spannm.jackcess.test.source.FileFormatSource;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class ArrowExportTest extends AbstractBaseTest {
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testExportArrowStream(FileFormat fileFormat) throws IOException {
+        Database db = createDbMem(fileFormat);
+        db.setDateTimeType(DateTimeType.LOCAL_DATE_TIME);
+
+        Table t = new TableBuilder("test")
+            .addColumn(new ColumnBuilder("id", DataType.LONG))
+            .addColumn(new ColumnBuilder("label", DataType.TEXT))
+            .addColumn(new ColumnBuilder("amount", DataType.MONEY))
+            .addColumn(new ColumnBuilder("flag", DataType.BOOLEAN))
+            .addColumn(new ColumnBuilder("created", DataType.SHORT_DATE_TIME))
+            .addColumn(new ColumnBuilder("ratio", DataType.DOUBLE))
+            .addColumn(new ColumnBuilder("data", DataType.OLE))
+            .toTable(db);
+
+        LocalDateTime created = LocalDateTime.of(1980, 12, 31, 13, 5, 30);
+        t.addRow(1, "one", new BigDecimal("1.25"), true, created, 0.5, new byte[] {1, 2, 3});
+        t.addRow(2, null, new BigDecimal("-42.5"), false, null, null, null);
+        t.addRow(3, "drei ä", null, true, created.plusDays(1), -1.5, new byte[0]);
+        t.addRow(4, "", BigDecimal.ZERO, false, created.minusYears(100), 1e100, new byte[] {-1});
+        t.addRow(5, "five", new BigDecimal("123456789.1234"), true, null, 2.0, null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ArrowExportUtil.Builder(db, "test")
+            .withBatchSize(2)
+            .exportStream(out);
+
+        ArrowStream stream = new ArrowStream(out.toByteArray());
+        assertEquals(List.of("id", "label", "amount", "flag", "created", "ratio", "data"), stream._names);
+        // Int, Utf8, Decimal, Bool, Timestamp, FloatingPoint, Binary
+        assertEquals(List.of(2, 5, 7, 6, 10, 3, 4), stream._typeIds);
+        assertEquals(List.of(2L, 2L, 1L), stream._batchLengths);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), stream.column(0));
+        assertEquals(Arrays.asList("one", null, "drei ä", "", "five"), stream.column(1));
+        assertEquals(Arrays.asList(new BigDecimal("1.2500"), new BigDecimal("-42.5000"), null, new BigDecimal("0.0000"),
+            new BigDecimal("123456789.1234")), stream.column(2));
+        assertEquals(List.of(true, false, true, false, true), stream.column(3));
+        assertEquals(Arrays.asList(created, null, created.plusDays(1), created.minusYears(100), null), stream.column(4));
+        assertEquals(Arrays.asList(0.5, null, -1.5, 1e100, 2.0), stream.column(5));
+        assertEquals(Arrays.asList("010203", null, "", "FF", null), stream.column(6));
+
+        // filtered columns, empty stream
+        ExportFilter filter = new SimpleExportFilter() {
+            @Override
+            public List<Column> filterColumns(List<Column> columns) {
+                return columns.subList(0, 2);
+            }
+
+            @Override
+            public Object[] filterRow(Object[] row) {
+                return null;
+            }
+        };
+        out = new ByteArrayOutputStream();
+        new ArrowExportUtil.Builder(CursorBuilder.createCursor(t))
+            .withFilter(filter)
+            .exportStream(out);
+        stream = new ArrowStream(out.toByteArray());
+        assertEquals(List.of("id", "label"), stream._names);
+        assertEquals(List.of(), stream._batchLengths);
+
+        assertThrows(IllegalArgumentException.class, () -> new ArrowExportUtil.Builder(db).withBatchSize(0));
+    }
+
+    /**
+     * Minimal independent reader of the Arrow IPC stream messages (flatbuffers accessed via their vtables), which
+     * checks the required alignments and decodes the supported column types.
+     */
+    private static final class ArrowStream {
+        private final ByteBuffer         _bb;
+        private final List<String>       _names        = new ArrayList<>();
+        private final List<Integer>      _typeIds      = new ArrayList<>();
+        private final List<Integer>      _scales       = new ArrayList<>();
+        private final List<Long>         _batchLengths = new ArrayList<>();
+        private final List<List<Object>> _columns      = new ArrayList<>();
+
+        private ArrowStream(byte[] bytes) {
+            _bb = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            int pos = 0;
+            while (true) {
+                assertEquals(0xFFFFFFFF, _bb.getInt(pos));
+                int metaLen = _bb.getInt(pos + 4);
+                if (metaLen == 0) {
+                    assertEquals(bytes.length, pos + 8);
+                    break;
+                }
+                int meta = pos + 8;
+                assertEquals(0, meta % 8);
+                assertEquals(0, metaLen % 8);
+                int message = deref(meta);
+                assertEquals(4, _bb.getShort(field(message, 0)));
+                int headerType = _bb.get(field(message, 1));
+                int header = deref(field(message, 2));
+                long bodyLen = _bb.getLong(field(message, 3));
+                assertEquals(0, bodyLen % 8);
+                int body = meta + metaLen;
+                if (headerType == 1) {
+                    readSchema(header);
+                } else {
+                    assertEquals(3, headerType);
+                    readBatch(header, body);
+                }
+                pos = body + (int) bodyLen;
+            }
+        }
+
+        private List<Object> column(int idx) {
+            return _columns.get(idx);
+        }
+
+        private void readSchema(int schema) {
+            int fields = deref(field(schema, 1));
+            for (int i = 0; i < _bb.getInt(fields); i++) {
+                int f = deref(fields + 4 + 4 * i);
+                _names.add(string(deref(field(f, 0))));
+                int typeId = _bb.get(field(f, 2));
+                _typeIds.add(typeId);
+                int type = deref(field(f, 3));
+                _scales.add(typeId == 7 ? _bb.getInt(field(type, 1)) : 0);
+                assertEquals(0, _bb.getInt(deref(field(f, 5))));
+                _columns.add(new ArrayList<>());
+            }
+        }
+
+        private void readBatch(int batch, int body) {
+            long length = _bb.getLong(field(batch, 0));
+            _batchLengths.add(length);
+            int nodes = deref(field(batch, 1));
+            int buffers = deref(field(batch, 2));
+            assertEquals(0, (nodes + 4) % 8);
+            assertEquals(0, (buffers + 4) % 8);
+            assertEquals(_names.size(), _bb.getInt(nodes));
+
+            int bufIdx = 0;
+            for (int c = 0; c < _names.size(); c++) {
+                assertEquals(length, _bb.getLong(nodes + 4 + 16 * c));
+                int typeId = _typeIds.get(c);
+                int validity = buffer(buffers, bufIdx++, body);
+                int offsets = typeId == 4 || typeId == 5 ? buffer(buffers, bufIdx++, body) : -1;
+                int data = buffer(buffers, bufIdx++, body);
+                for (int r = 0; r < length; r++) {
+                    if ((_bb.get(validity + r / 8) & 1 << r % 8) == 0) {
+                        _columns.get(c).add(null);
+                        continue;
+                    }
+                    _columns.get(c).add(readValue(typeId, _scales.get(c), data, offsets, r));
+                }
+            }
+            assertEquals(bufIdx, _bb.getInt(buffers));
+        }
+
+        private Object readValue(int typeId, int scale, int data, int offsets, int r) {
+            switch (typeId) {
+                case 2:
+                    return (long) _bb.getInt(data + 4 * r);
+                case 3:
+                    return _bb.getDouble(data + 8 * r);
+                case 6:
+                    return (_bb.get(data + r / 8) & 1 << r % 8) != 0;
+                case 7:
+                    byte[] bigEndian = new byte[16];
+                    for (int i = 0; i < 16; i++) {
+                        bigEndian[15 - i] = _bb.get(data + 16 * r + i);
+                    }
+                    return new BigDecimal(new BigInteger(bigEndian), scale);
+                case 10:
+                    long micros = _bb.getLong(data + 8 * r);
+                    return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                        (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+                default:
+                    int start = _bb.getInt(offsets + 4 * r);
+                    byte[] bytes = new byte[_bb.getInt(offsets + 4 * r + 4) - start];
+                    for (int i = 0; i < bytes.length; i++) {
+                        bytes[i] = _bb.get(data + start + i);
+                    }
+                    if (typeId == 5) {
+                        return new String(bytes, StandardCharsets.UTF_8);
+                    }
+                    StringBuilder hex = new StringBuilder();
+                    for (byte b : bytes) {
+                        hex.append(String.format("%02X", b));
+                    }
+                    return hex.toString();
+            }
+        }
+
+        private int buffer(int buffers, int idx, int body) {
+            long offset = _bb.getLong(buffers + 4 + 16 * idx);
+            assertEquals(0, offset % 8);
+            return body + (int) offset;
+        }
+
+        private int field(int table, int id) {
+            assertEquals(0, table % 4);
+            int vtable = table - _bb.getInt(table);
+            assertEquals(0, vtable % 2);
+            assertTrue(4 + 2 * id < _bb.getShort(vtable));
+            int offset = _bb.getShort(vtable + 4 + 2 * id);
+            assertTrue(offset > 0);
+            return table + offset;
+        }
+
+        private int deref(int pos) {
+            return pos + _bb.getInt(pos);
+        }
+
+        private String string(int pos) {
+            byte[] bytes = new byte[_bb.getInt(pos)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = _bb.get(pos + 4 + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import static io.github.spannm.jackcess.test.Basename.COMPLEX_DATA;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import io.github.spannm.jackcess.test.AbstractBaseTest;
+import io.github.spannm.jackcess.test.TestDb;
+import io.github.spannm.jackcess.test.TestUtil;
+import io.github.spannm.jackcess.test.source.FileFormatSource;
+import io.github.spannm.jackcess.test.source.TestDbReadOnlySource;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+class DatabaseCopierTest extends AbstractBaseTest {
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testCopyTableRowData(FileFormat fileFormat) throws IOException {
+        Database srcDb = createDbMem(fileFormat);
+        srcDb.setDateTimeType(DateTimeType.LOCAL_DATE_TIME);
+        Database destDb = createDbMem(fileFormat);
+        destDb.setDateTimeType(DateTimeType.LOCAL_DATE_TIME);
+
+        Table src = new TableBuilder("data")
+            .addColumn(new ColumnBuilder("id", DataType.LONG).withAutoNumber(true))
+            .addColumn(new ColumnBuilder("code", DataType.TEXT))
+            .addColumn(new ColumnBuilder("amount", DataType.DOUBLE))
+            .addColumn(new ColumnBuilder("created", DataType.SHORT_DATE_TIME))
+            .withPrimaryKey("id")
+            .addIndex(new IndexBuilder("code_idx").withColumns(false, "code").withUnique())
+            .toTable(srcDb);
+
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 500; i++) {
+            src.addRow(Column.AUTO_NUMBER, "c" + i * 7919 % 1000, i * 0.5, i % 3 == 0 ? null : created.plusHours(i));
+        }
+        Cursor srcCursor = CursorBuilder.createCursor(src);
+        while (srcCursor.moveToNextRow()) {
+            if (srcCursor.getCurrentRowValue(src.getColumn("id")) instanceof Integer
+                && (Integer) srcCursor.getCurrentRowValue(src.getColumn("id")) % 10 == 0) {
+                srcCursor.deleteCurrentRow();
+            }
+        }
+
+        Table dest = DatabaseCopier.copyTable(src, destDb, "copy");
+        assertTrue(DatabaseCopier.canCopyRowData(src, dest));
+
+        assertTableEquals(src, dest);
+        assertEquals(List.of("id"), getIndexColumnNames(dest.getPrimaryKeyIndex()));
+        Index codeIdx = dest.getIndex("code_idx");
+        assertTrue(codeIdx.isUnique());
+        assertFalse(codeIdx.getColumns().get(0).isAscending());
+
+        // index entries are complete and ordered
+        List<String> expectedCodes = new ArrayList<>();
+        for (Row row : src) {
+            expectedCodes.add(row.getString("code"));
+        }
+        expectedCodes.sort(Comparator.reverseOrder());
+        List<String> codes = new ArrayList<>();
+        for (Row row : CursorBuilder.createCursor(codeIdx).newIterable()) {
+            codes.add(row.getString("code"));
+        }
+        assertEquals(expectedCodes, codes);
+
+        // autonumbers continue, constraints are enforced
+        Object[] newRow = dest.addRow(Column.AUTO_NUMBER, "new", 1.0, null);
+        assertEquals(501, newRow[0]);
+        assertThrows(ConstraintViolationException.class,
+            () -> dest.addRow(Column.AUTO_NUMBER, expectedCodes.get(0), 1.0, null));
+        assertNotNull(CursorBuilder.findRowByPrimaryKey(dest, 2));
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testCopyTableValues(FileFormat fileFormat) throws IOException {
+        Database srcDb = createDbMem(fileFormat);
+        FileFormat destFormat = fileFormat == FileFormat.V2010 ? FileFormat.V2003 : FileFormat.V2010;
+        Database destDb = createDbMem(destFormat);
+
+        Table src = new TableBuilder("docs")
+            .addColumn(new ColumnBuilder("id", DataType.LONG).withAutoNumber(true))
+            .addColumn(new ColumnBuilder("title", DataType.TEXT))
+            .addColumn(new ColumnBuilder("body", DataType.MEMO))
+            .addColumn(new ColumnBuilder("data", DataType.OLE))
+            .withPrimaryKey("id")
+            .toTable(srcDb);
+
+        for (int i = 0; i < 50; i++) {
+            src.addRow(Column.AUTO_NUMBER, "title" + i, TestUtil.createString(i * 200),
+                i % 2 == 0 ? null : TestUtil.createString(i * 100).getBytes());
+        }
+
+        Table dest = DatabaseCopier.copyTable(src, destDb);
+        assertEquals("docs", dest.getName());
+        assertFalse(DatabaseCopier.canCopyRowData(src, dest));
+        assertTableEquals(src, dest);
+        assertEquals(51, dest.addRow(Column.AUTO_NUMBER, "new", null, null)[0]);
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @TestDbReadOnlySource(COMPLEX_DATA)
+    void testCopyTableComplexColumns(TestDb testDb) throws IOException {
+        try (Database srcDb = testDb.open();
+             Database destDb = createDbMem(testDb.getExpectedFileFormat())) {
+            Table src = srcDb.getTable("Table1");
+
+            assertThrows(UnsupportedOperationException.class, () -> DatabaseCopier.copyTable(src, destDb));
+            assertFalse(destDb.getTableNames().contains("Table1"));
+
+            Table dest = DatabaseCopier.copyTable(src, destDb, "Table1", true);
+            List<String> expectedCols = new ArrayList<>();
+            for (Column col : src.getColumns()) {
+                if (col.getType() != DataType.COMPLEX_TYPE) {
+                    expectedCols.add(col.getName());
+                }
+            }
+            assertTrue(expectedCols.size() < src.getColumnCount());
+            List<String> destCols = new ArrayList<>();
+            for (Column col : dest.getColumns()) {
+                destCols.add(col.getName());
+            }
+            assertEquals(expectedCols, destCols);
+            assertEquals(src.getRowCount(), dest.getRowCount());
+        }
+    }
+
+    private static void assertTableEquals(Table expected, Table actual) throws IOException {
+        assertEquals(expected.getRowCount(), actual.getRowCount());
+        Iterator<Row> actualRows = actual.iterator();
+        for (Row row : expected) {
+            Row actualRow = actualRows.next();
+            assertEquals(row.keySet(), actualRow.keySet());
+            for (String col : row.keySet()) {
+                Object value = row.get(col);
+                if (value instanceof byte[]) {
+                    assertArrayEquals((byte[]) value, (byte[]) actualRow.get(col));
+                } else {
+                    assertEquals(value, actualRow.get(col));
+                }
+            }
+        }
+        assertFalse(actualRows.hasNext());
+    }
+
+    private static List<String> getIndexColumnNames(Index idx) {
+        List<String> names = new ArrayList<>();
+        for (Index.Column col : idx.getColumns()) {
+            names.add(col.getName());
+        }
+        return names;
+    }
+}
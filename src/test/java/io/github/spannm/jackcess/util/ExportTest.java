@@ -24,12 +24,15 @@ import io.github.spannm.jackcess.test.source.FileFormatSource;
 import org.junit.jupiter.params.ParameterizedTest;
 
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.file.Files;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 
 class ExportTest extends AbstractBaseTest {
     private static final String NL = System.lineSeparator();
@@ -116,4 +119,83 @@ class ExportTest extends AbstractBaseTest {
         assertEquals(expected, out.toString());
     }
 
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testExportParallel(FileFormat fileFormat) throws IOException {
+        Database db = createDbMem(fileFormat);
+
+        for (String tableName : List.of("test1", "test2", "test3")) {
+            Table t = new TableBuilder(tableName)
+                .addColumn(new ColumnBuilder("id", DataType.LONG))
+                .addColumn(new ColumnBuilder("label", DataType.TEXT))
+                .addColumn(new ColumnBuilder("data", DataType.OLE))
+                .toTable(db);
+            for (int i = 0; i < 2500; i++) {
+                t.addRow(i, i % 3 == 0 ? "some \"quoted\", text " + i : "text" + i,
+                    i % 5 == 0 ? null : TestUtil.createString(i % 20).getBytes());
+            }
+        }
+
+        StringWriter expected = new StringWriter();
+        new ExportUtil.Builder(db, "test1")
+            .withHeader(true)
+            .exportWriter(new BufferedWriter(expected));
+
+        StringWriter out = new StringWriter();
+        new ExportUtil.Builder(db, "test1")
+            .withHeader(true)
+            .withParallelism(3)
+            .exportWriter(new BufferedWriter(out));
+        assertEquals(expected.toString(), out.toString());
+        assertTrue(out.toString().contains("\"some \"\"quoted\"\", text 2499\","));
+
+        // filtered rows are formatted in order even if the filter reuses the row array
+        ExportFilter oddFilter = new SimpleExportFilter() {
+            private int _num;
+
+            @Override
+            public Object[] filterRow(Object[] row) {
+                row[1] = "row" + _num;
+                return _num++ % 2 == 1 ? null : row;
+            }
+        };
+        expected = new StringWriter();
+        new ExportUtil.Builder(db, "test2")
+            .withFilter(oddFilter)
+            .exportWriter(new BufferedWriter(expected));
+        assertEquals(1250, expected.toString().split(NL).length);
+        oddFilter = new SimpleExportFilter() {
+            private int _num;
+
+            @Override
+            public Object[] filterRow(Object[] row) {
+                row[1] = "row" + _num;
+                return _num++ % 2 == 1 ? null : row;
+            }
+        };
+        out = new StringWriter();
+        new ExportUtil.Builder(db, "test2")
+            .withFilter(oddFilter)
+            .withParallelism(2)
+            .exportWriter(new BufferedWriter(out));
+        assertEquals(expected.toString(), out.toString());
+
+        // concurrent export of all tables
+        File dir = TestUtil.createTempDir(TestUtil.getTestTempDir().getName(), "export-" + fileFormat);
+        new ExportUtil.Builder(db)
+            .withHeader(true)
+            .withFileNameExtension("txt")
+            .withParallelism(2)
+            .exportAll(dir);
+        for (String tableName : db.getTableNames()) {
+            out = new StringWriter();
+            new ExportUtil.Builder(db, tableName)
+                .withHeader(true)
+                .exportWriter(new BufferedWriter(out));
+            assertEquals(out.toString(), Files.readString(new File(dir, tableName + ".txt").toPath()));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new ExportUtil.Builder(db).withParallelism(0));
+    }
+
 }
@@ -23,15 +23,20 @@ import io.github.spannm.jackcess.test.TestUtil;
 import io.github.spannm.jackcess.test.source.FileFormatSource;
 import org.junit.jupiter.params.ParameterizedTest;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringReader;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -182,6 +187,209 @@ class ImportTest extends AbstractBaseTest {
         }
     }
 
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testImportWithTypeInference(FileFormat fileFormat) throws IOException {
+        try (Database db = createDbMem(fileFormat)) {
+            String csv = "id,amount,active,created,note\r\n"
+                + "1,12.5,true,2024-01-31,plain\r\n"
+                + "2,-3,no,2024-02-01 13:45:10,\"multi\r\nline, \"\"quoted\"\"\"\r\n"
+                + "3,,YES,,\n"
+                + "-4,1e3,false,2024-03-01T08:00,last";
+
+            String tableName = new ImportUtil.Builder(db, "typed")
+                .withTypeInference(100)
+                .importReader(new BufferedReader(new StringReader(csv)));
+            Table t = db.getTable(tableName);
+
+            List<DataType> types = new ArrayList<>();
+            for (Column c : t.getColumns()) {
+                types.add(c.getType());
+            }
+            assertEquals(List.of(DataType.LONG, DataType.DOUBLE, DataType.BOOLEAN, DataType.SHORT_DATE_TIME, DataType.TEXT), types);
+
+            List<? extends Map<String, Object>> expectedRows =
+                TestUtil.createExpectedTable(
+                    TestUtil.createExpectedRow(
+                        "id", 1, "amount", 12.5d, "active", true,
+                        "created", LocalDateTime.of(2024, 1, 31, 0, 0), "note", "plain"),
+                    TestUtil.createExpectedRow(
+                        "id", 2, "amount", -3d, "active", false,
+                        "created", LocalDateTime.of(2024, 2, 1, 13, 45, 10),
+                        "note", "multi" + ImportUtil.LINE_SEPARATOR + "line, \"quoted\""),
+                    TestUtil.createExpectedRow(
+                        "id", 3, "amount", null, "active", true, "created", null, "note", null),
+                    TestUtil.createExpectedRow(
+                        "id", -4, "amount", 1000d, "active", false,
+                        "created", LocalDateTime.of(2024, 3, 1, 8, 0), "note", "last"));
+            TestUtil.assertTable(expectedRows, t);
+
+            // without type inference, all columns are text
+            tableName = new ImportUtil.Builder(db, "untyped")
+                .importReader(new BufferedReader(new StringReader(csv)));
+            for (Column c : db.getTable(tableName).getColumns()) {
+                assertEquals(DataType.TEXT, c.getType());
+            }
+
+            // values after the sample must match the inferred types
+            ImportUtil.Builder builder = new ImportUtil.Builder(db, "mismatch").withTypeInference(1);
+            assertThrows(IOException.class, () -> builder.importReader(new BufferedReader(new StringReader("num\n1\n2\nthree\n"))));
+
+            // leading zeros are kept
+            tableName = new ImportUtil.Builder(db, "zip")
+                .withTypeInference(100)
+                .importReader(new BufferedReader(new StringReader("zip,amount,qty\n01234,00.5,0\n98765,1.5,10\n")));
+            t = db.getTable(tableName);
+            assertEquals(DataType.TEXT, t.getColumn("zip").getType());
+            assertEquals(DataType.TEXT, t.getColumn("amount").getType());
+            assertEquals(DataType.LONG, t.getColumn("qty").getType());
+            assertEquals("01234", t.iterator().next().getString("zip"));
+
+            // leading zeros after the sample are not silently dropped
+            ImportUtil.Builder zipBuilder = new ImportUtil.Builder(db, "zip2").withTypeInference(1);
+            assertThrows(IOException.class, () -> zipBuilder.importReader(new BufferedReader(new StringReader("zip\n98765\n01234\n"))));
+
+            // numbers with more digits than a double represents exactly are kept
+            tableName = new ImportUtil.Builder(db, "card")
+                .withTypeInference(100)
+                .importReader(new BufferedReader(new StringReader(
+                    "card,big,small\n4111111111111111,12345678901,0.0001234567890123456\n5500000000000004,98765432109,1.5\n")));
+            t = db.getTable(tableName);
+            assertEquals(DataType.TEXT, t.getColumn("card").getType());
+            assertEquals(DataType.DOUBLE, t.getColumn("big").getType());
+            assertEquals(DataType.TEXT, t.getColumn("small").getType());
+            assertEquals("4111111111111111", t.iterator().next().getString("card"));
+
+            // empty values would be stored as false in a Yes/No column
+            tableName = new ImportUtil.Builder(db, "flags")
+                .withTypeInference(100)
+                .importReader(new BufferedReader(new StringReader("flag,other\nyes,no\n,yes\nno,no\n")));
+            t = db.getTable(tableName);
+            assertEquals(DataType.TEXT, t.getColumn("flag").getType());
+            assertEquals(DataType.BOOLEAN, t.getColumn("other").getType());
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testImportPipeline(FileFormat fileFormat) throws IOException {
+        try (Database db = createDbMem(fileFormat)) {
+            StringBuilder csv = new StringBuilder("id,grp,label\n");
+            for (int i = 0; i < 5000; i++) {
+                csv.append(i).append(',').append(i % 7).append(",name").append(i).append('\n');
+            }
+
+            List<Object> filteredIds = new ArrayList<>();
+            ImportFilter filter = new SimpleImportFilter() {
+                @Override
+                public Object[] filterRow(Object[] row) {
+                    // the filter is called in source order on the calling thread
+                    filteredIds.add(row[0]);
+                    return Integer.valueOf(3).equals(row[1]) ? null : row;
+                }
+            };
+
+            String tableName = new ImportUtil.Builder(db, "piped")
+                .withTypeInference(10)
+                .withFilter(filter)
+                .withBatchSize(37)
+                .withParallelism(4)
+                .importReader(new BufferedReader(new StringReader(csv.toString())));
+
+            assertEquals(5000, filteredIds.size());
+            for (int i = 0; i < 5000; i++) {
+                assertEquals(i, filteredIds.get(i));
+            }
+
+            int expectedId = 0;
+            for (Row row : db.getTable(tableName)) {
+                if (expectedId % 7 == 3) {
+                    expectedId++;
+                }
+                assertEquals(expectedId, row.get("id"));
+                assertEquals("name" + expectedId, row.get("label"));
+                expectedId++;
+            }
+            assertEquals(5000, expectedId);
+
+            // failures of the writer are reported to the caller
+            new TableBuilder("existing")
+                .addColumn(new ColumnBuilder("id", DataType.LONG))
+                .addColumn(new ColumnBuilder("name", DataType.TEXT))
+                .toTable(db);
+            ImportUtil.Builder builder = new ImportUtil.Builder(db, "existing")
+                .withUseExistingTable(true)
+                .withBatchSize(10)
+                .withParallelism(2);
+            assertThrows(NumberFormatException.class, () -> builder.importReader(new BufferedReader(new StringReader("id,name\n1,a\nx,b\n"))));
+            assertThrows(IllegalArgumentException.class, () -> builder.withParallelism(0));
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testImportPipelineWriterError(FileFormat fileFormat) throws IOException {
+        try (Database db = createDbMem(fileFormat)) {
+            Table table = new TableBuilder("failing")
+                .addColumn(new ColumnBuilder("id", DataType.LONG))
+                .toTable(db);
+            Table failingTable = (Table) Proxy.newProxyInstance(Table.class.getClassLoader(), new Class<?>[] {Table.class},
+                (proxy, method, args) -> {
+                    if ("addRows".equals(method.getName())) {
+                        throw new AssertionError("addRows failed");
+                    }
+                    try {
+                        return method.invoke(table, args);
+                    } catch (InvocationTargetException _ex) {
+                        throw _ex.getCause();
+                    }
+                });
+
+            // an error of the writer is reported, whether the queue has room (1 batch) or is full (many batches)
+            for (int numRows : new int[] {1, 1000}) {
+                ImportPipeline pipeline = new ImportPipeline(failingTable, 1, 2);
+                try {
+                    AssertionError error = assertTimeoutPreemptively(Duration.ofMinutes(1), () -> assertThrows(AssertionError.class, () -> {
+                        for (int i = 0; i < numRows; i++) {
+                            pipeline.addRow(new Object[] {i});
+                        }
+                        pipeline.finish();
+                    }));
+                    assertEquals("addRows failed", error.getMessage());
+                } finally {
+                    pipeline.close();
+                }
+            }
+            assertEquals(0, table.getRowCount());
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testImportWithRegexDelimiter(FileFormat fileFormat) throws IOException {
+        try (Database db = createDbMem(fileFormat)) {
+            // literal delimiters are parsed by the streaming parser, real patterns are matched line by line
+            String literalName = new ImportUtil.Builder(db, "literal")
+                .withDelimiter("\\t")
+                .importFile(new File(DIR_TEST_DATA, "sample-input.tab"));
+            String regexName = new ImportUtil.Builder(db, "regex")
+                .withDelimiter("[\\t]")
+                .importFile(new File(DIR_TEST_DATA, "sample-input.tab"));
+
+            List<Row> literalRows = new ArrayList<>();
+            db.getTable(literalName).forEach(literalRows::add);
+            List<Row> regexRows = new ArrayList<>();
+            db.getTable(regexName).forEach(regexRows::add);
+            assertEquals(regexRows, literalRows);
+
+            String csv = "a;;b\nx;;y;;z\n";
+            String tableName = new ImportUtil.Builder(db, "multi")
+                .withDelimiter(";;")
+                .importReader(new BufferedReader(new StringReader(csv)));
+            TestUtil.assertTable(TestUtil.createExpectedTable(TestUtil.createExpectedRow("a", "x", "b", "y")), db.getTable(tableName));
+        }
+    }
+
     @ParameterizedTest(name = "[{index}] {0}")
     @FileFormatSource
     void testCopySqlHeaders(FileFormat fileFormat) throws IOException, SQLException {
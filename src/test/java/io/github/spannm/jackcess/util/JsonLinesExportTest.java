@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import static io.github.spannm.jackcess.test.Basename.COMPLEX_DATA;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import io.github.spannm.jackcess.test.AbstractBaseTest;
+import io.github.spannm.jackcess.test.TestDb;
+import io.github.spannm.jackcess.test.source.FileFormatSource;
+import io.github.spannm.jackcess.test.source.TestDbSource;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class JsonLinesExportTest extends AbstractBaseTest {
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testExportJsonLines(FileFormat fileFormat) throws IOException {
+        Database db = createDbMem(fileFormat);
+        db.setDateTimeType(DateTimeType.LOCAL_DATE_TIME);
+
+        Table t = new TableBuilder("test")
+            .addColumn(new ColumnBuilder("col1", DataType.TEXT))
+            .addColumn(new ColumnBuilder("col2", DataType.LONG))
+            .addColumn(new ColumnBuilder("col3", DataType.DOUBLE))
+            .addColumn(new ColumnBuilder("col4", DataType.OLE))
+            .addColumn(new ColumnBuilder("col5", DataType.BOOLEAN))
+            .addColumn(new ColumnBuilder("col6", DataType.SHORT_DATE_TIME))
+            .addColumn(new ColumnBuilder("col7", DataType.MONEY))
+            .toTable(db);
+
+        byte[] data = "some binary data".getBytes(StandardCharsets.US_ASCII);
+        t.addRow("some \"text\"\n\ttab\\", 13, 13.25, data, true, LocalDateTime.of(1980, 12, 31, 13, 5),
+            new BigDecimal("4.5"));
+        t.addRow(null, -345, Double.NaN, null, false, null, null);
+
+        StringWriter out = new StringWriter();
+        new JsonLinesExportUtil.Builder(db, "test")
+            .exportWriter(new BufferedWriter(out));
+
+        String expected =
+            "{\"col1\":\"some \\\"text\\\"\\n\\ttab\\\\\",\"col2\":13,\"col3\":13.25,\"col4\":\""
+            + Base64.getEncoder().encodeToString(data) + "\",\"col5\":true,\"col6\":\"1980-12-31T13:05:00\","
+            + "\"col7\":4.5000}\n"
+            + "{\"col1\":null,\"col2\":-345,\"col3\":\"NaN\",\"col4\":null,\"col5\":false,\"col6\":null,\"col7\":null}\n";
+        assertEquals(expected, out.toString());
+
+        ExportFilter filter = new SimpleExportFilter() {
+            @Override
+            public List<Column> filterColumns(List<Column> columns) {
+                return columns.subList(0, 2);
+            }
+
+            @Override
+            public Object[] filterRow(Object[] row) {
+                return row[0] == null ? null : new Object[] {row[0].toString().length(), "x" + row[1]};
+            }
+        };
+
+        out = new StringWriter();
+        new JsonLinesExportUtil.Builder(CursorBuilder.createCursor(t))
+            .withFilter(filter)
+            .exportWriter(new BufferedWriter(out));
+        assertEquals("{\"col1\":17,\"col2\":\"x13\"}\n", out.toString());
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @TestDbSource(COMPLEX_DATA)
+    void testExportComplexColumns(TestDb testDb) throws IOException {
+        try (Database db = testDb.openCopy()) {
+            ExportFilter filter = new SimpleExportFilter() {
+                @Override
+                public List<Column> filterColumns(List<Column> columns) {
+                    return columns.stream()
+                        .filter(c -> List.of("id", "multi-value-data", "attach-data").contains(c.getName()))
+                        .collect(Collectors.toList());
+                }
+            };
+
+            StringWriter out = new StringWriter();
+            new JsonLinesExportUtil.Builder(db, "Table1")
+                .withFilter(filter)
+                .exportWriter(new BufferedWriter(out));
+
+            List<String> lines = List.of(out.toString().split("\n"));
+            assertEquals(4, lines.size());
+            String row3 = lines.stream().filter(l -> l.startsWith("{\"id\":\"row3\"")).findFirst().orElseThrow();
+            assertTrue(row3.contains("\"multi-value-data\":[\"value1\",\"value2\",\"value3\",\"value4\"]"));
+            assertTrue(row3.contains("\"attach-data\":[]"));
+            String row2 = lines.stream().filter(l -> l.startsWith("{\"id\":\"row2\"")).findFirst().orElseThrow();
+            assertTrue(row2.contains("\"attach-data\":[{\"fileName\":\"test_data.txt\",\"fileType\":\"txt\","));
+            assertTrue(row2.contains("{\"fileName\":\"test_data2.txt\",\"fileType\":\"txt\","));
+        }
+    }
+}
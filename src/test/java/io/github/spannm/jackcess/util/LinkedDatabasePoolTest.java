@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import io.github.spannm.jackcess.impl.DatabaseImpl;
+import io.github.spannm.jackcess.test.AbstractBaseTest;
+import io.github.spannm.jackcess.test.source.FileFormatSource;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+class LinkedDatabasePoolTest extends AbstractBaseTest {
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testSharedLinkedDatabase(FileFormat fileFormat) throws IOException {
+        Path linkeeFile = createLinkeeDb(fileFormat);
+        Path linkerFile = createLinkerDb(fileFormat, linkeeFile);
+
+        try (LinkedDatabasePool pool = new LinkedDatabasePool(Duration.ofHours(1))) {
+            Database linkedDb;
+            try (Database db2 = openLinkerDb(linkerFile, pool)) {
+                Table t2 = db2.getTable("Linked");
+                try (Database db1 = openLinkerDb(linkerFile, pool)) {
+                    Table t1 = db1.getTable("Linked");
+                    // each linker gets its own view of the same shared table
+                    assertNotSame(t1.getDatabase(), t2.getDatabase());
+                    assertEquals(t1, t2);
+                    assertEquals(1, t2.getRowCount());
+                    assertEquals(1, pool.size());
+
+                    linkedDb = t1.getDatabase();
+                    assertTrue(pool.isPooled(linkedDb));
+                    assertTrue(db1.isLinkedTable(t1));
+                    assertTrue(db2.isLinkedTable(t2));
+                    assertFalse(db1.isLinkedTable(t2));
+
+                    assertThrows(UnsupportedOperationException.class, t1::getDefaultCursor);
+                }
+                assertFalse(pool.isPooled(linkedDb));
+
+                // still used by db2
+                assertEquals("foo", t2.iterator().next().getString("data"));
+            }
+
+            // idle, but kept open for later linkers
+            assertEquals(1, pool.size());
+            try (Database db3 = openLinkerDb(linkerFile, pool)) {
+                linkedDb = db3.getTable("Linked").getDatabase();
+                assertTrue(pool.isPooled(linkedDb));
+                assertEquals(1, pool.size());
+            }
+
+            pool.close();
+            assertEquals(0, pool.size());
+            assertFalse(pool.isPooled(linkedDb));
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testIdleEviction(FileFormat fileFormat) throws IOException {
+        Path linkeeFile = createLinkeeDb(fileFormat);
+        Path linkerFile = createLinkerDb(fileFormat, linkeeFile);
+
+        try (LinkedDatabasePool pool = new LinkedDatabasePool(Duration.ZERO)) {
+            Database linkedDb;
+            try (Database db = openLinkerDb(linkerFile, pool)) {
+                linkedDb = db.getTable("Linked").getDatabase();
+                assertEquals(1, pool.size());
+            }
+            assertEquals(0, pool.size());
+
+            assertFalse(pool.isPooled(linkedDb));
+
+            try (Database db = openLinkerDb(linkerFile, pool)) {
+                assertNotSame(linkedDb, db.getTable("Linked").getDatabase());
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new LinkedDatabasePool(Duration.ofSeconds(-1)));
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testWritableLinkerNotShared(FileFormat fileFormat) throws IOException {
+        Path linkeeFile = createLinkeeDb(fileFormat);
+        Path linkerFile = createLinkerDb(fileFormat, linkeeFile);
+
+        try (LinkedDatabasePool pool = new LinkedDatabasePool(Duration.ofHours(1))) {
+            Database linkedDb;
+            try (Database db1 = new DatabaseBuilder().withPath(linkerFile).withLinkResolver(pool).open();
+                 Database db2 = openLinkerDb(linkerFile, pool)) {
+                Table t1 = db1.getTable("Linked");
+                linkedDb = t1.getDatabase();
+                assertFalse(pool.isPooled(linkedDb));
+                assertNotSame(linkedDb, db2.getTable("Linked").getDatabase());
+                assertEquals(1, pool.size());
+
+                t1.addRow(2, "bar");
+                assertEquals(2, t1.getRowCount());
+            }
+
+            // writable linked databases are closed with their linker
+            assertFalse(((DatabaseImpl) linkedDb).getPageChannel().isOpen());
+            assertEquals(1, pool.size());
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testConcurrentLinkers(FileFormat fileFormat) throws Exception {
+        Path linkeeFile = createLinkeeDb(fileFormat, 200);
+        Path linkerFile = createLinkerDb(fileFormat, linkeeFile);
+
+        int numThreads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try (LinkedDatabasePool pool = new LinkedDatabasePool(Duration.ofHours(1))) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < numThreads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int sum = 0;
+                    try (Database db = openLinkerDb(linkerFile, pool)) {
+                        Table table = db.getTable("Linked");
+                        for (int j = 0; j < 20; j++) {
+                            for (Row row : table) {
+                                sum += row.getInt("id");
+                            }
+                            Cursor cursor = table.newCursor().toCursor();
+                            assertTrue(cursor.findFirstRow(table.getColumn("id"), j + 2));
+                            assertEquals("foo", cursor.getCurrentRowValue(table.getColumn("data")));
+                        }
+                    }
+                    return sum;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(20 * (200 * 201 / 2), result.get(1, TimeUnit.MINUTES));
+            }
+            assertEquals(1, pool.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testOpenOutsideLock(FileFormat fileFormat) throws Exception {
+        Path slowLinkerFile = createLinkerDb(fileFormat, createLinkeeDb(fileFormat));
+        Path otherLinkeeFile = createLinkeeDb(fileFormat);
+        Path otherLinkerFile = createLinkerDb(fileFormat, otherLinkeeFile);
+        CountDownLatch opening = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        LinkedDatabasePool pool = new LinkedDatabasePool(Duration.ZERO) {
+            @Override
+            protected Database openDatabase(Path linkeeFile, boolean readOnly) throws IOException {
+                if (!linkeeFile.equals(otherLinkeeFile)) {
+                    opening.countDown();
+                    try {
+                        proceed.await();
+                    } catch (InterruptedException _ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.openDatabase(linkeeFile, readOnly);
+            }
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slowOpen = executor.submit(() -> {
+                try (Database db = openLinkerDb(slowLinkerFile, pool)) {
+                    return db.getTable("Linked").getRowCount();
+                }
+            });
+            assertTrue(opening.await(1, TimeUnit.MINUTES));
+
+            // the pool is not blocked while the slow file is being opened
+            assertTimeoutPreemptively(Duration.ofMinutes(1), () -> {
+                try (Database db = openLinkerDb(otherLinkerFile, pool)) {
+                    assertEquals(1, db.getTable("Linked").getRowCount());
+                    assertEquals(1, pool.size());
+                }
+            });
+
+            proceed.countDown();
+            assertEquals(1, slowOpen.get(1, TimeUnit.MINUTES));
+        } finally {
+            proceed.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals(0, pool.size());
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testReleaseThroughResolvingResolver(FileFormat fileFormat) throws IOException {
+        Path linkeeFile = createLinkeeDb(fileFormat);
+        Path linkerFile = createLinkerDb(fileFormat, linkeeFile);
+
+        List<Database> released = new ArrayList<>();
+        LinkResolver otherResolver = new LinkResolver() {
+            @Override
+            public Database resolveLinkedDatabase(Database linkerDb, String linkeeFileName) throws IOException {
+                return DEFAULT.resolveLinkedDatabase(linkerDb, linkeeFileName);
+            }
+
+            @Override
+            public void releaseLinkedDatabase(Database linkerDb, Database linkeeDb) throws IOException {
+                released.add(linkeeDb);
+                DEFAULT.releaseLinkedDatabase(linkerDb, linkeeDb);
+            }
+        };
+
+        try (LinkedDatabasePool pool = new LinkedDatabasePool(Duration.ZERO)) {
+            Database linkedDb;
+            try (Database db = openLinkerDb(linkerFile, pool)) {
+                linkedDb = db.getTable("Linked").getDatabase();
+                db.setLinkResolver(otherResolver);
+            }
+            // released to the pool which resolved it, not to the current resolver
+            assertEquals(List.of(), released);
+            assertFalse(pool.isPooled(linkedDb));
+            assertEquals(0, pool.size());
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testCloseAfterReleaseFailure(FileFormat fileFormat) throws IOException {
+        Path linkeeFile = createLinkeeDb(fileFormat);
+        Path linkerFile = createLinkerDb(fileFormat, linkeeFile);
+
+        LinkResolver failingResolver = new LinkResolver() {
+            @Override
+            public Database resolveLinkedDatabase(Database linkerDb, String linkeeFileName) throws IOException {
+                return DEFAULT.resolveLinkedDatabase(linkerDb, linkeeFileName);
+            }
+
+            @Override
+            public void releaseLinkedDatabase(Database linkerDb, Database linkeeDb) throws IOException {
+                linkeeDb.close();
+                throw new IOException("release failed");
+            }
+        };
+
+        Database db = new DatabaseBuilder().withPath(linkerFile).withReadOnly(true).withLinkResolver(failingResolver).open();
+        db.getTable("Linked");
+        assertEquals("release failed", assertThrows(IOException.class, db::close).getMessage());
+        assertFalse(((DatabaseImpl) db).getPageChannel().isOpen());
+    }
+
+    private Path createLinkeeDb(FileFormat fileFormat) throws IOException {
+        return createLinkeeDb(fileFormat, 1);
+    }
+
+    private Path createLinkeeDb(FileFormat fileFormat, int numRows) throws IOException {
+        try (Database db = createDb(fileFormat, false, false)) {
+            Table table = new TableBuilder("Data")
+                .addColumn(new ColumnBuilder("id", DataType.LONG))
+                .addColumn(new ColumnBuilder("data", DataType.TEXT))
+                .toTable(db);
+            for (int i = 1; i <= numRows; i++) {
+                table.addRow(i, "foo");
+            }
+            return db.getPath().toAbsolutePath();
+        }
+    }
+
+    private Path createLinkerDb(FileFormat fileFormat, Path linkeeFile) throws IOException {
+        try (Database db = createDb(fileFormat, false, false)) {
+            db.createLinkedTable("Linked", linkeeFile.toString(), "Data");
+            return db.getPath().toAbsolutePath();
+        }
+    }
+
+    private static Database openLinkerDb(Path linkerFile, LinkedDatabasePool pool) throws IOException {
+        return new DatabaseBuilder()
+            .withPath(linkerFile)
+            .withReadOnly(true)
+            .withLinkResolver(pool)
+            .open();
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import io.github.spannm.jackcess.test.AbstractBaseTest;
+import io.github.spannm.jackcess.test.source.FileFormatSource;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+class SharedDatabaseRegistryTest extends AbstractBaseTest {
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testSharedDatabase(FileFormat fileFormat) throws IOException {
+        Path dbFile = createTestDb(fileFormat);
+        SharedDatabaseRegistry registry = new SharedDatabaseRegistry();
+
+        try (SharedDatabaseRegistry.Handle handle1 = registry.open(dbFile);
+             SharedDatabaseRegistry.Handle handle2 = registry.open(dbFile)) {
+            Database db = handle1.getDatabase();
+            assertEquals(db, handle2.getDatabase());
+            assertEquals(db.getTable("Data"), handle2.getDatabase().getTable("Data"));
+            assertEquals(1, registry.size());
+
+            handle1.close();
+            handle1.close();
+            assertThrows(IllegalStateException.class, handle1::getDatabase);
+            assertThrows(IllegalStateException.class, () -> db.getTable("Data"));
+            assertEquals(1, handle2.getDatabase().getTable("Data").getRowCount());
+            assertEquals(1, registry.size());
+
+            try (SharedDatabaseRegistry.Handle handle3 = registry.open(dbFile, null, TEST_TZ)) {
+                assertNotEquals(db, handle3.getDatabase());
+                assertEquals(2, registry.size());
+            }
+            assertEquals(1, registry.size());
+        }
+
+        assertEquals(0, registry.size());
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testGuardedDatabase(FileFormat fileFormat) throws IOException {
+        Path dbFile = createTestDb(fileFormat);
+        SharedDatabaseRegistry registry = new SharedDatabaseRegistry();
+
+        try (SharedDatabaseRegistry.Handle handle1 = registry.open(dbFile);
+             SharedDatabaseRegistry.Handle handle2 = registry.open(dbFile)) {
+            Database db = handle1.getDatabase();
+            Table table = db.getTable("Data");
+            assertSame(db, table.getDatabase());
+
+            // shared configuration and metadata cannot be changed
+            assertThrows(UnsupportedOperationException.class, () -> db.setDateTimeType(DateTimeType.DATE));
+            assertThrows(UnsupportedOperationException.class, () -> db.setLinkResolver(null));
+            assertThrows(UnsupportedOperationException.class, () -> db.setColumnValidatorFactory(null));
+            assertThrows(UnsupportedOperationException.class, () -> db.createLinkedTable("Linked", "other.mdb", "Data"));
+            assertThrows(UnsupportedOperationException.class, () -> table.setAllowAutoNumberInsert(true));
+            assertThrows(UnsupportedOperationException.class, () -> table.getColumn("id").setColumnValidator(null));
+            assertThrows(UnsupportedOperationException.class, () -> table.getProperties().put("prop", "v"));
+            assertThrows(UnsupportedOperationException.class, () -> db.getEvalConfig().setTemporalConfig(null));
+
+            // objects obtained from the view are usable as usual
+            assertEquals(List.of("Data"), db.stream().map(Table::getName).collect(Collectors.toList()));
+            assertEquals("foo", table.iterator().next().getString("data"));
+            assertEquals("foo", table.newCursor().toCursor().newIterable().iterator().next().getString("data"));
+            assertThrows(UnsupportedOperationException.class, table::getDefaultCursor);
+            assertThrows(UnsupportedOperationException.class, table::getNextRow);
+            IndexCursor cursor = table.newCursor().withIndex(table.getPrimaryKeyIndex()).toIndexCursor();
+            assertTrue(cursor.findFirstRowByEntry(1));
+            assertEquals(1, cursor.newEntryIterable(1).stream().count());
+
+            // rows and other detached values are not guarded
+            assertTrue(cursor.findFirstRowByEntry(1));
+            Row row = cursor.getCurrentRow();
+            assertFalse(Proxy.isProxyClass(row.getClass()));
+            assertFalse(Proxy.isProxyClass(table.iterator().next().getClass()));
+            assertFalse(Proxy.isProxyClass(row.getId().getClass()));
+            Cursor.Savepoint savepoint = cursor.getSavepoint();
+            assertFalse(Proxy.isProxyClass(savepoint.getClass()));
+            cursor.reset();
+            cursor.restoreSavepoint(savepoint);
+            assertEquals(row, cursor.getCurrentRow());
+
+            // closing the view closes its handle, but not the shared database
+            table.getDatabase().close();
+            assertThrows(IllegalStateException.class, handle1::getDatabase);
+            assertEquals(1, handle2.getDatabase().getTable("Data").getRowCount());
+            assertEquals(1, registry.size());
+        }
+
+        assertEquals(0, registry.size());
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testConcurrentAccess(FileFormat fileFormat) throws Exception {
+        Path dbFile = createTestDb(fileFormat, 200);
+        AtomicInteger numOpened = new AtomicInteger();
+        SharedDatabaseRegistry registry = new SharedDatabaseRegistry() {
+            @Override
+            protected Database openDatabase(Path file, Charset charset, TimeZone timeZone) throws IOException {
+                numOpened.incrementAndGet();
+                return super.openDatabase(file, charset, timeZone);
+            }
+        };
+
+        int numThreads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < numThreads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int sum = 0;
+                    for (int j = 0; j < 20; j++) {
+                        try (SharedDatabaseRegistry.Handle handle = registry.open(dbFile)) {
+                            Table table = handle.getDatabase().getTable("Data");
+                            for (Row row : table) {
+                                sum += row.getInt("id");
+                            }
+                            IndexCursor cursor = table.getPrimaryKeyIndex().newCursor().toIndexCursor();
+                            assertTrue(cursor.findFirstRowByEntry(j + 2));
+                            assertEquals("foo" + (j + 2), cursor.getCurrentRowValue(table.getColumn("data")));
+                        }
+                    }
+                    return sum;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(20 * (200 * 201 / 2), result.get(1, TimeUnit.MINUTES));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, registry.size());
+        assertTrue(numOpened.get() >= 1);
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testOpenOutsideLock(FileFormat fileFormat) throws Exception {
+        Path slowFile = createTestDb(fileFormat);
+        Path otherFile = createTestDb(fileFormat);
+        CountDownLatch opening = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        SharedDatabaseRegistry registry = new SharedDatabaseRegistry() {
+            @Override
+            protected Database openDatabase(Path file, Charset charset, TimeZone timeZone) throws IOException {
+                if (file.equals(slowFile.toAbsolutePath().normalize())) {
+                    opening.countDown();
+                    try {
+                        proceed.await();
+                    } catch (InterruptedException _ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.openDatabase(file, charset, timeZone);
+            }
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slowOpen = executor.submit(() -> {
+                try (SharedDatabaseRegistry.Handle handle = registry.open(slowFile)) {
+                    return handle.getDatabase().getTable("Data").getRowCount();
+                }
+            });
+            assertTrue(opening.await(1, TimeUnit.MINUTES));
+
+            // the registry is not blocked while the slow file is being opened
+            try (SharedDatabaseRegistry.Handle handle = registry.open(otherFile)) {
+                assertEquals(1, handle.getDatabase().getTable("Data").getRowCount());
+                assertEquals(1, registry.size());
+            }
+
+            proceed.countDown();
+            assertEquals(1, slowOpen.get(1, TimeUnit.MINUTES));
+        } finally {
+            proceed.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals(0, registry.size());
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testModifiedFile(FileFormat fileFormat) throws IOException {
+        Path dbFile = createTestDb(fileFormat);
+        SharedDatabaseRegistry registry = new SharedDatabaseRegistry();
+
+        try (SharedDatabaseRegistry.Handle handle1 = registry.open(dbFile)) {
+            Database db1 = handle1.getDatabase();
+            assertEquals(1, db1.getTable("Data").getRowCount());
+
+            FileTime lastModified = Files.getLastModifiedTime(dbFile);
+            try (Database db = new DatabaseBuilder().withPath(dbFile).open()) {
+                db.getTable("Data").addRow(2, "bar");
+            }
+            Files.setLastModifiedTime(dbFile, FileTime.fromMillis(lastModified.toMillis() + 2000L));
+
+            try (SharedDatabaseRegistry.Handle handle2 = registry.open(dbFile)) {
+                Database db2 = handle2.getDatabase();
+                assertNotEquals(db1, db2);
+                assertEquals(2, db2.getTable("Data").getRowCount());
+                assertEquals(1, registry.size());
+
+                // the old database is still usable by its handles
+                assertEquals("foo", db1.getTable("Data").iterator().next().getString("data"));
+                handle1.close();
+                assertEquals(1, registry.size());
+                try (SharedDatabaseRegistry.Handle handle3 = registry.open(dbFile)) {
+                    assertEquals(db2, handle3.getDatabase());
+                }
+            }
+            assertEquals(0, registry.size());
+        }
+    }
+
+    private Path createTestDb(FileFormat fileFormat) throws IOException {
+        return createTestDb(fileFormat, 1);
+    }
+
+    private Path createTestDb(FileFormat fileFormat, int numRows) throws IOException {
+        try (Database db = createDb(fileFormat, false, false)) {
+            Table table = new TableBuilder("Data")
+                .addColumn(new ColumnBuilder("id", DataType.LONG))
+                .addColumn(new ColumnBuilder("data", DataType.TEXT))
+                .withPrimaryKey("id")
+                .toTable(db);
+            table.addRow(1, "foo");
+            for (int i = 2; i <= numRows; i++) {
+                table.addRow(i, "foo" + i);
+            }
+            return db.getPath();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2024 Markus Spann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.spannm.jackcess.util;
+
+import io.github.spannm.jackcess.*;
+import io.github.spannm.jackcess.Database.FileFormat;
+import io.github.spannm.jackcess.impl.DatabaseImpl;
+import io.github.spannm.jackcess.impl.PageTypes;
+import io.github.spannm.jackcess.test.AbstractBaseTest;
+import io.github.spannm.jackcess.test.TestUtil;
+import io.github.spannm.jackcess.test.source.FileFormatSource;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+class SimpleMetricsCollectorTest extends AbstractBaseTest {
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testCollectMetrics(FileFormat fileFormat) throws IOException {
+        SimpleMetricsCollector metrics = new SimpleMetricsCollector();
+        FileChannel channel = MemFileChannel.newChannel();
+
+        try (Database db = new DatabaseBuilder()
+            .withFileFormat(fileFormat)
+            .withChannel(channel)
+            .withAutoSync(false)
+            .withMetricsCollector(metrics)
+            .create()) {
+
+            Table t = new TableBuilder("test")
+                .addColumn(new ColumnBuilder("id", DataType.LONG).withAutoNumber(true))
+                .addColumn(new ColumnBuilder("data", DataType.TEXT))
+                .addColumn(new ColumnBuilder("memo", DataType.MEMO))
+                .withPrimaryKey("id")
+                .addIndex(new IndexBuilder("data_idx").withColumns("data"))
+                .toTable(db);
+
+            String longText = TestUtil.createString(10000);
+            for (int i = 0; i < 1000; i++) {
+                t.addRow(Column.AUTO_NUMBER, "value " + (i * 7919 % 1000), i % 100 == 0 ? longText : null);
+            }
+            db.flush();
+
+            SimpleMetricsCollector.Snapshot snapshot = metrics.snapshot();
+            assertTrue(snapshot.getPageWrites(PageTypes.DATA) > 0);
+            assertTrue(snapshot.getPageWrites(PageTypes.INDEX_LEAF) > 0);
+            assertTrue(snapshot.getBytesWritten() >= snapshot.getPageWrites());
+            assertTrue(snapshot.getIndexPageSplits() > 0);
+            assertTrue(snapshot.getIndexPageCacheHits() > 0);
+            assertEquals(1, snapshot.getFlushes());
+        }
+
+        metrics.reset();
+        assertEquals(0, metrics.snapshot().getPageReads());
+
+        try (Database db = new DatabaseBuilder()
+            .withChannel(channel)
+            .withMetricsCollector(metrics)
+            .open()) {
+
+            int numRows = 0;
+            for (Row row : db.getTable("test")) {
+                row.getString("memo");
+                numRows++;
+            }
+            assertEquals(1000, numRows);
+
+            SimpleMetricsCollector.Snapshot snapshot = metrics.snapshot();
+            assertEquals(1000, snapshot.getRowsDecoded("test"));
+            assertTrue(snapshot.getPageReads(PageTypes.DATA) > 0);
+            assertTrue(snapshot.getPageReads(PageTypes.TABLE_DEF) > 0);
+            assertEquals(snapshot.getPageReads() * ((DatabaseImpl) db).getFormat().PAGE_SIZE, snapshot.getBytesRead());
+            assertTrue(snapshot.getLongValuePagesRead() >= 10);
+            assertEquals(0, snapshot.getPageWrites());
+
+            IndexCursor cursor = CursorBuilder.createCursor(db.getTable("test").getIndex("data_idx"));
+            assertTrue(cursor.findFirstRowByEntry("value 42"));
+            assertTrue(metrics.snapshot().getIndexPageCacheMisses() > 0);
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource(exclude = "GENERIC_JET4")
+    void testTableCacheMetrics(FileFormat fileFormat) throws IOException {
+        FileChannel channel = MemFileChannel.newChannel();
+        try (Database db = new DatabaseBuilder().withFileFormat(fileFormat).withChannel(channel).create()) {
+            for (String name : new String[] {"t1", "t2", "t3"}) {
+                new TableBuilder(name)
+                    .addColumn(new ColumnBuilder("id", DataType.LONG))
+                    .toTable(db);
+            }
+        }
+
+        SimpleMetricsCollector metrics = new SimpleMetricsCollector();
+        try (Database db = new DatabaseBuilder()
+            .withChannel(channel)
+            .withMetricsCollector(metrics)
+            .withTableCache(2, Long.MAX_VALUE)
+            .open()) {
+
+            // ignore the system tables read while opening the database
+            metrics.reset();
+
+            Table t1 = db.getTable("t1");
+            assertSame(t1, db.getTable("t1"));
+            db.getTable("t2");
+            db.getTable("t3");
+            assertSame(t1, db.getTable("t1"));
+
+            SimpleMetricsCollector.Snapshot snapshot = metrics.snapshot();
+            assertEquals(3, snapshot.getTableCacheMisses());
+            assertEquals(2, snapshot.getTableCacheHits());
+
+            ((DatabaseImpl) db).clearTableCache();
+            assertNotSame(t1, db.getTable("t1"));
+            assertEquals(4, metrics.snapshot().getTableCacheMisses());
+
+            assertThrows(IllegalArgumentException.class, () -> ((DatabaseImpl) db).setTableCacheLimits(-1, 0L));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new DatabaseBuilder().withTableCache(1, -1L));
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @FileFormatSource
+    void testNoMetrics(FileFormat fileFormat) throws IOException {
+        try (Database db = createDbMem(fileFormat)) {
+            assertSame(MetricsCollector.NONE, ((DatabaseImpl) db).getPageChannel().getMetricsCollector());
+        }
+    }
+}